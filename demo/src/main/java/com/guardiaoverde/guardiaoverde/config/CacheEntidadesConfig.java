@@ -0,0 +1,75 @@
+package com.guardiaoverde.guardiaoverde.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache de segundo nível do Hibernate para as entidades de referência, que mudam poucas
+ * vezes ao dia e são lidas a cada chamado criado e a cada ciclo do monitor: Regiao, Rota
+ * e Usuario (anotadas com @Cache), mais as consultas marcadas como cacheáveis nos
+ * repositórios.
+ *
+ * Cada região é um cache Caffeine limitado a {@code cache.entidades.max-entradas} entradas
+ * e expirado {@code cache.entidades.ttl-min} minutos depois de gravado. O TTL é o limite
+ * de desatualização entre réplicas caso uma invalidação se perca; o caminho normal é a
+ * InvalidacaoCache, que propaga as alterações pelo banco. A região de timestamps do
+ * Hibernate não expira nem é limitada: tem uma entrada por tabela e, se perdesse uma,
+ * consultas em cache poderiam ser tomadas por válidas.
+ *
+ * As regiões são criadas aqui (missing_cache_strategy=fail em application.properties),
+ * para que nenhuma seja criada sem limite pelo Hibernate.
+ */
+@Configuration
+public class CacheEntidadesConfig {
+
+    public static final String REGIOES = "regioes";
+    public static final String ROTAS = "rotas";
+    public static final String USUARIOS = "usuarios";
+    public static final String CONSULTAS = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    public static final String TIMESTAMPS = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    // Regiões limitadas e com TTL, na ordem em que aparecem em /actuator/cacheentidades
+    public static final List<String> REGIOES_LIMITADAS = List.of(REGIOES, ROTAS, USUARIOS, CONSULTAS);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager cacheManagerEntidades(@Value("${cache.entidades.max-entradas:10000}") long maxEntradas,
+                                              @Value("${cache.entidades.ttl-min:10}") long ttlMin) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("guardiaoverde-entidades"), getClass().getClassLoader());
+        for (String regiao : REGIOES_LIMITADAS) {
+            CaffeineConfiguration<Object, Object> configuracao = configuracaoBase();
+            configuracao.setMaximumSize(OptionalLong.of(maxEntradas));
+            configuracao.setExpireAfterWrite(OptionalLong.of(TimeUnit.MINUTES.toNanos(ttlMin)));
+            cacheManager.createCache(regiao, configuracao);
+        }
+        cacheManager.createCache(TIMESTAMPS, configuracaoBase());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivel(CacheManager cacheManagerEntidades) {
+        return propriedades -> propriedades.put(ConfigSettings.CACHE_MANAGER, cacheManagerEntidades);
+    }
+
+    // Entradas guardadas por referência (o Hibernate já as desmonta) e estatísticas nativas
+    // do Caffeine para acertos, faltas e remoções
+    private static CaffeineConfiguration<Object, Object> configuracaoBase() {
+        CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+        configuracao.setStoreByValue(false);
+        configuracao.setNativeStatisticsEnabled(true);
+        return configuracao;
+    }
+}
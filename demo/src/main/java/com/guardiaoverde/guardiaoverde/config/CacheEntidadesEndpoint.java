@@ -0,0 +1,98 @@
+package com.guardiaoverde.guardiaoverde.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.guardiaoverde.guardiaoverde.service.InvalidacaoCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Estado do cache de segundo nível (ver CacheEntidadesConfig), em GET
+ * /actuator/cacheentidades (exige login, ver SecurityConfig): por região, entradas,
+ * acertos, faltas, taxa de acerto e remoções por limite ou TTL; mais as invalidações
+ * enviadas e recebidas das outras réplicas.
+ *
+ * Os mesmos números vão para /actuator/prometheus como guardiao.cache.entradas,
+ * guardiao.cache.consultas e guardiao.cache.remocoes, com a região na tag cache.
+ */
+@Component
+@Endpoint(id = "cacheentidades")
+public class CacheEntidadesEndpoint implements MeterBinder {
+
+    private final CacheManager cacheManagerEntidades;
+    private final InvalidacaoCache invalidacaoCache;
+
+    @Value("${cache.entidades.max-entradas:10000}")
+    private long maxEntradas = 10000;
+
+    @Value("${cache.entidades.ttl-min:10}")
+    private long ttlMin = 10;
+
+    @Autowired
+    public CacheEntidadesEndpoint(CacheManager cacheManagerEntidades, InvalidacaoCache invalidacaoCache) {
+        this.cacheManagerEntidades = cacheManagerEntidades;
+        this.invalidacaoCache = invalidacaoCache;
+    }
+
+    @ReadOperation
+    public Map<String, Object> estado() {
+        Map<String, Object> regioes = new LinkedHashMap<>();
+        for (String regiao : CacheEntidadesConfig.REGIOES_LIMITADAS) {
+            Cache<?, ?> cache = caffeine(regiao);
+            CacheStats stats = cache.stats();
+            Map<String, Object> estado = new LinkedHashMap<>();
+            estado.put("entradas", cache.estimatedSize());
+            estado.put("acertos", stats.hitCount());
+            estado.put("faltas", stats.missCount());
+            estado.put("taxaAcerto", stats.hitRate());
+            estado.put("remocoes", stats.evictionCount());
+            regioes.put(regiao, estado);
+        }
+        regioes.put(CacheEntidadesConfig.TIMESTAMPS,
+                Map.of("entradas", caffeine(CacheEntidadesConfig.TIMESTAMPS).estimatedSize()));
+
+        Map<String, Object> resposta = new LinkedHashMap<>();
+        resposta.put("maxEntradas", maxEntradas);
+        resposta.put("ttlMin", ttlMin);
+        resposta.put("regioes", regioes);
+        resposta.put("invalidacoes", Map.of(
+                "enviadas", invalidacaoCache.registradas(),
+                "recebidas", invalidacaoCache.aplicadas()));
+        return resposta;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String regiao : CacheEntidadesConfig.REGIOES_LIMITADAS) {
+            Cache<?, ?> cache = caffeine(regiao);
+            Gauge.builder("guardiao.cache.entradas", cache, Cache::estimatedSize)
+                    .tag("cache", regiao)
+                    .register(registry);
+            FunctionCounter.builder("guardiao.cache.consultas", cache, c -> c.stats().hitCount())
+                    .tag("cache", regiao).tag("resultado", "acerto")
+                    .register(registry);
+            FunctionCounter.builder("guardiao.cache.consultas", cache, c -> c.stats().missCount())
+                    .tag("cache", regiao).tag("resultado", "falta")
+                    .register(registry);
+            FunctionCounter.builder("guardiao.cache.remocoes", cache, c -> c.stats().evictionCount())
+                    .tag("cache", regiao)
+                    .register(registry);
+        }
+    }
+
+    // O cache Caffeine por trás da região JCache, para as estatísticas nativas
+    private Cache<?, ?> caffeine(String regiao) {
+        return cacheManagerEntidades.getCache(regiao).unwrap(Cache.class);
+    }
+}
@@ -0,0 +1,58 @@
+package com.guardiaoverde.guardiaoverde.config;
+
+import com.guardiaoverde.guardiaoverde.service.EventosJfr;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tempo de cada chamada aos repositórios (Spring Data e os de JdbcTemplate) como evento
+ * JFR guardiaoverde.ConsultaRepositorio. Só mede quando uma gravação habilitou o evento;
+ * sem gravação o custo é o da chamada interceptada.
+ */
+@Aspect
+@Component
+public class ConsultasJfrAspect {
+
+    private static final String PACOTE_REPOSITORIOS = "com.guardiaoverde.guardiaoverde.repository.";
+
+    private final Map<Class<?>, String> nomes = new ConcurrentHashMap<>();
+
+    @Around("execution(* com.guardiaoverde.guardiaoverde.repository..*.*(..))"
+            + " || execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object medir(ProceedingJoinPoint ponto) throws Throwable {
+        EventosJfr.ConsultaRepositorio evento = new EventosJfr.ConsultaRepositorio();
+        if (!evento.isEnabled()) {
+            return ponto.proceed();
+        }
+        evento.begin();
+        try {
+            return ponto.proceed();
+        } catch (Throwable ex) {
+            evento.falhou = true;
+            throw ex;
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.repositorio = nomes.computeIfAbsent(ponto.getThis().getClass(), ConsultasJfrAspect::nome);
+                evento.metodo = ponto.getSignature().getName();
+                evento.commit();
+            }
+        }
+    }
+
+    // Interface do repositório atrás do proxy (ex.: ChamadoRepository), não SimpleJpaRepository
+    private static String nome(Class<?> proxy) {
+        for (Class<?> i : ClassUtils.getAllInterfacesForClassAsSet(proxy)) {
+            if (i.getName().startsWith(PACOTE_REPOSITORIOS)) {
+                return i.getSimpleName();
+            }
+        }
+        return ClassUtils.getUserClass(proxy).getSimpleName();
+    }
+}
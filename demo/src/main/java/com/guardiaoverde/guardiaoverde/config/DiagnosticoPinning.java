@@ -0,0 +1,100 @@
+package com.guardiaoverde.guardiaoverde.config;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Acompanha, pelo JFR, os momentos em que uma thread virtual ficou presa à thread de
+ * plataforma (jdk.VirtualThreadPinned): bloqueio dentro de bloco synchronized ou de
+ * código nativo por mais de {@code execucao.pinning.limiar-ms}.
+ *
+ * Cada local (primeiro quadro do nosso código na pilha) é registrado no log na primeira
+ * ocorrência e depois só contado, para não inundar o log sob carga.
+ * Ligado por {@code execucao.pinning.diagnostico=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "execucao.pinning.diagnostico", havingValue = "true")
+public class DiagnosticoPinning {
+
+    private static final Logger log = LoggerFactory.getLogger(DiagnosticoPinning.class);
+    private static final String EVENTO = "jdk.VirtualThreadPinned";
+    private static final String PACOTE = "com.guardiaoverde.";
+
+    private final Map<String, LongAdder> ocorrencias = new ConcurrentHashMap<>();
+    private RecordingStream gravacao;
+
+    @Value("${execucao.pinning.limiar-ms:20}")
+    private long limiarMs = 20;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        gravacao = new RecordingStream();
+        gravacao.enable(EVENTO).withThreshold(Duration.ofMillis(limiarMs)).withStackTrace();
+        gravacao.onEvent(EVENTO, this::registrar);
+        gravacao.startAsync();
+        log.info("monitorando evento={} limiarMs={}", EVENTO, limiarMs);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (gravacao != null) {
+            gravacao.close();
+        }
+    }
+
+    /**
+     * Ocorrências por local desde a subida.
+     */
+    public Map<String, Long> ocorrencias() {
+        Map<String, Long> copia = new ConcurrentHashMap<>();
+        ocorrencias.forEach((local, n) -> copia.put(local, n.sum()));
+        return copia;
+    }
+
+    private void registrar(RecordedEvent evento) {
+        String local = local(evento);
+        boolean[] primeira = {false};
+        ocorrencias.computeIfAbsent(local, k -> {
+            primeira[0] = true;
+            return new LongAdder();
+        }).increment();
+        if (primeira[0]) {
+            log.warn("thread virtual presa duracaoMs={} local={}", evento.getDuration().toMillis(), local);
+        }
+    }
+
+    private static String local(RecordedEvent evento) {
+        if (evento.getStackTrace() == null) {
+            return "(sem pilha)";
+        }
+        RecordedFrame primeiro = null;
+        for (RecordedFrame quadro : evento.getStackTrace().getFrames()) {
+            if (primeiro == null) {
+                primeiro = quadro;
+            }
+            if (quadro.getMethod().getType().getName().startsWith(PACOTE)) {
+                return descrever(quadro);
+            }
+        }
+        return primeiro != null ? descrever(primeiro) : "(sem pilha)";
+    }
+
+    private static String descrever(RecordedFrame quadro) {
+        return quadro.getMethod().getType().getName() + "." + quadro.getMethod().getName()
+                + ":" + quadro.getLineNumber();
+    }
+}
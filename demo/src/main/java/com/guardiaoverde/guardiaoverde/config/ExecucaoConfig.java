@@ -0,0 +1,101 @@
+package com.guardiaoverde.guardiaoverde.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Modo de execução da aplicação, escolhido por {@code spring.threads.virtual.enabled}:
+ *
+ * - false (plataforma): requisições no pool do Tomcat, @Scheduled no pool do agendador
+ *   ({@code spring.task.scheduling.pool.size}, uma thread por método agendado) e tarefas
+ *   em segundo plano em um pool fixo ({@code execucao.tarefas.max-threads});
+ * - true (virtual, Java 21+): o Spring Boot passa requisições e @Scheduled para threads
+ *   virtuais, e as tarefas em segundo plano ganham uma thread virtual cada.
+ *
+ * O projeto compila em Java 17: a API de threads virtuais é obtida por reflexão, só quando
+ * o modo virtual está ligado (em Java 17 a subida falha com uma mensagem clara).
+ *
+ * Nos dois modos quem limita o acesso ao banco é o pool de conexões
+ * (spring.datasource.hikari.*): com threads virtuais milhares de requisições podem estar
+ * em andamento, mas só maximum-pool-size delas seguram uma conexão.
+ */
+@Configuration
+@EnableScheduling
+public class ExecucaoConfig {
+
+    /**
+     * Executor das tarefas em segundo plano da aplicação (trabalho paralelo do monitor).
+     * Publica as métricas executor.* com name=tarefas, inclusive executor.queued, a fila de
+     * tarefas aguardando thread no modo plataforma.
+     */
+    @Bean(name = "executorTarefas")
+    ExecutorService executorTarefas(@Value("${spring.threads.virtual.enabled:false}") boolean virtuais,
+                                    @Value("${execucao.tarefas.max-threads:64}") int maxThreads,
+                                    MeterRegistry meterRegistry) {
+        if (virtuais) {
+            return ExecutorServiceMetrics.monitor(meterRegistry, executorVirtual("tarefa-"), "tarefas");
+        }
+        AtomicInteger numero = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "tarefa-" + numero.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return ExecutorServiceMetrics.monitor(meterRegistry, pool, "tarefas");
+    }
+
+    /**
+     * Executor do envio dos eventos em tempo real (EventosTempoReal), separado do
+     * executorTarefas para que clientes SSE lentos não atrasem a gravação do monitor, e
+     * vice-versa. É limitado nos dois modos: {@code eventos.envio.max-threads} threads e
+     * uma fila de {@code eventos.max-assinantes} tarefas. Cada assinante tem no máximo uma
+     * tarefa de envio pendente, então a fila só enche se houver mais assinantes que o
+     * limite; uma tarefa recusada desliga o assinante, que reconecta. Métricas executor.*
+     * com name=eventos.
+     */
+    @Bean(name = "executorEventos")
+    ExecutorService executorEventos(@Value("${eventos.envio.max-threads:16}") int maxThreads,
+                                    @Value("${eventos.max-assinantes:5000}") int maxAssinantes,
+                                    MeterRegistry meterRegistry) {
+        AtomicInteger numero = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxAssinantes), r -> {
+                    Thread t = new Thread(r, "eventos-envio-" + numero.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return ExecutorServiceMetrics.monitor(meterRegistry, pool, "eventos");
+    }
+
+    // Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefixo, 1).factory()), sem
+    // depender da API do Java 21 em tempo de compilação
+    private static ExecutorService executorVirtual(String prefixo) {
+        try {
+            Class<?> tipoConstrutor = Class.forName("java.lang.Thread$Builder");
+            Object construtor = Thread.class.getMethod("ofVirtual").invoke(null);
+            construtor = tipoConstrutor.getMethod("name", String.class, long.class).invoke(construtor, prefixo, 1L);
+            ThreadFactory fabrica = (ThreadFactory) tipoConstrutor.getMethod("factory").invoke(construtor);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, fabrica);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("spring.threads.virtual.enabled=true exige Java 21 ou superior (em uso: "
+                    + Runtime.version() + ").", ex);
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package com.guardiaoverde.guardiaoverde.config;
+
+import com.guardiaoverde.guardiaoverde.domain.*;
+import com.guardiaoverde.guardiaoverde.repository.BombeiroRepository;
+import com.guardiaoverde.guardiaoverde.repository.InsercaoEmLoteRepository;
+import com.guardiaoverde.guardiaoverde.repository.RegiaoRepository;
+import com.guardiaoverde.guardiaoverde.repository.UsuarioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Gera dados sintéticos em volume, para dimensionamento e testes de carga. Ligado pelo
+ * perfil "gerador" (spring.profiles.active=gerador); roda na subida, antes das cargas em
+ * memória (índice espacial, malha de rotas, despacho), e só se não houver regiões.
+ *
+ * - regiões: grade sobre o território, cada uma com um polígono WKT de oito vértices;
+ * - rotas: de uma base para cada região e entre regiões vizinhas, nos dois sentidos;
+ * - bombeiros: distribuídos entre as bases e os três turnos;
+ * - ambientes: localização "lat,lon" dentro de uma região, parte deles já críticos;
+ * - chamados: espalhados pelos últimos 90 dias.
+ *
+ * Ambientes, rotas e chamados são gravados por JDBC em lotes, cada lote na própria
+ * transação. A semente fixa ({@code gerador.semente}) reproduz os mesmos dados.
+ */
+@Component
+@Profile("gerador")
+public class GeradorDados implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(GeradorDados.class);
+
+    // Retângulo aproximado do território nacional
+    private static final double LAT_MIN = -33.0;
+    private static final double LAT_MAX = 5.0;
+    private static final double LON_MIN = -73.0;
+    private static final double LON_MAX = -35.0;
+    private static final int REGIOES_POR_BASE = 50;
+    private static final String[] VEGETACOES = {"Floresta", "Cerrado", "Caatinga", "Pantanal", "Pampa", "Mata Atlântica"};
+    private static final String[] CLIMAS = {"ENSOLARADO", "NUBLADO", "CHUVOSO", "SECO"};
+    private static final String[] TURNOS = {"MANHA", "TARDE", "NOITE"};
+    private static final String[] PRIORIDADES = {"BAIXA", "MEDIA", "ALTA"};
+    private static final String[] OCORRENCIAS = {
+            "Fumaça avistada próximo à estrada", "Foco de incêndio em área de pasto",
+            "Queimada em vegetação rasteira", "Cheiro forte de queimado relatado por moradores",
+            "Chamas próximas à rede elétrica", "Incêndio em borda de mata"};
+
+    private final RegiaoRepository regiaoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final BombeiroRepository bombeiroRepository;
+    private final InsercaoEmLoteRepository insercaoEmLoteRepository;
+    private final TransactionTemplate transacao;
+
+    @Value("${gerador.regioes:2000}")
+    private int regioes;
+
+    @Value("${gerador.ambientes:100000}")
+    private int ambientes;
+
+    @Value("${gerador.chamados:1000000}")
+    private int chamados;
+
+    // Vizinhos na grade ligados a cada região (até 8)
+    @Value("${gerador.rotas-por-regiao:6}")
+    private int rotasPorRegiao;
+
+    @Value("${gerador.bombeiros:500}")
+    private int bombeiros;
+
+    // Fração dos ambientes gerados abaixo dos limiares (críticos no primeiro ciclo do monitor)
+    @Value("${gerador.fracao-critica:0.01}")
+    private double fracaoCritica;
+
+    @Value("${gerador.lote:10000}")
+    private int lote;
+
+    @Value("${gerador.semente:42}")
+    private long semente;
+
+    @Value("${threshold.umidade}")
+    private Double limiarUmidade;
+
+    @Value("${threshold.temperatura}")
+    private Double limiarTemperatura;
+
+    @Autowired
+    public GeradorDados(RegiaoRepository regiaoRepository,
+                        UsuarioRepository usuarioRepository,
+                        BombeiroRepository bombeiroRepository,
+                        InsercaoEmLoteRepository insercaoEmLoteRepository,
+                        PlatformTransactionManager transactionManager) {
+        this.regiaoRepository = regiaoRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.bombeiroRepository = bombeiroRepository;
+        this.insercaoEmLoteRepository = insercaoEmLoteRepository;
+        this.transacao = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (regiaoRepository.count() > 0) {
+            log.info("ja existem regioes cadastradas; nada foi gerado");
+            return;
+        }
+        long inicio = System.nanoTime();
+        Random aleatorio = new Random(semente);
+        Grade grade = new Grade(regioes);
+
+        List<Regiao> salvas = gerarRegioes(grade, aleatorio);
+        int bases = Math.max(1, regioes / REGIOES_POR_BASE);
+        int rotas = gerarRotas(grade, salvas, bases, aleatorio);
+        gerarBombeiros(bases);
+        gerarAmbientes(grade, aleatorio);
+        gerarChamados(salvas, aleatorio);
+
+        log.info("dados gerados regioes={} rotas={} bombeiros={} ambientes={} chamados={} duracaoMs={}",
+                salvas.size(), rotas, bombeiros, ambientes, chamados, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private List<Regiao> gerarRegioes(Grade grade, Random aleatorio) {
+        List<Regiao> salvas = new ArrayList<>(regioes);
+        for (int i = 0; i < regioes; i += lote) {
+            List<Regiao> parte = new ArrayList<>();
+            for (int r = i; r < Math.min(i + lote, regioes); r++) {
+                parte.add(new Regiao(nomeRegiao(r), grade.poligono(r, aleatorio),
+                        VEGETACOES[aleatorio.nextInt(VEGETACOES.length)],
+                        Math.round(aleatorio.nextDouble() * 100) / 100.0));
+            }
+            salvas.addAll(transacao.execute(status -> regiaoRepository.saveAll(parte)));
+        }
+        return salvas;
+    }
+
+    private int gerarRotas(Grade grade, List<Regiao> salvas, int bases, Random aleatorio) {
+        List<Rota> rotas = new ArrayList<>();
+        int total = 0;
+        for (int r = 0; r < salvas.size(); r++) {
+            // Cada base atende um bloco de regiões consecutivas e fica na região do meio dele
+            int base = Math.min(r / REGIOES_POR_BASE, bases - 1);
+            int sede = Math.min(base * REGIOES_POR_BASE + REGIOES_POR_BASE / 2, salvas.size() - 1);
+            rotas.add(rota(nomeBase(base), nomeRegiao(r), grade.distanciaKm(sede, r), aleatorio));
+            int ligadas = 0;
+            for (int vizinha : grade.vizinhas(r)) {
+                if (ligadas++ >= rotasPorRegiao) {
+                    break;
+                }
+                rotas.add(rota(nomeRegiao(r), nomeRegiao(vizinha), grade.distanciaKm(r, vizinha), aleatorio));
+            }
+            if (rotas.size() >= lote) {
+                total += gravarRotas(rotas);
+            }
+        }
+        return total + gravarRotas(rotas);
+    }
+
+    private int gravarRotas(List<Rota> rotas) {
+        List<Rota> parte = new ArrayList<>(rotas);
+        transacao.executeWithoutResult(status -> insercaoEmLoteRepository.inserirRotas(parte));
+        rotas.clear();
+        return parte.size();
+    }
+
+    private void gerarBombeiros(int bases) {
+        for (int i = 0; i < bombeiros; i += lote) {
+            int fim = Math.min(i + lote, bombeiros);
+            int primeiro = i;
+            transacao.executeWithoutResult(status -> {
+                List<Usuario> usuarios = new ArrayList<>();
+                for (int b = primeiro; b < fim; b++) {
+                    usuarios.add(new Usuario("Bombeiro " + (b + 1), "bombeiro" + (b + 1) + "@gerador.local",
+                            "gerador", "BOMBEIRO"));
+                }
+                List<Usuario> salvos = usuarioRepository.saveAll(usuarios);
+                List<Bombeiro> lista = new ArrayList<>();
+                for (int b = primeiro; b < fim; b++) {
+                    Bombeiro bombeiro = new Bombeiro(salvos.get(b - primeiro), "Bombeiro " + (b + 1),
+                            TURNOS[b % TURNOS.length], null);
+                    bombeiro.setBase(nomeBase(b % bases));
+                    lista.add(bombeiro);
+                }
+                bombeiroRepository.saveAll(lista);
+            });
+        }
+    }
+
+    private void gerarAmbientes(Grade grade, Random aleatorio) {
+        LocalDateTime agora = LocalDateTime.now();
+        for (int i = 0; i < ambientes; i += lote) {
+            List<Ambiente> parte = new ArrayList<>();
+            for (int a = i; a < Math.min(i + lote, ambientes); a++) {
+                boolean critico = aleatorio.nextDouble() < fracaoCritica;
+                double temperatura = critico
+                        ? limiarTemperatura - 1 - aleatorio.nextDouble() * 10
+                        : limiarTemperatura + aleatorio.nextDouble() * 5;
+                double umidade = critico
+                        ? limiarUmidade - 1 - aleatorio.nextDouble() * 15
+                        : limiarUmidade + aleatorio.nextDouble() * 50;
+                Ambiente ambiente = new Ambiente(CLIMAS[aleatorio.nextInt(CLIMAS.length)],
+                        arredondar(temperatura), arredondar(umidade),
+                        grade.pontoDentro(aleatorio.nextInt(regioes), aleatorio));
+                ambiente.setAtualizadoEm(agora);
+                parte.add(ambiente);
+            }
+            transacao.executeWithoutResult(status -> insercaoEmLoteRepository.inserirAmbientes(parte));
+        }
+    }
+
+    private void gerarChamados(List<Regiao> salvas, Random aleatorio) {
+        LocalDateTime agora = LocalDateTime.now().withNano(0);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < chamados; i += lote) {
+            List<Chamado> parte = new ArrayList<>();
+            for (int c = i; c < Math.min(i + lote, chamados); c++) {
+                boolean sistema = aleatorio.nextInt(4) == 0;
+                String descricao = sistema
+                        ? "Detecção automática por SENSOR " + (c + 1)
+                        : OCORRENCIAS[aleatorio.nextInt(OCORRENCIAS.length)] + " (" + (c + 1) + ")";
+                parte.add(new Chamado(sistema ? "SISTEMA" : "USUARIO", descricao,
+                        salvas.get(aleatorio.nextInt(salvas.size())),
+                        agora.minusSeconds(aleatorio.nextInt(90 * 24 * 3600)),
+                        PRIORIDADES[aleatorio.nextInt(PRIORIDADES.length)]));
+            }
+            transacao.executeWithoutResult(status -> insercaoEmLoteRepository.inserirChamados(parte));
+            int gravados = Math.min(i + lote, chamados);
+            if (gravados % (lote * 10) == 0 || gravados == chamados) {
+                log.info("chamados gravados={} total={} porSegundo={}", gravados, chamados,
+                        Math.round(gravados / ((System.nanoTime() - inicio) / 1e9)));
+            }
+        }
+    }
+
+    private static Rota rota(String origem, String destino, double distanciaKm, Random aleatorio) {
+        // Velocidade média de 40 a 80 km/h, tempo em minutos
+        double velocidade = 40 + aleatorio.nextDouble() * 40;
+        double distancia = arredondar(Math.max(1.0, distanciaKm));
+        return new Rota(origem, destino, arredondar(distancia / velocidade * 60), distancia, null);
+    }
+
+    private static String nomeRegiao(int r) {
+        return String.format("Regiao-%05d", r + 1);
+    }
+
+    private static String nomeBase(int b) {
+        return String.format("Base-%03d", b + 1);
+    }
+
+    private static double arredondar(double valor) {
+        return Math.round(valor * 100) / 100.0;
+    }
+
+    /**
+     * Grade de células sobre o território; a região r ocupa a célula (r / colunas, r % colunas).
+     */
+    private static final class Grade {
+
+        private final int total;
+        private final int colunas;
+        private final double altura;
+        private final double largura;
+
+        Grade(int total) {
+            this.total = total;
+            this.colunas = (int) Math.ceil(Math.sqrt(total));
+            int linhas = (total + colunas - 1) / colunas;
+            this.altura = (LAT_MAX - LAT_MIN) / linhas;
+            this.largura = (LON_MAX - LON_MIN) / colunas;
+        }
+
+        double latCentro(int r) {
+            return LAT_MIN + (r / colunas + 0.5) * altura;
+        }
+
+        double lonCentro(int r) {
+            return LON_MIN + (r % colunas + 0.5) * largura;
+        }
+
+        /**
+         * Octógono irregular inscrito na célula. Os raios variam de 85% a 100% da
+         * meia-célula, então um quarto da célula ao redor do centro está sempre dentro.
+         */
+        String poligono(int r, Random aleatorio) {
+            StringBuilder wkt = new StringBuilder("POLYGON ((");
+            String primeiro = null;
+            for (int v = 0; v < 8; v++) {
+                double angulo = v * Math.PI / 4;
+                double raio = 0.85 + aleatorio.nextDouble() * 0.15;
+                String ponto = String.format(Locale.ROOT, "%.5f %.5f",
+                        lonCentro(r) + Math.cos(angulo) * raio * largura / 2,
+                        latCentro(r) + Math.sin(angulo) * raio * altura / 2);
+                if (primeiro == null) {
+                    primeiro = ponto;
+                }
+                wkt.append(ponto).append(", ");
+            }
+            return wkt.append(primeiro).append("))").toString();
+        }
+
+        String pontoDentro(int r, Random aleatorio) {
+            return String.format(Locale.ROOT, "%.5f,%.5f",
+                    latCentro(r) + (aleatorio.nextDouble() - 0.5) * altura / 2,
+                    lonCentro(r) + (aleatorio.nextDouble() - 0.5) * largura / 2);
+        }
+
+        // Até 8 células vizinhas existentes, primeiro as ortogonais
+        List<Integer> vizinhas(int r) {
+            int linha = r / colunas;
+            int coluna = r % colunas;
+            int[][] deslocamentos = {{0, 1}, {1, 0}, {0, -1}, {-1, 0}, {1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+            List<Integer> vizinhas = new ArrayList<>(8);
+            for (int[] d : deslocamentos) {
+                int l = linha + d[0];
+                int c = coluna + d[1];
+                int v = l * colunas + c;
+                if (l >= 0 && c >= 0 && c < colunas && v < total) {
+                    vizinhas.add(v);
+                }
+            }
+            return vizinhas;
+        }
+
+        // Distância pelo círculo máximo entre os centros das células
+        double distanciaKm(int a, int b) {
+            double lat1 = Math.toRadians(latCentro(a));
+            double lat2 = Math.toRadians(latCentro(b));
+            double dLat = lat2 - lat1;
+            double dLon = Math.toRadians(lonCentro(b) - lonCentro(a));
+            double h = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                    + Math.cos(lat1) * Math.cos(lat2) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+            return 2 * 6371.0 * Math.asin(Math.sqrt(h));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.guardiaoverde.guardiaoverde.config;
+
+import com.guardiaoverde.guardiaoverde.service.EventosJfr;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Gravação do Java Flight Recorder sob demanda, para investigar picos de latência sem
+ * reiniciar a aplicação (exige login, ver SecurityConfig):
+ *
+ * - GET /actuator/jfr: estado da gravação atual;
+ * - POST /actuator/jfr {"configuracao": "default"|"profile", "maxIdadeMin": 30}: inicia
+ *   uma gravação com a configuração do JDK e os eventos de {@link EventosJfr}, guardando
+ *   no máximo os últimos maxIdadeMin minutos;
+ * - GET /actuator/jfr/dump: grava o conteúdo até agora em {@code diagnostico.jfr.arquivo}
+ *   e devolve o arquivo .jfr (abrir no JDK Mission Control ou com {@code jfr print});
+ * - DELETE /actuator/jfr: para e descarta a gravação.
+ *
+ * Só há uma gravação por vez; iniciar com outra em andamento responde 409.
+ */
+@Component
+@Endpoint(id = "jfr")
+public class GravacaoJfrEndpoint {
+
+    private static final String DUMP = "dump";
+
+    private Recording gravacao;
+
+    @Value("${diagnostico.jfr.arquivo:jfr/guardiaoverde.jfr}")
+    private String arquivo = "jfr/guardiaoverde.jfr";
+
+    @Value("${diagnostico.jfr.max-idade-min:30}")
+    private long maxIdadeMinPadrao = 30;
+
+    @ReadOperation
+    public synchronized Map<String, Object> estado() {
+        Map<String, Object> estado = new LinkedHashMap<>();
+        if (gravacao == null) {
+            estado.put("estado", "PARADA");
+            return estado;
+        }
+        estado.put("estado", gravacao.getState().name());
+        estado.put("id", gravacao.getId());
+        estado.put("inicio", gravacao.getStartTime());
+        estado.put("maxIdadeMin", gravacao.getMaxAge() != null ? gravacao.getMaxAge().toMinutes() : null);
+        estado.put("tamanhoBytes", gravacao.getSize());
+        return estado;
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> iniciar(@Nullable String configuracao,
+                                                                        @Nullable Long maxIdadeMin) {
+        if (gravacao != null && gravacao.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(estado(), WebEndpointResponse.STATUS_CONFLICT);
+        }
+        Configuration base;
+        try {
+            base = Configuration.getConfiguration(configuracao != null ? configuracao : "default");
+        } catch (IOException | ParseException ex) {
+            return new WebEndpointResponse<>(Map.of("erro", "Configuração JFR inválida: " + configuracao),
+                    WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        descartar();
+        Recording nova = new Recording(base);
+        nova.setName("guardiaoverde");
+        nova.setToDisk(true);
+        nova.setMaxAge(Duration.ofMinutes(maxIdadeMin != null ? maxIdadeMin : maxIdadeMinPadrao));
+        for (Class<? extends Event> tipo : EventosJfr.tipos()) {
+            nova.enable(tipo);
+        }
+        nova.start();
+        gravacao = nova;
+        return new WebEndpointResponse<>(estado());
+    }
+
+    @ReadOperation
+    public synchronized WebEndpointResponse<Resource> dump(@Selector String nome) throws IOException {
+        if (!DUMP.equals(nome) || gravacao == null || gravacao.getState() == RecordingState.CLOSED) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path destino = Paths.get(arquivo).toAbsolutePath();
+        Files.createDirectories(destino.getParent());
+        gravacao.dump(destino);
+        return new WebEndpointResponse<>(new FileSystemResource(destino));
+    }
+
+    @DeleteOperation
+    public synchronized void parar() {
+        descartar();
+    }
+
+    @PreDestroy
+    public synchronized void encerrar() {
+        descartar();
+    }
+
+    private void descartar() {
+        if (gravacao != null) {
+            gravacao.close();
+            gravacao = null;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.guardiaoverde.guardiaoverde.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Métricas da aplicação (Micrometer), no formato Prometheus em /actuator/prometheus.
+ *
+ * Além das que o Spring Boot já publica (requisições HTTP, JVM, executor de tarefas e o
+ * pool Hikari, cujo hikaricp.connections.acquire é o tempo de espera por conexão):
+ * - guardiao.servico: um timer por método das classes de serviço anotadas com @Timed
+ *   (tags class e method), inclusive as exceções (tag exception);
+ * - guardiao.monitor.*: duração do ciclo, ambientes avaliados e chamados/alertas gerados;
+ * - guardiao.eventos.*: assinantes e filas dos streams em tempo real;
+ * - guardiao.cache.*: tamanho e acertos dos caches em memória (tag cache), inclusive as
+ *   regiões do cache de segundo nível (remoções em guardiao.cache.remocoes) e as
+ *   invalidações trocadas entre réplicas (guardiao.cache.invalidacoes, tag origem).
+ */
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -27,7 +27,13 @@ public class SecurityConfig {
                                 "/v1/bombeiros/**",
                                 "/v1/policias_militares/**",
                                 "/v1/chamados/**",
-                                "/v1/alertas/**"
+                                "/v1/alertas/**",
+                                // gravação JFR sob demanda (GravacaoJfrEndpoint)
+                                "/actuator/jfr/**",
+                                // estado do cache de segundo nível (CacheEntidadesEndpoint)
+                                "/actuator/cacheentidades/**",
+                                // métricas (o scraper usa HTTP Basic)
+                                "/actuator/prometheus"
                         ).authenticated()
                         // qualquer outra rota (ex.: “/actuator”, páginas estáticas etc.) fica liberada
                         .anyRequest().permitAll()
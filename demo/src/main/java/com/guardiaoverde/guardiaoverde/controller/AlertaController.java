@@ -1,10 +1,16 @@
 package com.guardiaoverde.guardiaoverde.controller;
 
 import com.guardiaoverde.guardiaoverde.domain.Alerta;
+import com.guardiaoverde.guardiaoverde.domain.ResumoAlerta;
 import com.guardiaoverde.guardiaoverde.service.AlertaService;
+import com.guardiaoverde.guardiaoverde.service.EventosTempoReal;
+import com.guardiaoverde.guardiaoverde.service.ExportacaoNdjson;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,19 +23,57 @@ import java.util.Optional;
 public class AlertaController {
 
     private final AlertaService alertaService;
+    private final ExportacaoNdjson exportacaoNdjson;
+    private final EventosTempoReal eventosTempoReal;
 
     @Autowired
-    public AlertaController(AlertaService alertaService) {
+    public AlertaController(AlertaService alertaService,
+                            ExportacaoNdjson exportacaoNdjson,
+                            EventosTempoReal eventosTempoReal) {
         this.alertaService = alertaService;
+        this.exportacaoNdjson = exportacaoNdjson;
+        this.eventosTempoReal = eventosTempoReal;
     }
 
     /**
      * GET /v1/alertas
-     * Lista todos os alertas.
+     * Lista todos os alertas, em resumo (ids do ambiente e do responsável).
+     * Com ?limite=N (e ?cursor=... para as seguintes), devolve uma página e o cursor da
+     * próxima no cabeçalho X-Proximo-Cursor.
      */
     @GetMapping
-    public List<Alerta> listarTodos() {
-        return alertaService.listarTodos();
+    public ResponseEntity<?> listarTodos(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limite) {
+        if (cursor == null && limite == null) {
+            return ResponseEntity.ok(alertaService.listarTodos());
+        }
+        try {
+            return Paginacao.resposta(alertaService.listarPagina(cursor, Paginacao.limite(limite)));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    /**
+     * GET /v1/alertas com Accept: application/x-ndjson
+     * Exporta todos os registros, um JSON por linha, lidos do banco sob demanda.
+     */
+    @GetMapping(produces = ExportacaoNdjson.TIPO)
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ExportacaoNdjson.TIPO))
+                .body(exportacaoNdjson.exportar(alertaService::streamTodos));
+    }
+
+    /**
+     * GET /v1/alertas/stream
+     * Acompanha os alertas criados a partir de agora (Server-Sent Events).
+     * Filtros opcionais: ?regiaoId=N e ?nivelRisco=A&nivelRisco=B.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> acompanhar(@RequestParam(required = false) Long regiaoId,
+                                                 @RequestParam(required = false) List<String> nivelRisco) {
+        return Transmissao.assinar(eventosTempoReal, EventosTempoReal.Canal.ALERTAS, regiaoId, nivelRisco);
     }
 
     /**
@@ -67,6 +111,21 @@ public class AlertaController {
         }
     }
 
+    /**
+     * POST /v1/alertas/lote
+     * Cria vários alertas de uma vez (lista no formato do POST /v1/alertas).
+     * Tudo ou nada: se algum for recusado, nenhum é gravado e a resposta indica qual.
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<?> criarLote(@RequestBody List<Alerta> alertas) {
+        try {
+            List<Alerta> salvos = alertaService.criarAlertas(alertas);
+            return ResponseEntity.ok(salvos);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
     /**
      * PUT /v1/alertas/{id}
      * Atualiza completamente um alerta existente.
@@ -109,7 +168,7 @@ public class AlertaController {
     @GetMapping("/ambiente/{ambienteId}")
     public ResponseEntity<?> listarPorAmbiente(@PathVariable Long ambienteId) {
         try {
-            List<Alerta> lista = alertaService.listarAlertasPorAmbiente(ambienteId);
+            List<ResumoAlerta> lista = alertaService.listarAlertasPorAmbiente(ambienteId);
             return ResponseEntity.ok(lista);
         } catch (IllegalArgumentException ex) {
             return ResponseEntity.badRequest().body(ex.getMessage());
@@ -1,31 +1,71 @@
 package com.guardiaoverde.guardiaoverde.controller;
 
 import com.guardiaoverde.guardiaoverde.domain.Ambiente;
+import com.guardiaoverde.guardiaoverde.domain.LeituraAmbiente;
 import com.guardiaoverde.guardiaoverde.service.AmbienteService;
+import com.guardiaoverde.guardiaoverde.service.ExportacaoNdjson;
+import com.guardiaoverde.guardiaoverde.service.JanelaAmbienteService;
+import com.guardiaoverde.guardiaoverde.service.LeituraAmbienteService;
+import com.guardiaoverde.guardiaoverde.service.ResumoJanela;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/v1/ambientes")
 public class AmbienteController {
 
     private final AmbienteService ambienteService;
+    private final LeituraAmbienteService leituraAmbienteService;
+    private final JanelaAmbienteService janelaAmbienteService;
+    private final ExportacaoNdjson exportacaoNdjson;
 
     @Autowired
-    public AmbienteController(AmbienteService ambienteService) {
+    public AmbienteController(AmbienteService ambienteService,
+                              LeituraAmbienteService leituraAmbienteService,
+                              JanelaAmbienteService janelaAmbienteService,
+                              ExportacaoNdjson exportacaoNdjson) {
         this.ambienteService = ambienteService;
+        this.leituraAmbienteService = leituraAmbienteService;
+        this.janelaAmbienteService = janelaAmbienteService;
+        this.exportacaoNdjson = exportacaoNdjson;
     }
 
     /**
      * GET /v1/ambientes
      * Lista todos os ambientes.
+     * Com ?limite=N (e ?cursor=... para as seguintes), devolve uma página e o cursor da
+     * próxima no cabeçalho X-Proximo-Cursor.
      */
     @GetMapping
-    public List<Ambiente> listarTodos() {
-        return ambienteService.listarTodos();
+    public ResponseEntity<?> listarTodos(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limite) {
+        if (cursor == null && limite == null) {
+            return ResponseEntity.ok(ambienteService.listarTodos());
+        }
+        try {
+            return Paginacao.resposta(ambienteService.listarPagina(cursor, Paginacao.limite(limite)));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    /**
+     * GET /v1/ambientes com Accept: application/x-ndjson
+     * Exporta todos os registros, um JSON por linha, lidos do banco sob demanda.
+     */
+    @GetMapping(produces = ExportacaoNdjson.TIPO)
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ExportacaoNdjson.TIPO))
+                .body(exportacaoNdjson.exportar(ambienteService::streamTodos));
     }
 
     /**
@@ -106,4 +146,68 @@ public class AmbienteController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    /**
+     * POST /v1/ambientes/{id}/leituras
+     * Registra em lote as leituras de um ambiente (milhares por requisição).
+     *
+     * Exemplo de JSON no corpo:
+     * [
+     *   { "dataHora": "2025-06-04T21:00:00", "temperatura": 38.5, "umidade": 21.0 },
+     *   { "dataHora": "2025-06-04T21:00:05", "temperatura": 38.6, "umidade": 20.8 }
+     * ]
+     */
+    @PostMapping("/{id}/leituras")
+    public ResponseEntity<?> registrarLeituras(
+            @PathVariable Long id,
+            @RequestBody List<LeituraAmbiente> leituras) {
+        try {
+            int registradas = leituraAmbienteService.registrarLeituras(id, leituras);
+            return ResponseEntity.status(201).body(Map.of("registradas", registradas));
+        } catch (IllegalArgumentException ex) {
+            String msg = ex.getMessage();
+            if (msg.contains("não encontrado")) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.badRequest().body(msg);
+        }
+    }
+
+    /**
+     * GET /v1/ambientes/{id}/leituras?inicio=...&fim=...
+     * Lista as leituras de um ambiente no intervalo informado.
+     */
+    @GetMapping("/{id}/leituras")
+    public ResponseEntity<?> listarLeituras(
+            @PathVariable Long id,
+            @RequestParam("inicio") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam("fim") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim) {
+        try {
+            return ResponseEntity.ok(leituraAmbienteService.listarLeituras(id, inicio, fim));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    /**
+     * GET /v1/ambientes/{id}/leituras/ultima
+     * Retorna a leitura mais recente do ambiente.
+     */
+    @GetMapping("/{id}/leituras/ultima")
+    public ResponseEntity<LeituraAmbiente> ultimaLeitura(@PathVariable Long id) {
+        return leituraAmbienteService.ultimaLeitura(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /v1/ambientes/{id}/janela
+     * Estatísticas da janela recente de leituras (mínimo, máximo, média e tendência).
+     */
+    @GetMapping("/{id}/janela")
+    public ResponseEntity<ResumoJanela> janela(@PathVariable Long id) {
+        return janelaAmbienteService.resumo(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 }
@@ -1,10 +1,15 @@
 package com.guardiaoverde.guardiaoverde.controller;
 
 import com.guardiaoverde.guardiaoverde.domain.Bombeiro;
+import com.guardiaoverde.guardiaoverde.domain.ResumoBombeiro;
 import com.guardiaoverde.guardiaoverde.service.BombeiroService;
+import com.guardiaoverde.guardiaoverde.service.EscalaResponsaveis;
+import com.guardiaoverde.guardiaoverde.service.ExportacaoNdjson;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -13,19 +18,43 @@ import java.util.List;
 public class BombeiroController {
 
     private final BombeiroService bombeiroService;
+    private final ExportacaoNdjson exportacaoNdjson;
 
     @Autowired
-    public BombeiroController(BombeiroService bombeiroService) {
+    public BombeiroController(BombeiroService bombeiroService,
+                              ExportacaoNdjson exportacaoNdjson) {
         this.bombeiroService = bombeiroService;
+        this.exportacaoNdjson = exportacaoNdjson;
     }
 
     /**
      * GET /v1/bombeiros
-     * Retorna todos os bombeiros.
+     * Retorna todos os bombeiros, em resumo (id do usuário vinculado).
+     * Com ?limite=N (e ?cursor=... para as seguintes), devolve uma página e o cursor da
+     * próxima no cabeçalho X-Proximo-Cursor.
      */
     @GetMapping
-    public List<Bombeiro> listarTodos() {
-        return bombeiroService.listarTodos();
+    public ResponseEntity<?> listarTodos(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limite) {
+        if (cursor == null && limite == null) {
+            return ResponseEntity.ok(bombeiroService.listarTodos());
+        }
+        try {
+            return Paginacao.resposta(bombeiroService.listarPagina(cursor, Paginacao.limite(limite)));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    /**
+     * GET /v1/bombeiros com Accept: application/x-ndjson
+     * Exporta todos os registros, um JSON por linha, lidos do banco sob demanda.
+     */
+    @GetMapping(produces = ExportacaoNdjson.TIPO)
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ExportacaoNdjson.TIPO))
+                .body(exportacaoNdjson.exportar(bombeiroService::streamTodos));
     }
 
     /**
@@ -47,7 +76,7 @@ public class BombeiroController {
      * Busca bombeiros cujo nome contenha o trecho fornecido.
      */
     @GetMapping("/buscarPorNome")
-    public List<Bombeiro> buscarPorNome(@RequestParam("trecho") String trecho) {
+    public List<ResumoBombeiro> buscarPorNome(@RequestParam("trecho") String trecho) {
         return bombeiroService.buscarPorNome(trecho);
     }
 
@@ -56,10 +85,19 @@ public class BombeiroController {
      * Busca bombeiros que atuam no turno especificado.
      */
     @GetMapping("/turno/{turno}")
-    public List<Bombeiro> buscarPorTurno(@PathVariable String turno) {
+    public List<ResumoBombeiro> buscarPorTurno(@PathVariable String turno) {
         return bombeiroService.buscarPorTurno(turno);
     }
 
+    /**
+     * GET /v1/bombeiros/cache/estatisticas
+     * Acertos e falhas do cache da escala de responsáveis.
+     */
+    @GetMapping("/cache/estatisticas")
+    public EscalaResponsaveis.Estatisticas estatisticasCache() {
+        return bombeiroService.estatisticasCache();
+    }
+
     /**
      * POST /v1/bombeiros
      * Cria um novo bombeiro.
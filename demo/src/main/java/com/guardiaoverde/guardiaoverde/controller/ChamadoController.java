@@ -1,10 +1,17 @@
 package com.guardiaoverde.guardiaoverde.controller;
 
 import com.guardiaoverde.guardiaoverde.domain.Chamado;
+import com.guardiaoverde.guardiaoverde.domain.ResumoChamado;
 import com.guardiaoverde.guardiaoverde.service.ChamadoService;
+import com.guardiaoverde.guardiaoverde.service.EventosTempoReal;
+import com.guardiaoverde.guardiaoverde.service.ExportacaoNdjson;
+import com.guardiaoverde.guardiaoverde.service.ResultadoBusca;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -13,19 +20,58 @@ import java.util.List;
 public class ChamadoController {
 
     private final ChamadoService chamadoService;
+    private final ExportacaoNdjson exportacaoNdjson;
+    private final EventosTempoReal eventosTempoReal;
 
     @Autowired
-    public ChamadoController(ChamadoService chamadoService) {
+    public ChamadoController(ChamadoService chamadoService,
+                             ExportacaoNdjson exportacaoNdjson,
+                             EventosTempoReal eventosTempoReal) {
         this.chamadoService = chamadoService;
+        this.exportacaoNdjson = exportacaoNdjson;
+        this.eventosTempoReal = eventosTempoReal;
     }
 
     /**
      * GET /v1/chamados
-     * Lista todos os chamados.
+     * Lista todos os chamados, em resumo (região só com id e nome; o chamado completo
+     * fica em GET /v1/chamados/{id}).
+     * Com ?limite=N (e ?cursor=... para as seguintes), devolve uma página e o cursor da
+     * próxima no cabeçalho X-Proximo-Cursor.
      */
     @GetMapping
-    public List<Chamado> listarTodos() {
-        return chamadoService.listarTodos();
+    public ResponseEntity<?> listarTodos(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limite) {
+        if (cursor == null && limite == null) {
+            return ResponseEntity.ok(chamadoService.listarTodos());
+        }
+        try {
+            return Paginacao.resposta(chamadoService.listarPagina(cursor, Paginacao.limite(limite)));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    /**
+     * GET /v1/chamados com Accept: application/x-ndjson
+     * Exporta todos os registros, um JSON por linha, lidos do banco sob demanda.
+     */
+    @GetMapping(produces = ExportacaoNdjson.TIPO)
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ExportacaoNdjson.TIPO))
+                .body(exportacaoNdjson.exportar(chamadoService::streamTodos));
+    }
+
+    /**
+     * GET /v1/chamados/stream
+     * Acompanha os chamados criados a partir de agora (Server-Sent Events).
+     * Filtros opcionais: ?regiaoId=N e ?prioridade=A&prioridade=B.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> acompanhar(@RequestParam(required = false) Long regiaoId,
+                                                 @RequestParam(required = false) List<String> prioridade) {
+        return Transmissao.assinar(eventosTempoReal, EventosTempoReal.Canal.CHAMADOS, regiaoId, prioridade);
     }
 
     /**
@@ -65,6 +111,21 @@ public class ChamadoController {
         }
     }
 
+    /**
+     * POST /v1/chamados/lote
+     * Cria vários chamados de uma vez (lista no formato do POST /v1/chamados).
+     * Tudo ou nada: se algum for recusado, nenhum é gravado e a resposta indica qual.
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<?> criarChamados(@RequestBody List<Chamado> chamados) {
+        try {
+            List<Chamado> criados = chamadoService.criarChamados(chamados);
+            return ResponseEntity.status(201).body(criados);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
     /**
      * PUT /v1/chamados/{id}
      * Atualiza um chamado existente.
@@ -104,7 +165,7 @@ public class ChamadoController {
      * Retorna todos os chamados cuja origem é exatamente o parâmetro.
      */
     @GetMapping("/origem/{origem}")
-    public List<Chamado> buscarPorOrigem(@PathVariable String origem) {
+    public List<ResumoChamado> buscarPorOrigem(@PathVariable String origem) {
         return chamadoService.buscarPorOrigem(origem);
     }
 
@@ -113,17 +174,27 @@ public class ChamadoController {
      * Retorna todos os chamados com prioridade exata.
      */
     @GetMapping("/prioridade/{prioridade}")
-    public List<Chamado> buscarPorPrioridade(@PathVariable String prioridade) {
+    public List<ResumoChamado> buscarPorPrioridade(@PathVariable String prioridade) {
         return chamadoService.buscarPorPrioridade(prioridade);
     }
 
     /**
-     * GET /v1/chamados/busca/descricao?trecho=...
-     * Retorna todos os chamados cuja descrição contém o trecho (case-insensitive).
+     * GET /v1/chamados/busca/descricao?trecho=...&pagina=0&tamanho=100
+     * Busca chamados pelos termos da descrição, ordenados por relevância (ignora acentos
+     * e maiúsculas). O total de resultados vai no cabeçalho X-Total-Resultados.
      */
     @GetMapping("/busca/descricao")
-    public List<Chamado> buscarPorDescricao(@RequestParam("trecho") String trecho) {
-        return chamadoService.buscarPorDescricao(trecho);
+    public ResponseEntity<?> buscarPorDescricao(@RequestParam("trecho") String trecho,
+                                                @RequestParam(defaultValue = "0") int pagina,
+                                                @RequestParam(defaultValue = "100") int tamanho) {
+        try {
+            ResultadoBusca<ResumoChamado> resultado = chamadoService.buscarPorDescricao(trecho, pagina, tamanho);
+            return ResponseEntity.ok()
+                    .header("X-Total-Resultados", String.valueOf(resultado.total()))
+                    .body(resultado.itens());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
     }
 
     /**
@@ -133,7 +204,7 @@ public class ChamadoController {
     @GetMapping("/regiao/{regiaoId}")
     public ResponseEntity<?> buscarPorRegiao(@PathVariable Long regiaoId) {
         try {
-            List<Chamado> lista = chamadoService.listarPorRegiao(regiaoId);
+            List<ResumoChamado> lista = chamadoService.listarPorRegiao(regiaoId);
             return ResponseEntity.ok(lista);
         } catch (IllegalArgumentException ex) {
             return ResponseEntity.notFound().build();
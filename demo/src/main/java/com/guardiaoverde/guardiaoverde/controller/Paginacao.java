@@ -0,0 +1,30 @@
+package com.guardiaoverde.guardiaoverde.controller;
+
+import com.guardiaoverde.guardiaoverde.service.Pagina;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Resposta das listagens paginadas: os itens no corpo e o cursor da página seguinte
+ * no cabeçalho {@value #CABECALHO_CURSOR} (ausente na última página).
+ */
+final class Paginacao {
+
+    static final String CABECALHO_CURSOR = "X-Proximo-Cursor";
+
+    private Paginacao() {
+    }
+
+    static <T> ResponseEntity<List<T>> resposta(Pagina<T> pagina) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (pagina.proximoCursor() != null) {
+            resposta.header(CABECALHO_CURSOR, pagina.proximoCursor());
+        }
+        return resposta.body(pagina.itens());
+    }
+
+    static int limite(Integer limite) {
+        return limite != null ? limite : Pagina.LIMITE_PADRAO;
+    }
+}
@@ -1,10 +1,13 @@
 package com.guardiaoverde.guardiaoverde.controller;
 
 import com.guardiaoverde.guardiaoverde.domain.PoliciaMilitar;
+import com.guardiaoverde.guardiaoverde.service.ExportacaoNdjson;
 import com.guardiaoverde.guardiaoverde.service.PoliciaMilitarService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
 import java.util.List;
@@ -14,19 +17,43 @@ import java.util.List;
 public class PoliciaMilitarController {
 
     private final PoliciaMilitarService policiaService;
+    private final ExportacaoNdjson exportacaoNdjson;
 
     @Autowired
-    public PoliciaMilitarController(PoliciaMilitarService policiaService) {
+    public PoliciaMilitarController(PoliciaMilitarService policiaService,
+                                    ExportacaoNdjson exportacaoNdjson) {
         this.policiaService = policiaService;
+        this.exportacaoNdjson = exportacaoNdjson;
     }
 
     /**
      * GET /v1/policias-militares
      * Lista todos os policiais militares.
+     * Com ?limite=N (e ?cursor=... para as seguintes), devolve uma página e o cursor da
+     * próxima no cabeçalho X-Proximo-Cursor.
      */
     @GetMapping
-    public List<PoliciaMilitar> listarTodos() {
-        return policiaService.listarTodos();
+    public ResponseEntity<?> listarTodos(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limite) {
+        if (cursor == null && limite == null) {
+            return ResponseEntity.ok(policiaService.listarTodos());
+        }
+        try {
+            return Paginacao.resposta(policiaService.listarPagina(cursor, Paginacao.limite(limite)));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    /**
+     * GET /v1/policias-militares com Accept: application/x-ndjson
+     * Exporta todos os registros, um JSON por linha, lidos do banco sob demanda.
+     */
+    @GetMapping(produces = ExportacaoNdjson.TIPO)
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ExportacaoNdjson.TIPO))
+                .body(exportacaoNdjson.exportar(policiaService::streamTodos));
     }
 
     /**
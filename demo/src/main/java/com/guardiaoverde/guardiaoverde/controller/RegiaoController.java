@@ -1,10 +1,14 @@
 package com.guardiaoverde.guardiaoverde.controller;
 
 import com.guardiaoverde.guardiaoverde.domain.Regiao;
+import com.guardiaoverde.guardiaoverde.domain.ResumoRegiao;
+import com.guardiaoverde.guardiaoverde.service.ExportacaoNdjson;
 import com.guardiaoverde.guardiaoverde.service.RegiaoService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
 import java.util.List;
@@ -14,19 +18,43 @@ import java.util.List;
 public class RegiaoController {
 
     private final RegiaoService regiaoService;
+    private final ExportacaoNdjson exportacaoNdjson;
 
     @Autowired
-    public RegiaoController(RegiaoService regiaoService) {
+    public RegiaoController(RegiaoService regiaoService,
+                            ExportacaoNdjson exportacaoNdjson) {
         this.regiaoService = regiaoService;
+        this.exportacaoNdjson = exportacaoNdjson;
     }
 
     /**
      * GET /v1/regioes
-     * Retorna todas as regiões.
+     * Retorna todas as regiões, sem os limites geográficos.
+     * Com ?limite=N (e ?cursor=... para as seguintes), devolve uma página e o cursor da
+     * próxima no cabeçalho X-Proximo-Cursor.
      */
     @GetMapping
-    public List<Regiao> listarTodas() {
-        return regiaoService.listarTodas();
+    public ResponseEntity<?> listarTodas(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limite) {
+        if (cursor == null && limite == null) {
+            return ResponseEntity.ok(regiaoService.listarTodas());
+        }
+        try {
+            return Paginacao.resposta(regiaoService.listarPagina(cursor, Paginacao.limite(limite)));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    /**
+     * GET /v1/regioes com Accept: application/x-ndjson
+     * Exporta todos os registros, um JSON por linha, lidos do banco sob demanda.
+     */
+    @GetMapping(produces = ExportacaoNdjson.TIPO)
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ExportacaoNdjson.TIPO))
+                .body(exportacaoNdjson.exportar(regiaoService::streamTodos));
     }
 
     /**
@@ -48,10 +76,28 @@ public class RegiaoController {
      * Busca regiões cujo nome contenha o trecho informado.
      */
     @GetMapping("/buscar")
-    public List<Regiao> buscarPorNome(@RequestParam("nome") String trecho) {
+    public List<ResumoRegiao> buscarPorNome(@RequestParam("nome") String trecho) {
         return regiaoService.buscarPorTrechoNome(trecho);
     }
 
+    /**
+     * GET /v1/regioes/localizar?lat=-15.79&lon=-47.88
+     * Retorna a região que contém o ponto informado.
+     */
+    @GetMapping("/localizar")
+    public ResponseEntity<?> localizar(@RequestParam("lat") double latitude,
+                                       @RequestParam("lon") double longitude) {
+        try {
+            return ResponseEntity.ok(regiaoService.localizar(latitude, longitude));
+        } catch (IllegalArgumentException ex) {
+            String msg = ex.getMessage();
+            if (msg.startsWith("Coordenada fora dos limites")) {
+                return ResponseEntity.badRequest().body(msg);
+            }
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     /**
      * POST /v1/regioes
      * Cria uma nova região (ou atualiza, se já existir ID no payload).
@@ -1,10 +1,14 @@
 package com.guardiaoverde.guardiaoverde.controller;
 
 import com.guardiaoverde.guardiaoverde.domain.Rota;
+import com.guardiaoverde.guardiaoverde.service.ExportacaoNdjson;
+import com.guardiaoverde.guardiaoverde.service.GrafoRotas;
 import com.guardiaoverde.guardiaoverde.service.RotaService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
 import java.util.List;
@@ -14,19 +18,43 @@ import java.util.List;
 public class RotaController {
 
     private final RotaService rotaService;
+    private final ExportacaoNdjson exportacaoNdjson;
 
     @Autowired
-    public RotaController(RotaService rotaService) {
+    public RotaController(RotaService rotaService,
+                          ExportacaoNdjson exportacaoNdjson) {
         this.rotaService = rotaService;
+        this.exportacaoNdjson = exportacaoNdjson;
     }
 
     /**
      * GET /v1/rotas
-     * Retorna todas as rotas.
+     * Retorna todas as rotas, sem os caminhos alternativos.
+     * Com ?limite=N (e ?cursor=... para as seguintes), devolve uma página e o cursor da
+     * próxima no cabeçalho X-Proximo-Cursor.
      */
     @GetMapping
-    public List<Rota> listarTodas() {
-        return rotaService.listarRotas();
+    public ResponseEntity<?> listarTodas(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limite) {
+        if (cursor == null && limite == null) {
+            return ResponseEntity.ok(rotaService.listarRotas());
+        }
+        try {
+            return Paginacao.resposta(rotaService.listarPagina(cursor, Paginacao.limite(limite)));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    /**
+     * GET /v1/rotas com Accept: application/x-ndjson
+     * Exporta todos os registros, um JSON por linha, lidos do banco sob demanda.
+     */
+    @GetMapping(produces = ExportacaoNdjson.TIPO)
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ExportacaoNdjson.TIPO))
+                .body(exportacaoNdjson.exportar(rotaService::streamTodos));
     }
 
     /**
@@ -43,6 +71,31 @@ public class RotaController {
         }
     }
 
+    /**
+     * GET /v1/rotas/caminho?de=Base Norte&para=Parque Sul&k=3
+     * Retorna até k caminhos de menor tempo entre os dois pontos (k padrão = 1).
+     */
+    @GetMapping("/caminho")
+    public ResponseEntity<?> buscarCaminho(
+            @RequestParam("de") String de,
+            @RequestParam("para") String para,
+            @RequestParam(value = "k", defaultValue = "1") int k
+    ) {
+        try {
+            List<GrafoRotas.Caminho> caminhos = rotaService.buscarCaminhos(de, para, k);
+            if (caminhos.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(caminhos);
+        } catch (IllegalArgumentException ex) {
+            String msg = ex.getMessage();
+            if (msg.startsWith("Ponto não encontrado")) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.badRequest().body(msg);
+        }
+    }
+
     /**
      * POST /v1/rotas
      * Cria uma nova rota.
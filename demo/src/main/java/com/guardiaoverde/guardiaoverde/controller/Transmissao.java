@@ -0,0 +1,76 @@
+package com.guardiaoverde.guardiaoverde.controller;
+
+import com.guardiaoverde.guardiaoverde.service.EventosTempoReal;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Liga uma assinatura do barramento de eventos a uma resposta SSE (text/event-stream).
+ * Cada evento sai com o id do registro, o nome do canal ("alerta" ou "chamado") e o
+ * registro em JSON; a pulsação sai como comentário.
+ */
+final class Transmissao {
+
+    // O EventSource do navegador reconecta sozinho quando a conexão expira
+    private static final long TIMEOUT_MS = Duration.ofMinutes(30).toMillis();
+    private static final long RECONEXAO_MS = 3_000;
+
+    private Transmissao() {
+    }
+
+    static ResponseEntity<SseEmitter> assinar(EventosTempoReal eventos, EventosTempoReal.Canal canal,
+                                              Long regiaoId, List<String> niveis) {
+        SseEmitter emissor = new SseEmitter(TIMEOUT_MS);
+        String nome = canal == EventosTempoReal.Canal.ALERTAS ? "alerta" : "chamado";
+        EventosTempoReal.Assinatura assinatura;
+        try {
+            assinatura = eventos.assinar(canal,
+                    new EventosTempoReal.Filtro(regiaoId, niveis != null ? new HashSet<>(niveis) : null),
+                    new EventosTempoReal.Destino() {
+                        @Override
+                        public void enviar(EventosTempoReal.Evento evento) throws IOException {
+                            if (evento.pulsacao()) {
+                                emissor.send(SseEmitter.event().comment(""));
+                                return;
+                            }
+                            SseEmitter.SseEventBuilder e = SseEmitter.event()
+                                    .name(nome)
+                                    .data(evento.json(), MediaType.APPLICATION_JSON);
+                            if (evento.id() != null) {
+                                e.id(evento.id().toString());
+                            }
+                            emissor.send(e);
+                        }
+
+                        @Override
+                        public void encerrado(String motivo) {
+                            try {
+                                emissor.complete();
+                            } catch (IllegalStateException ex) {
+                                // Já encerrado pelo container
+                            }
+                        }
+                    });
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        emissor.onCompletion(assinatura::cancelar);
+        emissor.onTimeout(assinatura::cancelar);
+        emissor.onError(erro -> assinatura.cancelar());
+        try {
+            emissor.send(SseEmitter.event().reconnectTime(RECONEXAO_MS).comment("assinado"));
+        } catch (IOException ex) {
+            assinatura.cancelar();
+        }
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(emissor);
+    }
+}
@@ -1,11 +1,14 @@
 package com.guardiaoverde.guardiaoverde.controller;
 
 import com.guardiaoverde.guardiaoverde.domain.Usuario;
+import com.guardiaoverde.guardiaoverde.service.ExportacaoNdjson;
 import com.guardiaoverde.guardiaoverde.service.UsuarioService;
 import com.guardiaoverde.guardiaoverde.repository.UsuarioRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
 import java.util.List;
@@ -17,21 +20,45 @@ public class UsuarioController {
 
     private final UsuarioRepository usuarioRepository;
     private final UsuarioService usuarioService;
+    private final ExportacaoNdjson exportacaoNdjson;
 
     @Autowired
     public UsuarioController(UsuarioRepository usuarioRepository,
-                             UsuarioService usuarioService) {
+                             UsuarioService usuarioService,
+                             ExportacaoNdjson exportacaoNdjson) {
         this.usuarioRepository = usuarioRepository;
         this.usuarioService = usuarioService;
+        this.exportacaoNdjson = exportacaoNdjson;
     }
 
     /**
      * GET /v1/usuarios
      * Lista todos os usuários (sem regras extras).
+     * Com ?limite=N (e ?cursor=... para as seguintes), devolve uma página e o cursor da
+     * próxima no cabeçalho X-Proximo-Cursor.
      */
     @GetMapping
-    public List<Usuario> listarTodos() {
-        return usuarioRepository.findAll();
+    public ResponseEntity<?> listarTodos(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limite) {
+        if (cursor == null && limite == null) {
+            return ResponseEntity.ok(usuarioRepository.findAll());
+        }
+        try {
+            return Paginacao.resposta(usuarioService.listarPagina(cursor, Paginacao.limite(limite)));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    /**
+     * GET /v1/usuarios com Accept: application/x-ndjson
+     * Exporta todos os registros, um JSON por linha, lidos do banco sob demanda.
+     */
+    @GetMapping(produces = ExportacaoNdjson.TIPO)
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ExportacaoNdjson.TIPO))
+                .body(exportacaoNdjson.exportar(usuarioService::streamTodos));
     }
 
     /**
@@ -127,10 +154,11 @@ public class UsuarioController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletar(@PathVariable Long id) {
-        if (!usuarioRepository.existsById(id)) {
+        try {
+            usuarioService.excluirUsuario(id);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException ex) {
             return ResponseEntity.notFound().build();
         }
-        usuarioRepository.deleteById(id);
-        return ResponseEntity.noContent().build();
     }
 }
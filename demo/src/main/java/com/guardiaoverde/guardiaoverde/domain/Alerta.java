@@ -4,11 +4,17 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@NamedEntityGraph(name = Alerta.COMPLETO,
+        attributeNodes = {@NamedAttributeNode("ambiente"), @NamedAttributeNode("responsavel")})
 @Table(name = "alertas")
 public class Alerta {
 
+    // Plano de busca de quem devolve o alerta com ambiente e responsável (detalhe, exportação)
+    public static final String COMPLETO = "Alerta.completo";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "alertas_seq")
+    @SequenceGenerator(name = "alertas_seq", sequenceName = "alertas_seq", allocationSize = 50)
     private Long id;
 
     // Quando o alerta foi gerado / recebido
@@ -24,12 +30,12 @@ public class Alerta {
     private Boolean riscoConfirmado;
 
     // Relaciona o alerta a um ambiente específico
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "ambiente_id")
     private Ambiente ambiente;
 
     // (Opcional) Quem criou ou recebeu o alerta — pode ser Usuário, Polícia ou Bombeiro
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "usuario_id")
     private Usuario responsavel;
 
@@ -52,6 +58,11 @@ public class Alerta {
         return id;
     }
 
+    // Usado pela inserção em lote via JDBC, que reserva os ids fora do Hibernate
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public LocalDateTime getDataHora() {
         return dataHora;
     }
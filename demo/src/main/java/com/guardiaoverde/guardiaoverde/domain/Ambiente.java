@@ -1,13 +1,17 @@
 package com.guardiaoverde.guardiaoverde.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "ambientes")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Ambiente {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ambientes_seq")
+    @SequenceGenerator(name = "ambientes_seq", sequenceName = "ambientes_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 50)
@@ -22,6 +26,14 @@ public class Ambiente {
     @Column(nullable = false, length = 100)
     private String localizacao;
 
+    // Momento da última gravação das leituras; usado como marca d'água pelo MonitorService
+    @Column(name = "atualizado_em")
+    private LocalDateTime atualizadoEm;
+
+    // Momento da medição da leitura projetada em temperatura/umidade (null sem leituras)
+    @Column(name = "data_ultima_leitura")
+    private LocalDateTime dataUltimaLeitura;
+
     public Ambiente() {
     }
 
@@ -67,4 +79,20 @@ public class Ambiente {
     public void setLocalizacao(String localizacao) {
         this.localizacao = localizacao;
     }
+
+    public LocalDateTime getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    public void setAtualizadoEm(LocalDateTime atualizadoEm) {
+        this.atualizadoEm = atualizadoEm;
+    }
+
+    public LocalDateTime getDataUltimaLeitura() {
+        return dataUltimaLeitura;
+    }
+
+    public void setDataUltimaLeitura(LocalDateTime dataUltimaLeitura) {
+        this.dataUltimaLeitura = dataUltimaLeitura;
+    }
 }
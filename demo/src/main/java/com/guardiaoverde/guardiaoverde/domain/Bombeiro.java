@@ -3,14 +3,19 @@ package com.guardiaoverde.guardiaoverde.domain;
 import jakarta.persistence.*;
 
 @Entity
+@NamedEntityGraph(name = Bombeiro.COM_USUARIO, attributeNodes = @NamedAttributeNode("usuario"))
 @Table(name = "bombeiros")
 public class Bombeiro {
 
+    // Plano de busca da escala e do detalhe, que precisam do usuário vinculado
+    public static final String COM_USUARIO = "Bombeiro.comUsuario";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bombeiros_seq")
+    @SequenceGenerator(name = "bombeiros_seq", sequenceName = "bombeiros_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "usuario_id")
     private Usuario usuario;
 
@@ -23,6 +28,10 @@ public class Bombeiro {
     @Column(length = 20)
     private String telefone;
 
+    // Ponto da malha de rotas onde o bombeiro fica baseado (ex.: nome do quartel)
+    @Column(length = 100)
+    private String base;
+
     public Bombeiro() {
     }
 
@@ -73,4 +82,12 @@ public class Bombeiro {
     public void setTelefone(String telefone) {
         this.telefone = telefone;
     }
+
+    public String getBase() {
+        return base;
+    }
+
+    public void setBase(String base) {
+        this.base = base;
+    }
 }
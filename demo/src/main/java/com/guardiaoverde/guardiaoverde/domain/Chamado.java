@@ -4,11 +4,18 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@NamedEntityGraph(name = Chamado.COM_REGIAO, attributeNodes = @NamedAttributeNode("regiao"))
 @Table(name = "chamados")
 public class Chamado {
 
+    // Plano de busca de quem devolve o chamado completo (detalhe, exportação)
+    public static final String COM_REGIAO = "Chamado.comRegiao";
+
+    // Ids reservados da sequência em blocos de 50 (otimizador pooled): o Hibernate não
+    // precisa ir ao banco a cada save e agrupa as inserções em lote (hibernate.jdbc.batch_size)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chamados_seq")
+    @SequenceGenerator(name = "chamados_seq", sequenceName = "chamados_seq", allocationSize = 50)
     private Long id;
 
     // Origem pode ser “USUARIO” ou “SISTEMA” (sensores automáticos)
@@ -20,7 +27,8 @@ public class Chamado {
     private String descricao;
 
     // Relacionamento com Regiao: a qual região o chamado pertence
-    @ManyToOne
+    // (lazy: as listagens usam ResumoChamado e não leem a região nem seus limites)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "regiao_id", nullable = false)
     private Regiao regiao;
 
@@ -32,6 +40,11 @@ public class Chamado {
     @Column(nullable = false, length = 10)
     private String prioridade;
 
+    // Momento da última gravação (criação ou edição): as outras réplicas leem por ele
+    // os chamados a indexar (IndiceTextoChamados.sincronizar)
+    @Column(name = "atualizado_em")
+    private LocalDateTime atualizadoEm;
+
     public Chamado() {
     }
 
@@ -48,6 +61,11 @@ public class Chamado {
         return id;
     }
 
+    // Usado pela inserção em lote via JDBC, que reserva os ids fora do Hibernate
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public String getOrigem() {
         return origem;
     }
@@ -87,4 +105,12 @@ public class Chamado {
     public void setPrioridade(String prioridade) {
         this.prioridade = prioridade;
     }
+
+    public LocalDateTime getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    public void setAtualizadoEm(LocalDateTime atualizadoEm) {
+        this.atualizadoEm = atualizadoEm;
+    }
 }
@@ -0,0 +1,48 @@
+package com.guardiaoverde.guardiaoverde.domain;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Fatia dos ambientes monitorados (ambiente.id módulo o número de fatias) e a concessão
+ * do nó que a processa. O token aumenta a cada troca de dono: gravações do monitor só são
+ * aceitas se o token lido no início do ciclo ainda for o atual.
+ * Lida e alterada por JDBC (CoordenacaoMonitorRepository); a entidade só descreve a tabela.
+ */
+@Entity
+@Table(name = "monitor_fatias")
+public class FatiaMonitor {
+
+    @Id
+    private Integer fatia;
+
+    // Nó que detém a concessão (null = livre)
+    @Column(length = 100)
+    private String dono;
+
+    @Column(nullable = false)
+    private Long token;
+
+    // Concessão vale até este instante se não for renovada
+    @Column(name = "expira_em")
+    private LocalDateTime expiraEm;
+
+    public FatiaMonitor() {
+    }
+
+    public Integer getFatia() {
+        return fatia;
+    }
+
+    public String getDono() {
+        return dono;
+    }
+
+    public Long getToken() {
+        return token;
+    }
+
+    public LocalDateTime getExpiraEm() {
+        return expiraEm;
+    }
+}
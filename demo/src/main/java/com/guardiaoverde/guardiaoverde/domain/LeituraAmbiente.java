@@ -0,0 +1,78 @@
+package com.guardiaoverde.guardiaoverde.domain;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Leitura de sensor de um Ambiente (série temporal, somente inserção).
+ * O Ambiente guarda apenas a projeção da última leitura.
+ */
+@Entity
+@Table(name = "leituras_ambiente")
+public class LeituraAmbiente {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "leituras_ambiente_seq")
+    @SequenceGenerator(name = "leituras_ambiente_seq", sequenceName = "leituras_ambiente_seq", allocationSize = 50)
+    private Long id;
+
+    // Apenas o id: leituras são gravadas em massa e nunca navegam até o Ambiente
+    @Column(name = "ambiente_id", nullable = false)
+    private Long ambienteId;
+
+    // Momento da medição informado pela estação
+    @Column(name = "data_hora", nullable = false)
+    private LocalDateTime dataHora;
+
+    @Column(nullable = false)
+    private Double temperatura;
+
+    @Column(nullable = false)
+    private Double umidade;
+
+    public LeituraAmbiente() {
+    }
+
+    public LeituraAmbiente(Long ambienteId, LocalDateTime dataHora, Double temperatura, Double umidade) {
+        this.ambienteId = ambienteId;
+        this.dataHora = dataHora;
+        this.temperatura = temperatura;
+        this.umidade = umidade;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getAmbienteId() {
+        return ambienteId;
+    }
+
+    public void setAmbienteId(Long ambienteId) {
+        this.ambienteId = ambienteId;
+    }
+
+    public LocalDateTime getDataHora() {
+        return dataHora;
+    }
+
+    public void setDataHora(LocalDateTime dataHora) {
+        this.dataHora = dataHora;
+    }
+
+    public Double getTemperatura() {
+        return temperatura;
+    }
+
+    public void setTemperatura(Double temperatura) {
+        this.temperatura = temperatura;
+    }
+
+    public Double getUmidade() {
+        return umidade;
+    }
+
+    public void setUmidade(Double umidade) {
+        this.umidade = umidade;
+    }
+}
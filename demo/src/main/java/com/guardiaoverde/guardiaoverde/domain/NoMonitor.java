@@ -0,0 +1,32 @@
+package com.guardiaoverde.guardiaoverde.domain;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Nó (réplica) da aplicação que participa do monitoramento, com a última pulsação.
+ * Nós sem pulsação recente deixam de contar na divisão das fatias.
+ * Lida e alterada por JDBC (CoordenacaoMonitorRepository); a entidade só descreve a tabela.
+ */
+@Entity
+@Table(name = "monitor_nos")
+public class NoMonitor {
+
+    @Id
+    @Column(length = 100)
+    private String id;
+
+    @Column(name = "visto_em", nullable = false)
+    private LocalDateTime vistoEm;
+
+    public NoMonitor() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public LocalDateTime getVistoEm() {
+        return vistoEm;
+    }
+}
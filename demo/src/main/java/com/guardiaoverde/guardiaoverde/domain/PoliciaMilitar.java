@@ -7,7 +7,8 @@ import jakarta.persistence.*;
 public class PoliciaMilitar {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "policias_militares_seq")
+    @SequenceGenerator(name = "policias_militares_seq", sequenceName = "policias_militares_seq", allocationSize = 50)
     private Long id;
 
     // Se cada policial for um usuário do sistema
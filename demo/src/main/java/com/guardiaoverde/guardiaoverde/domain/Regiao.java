@@ -1,13 +1,21 @@
 package com.guardiaoverde.guardiaoverde.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "regioes")
+// Cache de segundo nível (ver CacheEntidadesConfig); alterações propagadas pela InvalidacaoCache
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "regioes")
+// Alcançada por associações lazy: um proxy já inicializado é serializado sem os campos do Hibernate
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Regiao {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "regioes_seq")
+    @SequenceGenerator(name = "regioes_seq", sequenceName = "regioes_seq", allocationSize = 50)
     private Long id;
 
     // Nome da região de monitoramento
@@ -0,0 +1,17 @@
+package com.guardiaoverde.guardiaoverde.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Alerta nas listagens: as colunas do próprio alerta e os ids do ambiente e do
+ * responsável, sem carregar as entidades associadas.
+ */
+public record ResumoAlerta(
+        Long id,
+        LocalDateTime dataHora,
+        String nivelRisco,
+        Boolean riscoConfirmado,
+        Long ambienteId,
+        Long responsavelId
+) {
+}
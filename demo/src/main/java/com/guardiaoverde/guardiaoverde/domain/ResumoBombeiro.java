@@ -0,0 +1,19 @@
+package com.guardiaoverde.guardiaoverde.domain;
+
+/**
+ * Bombeiro nas listagens e buscas, com o id do usuário vinculado no lugar do Usuario.
+ */
+public record ResumoBombeiro(
+        Long id,
+        String nome,
+        String turno,
+        String telefone,
+        String base,
+        Long usuarioId
+) {
+
+    public static ResumoBombeiro de(Bombeiro b) {
+        return new ResumoBombeiro(b.getId(), b.getNome(), b.getTurno(), b.getTelefone(), b.getBase(),
+                b.getUsuario() != null ? b.getUsuario().getId() : null);
+    }
+}
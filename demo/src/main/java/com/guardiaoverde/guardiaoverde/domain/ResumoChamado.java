@@ -0,0 +1,18 @@
+package com.guardiaoverde.guardiaoverde.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Chamado nas listagens e buscas: só as colunas do próprio chamado e o id e nome da
+ * região, lidos por uma projeção (sem carregar a Regiao nem os limites geográficos).
+ */
+public record ResumoChamado(
+        Long id,
+        String origem,
+        String descricao,
+        Long regiaoId,
+        String regiaoNome,
+        LocalDateTime dataHora,
+        String prioridade
+) {
+}
@@ -0,0 +1,13 @@
+package com.guardiaoverde.guardiaoverde.domain;
+
+/**
+ * Região nas listagens e buscas, sem os limites geográficos (CLOB); o polígono
+ * completo continua em GET /v1/regioes/{id}.
+ */
+public record ResumoRegiao(
+        Long id,
+        String nome,
+        String tipoVegetacao,
+        Double indiceSecura
+) {
+}
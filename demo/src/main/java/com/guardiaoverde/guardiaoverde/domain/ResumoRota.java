@@ -0,0 +1,14 @@
+package com.guardiaoverde.guardiaoverde.domain;
+
+/**
+ * Rota nas listagens, sem os caminhos alternativos (CLOB); a rota completa continua
+ * em GET /v1/rotas/{id}.
+ */
+public record ResumoRota(
+        Long id,
+        String pontoPartida,
+        String pontoDestino,
+        Double tempoEstimado,
+        Double distancia
+) {
+}
@@ -1,13 +1,17 @@
 package com.guardiaoverde.guardiaoverde.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "rotas")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "rotas")
 public class Rota {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rotas_seq")
+    @SequenceGenerator(name = "rotas_seq", sequenceName = "rotas_seq", allocationSize = 50)
     private Long id;
 
     // Ponto de partida (coordenada, nome ou referência textual)
@@ -2,18 +2,52 @@ package com.guardiaoverde.guardiaoverde.repository;
 
 import com.guardiaoverde.guardiaoverde.domain.Alerta;
 import com.guardiaoverde.guardiaoverde.domain.Ambiente;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.guardiaoverde.guardiaoverde.domain.ResumoAlerta;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositório para a entidade Alerta.
+ *
+ * As listagens devolvem {@link ResumoAlerta}; o alerta com ambiente e responsável só é
+ * lido pelo plano Alerta.COMPLETO.
  */
 @Repository
-public interface AlertaRepository extends JpaRepository<Alerta, Long> {
+public interface AlertaRepository extends RepositorioPaginavel<Alerta> {
+
+    // Ids do ambiente e do responsável lidos das chaves estrangeiras, sem junção
+    String RESUMO = "SELECT new com.guardiaoverde.guardiaoverde.domain.ResumoAlerta("
+            + "a.id, a.dataHora, a.nivelRisco, a.riscoConfirmado, a.ambiente.id, a.responsavel.id) "
+            + "FROM Alerta a ";
+
+    @Override
+    @EntityGraph(Alerta.COMPLETO)
+    Optional<Alerta> findById(Long id);
+
+    @Override
+    @EntityGraph(Alerta.COMPLETO)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Alerta> streamAllByOrderByIdAsc();
+
+    // Resumo de todos os alertas
+    @Query(RESUMO)
+    List<ResumoAlerta> findResumos();
+
+    // Resumos dos alertas de um determinado ambiente
+    @Query(RESUMO + "WHERE a.ambiente.id = :ambienteId")
+    List<ResumoAlerta> findResumosPorAmbiente(@Param("ambienteId") Long ambienteId);
 
     // Busca um alerta pelo nível de risco exato (e.g. "BAIXO", "MÉDIO", "ALTO")
     List<Alerta> findByNivelRisco(String nivelRisco);
@@ -36,4 +70,30 @@ public interface AlertaRepository extends JpaRepository<Alerta, Long> {
     List<Alerta> findTopByAmbienteOrderByDataHoraDesc(Ambiente ambiente);
 
     List<Alerta> findByAmbiente(Ambiente ambiente);
+
+    // Pares (id do responsável, dataHora) dos alertas atribuídos desde o instante informado
+    @Query("SELECT a.responsavel.id, a.dataHora FROM Alerta a "
+            + "WHERE a.responsavel IS NOT NULL AND a.dataHora >= :desde")
+    List<Object[]> findResponsavelEDataHoraDesde(@Param("desde") LocalDateTime desde);
+
+    // Primeira página dos alertas, do mais recente para o mais antigo
+    @Query(RESUMO + "ORDER BY a.dataHora DESC, a.id DESC")
+    List<ResumoAlerta> findResumosRecentes(Pageable pageable);
+
+    // Página seguinte por busca de chave: alertas anteriores à posição (dataHora, id) informada
+    @Query(RESUMO + "WHERE a.dataHora < :dataHora "
+            + "OR (a.dataHora = :dataHora AND a.id < :id) ORDER BY a.dataHora DESC, a.id DESC")
+    List<ResumoAlerta> findResumosAnterioresA(@Param("dataHora") LocalDateTime dataHora,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+
+    // Último alerta (dataHora) de cada ambiente e nível de risco desde o instante informado
+    @Query("SELECT a.ambiente.id, a.nivelRisco, MAX(a.dataHora) FROM Alerta a "
+            + "WHERE a.dataHora >= :desde GROUP BY a.ambiente.id, a.nivelRisco")
+    List<Object[]> findUltimoPorAmbienteENivelDesde(@Param("desde") LocalDateTime desde);
+
+    // Entre os ambientes informados, os que receberam algum alerta desde o instante informado
+    @Query("SELECT DISTINCT a.ambiente.id FROM Alerta a WHERE a.ambiente.id IN :ids AND a.dataHora >= :desde")
+    List<Long> findAmbientesComAlertaDesde(@Param("ids") Collection<Long> ids,
+                                           @Param("desde") LocalDateTime desde);
 }
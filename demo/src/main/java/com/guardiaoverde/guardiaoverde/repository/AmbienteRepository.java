@@ -1,16 +1,19 @@
 package com.guardiaoverde.guardiaoverde.repository;
 
 import com.guardiaoverde.guardiaoverde.domain.Ambiente;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * Repositório para a entidade Ambiente.
  */
 @Repository
-public interface AmbienteRepository extends JpaRepository<Ambiente, Long> {
+public interface AmbienteRepository extends RepositorioPaginavel<Ambiente> {
 
     /**
      * Busca todos os ambientes cujo clima corresponda exatamente ao valor informado.
@@ -34,4 +37,27 @@ public interface AmbienteRepository extends JpaRepository<Ambiente, Long> {
 
     List<Ambiente> findByTemperaturaLessThanAndUmidadeLessThan(Double temperaturaMax, Double umidadeMax);
 
+    /**
+     * Busca os ambientes cujas leituras foram gravadas depois da marca informada.
+     */
+    List<Ambiente> findByAtualizadoEmAfterOrderByAtualizadoEmAsc(LocalDateTime marca);
+
+    /**
+     * Atualiza a projeção da última leitura (temperatura/umidade) sem carregar a entidade,
+     * somente se a leitura for mais nova que a já projetada. A condição fica no UPDATE para
+     * valer entre transações concorrentes e entre réplicas: o lote mais antigo não regride
+     * a projeção mesmo que confirme por último. Devolve 0 quando a leitura é mais antiga.
+     *
+     * atualizadoEm é o momento da gravação (marca d'água do MonitorService), não o da leitura.
+     */
+    @Modifying
+    @Query("update Ambiente a set a.temperatura = :temperatura, a.umidade = :umidade, "
+            + "a.dataUltimaLeitura = :dataHora, a.atualizadoEm = :atualizadoEm "
+            + "where a.id = :id and (a.dataUltimaLeitura is null or a.dataUltimaLeitura < :dataHora)")
+    int atualizarUltimaLeitura(@Param("id") Long id,
+                               @Param("temperatura") Double temperatura,
+                               @Param("umidade") Double umidade,
+                               @Param("dataHora") LocalDateTime dataHora,
+                               @Param("atualizadoEm") LocalDateTime atualizadoEm);
+
 }
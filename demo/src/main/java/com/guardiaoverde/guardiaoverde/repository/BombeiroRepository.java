@@ -1,17 +1,53 @@
 package com.guardiaoverde.guardiaoverde.repository;
 
 import com.guardiaoverde.guardiaoverde.domain.Bombeiro;
+import com.guardiaoverde.guardiaoverde.domain.ResumoBombeiro;
 import com.guardiaoverde.guardiaoverde.domain.Usuario;
-import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositório para a entidade Bombeiro.
+ *
+ * A escala (findAll), o detalhe e a exportação leem o usuário junto pelo plano
+ * Bombeiro.COM_USUARIO; as listagens e buscas por nome usam {@link ResumoBombeiro}.
  */
 @Repository
-public interface BombeiroRepository extends JpaRepository<Bombeiro, Long> {
+public interface BombeiroRepository extends RepositorioPaginavel<Bombeiro> {
+
+    String RESUMO = "SELECT new com.guardiaoverde.guardiaoverde.domain.ResumoBombeiro("
+            + "b.id, b.nome, b.turno, b.telefone, b.base, b.usuario.id) FROM Bombeiro b ";
+
+    @Override
+    @EntityGraph(Bombeiro.COM_USUARIO)
+    Optional<Bombeiro> findById(Long id);
+
+    @Override
+    @EntityGraph(Bombeiro.COM_USUARIO)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Bombeiro> streamAllByOrderByIdAsc();
+
+    /**
+     * Resumos dos bombeiros com id maior que o informado, em ordem de id (listagem paginada).
+     */
+    @Query(RESUMO + "WHERE b.id > :id ORDER BY b.id")
+    List<ResumoBombeiro> findResumosDepoisDe(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Resumos dos bombeiros cujo nome contenha o trecho informado (ignora maiúsculas/minúsculas).
+     */
+    @Query(RESUMO + "WHERE LOWER(b.nome) LIKE LOWER(CONCAT('%', :trecho, '%'))")
+    List<ResumoBombeiro> findResumosPorNome(@Param("trecho") String trecho);
 
     /**
      * Busca bombeiros cujo nome contenha o trecho informado (ignora maiúsculas/minúsculas).
@@ -28,5 +64,7 @@ public interface BombeiroRepository extends JpaRepository<Bombeiro, Long> {
      */
     List<Bombeiro> findByUsuario(Usuario usuario);
 
+    @Override
+    @EntityGraph(Bombeiro.COM_USUARIO)
     List<Bombeiro> findAll();
 }
@@ -2,16 +2,65 @@ package com.guardiaoverde.guardiaoverde.repository;
 
 import com.guardiaoverde.guardiaoverde.domain.Chamado;
 import com.guardiaoverde.guardiaoverde.domain.Regiao;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.guardiaoverde.guardiaoverde.domain.ResumoChamado;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositório para a entidade Chamado.
+ *
+ * As listagens e buscas devolvem {@link ResumoChamado} (projeção com o id e o nome da
+ * região); a entidade completa, com a região, só é lida pelo plano Chamado.COM_REGIAO.
  */
 @Repository
-public interface ChamadoRepository extends JpaRepository<Chamado, Long> {
+public interface ChamadoRepository extends RepositorioPaginavel<Chamado> {
+
+    String RESUMO = "SELECT new com.guardiaoverde.guardiaoverde.domain.ResumoChamado("
+            + "c.id, c.origem, c.descricao, r.id, r.nome, c.dataHora, c.prioridade) "
+            + "FROM Chamado c JOIN c.regiao r ";
+
+    @Override
+    @EntityGraph(Chamado.COM_REGIAO)
+    Optional<Chamado> findById(Long id);
+
+    @Override
+    @EntityGraph(Chamado.COM_REGIAO)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Chamado> streamAllByOrderByIdAsc();
+
+    /**
+     * Resumo de todos os chamados.
+     */
+    @Query(RESUMO)
+    List<ResumoChamado> findResumos();
+
+    /**
+     * Resumos dos chamados de ids informados, em qualquer ordem (no máximo 1000 ids).
+     */
+    @Query(RESUMO + "WHERE c.id IN :ids")
+    List<ResumoChamado> findResumosPorIds(@Param("ids") Collection<Long> ids);
+
+    @Query(RESUMO + "WHERE c.origem = :origem")
+    List<ResumoChamado> findResumosPorOrigem(@Param("origem") String origem);
+
+    @Query(RESUMO + "WHERE c.prioridade = :prioridade")
+    List<ResumoChamado> findResumosPorPrioridade(@Param("prioridade") String prioridade);
+
+    @Query(RESUMO + "WHERE r.id = :regiaoId")
+    List<ResumoChamado> findResumosPorRegiao(@Param("regiaoId") Long regiaoId);
 
     /**
      * Retorna todos os chamados de uma dada origem (ex.: "USUARIO" ou "SISTEMA").
@@ -28,6 +77,16 @@ public interface ChamadoRepository extends JpaRepository<Chamado, Long> {
      */
     List<Chamado> findByDescricaoContainingIgnoreCase(String trecho);
 
+    /**
+     * Busca por trecho paginada, do mais recente ao mais antigo (usada enquanto o índice
+     * de texto não está pronto).
+     */
+    @Query(value = RESUMO + "WHERE LOWER(c.descricao) LIKE LOWER(CONCAT('%', :trecho, '%')) "
+            + "ORDER BY c.dataHora DESC, c.id DESC",
+            countQuery = "SELECT COUNT(c) FROM Chamado c "
+                    + "WHERE LOWER(c.descricao) LIKE LOWER(CONCAT('%', :trecho, '%'))")
+    Page<ResumoChamado> findResumosPorTrecho(@Param("trecho") String trecho, Pageable pageable);
+
     /**
      * Retorna todos os chamados pertencentes à região de ID informado.
      */
@@ -36,4 +95,41 @@ public interface ChamadoRepository extends JpaRepository<Chamado, Long> {
     List<Chamado> findTopByRegiaoOrderByDataHoraDesc(Regiao r);
 
     List<Chamado> findByRegiao(Regiao r);
+
+    /**
+     * Primeira página dos chamados, do mais recente para o mais antigo.
+     */
+    @Query(RESUMO + "ORDER BY c.dataHora DESC, c.id DESC")
+    List<ResumoChamado> findResumosRecentes(Pageable pageable);
+
+    /**
+     * Página seguinte por busca de chave: chamados anteriores à posição (dataHora, id) informada.
+     */
+    @Query(RESUMO + "WHERE c.dataHora < :dataHora "
+            + "OR (c.dataHora = :dataHora AND c.id < :id) ORDER BY c.dataHora DESC, c.id DESC")
+    List<ResumoChamado> findResumosAnterioresA(@Param("dataHora") LocalDateTime dataHora,
+                                               @Param("id") Long id,
+                                               Pageable pageable);
+
+    /**
+     * Pares (id, descrição) dos chamados com id maior que o informado, em ordem de id,
+     * para (re)construir o índice de texto sem carregar as entidades.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT c.id, c.descricao FROM Chamado c WHERE c.id > :depoisDe ORDER BY c.id")
+    Stream<Object[]> streamDescricoesDepoisDe(@Param("depoisDe") Long depoisDe);
+
+    /**
+     * Pares (id, descrição) dos chamados gravados (criados ou editados) desde o instante
+     * informado, para o índice de texto acompanhar as outras réplicas.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT c.id, c.descricao FROM Chamado c WHERE c.atualizadoEm >= :desde")
+    Stream<Object[]> streamDescricoesGravadasDesde(@Param("desde") LocalDateTime desde);
+
+    /**
+     * Triplas (id da região, descrição, dataHora) dos chamados desde o instante informado.
+     */
+    @Query("SELECT c.regiao.id, c.descricao, c.dataHora FROM Chamado c WHERE c.dataHora >= :desde")
+    List<Object[]> findRegiaoDescricaoEDataHoraDesde(@Param("desde") LocalDateTime desde);
 }
@@ -0,0 +1,138 @@
+package com.guardiaoverde.guardiaoverde.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Acesso por JDBC às tabelas de coordenação do monitor entre réplicas (monitor_nos e
+ * monitor_fatias). Toda troca de dono é um UPDATE condicional em uma linha: o banco
+ * garante que só um nó vence, sem travas fora dele.
+ */
+@Repository
+public class CoordenacaoMonitorRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public CoordenacaoMonitorRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Cria as linhas das fatias 0..total-1 que ainda não existem (livres, token 0).
+     */
+    public void criarFatias(int total) {
+        Set<Integer> existentes = new HashSet<>(
+                jdbcTemplate.queryForList("SELECT fatia FROM monitor_fatias", Integer.class));
+        for (int fatia = 0; fatia < total; fatia++) {
+            if (existentes.contains(fatia)) {
+                continue;
+            }
+            try {
+                jdbcTemplate.update("INSERT INTO monitor_fatias (fatia, dono, token, expira_em) "
+                        + "VALUES (?, NULL, 0, NULL)", fatia);
+            } catch (DuplicateKeyException ex) {
+                // Outro nó criou a mesma fatia ao mesmo tempo
+            }
+        }
+    }
+
+    /**
+     * Registra a pulsação do nó (insere na primeira vez).
+     */
+    public void registrarPulsacao(String no, LocalDateTime agora) {
+        if (jdbcTemplate.update("UPDATE monitor_nos SET visto_em = ? WHERE id = ?", ts(agora), no) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO monitor_nos (id, visto_em) VALUES (?, ?)", no, ts(agora));
+        } catch (DuplicateKeyException ex) {
+            jdbcTemplate.update("UPDATE monitor_nos SET visto_em = ? WHERE id = ?", ts(agora), no);
+        }
+    }
+
+    /**
+     * Ids dos nós com pulsação a partir do instante informado, em ordem.
+     */
+    public List<String> nosVivos(LocalDateTime desde) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM monitor_nos WHERE visto_em >= ? ORDER BY id", String.class, ts(desde));
+    }
+
+    /**
+     * Estende até {@code expiraEm} as concessões ainda válidas do nó e devolve fatia → token
+     * de cada uma. Concessões já vencidas não são renovadas: outro nó pode estar assumindo.
+     */
+    public Map<Integer, Long> renovar(String no, LocalDateTime agora, LocalDateTime expiraEm) {
+        jdbcTemplate.update("UPDATE monitor_fatias SET expira_em = ? WHERE dono = ? AND expira_em > ?",
+                ts(expiraEm), no, ts(agora));
+        Map<Integer, Long> fatias = new TreeMap<>();
+        jdbcTemplate.query("SELECT fatia, token FROM monitor_fatias WHERE dono = ? AND expira_em > ?",
+                rs -> {
+                    fatias.put(rs.getInt(1), rs.getLong(2));
+                }, no, ts(agora));
+        return fatias;
+    }
+
+    /**
+     * Fatias livres ou com concessão vencida, em ordem.
+     */
+    public List<Integer> fatiasDisponiveis(LocalDateTime agora) {
+        return jdbcTemplate.queryForList("SELECT fatia FROM monitor_fatias "
+                + "WHERE dono IS NULL OR expira_em IS NULL OR expira_em <= ? ORDER BY fatia", Integer.class, ts(agora));
+    }
+
+    /**
+     * Tenta assumir a fatia se ela ainda estiver livre ou vencida, incrementando o token.
+     * Devolve o novo token, ou vazio se outro nó chegou antes.
+     */
+    public OptionalLong assumir(int fatia, String no, LocalDateTime agora, LocalDateTime expiraEm) {
+        int alteradas = jdbcTemplate.update("UPDATE monitor_fatias SET dono = ?, token = token + 1, expira_em = ? "
+                        + "WHERE fatia = ? AND (dono IS NULL OR expira_em IS NULL OR expira_em <= ?)",
+                no, ts(expiraEm), fatia, ts(agora));
+        if (alteradas == 0) {
+            return OptionalLong.empty();
+        }
+        Long token = jdbcTemplate.queryForObject(
+                "SELECT token FROM monitor_fatias WHERE fatia = ? AND dono = ?", Long.class, fatia, no);
+        return token != null ? OptionalLong.of(token) : OptionalLong.empty();
+    }
+
+    /**
+     * Devolve a fatia, se o nó ainda for o dono com o mesmo token.
+     */
+    public void liberar(int fatia, String no, long token) {
+        jdbcTemplate.update("UPDATE monitor_fatias SET dono = NULL, expira_em = NULL "
+                + "WHERE fatia = ? AND dono = ? AND token = ?", fatia, no, token);
+    }
+
+    /**
+     * Confirma, na transação corrente, que o nó ainda é o dono de cada fatia com o token
+     * informado. O UPDATE sem efeito também trava as linhas até o commit, de modo que
+     * nenhum outro nó assume essas fatias no meio da gravação.
+     * Devolve as fatias cuja posse foi perdida.
+     */
+    public List<Integer> confirmarPosse(String no, Map<Integer, Long> tokens) {
+        // Um comando por fatia: em lote, alguns drivers não informam a contagem de linhas
+        List<Integer> perdidas = new ArrayList<>();
+        for (Map.Entry<Integer, Long> e : tokens.entrySet()) {
+            int alteradas = jdbcTemplate.update(
+                    "UPDATE monitor_fatias SET dono = dono WHERE fatia = ? AND dono = ? AND token = ?",
+                    e.getKey(), no, e.getValue());
+            if (alteradas == 0) {
+                perdidas.add(e.getKey());
+            }
+        }
+        return perdidas;
+    }
+
+    private static Timestamp ts(LocalDateTime dataHora) {
+        return Timestamp.valueOf(dataHora);
+    }
+}
@@ -0,0 +1,244 @@
+package com.guardiaoverde.guardiaoverde.repository;
+
+import com.guardiaoverde.guardiaoverde.domain.Alerta;
+import com.guardiaoverde.guardiaoverde.domain.Ambiente;
+import com.guardiaoverde.guardiaoverde.domain.Chamado;
+import com.guardiaoverde.guardiaoverde.domain.LeituraAmbiente;
+import com.guardiaoverde.guardiaoverde.domain.Rota;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.stream.IntStream;
+
+/**
+ * Inserções em lote via JDBC para os fluxos de alto volume (ciclo do MonitorService,
+ * ingestão de leituras dos sensores, carga de dados sintéticos).
+ * Não passa pelo contexto de persistência: as linhas são gravadas direto com batchUpdate,
+ * dentro da transação corrente.
+ *
+ * Os ids vêm das mesmas sequências das entidades (tabela_seq), reservados em blocos como faz
+ * o Hibernate: a sequência avança de 50 em 50 e cada valor v obtido cobre os ids v - 49 .. v.
+ * Os dois caminhos nunca geram o mesmo id, e um lote de n linhas consome ceil(n / 50) valores
+ * da sequência, lidos em uma só consulta, em vez de um valor (50 ids) por linha.
+ */
+@Repository
+public class InsercaoEmLoteRepository {
+
+    private static final String INSERT_CHAMADO =
+            "INSERT INTO chamados (id, origem, descricao, regiao_id, data_hora, prioridade, atualizado_em) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ALERTA =
+            "INSERT INTO alertas (id, data_hora, nivel_risco, risco_confirmado, ambiente_id, usuario_id) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_LEITURA =
+            "INSERT INTO leituras_ambiente (id, ambiente_id, data_hora, temperatura, umidade) "
+                    + "VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_AMBIENTE =
+            "INSERT INTO ambientes (id, clima, temperatura, umidade, localizacao, atualizado_em) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ROTA =
+            "INSERT INTO rotas (id, ponto_partida, ponto_destino, tempo_estimado, distancia) "
+                    + "VALUES (?, ?, ?, ?, ?)";
+
+    // Igual ao allocationSize das entidades e ao INCREMENT BY das sequências (V2__sequencias)
+    private static final int BLOCO_SEQUENCIA = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Banco conectado é Oracle (seq.NEXTVAL) ou segue o padrão SQL (NEXT VALUE FOR seq, H2)
+    private volatile Boolean oracle;
+
+    @Value("${insercao.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Autowired
+    public InsercaoEmLoteRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insere todos os chamados em lotes de {@code insercao.tamanho-lote} linhas.
+     * Os ids reservados são atribuídos aos próprios chamados (e o atualizadoEm, se vazio,
+     * recebe o momento da gravação).
+     *
+     * @return os ids gravados, na ordem da lista
+     */
+    public List<Long> inserirChamados(List<Chamado> chamados) {
+        if (chamados.isEmpty()) {
+            return List.of();
+        }
+        long[] ids = reservarIds("chamados_seq", chamados.size());
+        LocalDateTime agora = LocalDateTime.now();
+        for (int i = 0; i < chamados.size(); i++) {
+            Chamado c = chamados.get(i);
+            c.setId(ids[i]);
+            if (c.getAtualizadoEm() == null) {
+                c.setAtualizadoEm(agora);
+            }
+        }
+        Calendar utc = utc();
+        jdbcTemplate.batchUpdate(INSERT_CHAMADO, posicoes(chamados), tamanhoLote, (ps, i) -> {
+            Chamado c = chamados.get(i);
+            ps.setLong(1, ids[i]);
+            ps.setString(2, c.getOrigem());
+            ps.setString(3, c.getDescricao());
+            ps.setLong(4, c.getRegiao().getId());
+            ps.setTimestamp(5, paraTimestamp(c.getDataHora()), utc);
+            ps.setString(6, c.getPrioridade());
+            ps.setTimestamp(7, paraTimestamp(c.getAtualizadoEm()), utc);
+        });
+        return Arrays.stream(ids).boxed().toList();
+    }
+
+    /**
+     * Insere todos os alertas em lotes de {@code insercao.tamanho-lote} linhas. Os ids
+     * reservados são atribuídos aos próprios alertas.
+     *
+     * @return os ids gravados, na ordem da lista
+     */
+    public List<Long> inserirAlertas(List<Alerta> alertas) {
+        if (alertas.isEmpty()) {
+            return List.of();
+        }
+        long[] ids = reservarIds("alertas_seq", alertas.size());
+        for (int i = 0; i < alertas.size(); i++) {
+            alertas.get(i).setId(ids[i]);
+        }
+        Calendar utc = utc();
+        jdbcTemplate.batchUpdate(INSERT_ALERTA, posicoes(alertas), tamanhoLote, (ps, i) -> {
+            Alerta a = alertas.get(i);
+            ps.setLong(1, ids[i]);
+            ps.setTimestamp(2, paraTimestamp(a.getDataHora()), utc);
+            ps.setString(3, a.getNivelRisco());
+            ps.setBoolean(4, Boolean.TRUE.equals(a.getRiscoConfirmado()));
+            ps.setLong(5, a.getAmbiente().getId());
+            if (a.getResponsavel() != null) {
+                ps.setLong(6, a.getResponsavel().getId());
+            } else {
+                ps.setNull(6, Types.BIGINT);
+            }
+        });
+        return Arrays.stream(ids).boxed().toList();
+    }
+
+    /**
+     * Insere as leituras de sensores em lotes de {@code insercao.tamanho-lote} linhas.
+     */
+    public void inserirLeituras(List<LeituraAmbiente> leituras) {
+        if (leituras.isEmpty()) {
+            return;
+        }
+        long[] ids = reservarIds("leituras_ambiente_seq", leituras.size());
+        Calendar utc = utc();
+        jdbcTemplate.batchUpdate(INSERT_LEITURA, posicoes(leituras), tamanhoLote, (ps, i) -> {
+            LeituraAmbiente l = leituras.get(i);
+            ps.setLong(1, ids[i]);
+            ps.setLong(2, l.getAmbienteId());
+            ps.setTimestamp(3, paraTimestamp(l.getDataHora()), utc);
+            ps.setDouble(4, l.getTemperatura());
+            ps.setDouble(5, l.getUmidade());
+        });
+    }
+
+    /**
+     * Insere os ambientes em lotes de {@code insercao.tamanho-lote} linhas.
+     */
+    public void inserirAmbientes(List<Ambiente> ambientes) {
+        if (ambientes.isEmpty()) {
+            return;
+        }
+        long[] ids = reservarIds("ambientes_seq", ambientes.size());
+        Calendar utc = utc();
+        jdbcTemplate.batchUpdate(INSERT_AMBIENTE, posicoes(ambientes), tamanhoLote, (ps, i) -> {
+            Ambiente a = ambientes.get(i);
+            ps.setLong(1, ids[i]);
+            ps.setString(2, a.getClima());
+            ps.setDouble(3, a.getTemperatura());
+            ps.setDouble(4, a.getUmidade());
+            ps.setString(5, a.getLocalizacao());
+            if (a.getAtualizadoEm() != null) {
+                ps.setTimestamp(6, paraTimestamp(a.getAtualizadoEm()), utc);
+            } else {
+                ps.setNull(6, Types.TIMESTAMP);
+            }
+        });
+    }
+
+    /**
+     * Insere as rotas (sem caminhos alternativos) em lotes de {@code insercao.tamanho-lote} linhas.
+     */
+    public void inserirRotas(List<Rota> rotas) {
+        if (rotas.isEmpty()) {
+            return;
+        }
+        long[] ids = reservarIds("rotas_seq", rotas.size());
+        jdbcTemplate.batchUpdate(INSERT_ROTA, posicoes(rotas), tamanhoLote, (ps, i) -> {
+            Rota r = rotas.get(i);
+            ps.setLong(1, ids[i]);
+            ps.setString(2, r.getPontoPartida());
+            ps.setString(3, r.getPontoDestino());
+            ps.setDouble(4, r.getTempoEstimado());
+            ps.setDouble(5, r.getDistancia());
+        });
+    }
+
+    /**
+     * Reserva a quantidade de ids informada na sequência, em blocos de BLOCO_SEQUENCIA.
+     * O primeiro valor de uma sequência recém-criada (1) cobre só o id 1; nesse caso
+     * busca mais valores até completar.
+     */
+    private long[] reservarIds(String sequencia, int quantidade) {
+        long[] ids = new long[quantidade];
+        int preenchidos = 0;
+        while (preenchidos < quantidade) {
+            int blocos = (quantidade - preenchidos + BLOCO_SEQUENCIA - 1) / BLOCO_SEQUENCIA;
+            for (Long valor : jdbcTemplate.queryForList(proximosValores(sequencia), Long.class, blocos)) {
+                long id = Math.max(1, valor - BLOCO_SEQUENCIA + 1);
+                while (id <= valor && preenchidos < quantidade) {
+                    ids[preenchidos++] = id++;
+                }
+            }
+        }
+        return ids;
+    }
+
+    // Consulta que devolve os próximos ? valores da sequência em uma ida ao banco
+    private String proximosValores(String sequencia) {
+        if (oracle == null) {
+            String banco = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            oracle = banco != null && banco.toLowerCase(Locale.ROOT).contains("oracle");
+        }
+        return oracle
+                ? "SELECT " + sequencia + ".NEXTVAL FROM dual CONNECT BY LEVEL <= ?"
+                : "SELECT NEXT VALUE FOR " + sequencia + " FROM SYSTEM_RANGE(1, ?)";
+    }
+
+    // Posições 0..n-1, para o batchUpdate entregar o índice de cada linha (e o id reservado)
+    private static List<Integer> posicoes(List<?> linhas) {
+        return IntStream.range(0, linhas.size()).boxed().toList();
+    }
+
+    private static Timestamp paraTimestamp(LocalDateTime dataHora) {
+        return Timestamp.valueOf(dataHora);
+    }
+
+    // Mesmo binding que o Hibernate usa com hibernate.jdbc.time_zone=UTC
+    private static Calendar utc() {
+        return Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    }
+}
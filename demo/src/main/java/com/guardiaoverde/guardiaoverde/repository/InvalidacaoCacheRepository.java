@@ -0,0 +1,58 @@
+package com.guardiaoverde.guardiaoverde.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Acesso por JDBC à tabela cache_invalidacoes: uma linha por entidade de referência
+ * alterada, gravada na mesma transação da alteração, que as outras réplicas leem para
+ * tirar a entidade dos seus caches.
+ */
+@Repository
+public class InvalidacaoCacheRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public InvalidacaoCacheRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Registra a alteração na transação corrente (entidadeId null = todas as entidades da classe).
+     */
+    public void registrar(String entidade, Long entidadeId, String no, LocalDateTime criadoEm) {
+        jdbcTemplate.update("INSERT INTO cache_invalidacoes (entidade, entidade_id, no_origem, criado_em) "
+                + "VALUES (?, ?, ?, ?)", entidade, entidadeId, no, ts(criadoEm));
+    }
+
+    /**
+     * Invalidações gravadas por outros nós a partir do instante informado, em ordem de id.
+     */
+    public List<Invalidacao> desde(LocalDateTime desde, String excetoNo) {
+        return jdbcTemplate.query("SELECT id, entidade, entidade_id, criado_em FROM cache_invalidacoes "
+                        + "WHERE criado_em >= ? AND no_origem <> ? ORDER BY id",
+                (rs, i) -> new Invalidacao(rs.getLong(1), rs.getString(2),
+                        rs.getObject(3) != null ? rs.getLong(3) : null, rs.getTimestamp(4).toLocalDateTime()),
+                ts(desde), excetoNo);
+    }
+
+    /**
+     * Apaga as invalidações anteriores ao instante informado; devolve quantas.
+     */
+    public int removerAnterioresA(LocalDateTime limite) {
+        return jdbcTemplate.update("DELETE FROM cache_invalidacoes WHERE criado_em < ?", ts(limite));
+    }
+
+    public record Invalidacao(long id, String entidade, Long entidadeId, LocalDateTime criadoEm) {
+    }
+
+    private static Timestamp ts(LocalDateTime dataHora) {
+        return Timestamp.valueOf(dataHora);
+    }
+}
@@ -0,0 +1,45 @@
+package com.guardiaoverde.guardiaoverde.repository;
+
+import com.guardiaoverde.guardiaoverde.domain.LeituraAmbiente;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositório para a série temporal de leituras dos ambientes.
+ * As inserções em massa passam por InsercaoEmLoteRepository.
+ */
+@Repository
+public interface LeituraAmbienteRepository extends JpaRepository<LeituraAmbiente, Long> {
+
+    /**
+     * Leituras de um ambiente em um intervalo, da mais antiga para a mais recente.
+     */
+    List<LeituraAmbiente> findByAmbienteIdAndDataHoraBetweenOrderByDataHoraAsc(
+            Long ambienteId, LocalDateTime inicio, LocalDateTime fim, Pageable pageable);
+
+    /**
+     * Leituras de um ambiente posteriores ao instante informado, da mais recente para a mais antiga.
+     */
+    List<LeituraAmbiente> findByAmbienteIdAndDataHoraAfterOrderByDataHoraDesc(
+            Long ambienteId, LocalDateTime desde, Pageable pageable);
+
+    /**
+     * Leitura mais recente de um ambiente.
+     */
+    Optional<LeituraAmbiente> findTopByAmbienteIdOrderByDataHoraDesc(Long ambienteId);
+
+    /**
+     * Remove em uma única instrução todas as leituras de um ambiente.
+     */
+    @Modifying
+    @Query("delete from LeituraAmbiente l where l.ambienteId = :ambienteId")
+    int excluirPorAmbiente(@Param("ambienteId") Long ambienteId);
+}
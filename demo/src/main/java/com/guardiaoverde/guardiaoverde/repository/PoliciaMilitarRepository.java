@@ -2,7 +2,6 @@ package com.guardiaoverde.guardiaoverde.repository;
 
 import com.guardiaoverde.guardiaoverde.domain.PoliciaMilitar;
 import com.guardiaoverde.guardiaoverde.domain.Usuario;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,7 +11,7 @@ import java.util.Optional;
  * Repositório para a entidade PolíciaMilitar.
  */
 @Repository
-public interface PoliciaMilitarRepository extends JpaRepository<PoliciaMilitar, Long> {
+public interface PoliciaMilitarRepository extends RepositorioPaginavel<PoliciaMilitar> {
 
     /**
      * Busca um policial militar por matrícula.
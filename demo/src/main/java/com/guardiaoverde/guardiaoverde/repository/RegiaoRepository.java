@@ -1,17 +1,46 @@
 package com.guardiaoverde.guardiaoverde.repository;
 
 import com.guardiaoverde.guardiaoverde.domain.Regiao;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.guardiaoverde.guardiaoverde.domain.ResumoRegiao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Repositório para a entidade Regiao.
+ *
+ * As listagens usam {@link ResumoRegiao}, que não lê a coluna limites_geograficos (CLOB).
+ * As buscas por nome usadas na criação de chamados e no monitor ficam no cache de
+ * consultas do Hibernate (ver CacheEntidadesConfig).
  */
 @Repository
-public interface RegiaoRepository extends JpaRepository<Regiao, Long> {
+public interface RegiaoRepository extends RepositorioPaginavel<Regiao> {
+
+    String RESUMO = "SELECT new com.guardiaoverde.guardiaoverde.domain.ResumoRegiao("
+            + "r.id, r.nome, r.tipoVegetacao, r.indiceSecura) FROM Regiao r ";
+
+    @Query(RESUMO + "ORDER BY r.id")
+    List<ResumoRegiao> findResumos();
+
+    /**
+     * Resumos das regiões com id maior que o informado, em ordem de id (listagem paginada).
+     */
+    @Query(RESUMO + "WHERE r.id > :id ORDER BY r.id")
+    List<ResumoRegiao> findResumosDepoisDe(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Resumos das regiões cujo nome contenha o trecho informado (ignorando maiúsculas/minúsculas).
+     */
+    @Query(RESUMO + "WHERE LOWER(r.nome) LIKE LOWER(CONCAT('%', :trecho, '%'))")
+    List<ResumoRegiao> findResumosPorNome(@Param("trecho") String trecho);
 
     /**
      * Busca regiões cujo nome contenha o trecho informado (ignorando maiúsculas/minúsculas).
@@ -31,8 +60,16 @@ public interface RegiaoRepository extends JpaRepository<Regiao, Long> {
     /**
      * Busca uma região exatamente pelo nome.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Regiao> findByNome(String nome);
 
+    /**
+     * Busca de uma só vez todas as regiões cujos nomes estejam na coleção informada.
+     * (No Oracle a cláusula IN aceita no máximo 1000 itens; quem chama deve particionar.)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Regiao> findByNomeIn(Collection<String> nomes);
+
     // Ou, se quiser buscar pela localizacao textual:
     Optional<Regiao> findByLimitesGeograficos(String limites);
 
@@ -0,0 +1,31 @@
+package com.guardiaoverde.guardiaoverde.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Consultas de listagem sem OFFSET e sem materializar a tabela inteira,
+ * comuns aos repositórios das entidades com id numérico.
+ */
+@NoRepositoryBean
+public interface RepositorioPaginavel<T> extends JpaRepository<T, Long> {
+
+    /**
+     * Página por busca de chave (keyset): registros com id maior que o informado, em ordem de id.
+     */
+    List<T> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Todos os registros em ordem de id, lidos sob demanda por um cursor só de avanço.
+     * Deve ser consumido (e fechado) dentro de uma transação.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<T> streamAllByOrderByIdAsc();
+}
@@ -1,24 +1,33 @@
 package com.guardiaoverde.guardiaoverde.repository;
 
+import com.guardiaoverde.guardiaoverde.domain.ResumoRota;
 import com.guardiaoverde.guardiaoverde.domain.Rota;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
-import java.util.Optional;
 
 @Repository
-public interface RotaRepository extends JpaRepository<Rota, Long> {
+public interface RotaRepository extends RepositorioPaginavel<Rota> {
+
+    // Listagens sem a coluna caminhos_alternativos (CLOB)
+    String RESUMO = "SELECT new com.guardiaoverde.guardiaoverde.domain.ResumoRota("
+            + "r.id, r.pontoPartida, r.pontoDestino, r.tempoEstimado, r.distancia) FROM Rota r ";
+
+    @Query(RESUMO + "ORDER BY r.id")
+    List<ResumoRota> findResumos();
 
     /**
-     * Busca rotas cujo ponto de partida contenha o trecho informado (ignora maiúsculas/minúsculas).
+     * Resumos das rotas com id maior que o informado, em ordem de id (listagem paginada).
      */
-    List<Rota> findByPontoPartidaContainingIgnoreCase(String trecho);
+    @Query(RESUMO + "WHERE r.id > :id ORDER BY r.id")
+    List<ResumoRota> findResumosDepoisDe(@Param("id") Long id, Pageable pageable);
 
     /**
-     * Busca rotas cujo ponto de destino contenha o trecho informado (ignora maiúsculas/minúsculas).
+     * Busca rotas cujo ponto de partida contenha o trecho informado (ignora maiúsculas/minúsculas).
      */
-
-    Optional<Rota> findByPontoDestinoContainingIgnoreCase(String pontoDestino);
+    List<Rota> findByPontoPartidaContainingIgnoreCase(String trecho);
 
 }
@@ -2,42 +2,83 @@ package com.guardiaoverde.guardiaoverde.service;
 
 import com.guardiaoverde.guardiaoverde.domain.*;
 import com.guardiaoverde.guardiaoverde.repository.*;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "guardiao.servico", histogram = true)
 public class AlertaService {
 
     private final AlertaRepository alertaRepository;
     private final AmbienteRepository ambienteRepository;
-    private final BombeiroRepository bombeiroRepository;
     private final PoliciaMilitarRepository policiaMilitarRepository;
+    private final DespachoService despachoService;
+    private final CooldownAlertas cooldownAlertas;
+    private final EventosTempoReal eventosTempoReal;
+
+    @Value("${alerta.max-por-lote:1000}")
+    private int maxPorLote = 1000;
 
     @Autowired
     public AlertaService(AlertaRepository alertaRepository,
                          AmbienteRepository ambienteRepository,
-                         BombeiroRepository bombeiroRepository,
-                         PoliciaMilitarRepository policiaMilitarRepository) {
+                         PoliciaMilitarRepository policiaMilitarRepository,
+                         DespachoService despachoService,
+                         CooldownAlertas cooldownAlertas,
+                         EventosTempoReal eventosTempoReal) {
         this.alertaRepository = alertaRepository;
         this.ambienteRepository = ambienteRepository;
-        this.bombeiroRepository = bombeiroRepository;
         this.policiaMilitarRepository = policiaMilitarRepository;
+        this.despachoService = despachoService;
+        this.cooldownAlertas = cooldownAlertas;
+        this.eventosTempoReal = eventosTempoReal;
+    }
+
+    /**
+     * Retorna o resumo de todos os alertas existentes.
+     */
+    public List<ResumoAlerta> listarTodos() {
+        return alertaRepository.findResumos();
+    }
+
+    /**
+     * Página de alertas do mais recente para o mais antigo, a partir do cursor
+     * (null para a primeira página).
+     */
+    public Pagina<ResumoAlerta> listarPagina(String cursor, int limite) {
+        Pageable pedido = Pagina.pedido(limite);
+        List<ResumoAlerta> lidos;
+        if (cursor == null) {
+            lidos = alertaRepository.findResumosRecentes(pedido);
+        } else {
+            Pagina.Posicao posicao = Pagina.posicaoDoCursor(cursor);
+            lidos = alertaRepository.findResumosAnterioresA(posicao.dataHora(), posicao.id(), pedido);
+        }
+        return Pagina.de(lidos, limite, a -> Pagina.cursorDeDataHora(a.dataHora(), a.id()));
     }
 
     /**
-     * Retorna todos os alertas existentes.
+     * Todos os alertas lidos sob demanda, para exportação (consumir dentro de uma transação).
      */
-    public List<Alerta> listarTodos() {
-        return alertaRepository.findAll();
+    public Stream<Alerta> streamTodos() {
+        return alertaRepository.streamAllByOrderByIdAsc();
     }
 
     /**
-     * Retorna um alerta por ID, se existir.
+     * Retorna um alerta por ID, com ambiente e responsável, se existir.
      */
     public Optional<Alerta> buscarPorId(Long id) {
         return alertaRepository.findById(id);
@@ -52,7 +93,67 @@ public class AlertaService {
         // 1) Certificar que o ambiente existe
         Ambiente ambiente = ambienteRepository.findById(novoAlerta.getAmbiente().getId())
                 .orElseThrow(() -> new IllegalArgumentException("Ambiente não encontrado"));
+        preparar(novoAlerta, ambiente);
+        atribuirResponsaveis(List.of(novoAlerta));
+
+        Alerta salvo = alertaRepository.save(novoAlerta);
+        AposCommit.executar(() -> eventosTempoReal.publicarAlerta(salvo));
+        return salvo;
+    }
+
+    /**
+     * Cria vários alertas em uma única transação, com as mesmas regras de criarAlerta:
+     * se algum for recusado, nenhum é gravado (a mensagem indica a posição do recusado).
+     * Os ambientes são carregados de uma vez, os responsáveis dos confirmados são
+     * distribuídos juntos (DespachoService.escolherEmLote) depois de todos aceitos, e os
+     * alertas gravados com saveAll.
+     */
+    @Transactional
+    public List<Alerta> criarAlertas(List<Alerta> novos) {
+        if (novos == null || novos.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum alerta informado.");
+        }
+        if (novos.size() > maxPorLote) {
+            throw new IllegalArgumentException("Máximo de " + maxPorLote + " alertas por requisição.");
+        }
+        Set<Long> ambienteIds = new HashSet<>();
+        for (Alerta a : novos) {
+            if (a.getAmbiente() == null || a.getAmbiente().getId() == null) {
+                throw new IllegalArgumentException("Todo alerta deve informar o ambiente.");
+            }
+            ambienteIds.add(a.getAmbiente().getId());
+        }
+        Map<Long, Ambiente> ambientes = new HashMap<>();
+        for (Ambiente a : ambienteRepository.findAllById(ambienteIds)) {
+            ambientes.put(a.getId(), a);
+        }
+
+        for (int i = 0; i < novos.size(); i++) {
+            Alerta alerta = novos.get(i);
+            Ambiente ambiente = ambientes.get(alerta.getAmbiente().getId());
+            try {
+                if (ambiente == null) {
+                    throw new IllegalArgumentException("Ambiente não encontrado");
+                }
+                preparar(alerta, ambiente);
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Alerta " + (i + 1) + ": " + ex.getMessage(), ex);
+            }
+        }
+        atribuirResponsaveis(novos);
+
+        List<Alerta> salvos = alertaRepository.saveAll(novos);
+        AposCommit.executar(() -> salvos.forEach(eventosTempoReal::publicarAlerta));
+        return salvos;
+    }
+
+    /**
+     * Regras de criação a partir do ambiente já carregado: nível de risco e intervalo
+     * mínimo. Lança IllegalArgumentException se o alerta for recusado.
+     */
+    private void preparar(Alerta novoAlerta, Ambiente ambiente) {
         novoAlerta.setAmbiente(ambiente);
+        validarNivelRisco(novoAlerta.getNivelRisco());
 
         // 2) Se riscoConfirmado == true, nívelRisco não pode ser “BAIXO”
         if (Boolean.TRUE.equals(novoAlerta.getRiscoConfirmado())
@@ -60,27 +161,62 @@ public class AlertaService {
             throw new IllegalArgumentException("Alerta confirmado não pode ter nível de risco BAIXO.");
         }
 
-        // 3) Verificar intervalo mínimo de 5 minutos desde último alerta do mesmo nível no mesmo ambiente
-        List<Alerta> ultimos = alertaRepository.findTopByAmbienteOrderByDataHoraDesc(ambiente);
-        if (!ultimos.isEmpty()) {
-            Alerta ultimo = ultimos.get(0);
-            Duration diff = Duration.between(ultimo.getDataHora(), novoAlerta.getDataHora());
-            if (diff.toMinutes() < 5
-                    && ultimo.getNivelRisco().equalsIgnoreCase(novoAlerta.getNivelRisco())) {
-                throw new IllegalArgumentException(
-                        "Já existe alerta do mesmo nível neste ambiente há menos de 5 minutos.");
-            }
+        // 3) Verificar intervalo mínimo desde o último alerta do mesmo nível no mesmo ambiente
+        //    (verificação e registro atômicos; a reserva é desfeita se a transação não confirmar)
+        CooldownAlertas.Reserva reserva = cooldownAlertas.reservar(
+                ambiente.getId(), novoAlerta.getNivelRisco(), novoAlerta.getDataHora());
+        if (reserva == null) {
+            EventosJfr.AlertaEmCooldown recusa = new EventosJfr.AlertaEmCooldown();
+            recusa.ambienteId = ambiente.getId();
+            recusa.nivelRisco = novoAlerta.getNivelRisco();
+            recusa.intervaloMin = cooldownAlertas.getIntervaloMin();
+            recusa.commit();
+            throw new IllegalArgumentException("Já existe alerta do mesmo nível neste ambiente há menos de "
+                    + cooldownAlertas.getIntervaloMin() + " minutos.");
+        }
+        AposCommit.seDesfeita(() -> cooldownAlertas.desfazer(reserva));
+    }
+
+    // O nível de risco tem de ser um dos conhecidos (ver NivelRisco); ele também é chave do intervalo mínimo
+    private static void validarNivelRisco(String nivelRisco) {
+        if (NivelRisco.de(nivelRisco).isEmpty()) {
+            throw new IllegalArgumentException("Nível de risco inválido. Use BAIXO, MÉDIO ou ALTO.");
         }
+    }
 
-        // 4) Se riscoConfirmado for true, atribui automaticamente um bombeiro disponível
-        if (Boolean.TRUE.equals(novoAlerta.getRiscoConfirmado())) {
-            Bombeiro responsavel = buscarBombeiroDisponivelParaAmbiente(ambiente);
+    /**
+     * 4) Os alertas com riscoConfirmado recebem automaticamente um bombeiro disponível.
+     * Os destinos vão juntos para o DespachoService, que os distribui minimizando o custo
+     * total, em vez de escolher um a um.
+     */
+    private void atribuirResponsaveis(List<Alerta> alertas) {
+        List<Alerta> confirmados = new ArrayList<>();
+        List<String> destinos = new ArrayList<>();
+        List<EventosJfr.ResponsavelAtribuido> atribuicoes = new ArrayList<>();
+        for (Alerta alerta : alertas) {
+            if (Boolean.TRUE.equals(alerta.getRiscoConfirmado())) {
+                EventosJfr.ResponsavelAtribuido atribuicao = new EventosJfr.ResponsavelAtribuido();
+                atribuicao.begin();
+                atribuicoes.add(atribuicao);
+                confirmados.add(alerta);
+                destinos.add(despachoService.destinoDoAmbiente(alerta.getAmbiente()));
+            }
+        }
+        if (confirmados.isEmpty()) {
+            return;
+        }
+        List<Bombeiro> designados = despachoService.escolherEmLote(destinos);
+        for (int i = 0; i < confirmados.size(); i++) {
+            Alerta alerta = confirmados.get(i);
+            Bombeiro responsavel = designados.get(i);
             if (responsavel != null) {
-                novoAlerta.setResponsavel(responsavel.getUsuario());
+                alerta.setResponsavel(responsavel.getUsuario());
             }
+            EventosJfr.ResponsavelAtribuido atribuicao = atribuicoes.get(i);
+            atribuicao.ambienteId = alerta.getAmbiente().getId();
+            atribuicao.bombeiroId = responsavel != null && responsavel.getId() != null ? responsavel.getId() : 0;
+            atribuicao.commit();
         }
-
-        return alertaRepository.save(novoAlerta);
     }
 
     /**
@@ -96,6 +232,7 @@ public class AlertaService {
             existing.setAmbiente(ambiente);
 
             // 2) Regras de negócio iguais à criação (por exemplo, riscoConfirmado + nível)
+            validarNivelRisco(alertaAtualizado.getNivelRisco());
             if (Boolean.TRUE.equals(alertaAtualizado.getRiscoConfirmado())
                     && "BAIXO".equalsIgnoreCase(alertaAtualizado.getNivelRisco())) {
                 throw new IllegalArgumentException("Alerta confirmado não pode ter nível de risco BAIXO.");
@@ -107,7 +244,10 @@ public class AlertaService {
             existing.setRiscoConfirmado(alertaAtualizado.getRiscoConfirmado());
             existing.setResponsavel(alertaAtualizado.getResponsavel());
 
-            return alertaRepository.save(existing);
+            Alerta salvo = alertaRepository.save(existing);
+            AposCommit.executar(() -> cooldownAlertas.marcar(
+                    ambiente.getId(), salvo.getNivelRisco(), salvo.getDataHora()));
+            return salvo;
         }).orElseThrow(() -> new IllegalArgumentException("Alerta não encontrado"));
     }
 
@@ -124,17 +264,10 @@ public class AlertaService {
     /**
      * Lista todos os Alertas de um determinado ambiente.
      */
-    public List<Alerta> listarAlertasPorAmbiente(Long ambienteId) {
-        Ambiente ambiente = ambienteRepository.findById(ambienteId)
-                .orElseThrow(() -> new IllegalArgumentException("Ambiente não encontrado"));
-        return alertaRepository.findByAmbiente(ambiente);
-    }
-
-    /**
-     * Exemplo simples de busca de um Bombeiro disponível para o ambiente.
-     * Poderia incluir lógica mais complexa (proximidade geográfica, turno etc.).
-     */
-    private Bombeiro buscarBombeiroDisponivelParaAmbiente(Ambiente ambiente) {
-        return bombeiroRepository.findAll().stream().findFirst().orElse(null);
+    public List<ResumoAlerta> listarAlertasPorAmbiente(Long ambienteId) {
+        if (!ambienteRepository.existsById(ambienteId)) {
+            throw new IllegalArgumentException("Ambiente não encontrado");
+        }
+        return alertaRepository.findResumosPorAmbiente(ambienteId);
     }
 }
@@ -1,21 +1,39 @@
 package com.guardiaoverde.guardiaoverde.service;
 
 import com.guardiaoverde.guardiaoverde.domain.Ambiente;
+import com.guardiaoverde.guardiaoverde.domain.LeituraAmbiente;
 import com.guardiaoverde.guardiaoverde.repository.AmbienteRepository;
+import com.guardiaoverde.guardiaoverde.repository.LeituraAmbienteRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "guardiao.servico", histogram = true)
 public class AmbienteService {
 
     private final AmbienteRepository ambienteRepository;
+    private final LeituraAmbienteRepository leituraAmbienteRepository;
+    private final RegistroEstadoAmbientes registroEstadoAmbientes;
+    private final UltimasLeituras ultimasLeituras;
+    private final JanelaAmbienteService janelaAmbienteService;
 
     @Autowired
-    public AmbienteService(AmbienteRepository ambienteRepository) {
+    public AmbienteService(AmbienteRepository ambienteRepository,
+                           LeituraAmbienteRepository leituraAmbienteRepository,
+                           RegistroEstadoAmbientes registroEstadoAmbientes,
+                           UltimasLeituras ultimasLeituras,
+                           JanelaAmbienteService janelaAmbienteService) {
         this.ambienteRepository = ambienteRepository;
+        this.leituraAmbienteRepository = leituraAmbienteRepository;
+        this.registroEstadoAmbientes = registroEstadoAmbientes;
+        this.ultimasLeituras = ultimasLeituras;
+        this.janelaAmbienteService = janelaAmbienteService;
     }
 
     /**
@@ -27,12 +45,7 @@ public class AmbienteService {
             throw new IllegalArgumentException("Ambiente não encontrado");
         }
         // 2.1: Verificar valores plausíveis de temperatura e umidade
-        if (a.getTemperatura() < -50.0 || a.getTemperatura() > 60.0) {
-            throw new IllegalArgumentException("Temperatura fora da faixa permitida.");
-        }
-        if (a.getUmidade() < 0.0 || a.getUmidade() > 100.0) {
-            throw new IllegalArgumentException("Umidade fora da faixa permitida.");
-        }
+        validarFaixas(a.getTemperatura(), a.getUmidade());
 
         // 2.1: Validar clima em um conjunto pré-definido (exemplo simples abaixo)
         String clima = a.getClima().toUpperCase();
@@ -41,13 +54,54 @@ public class AmbienteService {
             throw new IllegalArgumentException("Clima inválido: " + clima);
         }
 
-        return ambienteRepository.save(a);
+        // Marca a alteração para o ciclo incremental do MonitorService e, como leitura mais
+        // recente, para o UPDATE condicional das leituras em lote (AmbienteRepository.atualizarUltimaLeitura)
+        LocalDateTime agora = LocalDateTime.now();
+        a.setAtualizadoEm(agora);
+        a.setDataUltimaLeitura(agora);
+        Ambiente salvo = ambienteRepository.save(a);
+
+        // A gravação direta também é a leitura mais recente do ambiente
+        LeituraAmbiente leitura = new LeituraAmbiente(salvo.getId(), salvo.getAtualizadoEm(),
+                salvo.getTemperatura(), salvo.getUmidade());
+        AposCommit.executar(() -> {
+            ultimasLeituras.registrar(leitura);
+            janelaAmbienteService.registrar(leitura.getAmbienteId(), leitura.getDataHora(),
+                    leitura.getTemperatura(), leitura.getUmidade());
+        });
+        return salvo;
+    }
+
+    /**
+     * Valida a faixa plausível de temperatura e umidade (usada também pelas leituras em lote).
+     */
+    static void validarFaixas(Double temperatura, Double umidade) {
+        if (temperatura < -50.0 || temperatura > 60.0) {
+            throw new IllegalArgumentException("Temperatura fora da faixa permitida.");
+        }
+        if (umidade < 0.0 || umidade > 100.0) {
+            throw new IllegalArgumentException("Umidade fora da faixa permitida.");
+        }
     }
 
     public List<Ambiente> listarTodos() {
         return ambienteRepository.findAll();
     }
 
+    /**
+     * Página de ambientes em ordem de id, a partir do cursor (null para a primeira página).
+     */
+    public Pagina<Ambiente> listarPagina(String cursor, int limite) {
+        return Pagina.porId(ambienteRepository, cursor, limite, Ambiente::getId);
+    }
+
+    /**
+     * Todos os ambientes lidos sob demanda, para exportação (consumir dentro de uma transação).
+     */
+    public Stream<Ambiente> streamTodos() {
+        return ambienteRepository.streamAllByOrderByIdAsc();
+    }
+
     public Ambiente findById(Long id) {
         return ambienteRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Ambiente não encontrado"));
@@ -57,6 +111,12 @@ public class AmbienteService {
     public void excluirPorId(Long id) {
         Ambiente existente = ambienteRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Ambiente não encontrado"));
+        leituraAmbienteRepository.excluirPorAmbiente(id);
         ambienteRepository.delete(existente);
+        AposCommit.executar(() -> {
+            registroEstadoAmbientes.remover(id);
+            ultimasLeituras.remover(id);
+            janelaAmbienteService.remover(id);
+        });
     }
 }
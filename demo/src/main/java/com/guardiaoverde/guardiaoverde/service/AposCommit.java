@@ -0,0 +1,48 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Adia efeitos colaterais em memória (estados, índices, caches) até o commit da
+ * transação corrente, para que um rollback não deixe a memória divergente do banco.
+ * Sem transação ativa, a ação é executada imediatamente.
+ *
+ * Reservas feitas em memória antes do commit (ex.: janela de deduplicação) usam
+ * {@link #seDesfeita} para serem liberadas no rollback.
+ */
+final class AposCommit {
+
+    private AposCommit() {
+    }
+
+    static void executar(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+
+    /**
+     * Executa a ação se a transação corrente for desfeita. Sem transação ativa, não faz nada.
+     */
+    static void seDesfeita(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    acao.run();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,179 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * R-tree imutável empacotada com Sort-Tile-Recursive (STR): os polígonos são ordenados
+ * pelo centro em x, fatiados em faixas verticais, ordenados em y dentro de cada faixa e
+ * agrupados em nós de até {@link #CAPACIDADE_NO} entradas, nível a nível até a raiz.
+ * A consulta de um ponto visita apenas os nós cujo retângulo o contém: O(log n) no caso usual.
+ */
+public final class ArvoreRegioes {
+
+    static final int CAPACIDADE_NO = 16;
+
+    private static final ArvoreRegioes VAZIA = new ArvoreRegioes(null, Set.of());
+
+    private final No raiz;
+    private final Set<Long> ids;
+
+    private ArvoreRegioes(No raiz, Set<Long> ids) {
+        this.raiz = raiz;
+        this.ids = ids;
+    }
+
+    public static ArvoreRegioes vazia() {
+        return VAZIA;
+    }
+
+    public static ArvoreRegioes construir(Collection<PoligonoRegiao> poligonos) {
+        if (poligonos.isEmpty()) {
+            return VAZIA;
+        }
+        List<No> nivel = new ArrayList<>(poligonos.size());
+        Set<Long> ids = new HashSet<>();
+        for (PoligonoRegiao p : poligonos) {
+            nivel.add(new No(p));
+            ids.add(p.getRegiaoId());
+        }
+        while (nivel.size() > 1) {
+            nivel = empacotar(nivel);
+        }
+        return new ArvoreRegioes(nivel.get(0), ids);
+    }
+
+    public int tamanho() {
+        return ids.size();
+    }
+
+    public boolean contem(Long regiaoId) {
+        return ids.contains(regiaoId);
+    }
+
+    /**
+     * Entrega ao consumidor cada polígono que contém o ponto (lon, lat).
+     */
+    public void consultar(double x, double y, Consumer<PoligonoRegiao> consumidor) {
+        if (raiz == null) {
+            return;
+        }
+        Deque<No> pilha = new ArrayDeque<>();
+        pilha.push(raiz);
+        while (!pilha.isEmpty()) {
+            No no = pilha.pop();
+            if (!no.contem(x, y)) {
+                continue;
+            }
+            if (no.poligono != null) {
+                if (no.poligono.contem(x, y)) {
+                    consumidor.accept(no.poligono);
+                }
+            } else {
+                for (No filho : no.filhos) {
+                    pilha.push(filho);
+                }
+            }
+        }
+    }
+
+    /**
+     * Todos os polígonos da árvore (usado para reempacotar junto com as alterações pendentes).
+     */
+    public List<PoligonoRegiao> poligonos() {
+        List<PoligonoRegiao> todos = new ArrayList<>(ids.size());
+        if (raiz == null) {
+            return todos;
+        }
+        Deque<No> pilha = new ArrayDeque<>();
+        pilha.push(raiz);
+        while (!pilha.isEmpty()) {
+            No no = pilha.pop();
+            if (no.poligono != null) {
+                todos.add(no.poligono);
+            } else {
+                for (No filho : no.filhos) {
+                    pilha.push(filho);
+                }
+            }
+        }
+        return todos;
+    }
+
+    // Um nível do STR: fatias verticais de ~sqrt(n/M) nós, cada uma ordenada em y
+    private static List<No> empacotar(List<No> nivel) {
+        int n = nivel.size();
+        int nos = (n + CAPACIDADE_NO - 1) / CAPACIDADE_NO;
+        int fatias = (int) Math.ceil(Math.sqrt(nos));
+        int porFatia = fatias * CAPACIDADE_NO;
+
+        No[] ordenados = nivel.toArray(new No[0]);
+        Arrays.sort(ordenados, Comparator.comparingDouble(No::centroX));
+
+        List<No> acima = new ArrayList<>(nos);
+        for (int f = 0; f < n; f += porFatia) {
+            int fimFatia = Math.min(f + porFatia, n);
+            Arrays.sort(ordenados, f, fimFatia, Comparator.comparingDouble(No::centroY));
+            for (int i = f; i < fimFatia; i += CAPACIDADE_NO) {
+                acima.add(new No(Arrays.copyOfRange(ordenados, i, Math.min(i + CAPACIDADE_NO, fimFatia))));
+            }
+        }
+        return acima;
+    }
+
+    private static final class No {
+
+        final double minX;
+        final double minY;
+        final double maxX;
+        final double maxY;
+        final PoligonoRegiao poligono;
+        final No[] filhos;
+
+        No(PoligonoRegiao poligono) {
+            this.minX = poligono.getMinX();
+            this.minY = poligono.getMinY();
+            this.maxX = poligono.getMaxX();
+            this.maxY = poligono.getMaxY();
+            this.poligono = poligono;
+            this.filhos = null;
+        }
+
+        No(No[] filhos) {
+            double x0 = Double.POSITIVE_INFINITY, y0 = Double.POSITIVE_INFINITY;
+            double x1 = Double.NEGATIVE_INFINITY, y1 = Double.NEGATIVE_INFINITY;
+            for (No f : filhos) {
+                x0 = Math.min(x0, f.minX);
+                y0 = Math.min(y0, f.minY);
+                x1 = Math.max(x1, f.maxX);
+                y1 = Math.max(y1, f.maxY);
+            }
+            this.minX = x0;
+            this.minY = y0;
+            this.maxX = x1;
+            this.maxY = y1;
+            this.poligono = null;
+            this.filhos = filhos;
+        }
+
+        boolean contem(double x, double y) {
+            return x >= minX && x <= maxX && y >= minY && y <= maxY;
+        }
+
+        double centroX() {
+            return (minX + maxX) / 2;
+        }
+
+        double centroY() {
+            return (minY + maxY) / 2;
+        }
+    }
+}
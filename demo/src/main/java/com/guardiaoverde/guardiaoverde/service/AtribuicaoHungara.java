@@ -0,0 +1,83 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import java.util.Arrays;
+
+/**
+ * Algoritmo húngaro (versão com potenciais, O(n² m)) para a atribuição de custo mínimo
+ * de n linhas a m colunas distintas, com n <= m.
+ */
+final class AtribuicaoHungara {
+
+    private AtribuicaoHungara() {
+    }
+
+    /**
+     * Retorna, para cada linha, a coluna atribuída. Os custos devem ser finitos.
+     */
+    static int[] resolver(double[][] custos) {
+        int n = custos.length;
+        int m = n == 0 ? 0 : custos[0].length;
+        if (n > m) {
+            throw new IllegalArgumentException("Mais linhas do que colunas na atribuição.");
+        }
+
+        // Índices a partir de 1; a coluna 0 é fictícia
+        double[] u = new double[n + 1];
+        double[] v = new double[m + 1];
+        int[] linhaDaColuna = new int[m + 1];
+        int[] caminho = new int[m + 1];
+        double[] minimo = new double[m + 1];
+        boolean[] usada = new boolean[m + 1];
+
+        for (int i = 1; i <= n; i++) {
+            linhaDaColuna[0] = i;
+            int j0 = 0;
+            Arrays.fill(minimo, Double.POSITIVE_INFINITY);
+            Arrays.fill(usada, false);
+            do {
+                usada[j0] = true;
+                int i0 = linhaDaColuna[j0];
+                double delta = Double.POSITIVE_INFINITY;
+                int j1 = 0;
+                for (int j = 1; j <= m; j++) {
+                    if (usada[j]) {
+                        continue;
+                    }
+                    double atual = custos[i0 - 1][j - 1] - u[i0] - v[j];
+                    if (atual < minimo[j]) {
+                        minimo[j] = atual;
+                        caminho[j] = j0;
+                    }
+                    if (minimo[j] < delta) {
+                        delta = minimo[j];
+                        j1 = j;
+                    }
+                }
+                for (int j = 0; j <= m; j++) {
+                    if (usada[j]) {
+                        u[linhaDaColuna[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minimo[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (linhaDaColuna[j0] != 0);
+
+            // Inverte o caminho aumentante
+            do {
+                int j1 = caminho[j0];
+                linhaDaColuna[j0] = linhaDaColuna[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+
+        int[] colunaDaLinha = new int[n];
+        for (int j = 1; j <= m; j++) {
+            if (linhaDaColuna[j] != 0) {
+                colunaDaLinha[linhaDaColuna[j] - 1] = j - 1;
+            }
+        }
+        return colunaDaLinha;
+    }
+}
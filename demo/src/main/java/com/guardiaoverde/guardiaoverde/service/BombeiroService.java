@@ -1,55 +1,86 @@
 package com.guardiaoverde.guardiaoverde.service;
 
 import com.guardiaoverde.guardiaoverde.domain.Bombeiro;
+import com.guardiaoverde.guardiaoverde.domain.ResumoBombeiro;
 import com.guardiaoverde.guardiaoverde.domain.Usuario;
 import com.guardiaoverde.guardiaoverde.repository.BombeiroRepository;
 import com.guardiaoverde.guardiaoverde.repository.UsuarioRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "guardiao.servico", histogram = true)
 public class BombeiroService {
 
     private final BombeiroRepository bombeiroRepository;
     private final UsuarioRepository usuarioRepository;
+    private final EscalaResponsaveis escalaResponsaveis;
+    private final DespachoService despachoService;
 
     @Autowired
     public BombeiroService(BombeiroRepository bombeiroRepository,
-                           UsuarioRepository usuarioRepository) {
+                           UsuarioRepository usuarioRepository,
+                           EscalaResponsaveis escalaResponsaveis,
+                           DespachoService despachoService) {
         this.bombeiroRepository = bombeiroRepository;
         this.usuarioRepository = usuarioRepository;
+        this.escalaResponsaveis = escalaResponsaveis;
+        this.despachoService = despachoService;
     }
 
     /**
-     * Retorna todos os bombeiros cadastrados.
+     * Retorna o resumo de todos os bombeiros cadastrados (lidos do cache da escala).
      */
-    public List<Bombeiro> listarTodos() {
-        return bombeiroRepository.findAll();
+    public List<ResumoBombeiro> listarTodos() {
+        return escalaResponsaveis.bombeiros().stream().map(ResumoBombeiro::de).toList();
+    }
+
+    /**
+     * Página de bombeiros em ordem de id, a partir do cursor (null para a primeira página).
+     */
+    public Pagina<ResumoBombeiro> listarPagina(String cursor, int limite) {
+        return Pagina.porId(bombeiroRepository::findResumosDepoisDe, cursor, limite, ResumoBombeiro::id);
+    }
+
+    /**
+     * Todos os bombeiros lidos sob demanda, para exportação (consumir dentro de uma transação).
+     */
+    public Stream<Bombeiro> streamTodos() {
+        return bombeiroRepository.streamAllByOrderByIdAsc();
     }
 
     /**
      * Retorna um bombeiro pelo ID (lança exceção se não encontrar).
      */
     public Bombeiro buscarPorId(Long id) {
-        return bombeiroRepository.findById(id)
+        return escalaResponsaveis.bombeiro(id)
                 .orElseThrow(() -> new IllegalArgumentException("Bombeiro não encontrado"));
     }
 
+    /**
+     * Acertos e falhas do cache da escala (bombeiros e policiais).
+     */
+    public EscalaResponsaveis.Estatisticas estatisticasCache() {
+        return escalaResponsaveis.estatisticas();
+    }
+
     /**
      * Busca bombeiros cujo nome contenha o trecho (ignora maiúsculas/minúsculas).
      */
-    public List<Bombeiro> buscarPorNome(String trecho) {
-        return bombeiroRepository.findByNomeContainingIgnoreCase(trecho);
+    public List<ResumoBombeiro> buscarPorNome(String trecho) {
+        return bombeiroRepository.findResumosPorNome(trecho);
     }
 
     /**
-     * Busca bombeiros por turno (ex.: "Manhã", "Noite").
+     * Busca bombeiros por turno (ex.: "Manhã", "Noite"; ignora maiúsculas e acentos).
      */
-    public List<Bombeiro> buscarPorTurno(String turno) {
-        return bombeiroRepository.findByTurno(turno);
+    public List<ResumoBombeiro> buscarPorTurno(String turno) {
+        return escalaResponsaveis.bombeirosDoTurno(turno).stream().map(ResumoBombeiro::de).toList();
     }
 
     /**
@@ -75,7 +106,9 @@ public class BombeiroService {
             b.setUsuario(u);
         }
 
-        return bombeiroRepository.save(b);
+        Bombeiro salvo = bombeiroRepository.save(b);
+        AposCommit.executar(() -> escalaResponsaveis.atualizarBombeiro(salvo));
+        return salvo;
     }
 
     /**
@@ -83,7 +116,9 @@ public class BombeiroService {
      */
     @Transactional
     public Bombeiro atualizarBombeiro(Long id, Bombeiro dados) {
-        Bombeiro existente = buscarPorId(id);
+        // Cópia própria: a instância do cache só é trocada depois do commit
+        Bombeiro existente = bombeiroRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Bombeiro não encontrado"));
 
         if (dados.getNome() != null && !dados.getNome().isBlank()) {
             existente.setNome(dados.getNome());
@@ -98,6 +133,7 @@ public class BombeiroService {
         }
 
         existente.setTelefone(dados.getTelefone());
+        existente.setBase(dados.getBase());
 
         if (dados.getUsuario() != null) {
             Usuario u = usuarioRepository.findById(dados.getUsuario().getId())
@@ -110,7 +146,9 @@ public class BombeiroService {
             existente.setUsuario(null);
         }
 
-        return bombeiroRepository.save(existente);
+        Bombeiro salvo = bombeiroRepository.save(existente);
+        AposCommit.executar(() -> escalaResponsaveis.atualizarBombeiro(salvo));
+        return salvo;
     }
 
     /**
@@ -118,7 +156,12 @@ public class BombeiroService {
      */
     @Transactional
     public void excluirBombeiro(Long id) {
-        Bombeiro existente = buscarPorId(id);
+        Bombeiro existente = bombeiroRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Bombeiro não encontrado"));
         bombeiroRepository.delete(existente);
+        AposCommit.executar(() -> {
+            escalaResponsaveis.removerBombeiro(id);
+            despachoService.removerBombeiro(id);
+        });
     }
 }
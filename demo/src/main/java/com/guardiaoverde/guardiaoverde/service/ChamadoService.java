@@ -3,42 +3,92 @@ package com.guardiaoverde.guardiaoverde.service;
 import com.guardiaoverde.guardiaoverde.domain.Bombeiro;
 import com.guardiaoverde.guardiaoverde.domain.Chamado;
 import com.guardiaoverde.guardiaoverde.domain.Regiao;
-import com.guardiaoverde.guardiaoverde.repository.BombeiroRepository;
+import com.guardiaoverde.guardiaoverde.domain.ResumoChamado;
 import com.guardiaoverde.guardiaoverde.repository.ChamadoRepository;
 import com.guardiaoverde.guardiaoverde.repository.RegiaoRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "guardiao.servico", histogram = true)
 public class ChamadoService {
 
+    private static final Logger log = LoggerFactory.getLogger(ChamadoService.class);
+
     private final ChamadoRepository chamadoRepository;
     private final RegiaoRepository regiaoRepository;
-    private final BombeiroRepository bombeiroRepository;
+    private final DespachoService despachoService;
+    private final IndiceTextoChamados indiceTextoChamados;
+    private final JanelaDeduplicacaoChamados janelaDeduplicacao;
+    private final EventosTempoReal eventosTempoReal;
+
+    @Value("${chamado.max-por-lote:1000}")
+    private int maxPorLote = 1000;
 
     @Autowired
     public ChamadoService(ChamadoRepository chamadoRepository,
                           RegiaoRepository regiaoRepository,
-                          BombeiroRepository bombeiroRepository) {
+                          DespachoService despachoService,
+                          IndiceTextoChamados indiceTextoChamados,
+                          JanelaDeduplicacaoChamados janelaDeduplicacao,
+                          EventosTempoReal eventosTempoReal) {
         this.chamadoRepository = chamadoRepository;
         this.regiaoRepository = regiaoRepository;
-        this.bombeiroRepository = bombeiroRepository;
+        this.despachoService = despachoService;
+        this.indiceTextoChamados = indiceTextoChamados;
+        this.janelaDeduplicacao = janelaDeduplicacao;
+        this.eventosTempoReal = eventosTempoReal;
     }
 
     /**
-     * Retorna todos os chamados.
+     * Retorna o resumo de todos os chamados.
      */
-    public List<Chamado> listarTodos() {
-        return chamadoRepository.findAll();
+    public List<ResumoChamado> listarTodos() {
+        return chamadoRepository.findResumos();
+    }
+
+    /**
+     * Página de chamados do mais recente para o mais antigo, a partir do cursor
+     * (null para a primeira página).
+     */
+    public Pagina<ResumoChamado> listarPagina(String cursor, int limite) {
+        Pageable pedido = Pagina.pedido(limite);
+        List<ResumoChamado> lidos;
+        if (cursor == null) {
+            lidos = chamadoRepository.findResumosRecentes(pedido);
+        } else {
+            Pagina.Posicao posicao = Pagina.posicaoDoCursor(cursor);
+            lidos = chamadoRepository.findResumosAnterioresA(posicao.dataHora(), posicao.id(), pedido);
+        }
+        return Pagina.de(lidos, limite, c -> Pagina.cursorDeDataHora(c.dataHora(), c.id()));
     }
 
     /**
-     * Retorna um chamado pelo ID (lança IllegalArgumentException se não encontrar).
+     * Todos os chamados lidos sob demanda, para exportação (consumir dentro de uma transação).
+     */
+    public Stream<Chamado> streamTodos() {
+        return chamadoRepository.streamAllByOrderByIdAsc();
+    }
+
+    /**
+     * Retorna um chamado pelo ID, com a região (lança IllegalArgumentException se não encontrar).
      */
     public Chamado buscarPorId(Long id) {
         return chamadoRepository.findById(id)
@@ -48,31 +98,61 @@ public class ChamadoService {
     /**
      * Busca chamados por origem (ex.: "USUARIO" ou "SISTEMA").
      */
-    public List<Chamado> buscarPorOrigem(String origem) {
-        return chamadoRepository.findByOrigem(origem);
+    public List<ResumoChamado> buscarPorOrigem(String origem) {
+        return chamadoRepository.findResumosPorOrigem(origem);
     }
 
     /**
      * Busca chamados por prioridade (ex.: "BAIXA", "MÉDIA", "ALTA").
      */
-    public List<Chamado> buscarPorPrioridade(String prioridade) {
-        return chamadoRepository.findByPrioridade(prioridade);
+    public List<ResumoChamado> buscarPorPrioridade(String prioridade) {
+        return chamadoRepository.findResumosPorPrioridade(prioridade);
     }
 
     /**
-     * Busca chamados cujo texto da descrição contenha o trecho informado.
+     * Busca chamados pelos termos da descrição, do mais relevante para o menos relevante
+     * (ignora acentos e maiúsculas; cada termo casa também por prefixo).
+     * Enquanto o índice de texto carrega, usa a busca por trecho, do mais recente ao mais antigo.
      */
-    public List<Chamado> buscarPorDescricao(String trecho) {
-        return chamadoRepository.findByDescricaoContainingIgnoreCase(trecho);
+    public ResultadoBusca<ResumoChamado> buscarPorDescricao(String trecho, int pagina, int tamanho) {
+        if (pagina < 0) {
+            throw new IllegalArgumentException("A página deve ser maior ou igual a zero.");
+        }
+        if (tamanho < 1 || tamanho > Pagina.LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("O tamanho deve estar entre 1 e " + Pagina.LIMITE_MAXIMO + ".");
+        }
+        if (!indiceTextoChamados.pronto()) {
+            Page<ResumoChamado> p = chamadoRepository.findResumosPorTrecho(trecho, PageRequest.of(pagina, tamanho));
+            return new ResultadoBusca<>(p.getContent(), p.getTotalElements());
+        }
+
+        int deslocamento = (int) Math.min((long) pagina * tamanho, Integer.MAX_VALUE);
+        IndiceInvertido.Resultado r = indiceTextoChamados.buscar(trecho, deslocamento, tamanho);
+        if (r.ids().isEmpty()) {
+            return new ResultadoBusca<>(List.of(), r.total());
+        }
+        Map<Long, ResumoChamado> porId = new HashMap<>();
+        for (ResumoChamado c : chamadoRepository.findResumosPorIds(r.ids())) {
+            porId.put(c.id(), c);
+        }
+        List<ResumoChamado> ordenados = new ArrayList<>(r.ids().size());
+        for (Long id : r.ids()) {
+            ResumoChamado c = porId.get(id);
+            if (c != null) {
+                ordenados.add(c);
+            }
+        }
+        return new ResultadoBusca<>(ordenados, r.total());
     }
 
     /**
      * Lista todos os chamados de uma região específica.
      */
-    public List<Chamado> listarPorRegiao(Long regiaoId) {
-        Regiao r = regiaoRepository.findById(regiaoId)
-                .orElseThrow(() -> new IllegalArgumentException("Região não encontrada"));
-        return chamadoRepository.findByRegiao(r);
+    public List<ResumoChamado> listarPorRegiao(Long regiaoId) {
+        if (!regiaoRepository.existsById(regiaoId)) {
+            throw new IllegalArgumentException("Região não encontrada");
+        }
+        return chamadoRepository.findResumosPorRegiao(regiaoId);
     }
 
     /**
@@ -81,51 +161,122 @@ public class ChamadoService {
      */
     @Transactional
     public Chamado criarChamado(Chamado novoChamado) {
+        EventosJfr.ValidacaoChamado validacao = iniciarValidacao(novoChamado);
+
         // 1) Validar existência da região
         Regiao r = regiaoRepository.findById(novoChamado.getRegiao().getId())
-                .orElseThrow(() -> new IllegalArgumentException("Região não encontrada"));
+                .orElseThrow(() -> recusar(validacao, "REGIAO", "Região não encontrada"));
+        preparar(novoChamado, r, validacao);
+
+        Chamado salvo = chamadoRepository.save(novoChamado);
+        AposCommit.executar(() -> {
+            indiceTextoChamados.indexar(salvo.getId(), salvo.getDescricao());
+            eventosTempoReal.publicarChamado(salvo);
+        });
+        return salvo;
+    }
+
+    /**
+     * Cria vários chamados em uma única transação, com as mesmas regras de criarChamado:
+     * se algum for recusado, nenhum é gravado (a mensagem indica a posição do recusado).
+     * As regiões são carregadas de uma vez e os chamados gravados com saveAll, em inserções
+     * agrupadas pelo Hibernate.
+     */
+    @Transactional
+    public List<Chamado> criarChamados(List<Chamado> novos) {
+        if (novos == null || novos.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum chamado informado.");
+        }
+        if (novos.size() > maxPorLote) {
+            throw new IllegalArgumentException("Máximo de " + maxPorLote + " chamados por requisição.");
+        }
+        Set<Long> regiaoIds = new HashSet<>();
+        for (Chamado c : novos) {
+            if (c.getRegiao() == null || c.getRegiao().getId() == null) {
+                throw new IllegalArgumentException("Todo chamado deve informar a região.");
+            }
+            regiaoIds.add(c.getRegiao().getId());
+        }
+        Map<Long, Regiao> regioes = new HashMap<>();
+        for (Regiao r : regiaoRepository.findAllById(regiaoIds)) {
+            regioes.put(r.getId(), r);
+        }
+
+        for (int i = 0; i < novos.size(); i++) {
+            Chamado c = novos.get(i);
+            try {
+                EventosJfr.ValidacaoChamado validacao = iniciarValidacao(c);
+                Regiao r = regioes.get(c.getRegiao().getId());
+                if (r == null) {
+                    throw recusar(validacao, "REGIAO", "Região não encontrada");
+                }
+                preparar(c, r, validacao);
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Chamado " + (i + 1) + ": " + ex.getMessage(), ex);
+            }
+        }
+
+        List<Chamado> salvos = chamadoRepository.saveAll(novos);
+        AposCommit.executar(() -> {
+            for (Chamado salvo : salvos) {
+                indiceTextoChamados.indexar(salvo.getId(), salvo.getDescricao());
+                eventosTempoReal.publicarChamado(salvo);
+            }
+        });
+        return salvos;
+    }
+
+    /**
+     * Regras de criação a partir da região já carregada: data, origem, prioridade e
+     * duplicidade. Lança IllegalArgumentException se o chamado for recusado.
+     */
+    private void preparar(Chamado novoChamado, Regiao r, EventosJfr.ValidacaoChamado validacao) {
         novoChamado.setRegiao(r);
+        novoChamado.setAtualizadoEm(LocalDateTime.now());
 
         // 2) dataHora não pode ser futura
         if (novoChamado.getDataHora().isAfter(LocalDateTime.now())) {
-            throw new IllegalArgumentException("Data e hora do chamado não pode ser no futuro.");
+            throw recusar(validacao, "DATA_FUTURA", "Data e hora do chamado não pode ser no futuro.");
         }
 
         // 3) Se origem = “SISTEMA”, descrição deve conter “SENSOR”
         if ("SISTEMA".equalsIgnoreCase(novoChamado.getOrigem())
                 && !novoChamado.getDescricao().toUpperCase().contains("SENSOR")) {
-            throw new IllegalArgumentException(
+            throw recusar(validacao, "SISTEMA_SEM_SENSOR",
                     "Chamado de SISTEMA deve conter referência a SENSOR na descrição.");
         }
+        validacao.commit();
 
         // 4) Ajuste automático de prioridade baseado em índice de secura
         if (r.getIndiceSecura() > 0.8
                 && "BAIXA".equalsIgnoreCase(novoChamado.getPrioridade())) {
+            registrarElevacao(r, novoChamado.getPrioridade(), "MEDIA");
             novoChamado.setPrioridade("MEDIA");
         }
 
-        // 5) Evitar duplicidade de chamados na mesma região em um intervalo de 10 min
-        List<Chamado> ultimos = chamadoRepository.findTopByRegiaoOrderByDataHoraDesc(r);
-        if (!ultimos.isEmpty()) {
-            Chamado ultimo = ultimos.get(0);
-            Duration diff = Duration.between(ultimo.getDataHora(), novoChamado.getDataHora());
-            if (diff.toMinutes() < 10
-                    && ultimo.getDescricao().equalsIgnoreCase(novoChamado.getDescricao())) {
-                throw new IllegalArgumentException(
-                        "Já existe um chamado com mesma descrição nesta região nos últimos 10 minutos.");
-            }
+        // 5) Evitar duplicidade de chamados na mesma região dentro da janela de deduplicação
+        //    (a reserva é desfeita se a transação não for confirmada; a janela é deste nó)
+        if (!janelaDeduplicacao.registrar(r.getId(), novoChamado.getDescricao(), novoChamado.getDataHora())) {
+            EventosJfr.ChamadoDuplicado duplicado = new EventosJfr.ChamadoDuplicado();
+            duplicado.regiaoId = r.getId();
+            duplicado.janelaMin = janelaDeduplicacao.getJanelaMin();
+            duplicado.commit();
+            throw new IllegalArgumentException("Já existe um chamado com mesma descrição nesta região nos últimos "
+                    + janelaDeduplicacao.getJanelaMin() + " minutos.");
         }
+        Long regiaoId = r.getId();
+        String descricao = novoChamado.getDescricao();
+        LocalDateTime dataHora = novoChamado.getDataHora();
+        AposCommit.seDesfeita(() -> janelaDeduplicacao.liberar(regiaoId, descricao, dataHora));
 
-        // 6) Se prioridade = ALTA, associar um bombeiro disponível
+        // 6) Se prioridade = ALTA, sugerir um bombeiro disponível (o chamado ainda não guarda
+        //    responsável, então a sugestão não entra na carga do despacho)
         if ("ALTA".equalsIgnoreCase(novoChamado.getPrioridade())) {
             Bombeiro responsavel = buscarBombeiroParaRegiao(r);
             if (responsavel != null) {
-                // Aqui poderíamos armazenar o usuário responsável ou notificar externamente
-                // Exemplo: novoChamado.setResponsavel(responsavel.getUsuario());
+                log.debug("bombeiro sugerido regiao={} bombeiro={}", r.getId(), responsavel.getId());
             }
         }
-
-        return chamadoRepository.save(novoChamado);
     }
 
     /**
@@ -134,6 +285,9 @@ public class ChamadoService {
     @Transactional
     public Chamado atualizarChamado(Long id, Chamado dadosChamado) {
         Chamado existente = buscarPorId(id); // já lança se não existir
+        Long regiaoAnterior = existente.getRegiao().getId();
+        String descricaoAnterior = existente.getDescricao();
+        LocalDateTime dataHoraAnterior = existente.getDataHora();
 
         // Reaplica basicamente as mesmas validações de data/hora e origem
         if (dadosChamado.getDataHora().isAfter(LocalDateTime.now())) {
@@ -156,14 +310,22 @@ public class ChamadoService {
         existente.setDescricao(dadosChamado.getDescricao());
         existente.setDataHora(dadosChamado.getDataHora());
         existente.setPrioridade(dadosChamado.getPrioridade());
+        existente.setAtualizadoEm(LocalDateTime.now());
 
         // Poderíamos repetir a regra de ajuste de prioridade aqui, se necessário
         if (existente.getRegiao().getIndiceSecura() > 0.8
                 && "BAIXA".equalsIgnoreCase(existente.getPrioridade())) {
+            registrarElevacao(existente.getRegiao(), existente.getPrioridade(), "MEDIA");
             existente.setPrioridade("MEDIA");
         }
 
-        return chamadoRepository.save(existente);
+        Chamado salvo = chamadoRepository.save(existente);
+        AposCommit.executar(() -> {
+            indiceTextoChamados.indexar(salvo.getId(), salvo.getDescricao());
+            janelaDeduplicacao.liberar(regiaoAnterior, descricaoAnterior, dataHoraAnterior);
+            janelaDeduplicacao.incluir(salvo.getRegiao().getId(), salvo.getDescricao(), salvo.getDataHora());
+        });
+        return salvo;
     }
 
     /**
@@ -173,13 +335,42 @@ public class ChamadoService {
     public void excluirChamado(Long id) {
         Chamado existente = buscarPorId(id);
         chamadoRepository.delete(existente);
+        AposCommit.executar(() -> {
+            indiceTextoChamados.remover(id);
+            janelaDeduplicacao.liberar(existente.getRegiao().getId(), existente.getDescricao(), existente.getDataHora());
+        });
+    }
+
+    private static EventosJfr.ValidacaoChamado iniciarValidacao(Chamado novoChamado) {
+        EventosJfr.ValidacaoChamado validacao = new EventosJfr.ValidacaoChamado();
+        validacao.begin();
+        validacao.regiaoId = novoChamado.getRegiao().getId();
+        validacao.origem = novoChamado.getOrigem();
+        return validacao;
+    }
+
+    // Registra no JFR a regra que recusou o chamado e devolve a exceção a lançar
+    private static IllegalArgumentException recusar(EventosJfr.ValidacaoChamado validacao, String regra,
+                                                    String mensagem) {
+        validacao.recusa = regra;
+        validacao.commit();
+        return new IllegalArgumentException(mensagem);
+    }
+
+    private static void registrarElevacao(Regiao r, String de, String para) {
+        EventosJfr.PrioridadeElevada evento = new EventosJfr.PrioridadeElevada();
+        evento.regiaoId = r.getId();
+        evento.indiceSecura = r.getIndiceSecura();
+        evento.de = de;
+        evento.para = para;
+        evento.commit();
     }
 
     /**
-     * Método fictício que retorna o primeiro bombeiro disponível para uma região.
-     * Poderia ser expandido usando rotas, proximidade geográfica etc.
+     * Bombeiro disponível no turno com menor tempo de deslocamento e carga recente
+     * até a região (ver DespachoService.sugerir).
      */
     private Bombeiro buscarBombeiroParaRegiao(Regiao r) {
-        return bombeiroRepository.findAll().stream().findFirst().orElse(null);
+        return despachoService.sugerir(r.getNome()).orElse(null);
     }
 }
@@ -0,0 +1,172 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.repository.AlertaRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Último alerta de cada (ambiente, {@link NivelRisco}), para aplicar o intervalo mínimo
+ * entre alertas do mesmo nível ({@code alerta.intervalo-minimo-min}) sem consultar o banco.
+ *
+ * A verificação e o registro acontecem em um único compute do ConcurrentHashMap, que
+ * trava só a posição da chave: de dois pedidos simultâneos para o mesmo ambiente e nível
+ * no mesmo nó, só um passa. A reserva é desfeita se a transação do alerta não for confirmada.
+ *
+ * A garantia vale por nó. O mapa é aquecido pelo banco só na subida e depois vê apenas os
+ * alertas gravados neste nó (API e monitor). Com várias réplicas, pedidos iguais enviados
+ * a nós diferentes podem passar os dois.
+ *
+ * As entradas mais antigas que o intervalo já não recusam nada e são removidas a cada
+ * {@code alerta.cooldown.limpeza-ms}.
+ */
+@Component
+public class CooldownAlertas implements MeterBinder {
+
+    private final AlertaRepository alertaRepository;
+    private final Map<Chave, Long> ultimos = new ConcurrentHashMap<>();
+    private final LongAdder recusados = new LongAdder();
+
+    private Clock relogio = Clock.systemDefaultZone();
+
+    @Value("${alerta.intervalo-minimo-min:5}")
+    private long intervaloMin = 5;
+
+    @Autowired
+    public CooldownAlertas(AlertaRepository alertaRepository) {
+        this.alertaRepository = alertaRepository;
+    }
+
+    /**
+     * Aquece a tabela com o último alerta recente de cada ambiente e nível.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        ultimos.clear();
+        LocalDateTime desde = LocalDateTime.now(relogio).minusMinutes(intervaloMin * 2);
+        for (Object[] linha : alertaRepository.findUltimoPorAmbienteENivelDesde(desde)) {
+            marcar((Long) linha[0], (String) linha[1], (LocalDateTime) linha[2]);
+        }
+    }
+
+    public long getIntervaloMin() {
+        return intervaloMin;
+    }
+
+    /**
+     * Registra o alerta se não houver outro do mesmo nível no ambiente a menos do intervalo
+     * mínimo. Retorna a reserva (para desfazer no rollback) ou null se estiver em cooldown.
+     *
+     * @throws IllegalArgumentException se o nível de risco não for reconhecido
+     */
+    public Reserva reservar(Long ambienteId, String nivelRisco, LocalDateTime dataHora) {
+        NivelRisco nivel = NivelRisco.de(nivelRisco)
+                .orElseThrow(() -> new IllegalArgumentException("Nível de risco inválido: " + nivelRisco));
+        Chave chave = new Chave(ambienteId, nivel);
+        long instante = emMillis(dataHora);
+        long intervaloMs = intervaloMin * 60_000;
+        Long[] anterior = new Long[1];
+        boolean[] aceito = {false};
+        ultimos.compute(chave, (k, ultimo) -> {
+            anterior[0] = ultimo;
+            if (ultimo != null && Math.abs(instante - ultimo) < intervaloMs) {
+                return ultimo;
+            }
+            aceito[0] = true;
+            return ultimo != null ? Math.max(ultimo, instante) : instante;
+        });
+        if (!aceito[0]) {
+            recusados.increment();
+            return null;
+        }
+        return new Reserva(chave, instante, anterior[0]);
+    }
+
+    /**
+     * Devolve a entrada ao valor anterior à reserva, se nada mais a alterou desde então.
+     */
+    public void desfazer(Reserva reserva) {
+        ultimos.computeIfPresent(reserva.chave, (k, ultimo) -> {
+            if (ultimo != Math.max(reserva.instante, reserva.anterior != null ? reserva.anterior : Long.MIN_VALUE)) {
+                return ultimo;
+            }
+            return reserva.anterior;
+        });
+    }
+
+    /**
+     * Registra um alerta já gravado sem verificar o intervalo (alertas do monitor, alterações).
+     * Níveis não reconhecidos (linhas antigas do banco) são ignorados.
+     */
+    public void marcar(Long ambienteId, String nivelRisco, LocalDateTime dataHora) {
+        NivelRisco.de(nivelRisco).ifPresent(nivel ->
+                ultimos.merge(new Chave(ambienteId, nivel), emMillis(dataHora), Math::max));
+    }
+
+    /**
+     * Remove as entradas mais antigas que o intervalo mínimo.
+     */
+    @Scheduled(fixedDelayString = "${alerta.cooldown.limpeza-ms:60000}")
+    public void limpar() {
+        long limite = emMillis(LocalDateTime.now(relogio)) - intervaloMin * 60_000;
+        // removeIf da visão de valores só remove a entrada se o valor não mudou desde a leitura
+        ultimos.values().removeIf(instante -> instante < limite);
+    }
+
+    public int tamanho() {
+        return ultimos.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("guardiao.cache.entradas", this, CooldownAlertas::tamanho)
+                .tag("cache", "cooldown-alertas")
+                .register(registry);
+        FunctionCounter.builder("guardiao.alertas.cooldown.recusados", recusados, LongAdder::sum)
+                .description("Alertas recusados por estarem dentro do intervalo mínimo")
+                .register(registry);
+    }
+
+    /**
+     * Reserva aceita por {@link #reservar}.
+     */
+    public static final class Reserva {
+
+        private final Chave chave;
+        private final long instante;
+        private final Long anterior;
+
+        private Reserva(Chave chave, long instante, Long anterior) {
+            this.chave = chave;
+            this.instante = instante;
+            this.anterior = anterior;
+        }
+    }
+
+    // A dataHora dos alertas é local; o fuso fixo só serve para comparar instantes
+    private static long emMillis(LocalDateTime dataHora) {
+        return dataHora.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    // Package-private para testes
+    void setRelogio(Clock relogio) {
+        this.relogio = relogio;
+    }
+
+    private record Chave(Long ambienteId, NivelRisco nivelRisco) {
+    }
+}
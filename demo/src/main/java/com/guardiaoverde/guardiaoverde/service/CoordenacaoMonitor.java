@@ -0,0 +1,203 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.repository.AlertaRepository;
+import com.guardiaoverde.guardiaoverde.repository.CoordenacaoMonitorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Divide o monitoramento entre as réplicas da aplicação usando o próprio banco.
+ *
+ * Os ambientes são repartidos em {@code monitor.cluster.fatias} fatias (id módulo o número
+ * de fatias), cada uma com uma concessão por tempo limitado em monitor_fatias. A cada
+ * ciclo o nó registra sua pulsação em monitor_nos, renova as concessões que tem e
+ * equilibra a divisão: com N nós vivos, cada um fica com no máximo ⌈fatias/N⌉, devolvendo
+ * o excedente quando um nó entra e assumindo as fatias vencidas quando um nó para de
+ * pulsar. Cada troca de dono incrementa o token da fatia; a gravação de uma partição do
+ * ciclo só é aceita se os tokens lidos no início ainda forem os atuais (ver confirmar),
+ * então um nó que perdeu a concessão no meio do ciclo não grava chamados duplicados.
+ *
+ * Desligado ({@code monitor.cluster.habilitado=false}), o nó processa todos os ambientes
+ * sem consultar as tabelas, como em uma instalação com uma só réplica.
+ */
+@Component
+public class CoordenacaoMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(CoordenacaoMonitor.class);
+
+    // Limite de itens por cláusula IN no Oracle
+    private static final int MAX_ITENS_IN = 1000;
+
+    private final CoordenacaoMonitorRepository coordenacaoMonitorRepository;
+    private final AlertaRepository alertaRepository;
+
+    private Clock relogio = Clock.systemDefaultZone();
+    private volatile boolean fatiasCriadas;
+
+    @Value("${monitor.cluster.habilitado:false}")
+    private boolean habilitado;
+
+    // Identificador deste nó; vazio = nome da máquina com um sufixo aleatório
+    @Value("${monitor.cluster.no-id:}")
+    private String noId;
+
+    @Value("${monitor.cluster.fatias:64}")
+    private int fatias = 64;
+
+    // Validade da concessão e da pulsação; deve ser maior que o intervalo entre ciclos
+    @Value("${monitor.cluster.concessao-s:180}")
+    private long concessaoS = 180;
+
+    // Janela para adotar como já alertados os ambientes de fatias assumidas
+    @Value("${monitor.cluster.adocao-min:60}")
+    private long adocaoMin = 60;
+
+    @Autowired
+    public CoordenacaoMonitor(CoordenacaoMonitorRepository coordenacaoMonitorRepository,
+                              AlertaRepository alertaRepository) {
+        this.coordenacaoMonitorRepository = coordenacaoMonitorRepository;
+        this.alertaRepository = alertaRepository;
+    }
+
+    /**
+     * Início de ciclo: pulsação, renovação das concessões e equilíbrio das fatias.
+     * Devolve as fatias que este nó deve processar no ciclo, com os tokens de cada uma.
+     */
+    public Posse sincronizar() {
+        if (!habilitado) {
+            return Posse.LOCAL;
+        }
+        String no = no();
+        LocalDateTime agora = LocalDateTime.now(relogio);
+        LocalDateTime expiraEm = agora.plusSeconds(concessaoS);
+        if (!fatiasCriadas) {
+            coordenacaoMonitorRepository.criarFatias(fatias);
+            fatiasCriadas = true;
+        }
+        coordenacaoMonitorRepository.registrarPulsacao(no, agora);
+
+        TreeMap<Integer, Long> tokens = new TreeMap<>(coordenacaoMonitorRepository.renovar(no, agora, expiraEm));
+        int vivos = Math.max(1, coordenacaoMonitorRepository.nosVivos(agora.minusSeconds(concessaoS)).size());
+        int cota = (fatias + vivos - 1) / vivos;
+
+        // Acima da cota: devolve as últimas fatias para os nós que entraram
+        List<Integer> devolvidas = new ArrayList<>();
+        while (tokens.size() > cota) {
+            Map.Entry<Integer, Long> ultima = tokens.pollLastEntry();
+            coordenacaoMonitorRepository.liberar(ultima.getKey(), no, ultima.getValue());
+            devolvidas.add(ultima.getKey());
+        }
+
+        // Abaixo da cota: assume fatias livres ou de nós que pararam de pulsar
+        Set<Integer> assumidas = new TreeSet<>();
+        if (tokens.size() < cota) {
+            for (Integer fatia : coordenacaoMonitorRepository.fatiasDisponiveis(agora)) {
+                if (tokens.size() >= cota) {
+                    break;
+                }
+                OptionalLong token = coordenacaoMonitorRepository.assumir(fatia, no, agora, expiraEm);
+                if (token.isPresent()) {
+                    tokens.put(fatia, token.getAsLong());
+                    assumidas.add(fatia);
+                }
+            }
+        }
+
+        if (!devolvidas.isEmpty() || !assumidas.isEmpty()) {
+            log.info("fatias redistribuidas no={} fatias={} total={} nosVivos={} assumidas={} devolvidas={}",
+                    no, tokens.size(), fatias, vivos, assumidas, devolvidas);
+        }
+        return new Posse(true, fatias, Collections.unmodifiableMap(tokens), Collections.unmodifiableSet(assumidas));
+    }
+
+    /**
+     * Confirma, dentro da transação da partição, que este nó ainda detém as fatias dos
+     * ambientes informados com os tokens do início do ciclo, travando-as até o commit.
+     *
+     * @throws IllegalStateException se alguma concessão foi perdida; a transação deve ser desfeita
+     */
+    public void confirmar(Posse posse, Collection<Long> ambienteIds) {
+        if (!posse.coordenada()) {
+            return;
+        }
+        Map<Integer, Long> tokens = new TreeMap<>();
+        for (Long id : ambienteIds) {
+            int fatia = posse.fatiaDe(id);
+            tokens.put(fatia, posse.tokens().get(fatia));
+        }
+        List<Integer> perdidas = coordenacaoMonitorRepository.confirmarPosse(no(), tokens);
+        if (!perdidas.isEmpty()) {
+            throw new IllegalStateException("Concessão das fatias " + perdidas + " foi perdida pelo nó " + no());
+        }
+    }
+
+    /**
+     * Entre os ambientes informados, os que já receberam alerta nos últimos
+     * {@code monitor.cluster.adocao-min} minutos: ao assumir uma fatia, esses são tratados
+     * como já atendidos pelo dono anterior, em vez de gerar novo chamado.
+     */
+    public Set<Long> jaAlertados(Collection<Long> ambienteIds) {
+        Set<Long> alertados = new HashSet<>();
+        List<Long> ids = new ArrayList<>(ambienteIds);
+        LocalDateTime desde = LocalDateTime.now(relogio).minusMinutes(adocaoMin);
+        for (int i = 0; i < ids.size(); i += MAX_ITENS_IN) {
+            alertados.addAll(alertaRepository.findAmbientesComAlertaDesde(
+                    ids.subList(i, Math.min(i + MAX_ITENS_IN, ids.size())), desde));
+        }
+        return alertados;
+    }
+
+    public String no() {
+        if (noId == null || noId.isBlank()) {
+            String maquina;
+            try {
+                maquina = InetAddress.getLocalHost().getHostName();
+            } catch (Exception ex) {
+                maquina = "no";
+            }
+            noId = maquina + "-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+        return noId;
+    }
+
+    // Package-private para testes
+    void setRelogio(Clock relogio) {
+        this.relogio = relogio;
+    }
+
+    /**
+     * Fatias que um nó processa em um ciclo. Fora do modo coordenado (LOCAL), inclui todos
+     * os ambientes e não há tokens a confirmar.
+     *
+     * @param assumidas fatias que o nó acabou de assumir neste ciclo
+     */
+    public record Posse(boolean coordenada, int total, Map<Integer, Long> tokens, Set<Integer> assumidas) {
+
+        public static final Posse LOCAL = new Posse(false, 1, Map.of(), Set.of());
+
+        public int fatiaDe(long ambienteId) {
+            return (int) Math.floorMod(ambienteId, (long) total);
+        }
+
+        public boolean inclui(long ambienteId) {
+            return !coordenada || tokens.containsKey(fatiaDe(ambienteId));
+        }
+
+        public boolean assumida(long ambienteId) {
+            return coordenada && assumidas.contains(fatiaDe(ambienteId));
+        }
+
+        // Nó sem nenhuma fatia neste ciclo: não há o que processar
+        public boolean vazia() {
+            return coordenada && tokens.isEmpty();
+        }
+    }
+}
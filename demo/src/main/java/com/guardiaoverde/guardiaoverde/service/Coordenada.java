@@ -0,0 +1,37 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import java.util.Optional;
+
+/**
+ * Ponto geográfico em graus decimais.
+ */
+public record Coordenada(double latitude, double longitude) {
+
+    public Coordenada {
+        if (latitude < -90.0 || latitude > 90.0 || longitude < -180.0 || longitude > 180.0) {
+            throw new IllegalArgumentException("Coordenada fora dos limites: " + latitude + ", " + longitude);
+        }
+    }
+
+    /**
+     * Interpreta textos no formato "lat,lon" (ex.: localização de um Ambiente).
+     * Retorna vazio se o texto não for uma coordenada válida (ex.: nome de região).
+     */
+    public static Optional<Coordenada> interpretar(String texto) {
+        if (texto == null) {
+            return Optional.empty();
+        }
+        String[] partes = texto.split(",");
+        if (partes.length != 2) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new Coordenada(
+                    Double.parseDouble(partes[0].trim()),
+                    Double.parseDouble(partes[1].trim())
+            ));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+}
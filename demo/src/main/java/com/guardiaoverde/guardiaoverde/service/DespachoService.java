@@ -0,0 +1,300 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.domain.Ambiente;
+import com.guardiaoverde.guardiaoverde.domain.Bombeiro;
+import com.guardiaoverde.guardiaoverde.repository.AlertaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Escolha do bombeiro responsável por um atendimento, sem consultar a tabela a cada chamada.
+ *
+ * Os bombeiros vêm de {@link EscalaResponsaveis}; aqui fica em memória a carga recente de
+ * cada um (número de atribuições com decaimento exponencial, meia-vida
+ * {@code despacho.meia-vida-carga-min}).
+ * Só concorrem os bombeiros no turno atual (turnos não reconhecidos contam como sempre
+ * disponíveis). O custo de um bombeiro para um destino é:
+ *
+ *   tempo de deslocamento da base (matriz de tempos) + despacho.peso-carga × carga
+ *
+ * Bases fora da malha ou sem caminho até o destino usam {@code despacho.tempo-desconhecido-min}.
+ * Vários atendimentos de uma vez são distribuídos pelo algoritmo húngaro, em rodadas
+ * quando há mais atendimentos do que bombeiros disponíveis.
+ *
+ * A carga é incrementada no momento da escolha; se a transação for desfeita, a carga
+ * fica levemente superestimada até decair. Quem só precisa saber quem seria escolhido,
+ * sem atribuir o atendimento, usa {@link #sugerir}, que não altera a carga.
+ */
+@Service
+public class DespachoService {
+
+    // Linhas por rodada do húngaro e colunas candidatas por linha (limita o custo O(n² m))
+    private static final int MAX_LINHAS_RODADA = 128;
+    private static final int CANDIDATOS_POR_LINHA = 8;
+
+    private final EscalaResponsaveis escalaResponsaveis;
+    private final AlertaRepository alertaRepository;
+    private final MatrizTemposService matrizTemposService;
+    private final IndiceEspacialRegioes indiceEspacialRegioes;
+
+    private final Map<Long, Carga> cargas = new ConcurrentHashMap<>();
+
+    private Clock relogio = Clock.systemDefaultZone();
+
+    @Value("${despacho.peso-carga:15}")
+    private double pesoCarga = 15;
+
+    @Value("${despacho.meia-vida-carga-min:60}")
+    private double meiaVidaCargaMin = 60;
+
+    @Value("${despacho.tempo-desconhecido-min:120}")
+    private double tempoDesconhecidoMin = 120;
+
+    @Autowired
+    public DespachoService(EscalaResponsaveis escalaResponsaveis,
+                           AlertaRepository alertaRepository,
+                           MatrizTemposService matrizTemposService,
+                           IndiceEspacialRegioes indiceEspacialRegioes) {
+        this.escalaResponsaveis = escalaResponsaveis;
+        this.alertaRepository = alertaRepository;
+        this.matrizTemposService = matrizTemposService;
+        this.indiceEspacialRegioes = indiceEspacialRegioes;
+    }
+
+    /**
+     * Reconstrói a carga dos bombeiros a partir dos alertas recentes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        cargas.clear();
+        // Atribuições com mais de 4 meias-vidas pesam menos de 1/16 e são ignoradas
+        LocalDateTime desde = LocalDateTime.now(relogio).minusMinutes((long) (4 * meiaVidaCargaMin));
+        for (Object[] linha : alertaRepository.findResponsavelEDataHoraDesde(desde)) {
+            List<Bombeiro> doUsuario = escalaResponsaveis.bombeirosDoUsuario((Long) linha[0]);
+            if (!doUsuario.isEmpty()) {
+                cargas.computeIfAbsent(doUsuario.get(0).getId(), id -> new Carga())
+                        .somar(1.0, (LocalDateTime) linha[1], meiaVidaCargaMin);
+            }
+        }
+    }
+
+    /**
+     * Descarta a carga de um bombeiro excluído.
+     */
+    public void removerBombeiro(Long bombeiroId) {
+        cargas.remove(bombeiroId);
+    }
+
+    /**
+     * Escolhe o bombeiro de menor custo para o destino (ponto da malha de rotas, em
+     * geral o nome da região) e registra a atribuição na carga dele.
+     */
+    public Optional<Bombeiro> escolher(String destino) {
+        List<Bombeiro> escolhidos = escolherEmLote(Collections.singletonList(destino));
+        return Optional.ofNullable(escolhidos.get(0));
+    }
+
+    /**
+     * Bombeiro que {@link #escolher} escolheria para o destino agora, sem registrar a
+     * atribuição (não altera a carga).
+     */
+    public Optional<Bombeiro> sugerir(String destino) {
+        LocalDateTime agora = LocalDateTime.now(relogio);
+        MatrizTemposService.Matriz matriz = matrizTemposService.matriz();
+        int alvo = destino != null ? matriz.indiceDe(destino) : -1;
+        Bombeiro melhor = null;
+        double menorCusto = Double.POSITIVE_INFINITY;
+        for (Bombeiro b : disponiveis(agora.toLocalTime())) {
+            int base = b.getBase() != null ? matriz.indiceDe(b.getBase()) : -1;
+            double c = custo(matriz, base, alvo, cargaDe(b.getId(), agora));
+            if (c < menorCusto) {
+                menorCusto = c;
+                melhor = b;
+            }
+        }
+        return Optional.ofNullable(melhor);
+    }
+
+    /**
+     * Distribui vários destinos entre os bombeiros disponíveis minimizando o custo total.
+     * Retorna uma lista alinhada com a de destinos (null onde não houver bombeiro).
+     */
+    public List<Bombeiro> escolherEmLote(List<String> destinos) {
+        Bombeiro[] resultado = new Bombeiro[destinos.size()];
+        LocalDateTime agora = LocalDateTime.now(relogio);
+        List<Bombeiro> disponiveis = disponiveis(agora.toLocalTime());
+        if (disponiveis.isEmpty() || destinos.isEmpty()) {
+            return Arrays.asList(resultado);
+        }
+
+        MatrizTemposService.Matriz matriz = matrizTemposService.matriz();
+        int[] bases = new int[disponiveis.size()];
+        for (int b = 0; b < bases.length; b++) {
+            String base = disponiveis.get(b).getBase();
+            bases[b] = base != null ? matriz.indiceDe(base) : -1;
+        }
+        int[] alvos = new int[destinos.size()];
+        for (int d = 0; d < alvos.length; d++) {
+            alvos[d] = destinos.get(d) != null ? matriz.indiceDe(destinos.get(d)) : -1;
+        }
+
+        int rodada = Math.min(MAX_LINHAS_RODADA, disponiveis.size());
+        for (int inicio = 0; inicio < destinos.size(); inicio += rodada) {
+            int fim = Math.min(inicio + rodada, destinos.size());
+            double[] carga = new double[disponiveis.size()];
+            for (int b = 0; b < carga.length; b++) {
+                carga[b] = cargaDe(disponiveis.get(b).getId(), agora);
+            }
+            int[] colunas = candidatos(matriz, bases, carga, alvos, inicio, fim);
+
+            double[][] custos = new double[fim - inicio][colunas.length];
+            for (int d = inicio; d < fim; d++) {
+                for (int c = 0; c < colunas.length; c++) {
+                    custos[d - inicio][c] = custo(matriz, bases[colunas[c]], alvos[d], carga[colunas[c]]);
+                }
+            }
+            int[] atribuicao = AtribuicaoHungara.resolver(custos);
+            for (int d = inicio; d < fim; d++) {
+                Bombeiro escolhido = disponiveis.get(colunas[atribuicao[d - inicio]]);
+                resultado[d] = escolhido;
+                cargas.computeIfAbsent(escolhido.getId(), id -> new Carga()).somar(1.0, agora, meiaVidaCargaMin);
+            }
+        }
+        return Arrays.asList(resultado);
+    }
+
+    /**
+     * Destino de despacho de um ambiente: a própria localização quando ela é um ponto
+     * da malha; para coordenadas "lat,lon", o nome da região que as contém (do índice
+     * espacial, sem consulta ao banco).
+     */
+    public String destinoDoAmbiente(Ambiente ambiente) {
+        String localizacao = ambiente.getLocalizacao();
+        if (matrizTemposService.matriz().indiceDe(localizacao) >= 0) {
+            return localizacao;
+        }
+        return Coordenada.interpretar(localizacao)
+                .flatMap(indiceEspacialRegioes::localizar)
+                .flatMap(indiceEspacialRegioes::nomeDe)
+                .orElse(localizacao);
+    }
+
+    // Package-private para testes
+    void setRelogio(Clock relogio) {
+        this.relogio = relogio;
+    }
+
+    private List<Bombeiro> disponiveis(LocalTime hora) {
+        return escalaResponsaveis.bombeirosEmServico(hora);
+    }
+
+    private double cargaDe(Long bombeiroId, LocalDateTime agora) {
+        Carga c = cargas.get(bombeiroId);
+        return c != null ? c.valorEm(agora, meiaVidaCargaMin) : 0.0;
+    }
+
+    private double custo(MatrizTemposService.Matriz matriz, int base, int alvo, double carga) {
+        double tempo = tempoDesconhecidoMin;
+        if (base >= 0 && alvo >= 0) {
+            float t = matriz.tempo(base, alvo);
+            if (!Float.isNaN(t) && !Float.isInfinite(t)) {
+                tempo = t;
+            }
+        }
+        return tempo + pesoCarga * carga;
+    }
+
+    /**
+     * Colunas (bombeiros) consideradas na rodada: os mais baratos de cada destino.
+     * Com poucos bombeiros, todos entram.
+     */
+    private int[] candidatos(MatrizTemposService.Matriz matriz, int[] bases, double[] carga,
+                             int[] alvos, int inicio, int fim) {
+        int total = bases.length;
+        if (total <= 2 * MAX_LINHAS_RODADA) {
+            int[] todos = new int[total];
+            Arrays.setAll(todos, i -> i);
+            return todos;
+        }
+        boolean[] escolhido = new boolean[total];
+        Integer[] ordem = new Integer[total];
+        double[] custoLinha = new double[total];
+        for (int d = inicio; d < fim; d++) {
+            for (int b = 0; b < total; b++) {
+                ordem[b] = b;
+                custoLinha[b] = custo(matriz, bases[b], alvos[d], carga[b]);
+            }
+            Arrays.sort(ordem, (x, y) -> Double.compare(custoLinha[x], custoLinha[y]));
+            for (int k = 0; k < CANDIDATOS_POR_LINHA; k++) {
+                escolhido[ordem[k]] = true;
+            }
+        }
+        // O húngaro exige ao menos tantas colunas quanto linhas
+        int quantidade = 0;
+        for (boolean e : escolhido) {
+            quantidade += e ? 1 : 0;
+        }
+        for (int b = 0; b < total && quantidade < fim - inicio; b++) {
+            if (!escolhido[b]) {
+                escolhido[b] = true;
+                quantidade++;
+            }
+        }
+        int[] colunas = new int[quantidade];
+        for (int b = 0, c = 0; b < total; b++) {
+            if (escolhido[b]) {
+                colunas[c++] = b;
+            }
+        }
+        return colunas;
+    }
+
+    /**
+     * Carga com decaimento exponencial: valor no instante de referência.
+     */
+    private static final class Carga {
+
+        private double valor;
+        private LocalDateTime referencia;
+
+        synchronized void somar(double quantidade, LocalDateTime instante, double meiaVidaMin) {
+            if (referencia == null) {
+                referencia = instante;
+            }
+            // Mantém a referência no instante mais recente; parcelas antigas entram já decaídas
+            if (instante.isAfter(referencia)) {
+                valor = valorEm(instante, meiaVidaMin);
+                referencia = instante;
+                valor += quantidade;
+            } else {
+                valor += quantidade * fator(instante, referencia, meiaVidaMin);
+            }
+        }
+
+        synchronized double valorEm(LocalDateTime agora, double meiaVidaMin) {
+            if (referencia == null) {
+                return 0.0;
+            }
+            return valor * fator(referencia, agora, meiaVidaMin);
+        }
+
+        private static double fator(LocalDateTime de, LocalDateTime ate, double meiaVidaMin) {
+            double minutos = Math.max(0, Duration.between(de, ate).toMillis() / 60_000.0);
+            return Math.pow(0.5, minutos / meiaVidaMin);
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.domain.Bombeiro;
+import com.guardiaoverde.guardiaoverde.domain.PoliciaMilitar;
+import com.guardiaoverde.guardiaoverde.repository.BombeiroRepository;
+import com.guardiaoverde.guardiaoverde.repository.PoliciaMilitarRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Cache de leitura da escala de responsáveis (bombeiros e policiais militares),
+ * indexado por id, por usuário e, para bombeiros, por turno.
+ *
+ * A escala completa é lida do banco no primeiro acesso; a partir daí as consultas não
+ * tocam o banco. Os services de cadastro gravam no cache depois do commit
+ * ({@link #atualizarBombeiro}, {@link #removerBombeiro} e equivalentes de policial),
+ * de modo que só a entidade alterada é substituída.
+ *
+ * As entidades devolvidas são compartilhadas entre as threads: quem precisar alterá-las
+ * deve carregar a própria cópia pelo repositório.
+ *
+ * Escritas e a carga inicial são serializadas por um ReentrantLock, e não por synchronized,
+ * porque a carga consulta o banco: sob threads virtuais (Java 21), bloquear em I/O dentro
+ * de um monitor prende a thread de plataforma.
+ */
+@Component
+public class EscalaResponsaveis {
+
+    // Chave de turno dos bombeiros cujo turno não é reconhecido (ficam sempre disponíveis)
+    private static final String OUTROS_TURNOS = "";
+
+    private final BombeiroRepository bombeiroRepository;
+    private final PoliciaMilitarRepository policiaMilitarRepository;
+
+    private final Indice<Bombeiro> bombeiros = new Indice<>(Bombeiro::getId,
+            b -> b.getUsuario() != null ? b.getUsuario().getId() : null);
+    private final Indice<PoliciaMilitar> policiais = new Indice<>(PoliciaMilitar::getId,
+            p -> p.getUsuario() != null ? p.getUsuario().getId() : null);
+    private final Map<String, Set<Long>> bombeirosPorTurno = new ConcurrentHashMap<>();
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final ReentrantLock trava = new ReentrantLock();
+
+    @Autowired
+    public EscalaResponsaveis(BombeiroRepository bombeiroRepository,
+                              PoliciaMilitarRepository policiaMilitarRepository) {
+        this.bombeiroRepository = bombeiroRepository;
+        this.policiaMilitarRepository = policiaMilitarRepository;
+    }
+
+    // ---------- Bombeiros ----------
+
+    public List<Bombeiro> bombeiros() {
+        garantirBombeiros();
+        return bombeiros.todos();
+    }
+
+    public Optional<Bombeiro> bombeiro(Long id) {
+        garantirBombeiros();
+        Bombeiro b = bombeiros.porId.get(id);
+        if (b != null) {
+            acertos.increment();
+            return Optional.of(b);
+        }
+        // Leitura direta: cobre alterações feitas fora deste processo
+        falhas.increment();
+        Optional<Bombeiro> doBanco = bombeiroRepository.findById(id);
+        doBanco.ifPresent(this::atualizarBombeiro);
+        return doBanco;
+    }
+
+    public List<Bombeiro> bombeirosDoUsuario(Long usuarioId) {
+        garantirBombeiros();
+        return bombeiros.doUsuario(usuarioId);
+    }
+
+    /**
+     * Bombeiros do turno informado (ignora maiúsculas e acentos em Manhã/Tarde/Noite;
+     * demais turnos são comparados pelo texto).
+     */
+    public List<Bombeiro> bombeirosDoTurno(String turno) {
+        garantirBombeiros();
+        acertos.increment();
+        return bombeiros.resolver(bombeirosPorTurno.get(chaveTurno(turno)));
+    }
+
+    /**
+     * Bombeiros em serviço na hora informada: os do turno ativo e os de turno não reconhecido.
+     */
+    public List<Bombeiro> bombeirosEmServico(LocalTime hora) {
+        garantirBombeiros();
+        acertos.increment();
+        List<Bombeiro> lista = new ArrayList<>();
+        for (Turno t : Turno.values()) {
+            if (t.ativoEm(hora)) {
+                lista.addAll(bombeiros.resolver(bombeirosPorTurno.get(t.name())));
+            }
+        }
+        for (Map.Entry<String, Set<Long>> e : bombeirosPorTurno.entrySet()) {
+            if (Turno.de(e.getKey()).isEmpty()) {
+                lista.addAll(bombeiros.resolver(e.getValue()));
+            }
+        }
+        lista.sort(Comparator.comparing(Bombeiro::getId));
+        return lista;
+    }
+
+    public void atualizarBombeiro(Bombeiro b) {
+        trava.lock();
+        try {
+            if (b.getId() == null) {
+                return;
+            }
+            Bombeiro anterior = bombeiros.colocar(b);
+            if (anterior != null) {
+                removerDoTurno(anterior);
+            }
+            bombeirosPorTurno.computeIfAbsent(chaveTurno(b.getTurno()), k -> ConcurrentHashMap.newKeySet())
+                    .add(b.getId());
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    public void removerBombeiro(Long id) {
+        trava.lock();
+        try {
+            Bombeiro anterior = bombeiros.remover(id);
+            if (anterior != null) {
+                removerDoTurno(anterior);
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    // ---------- Policiais militares ----------
+
+    public List<PoliciaMilitar> policiais() {
+        garantirPoliciais();
+        return policiais.todos();
+    }
+
+    public Optional<PoliciaMilitar> policial(Long id) {
+        garantirPoliciais();
+        PoliciaMilitar p = policiais.porId.get(id);
+        if (p != null) {
+            acertos.increment();
+            return Optional.of(p);
+        }
+        falhas.increment();
+        Optional<PoliciaMilitar> doBanco = policiaMilitarRepository.findById(id);
+        doBanco.ifPresent(this::atualizarPolicial);
+        return doBanco;
+    }
+
+    public Optional<PoliciaMilitar> policialDoUsuario(Long usuarioId) {
+        garantirPoliciais();
+        return policiais.doUsuario(usuarioId).stream().findFirst();
+    }
+
+    public void atualizarPolicial(PoliciaMilitar p) {
+        trava.lock();
+        try {
+            if (p.getId() != null) {
+                policiais.colocar(p);
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    public void removerPolicial(Long id) {
+        trava.lock();
+        try {
+            policiais.remover(id);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    // ---------- Estatísticas ----------
+
+    public Estatisticas estatisticas() {
+        long a = acertos.sum();
+        long f = falhas.sum();
+        return new Estatisticas(a, f, a + f > 0 ? (double) a / (a + f) : 0.0,
+                bombeiros.porId.size(), policiais.porId.size());
+    }
+
+    /**
+     * Acertos: leituras atendidas pela memória. Falhas: leituras que foram ao banco
+     * (carga inicial de cada escala e ids ainda não vistos).
+     */
+    public record Estatisticas(long acertos, long falhas, double taxaAcerto, int bombeiros, int policiais) {
+    }
+
+    // ---------- Carga ----------
+
+    private void garantirBombeiros() {
+        if (bombeiros.carregado) {
+            return;
+        }
+        trava.lock();
+        try {
+            if (!bombeiros.carregado) {
+                falhas.increment();
+                for (Bombeiro b : bombeiroRepository.findAll()) {
+                    atualizarBombeiro(b);
+                }
+                bombeiros.carregado = true;
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private void garantirPoliciais() {
+        if (policiais.carregado) {
+            return;
+        }
+        trava.lock();
+        try {
+            if (!policiais.carregado) {
+                falhas.increment();
+                for (PoliciaMilitar p : policiaMilitarRepository.findAll()) {
+                    atualizarPolicial(p);
+                }
+                policiais.carregado = true;
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private void removerDoTurno(Bombeiro b) {
+        String chave = chaveTurno(b.getTurno());
+        Set<Long> ids = bombeirosPorTurno.get(chave);
+        if (ids != null) {
+            ids.remove(b.getId());
+            if (ids.isEmpty()) {
+                bombeirosPorTurno.remove(chave);
+            }
+        }
+    }
+
+    // Turnos reconhecidos pelo nome da constante; os demais pelo texto normalizado
+    static String chaveTurno(String turno) {
+        if (turno == null || turno.isBlank()) {
+            return OUTROS_TURNOS;
+        }
+        return Turno.de(turno).map(Turno::name)
+                .orElse(turno.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Entidades por id e ids por usuário. Alterações só sob o monitor da escala;
+     * leituras sem trava (podem ver uma alteração em andamento, nunca uma entidade parcial).
+     */
+    private final class Indice<T> {
+
+        final Map<Long, T> porId = new ConcurrentHashMap<>();
+        final Map<Long, Set<Long>> porUsuario = new ConcurrentHashMap<>();
+        final Function<T, Long> id;
+        final Function<T, Long> usuarioId;
+        volatile boolean carregado;
+
+        Indice(Function<T, Long> id, Function<T, Long> usuarioId) {
+            this.id = id;
+            this.usuarioId = usuarioId;
+        }
+
+        List<T> todos() {
+            acertos.increment();
+            return new ArrayList<>(porId.values());
+        }
+
+        List<T> doUsuario(Long usuario) {
+            acertos.increment();
+            return resolver(usuario != null ? porUsuario.get(usuario) : null);
+        }
+
+        List<T> resolver(Set<Long> ids) {
+            List<T> lista = new ArrayList<>();
+            if (ids != null) {
+                for (Long i : ids) {
+                    T t = porId.get(i);
+                    if (t != null) {
+                        lista.add(t);
+                    }
+                }
+            }
+            return lista;
+        }
+
+        T colocar(T t) {
+            T anterior = porId.put(id.apply(t), t);
+            if (anterior != null) {
+                desvincular(anterior);
+            }
+            Long u = usuarioId.apply(t);
+            if (u != null) {
+                porUsuario.computeIfAbsent(u, k -> ConcurrentHashMap.newKeySet()).add(id.apply(t));
+            }
+            return anterior;
+        }
+
+        T remover(Long chave) {
+            T anterior = porId.remove(chave);
+            if (anterior != null) {
+                desvincular(anterior);
+            }
+            return anterior;
+        }
+
+        private void desvincular(T t) {
+            Long u = usuarioId.apply(t);
+            Set<Long> ids = u != null ? porUsuario.get(u) : null;
+            if (ids != null) {
+                ids.remove(id.apply(t));
+                if (ids.isEmpty()) {
+                    porUsuario.remove(u);
+                }
+            }
+        }
+    }
+}
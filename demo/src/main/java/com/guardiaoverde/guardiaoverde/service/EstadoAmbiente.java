@@ -0,0 +1,23 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+/**
+ * Estados do monitoramento de um Ambiente.
+ * NORMAL → CRITICO quando as leituras cruzam os limiares (gera chamado/alerta uma única vez);
+ * CRITICO → RECUPERADO na primeira leitura fora dos limiares;
+ * RECUPERADO → NORMAL na leitura seguinte ainda fora dos limiares.
+ */
+public enum EstadoAmbiente {
+    NORMAL,
+    CRITICO,
+    RECUPERADO;
+
+    /**
+     * Próximo estado dado se a leitura atual é crítica.
+     */
+    public EstadoAmbiente proximo(boolean critico) {
+        if (critico) {
+            return CRITICO;
+        }
+        return this == CRITICO ? RECUPERADO : NORMAL;
+    }
+}
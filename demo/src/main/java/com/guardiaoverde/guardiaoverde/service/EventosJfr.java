@@ -0,0 +1,160 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import java.util.List;
+
+/**
+ * Eventos do Java Flight Recorder emitidos pela aplicação (categoria GuardiaoVerde no
+ * JDK Mission Control). Enquanto nenhuma gravação os habilita, criar e confirmar um
+ * evento não registra nada, então podem ficar em caminhos quentes; a gravação é
+ * controlada em /actuator/jfr (GravacaoJfrEndpoint) ou por -XX:StartFlightRecording.
+ *
+ * Os eventos com duração (begin/commit) só são gravados acima do limiar de cada um.
+ */
+public final class EventosJfr {
+
+    private static final String CATEGORIA = "GuardiaoVerde";
+
+    private EventosJfr() {
+    }
+
+    /**
+     * Tipos de evento declarados aqui, para habilitar em uma gravação.
+     */
+    public static List<Class<? extends Event>> tipos() {
+        return List.of(CicloMonitor.class, ParticaoMonitor.class, ValidacaoChamado.class,
+                ChamadoDuplicado.class, PrioridadeElevada.class, AlertaEmCooldown.class,
+                ResponsavelAtribuido.class, ConsultaRepositorio.class);
+    }
+
+    @Name("guardiaoverde.CicloMonitor")
+    @Label("Ciclo do monitor")
+    @Category({CATEGORIA, "Monitor"})
+    @StackTrace(false)
+    public static final class CicloMonitor extends Event {
+        @Label("Nó")
+        public String no;
+        @Label("Fatias do nó")
+        @Description("Fatias processadas pelo nó no ciclo; 0 fora do modo coordenado")
+        public int fatias;
+        @Label("Fatias assumidas")
+        public int fatiasAssumidas;
+        @Label("Ambientes alterados")
+        public int alterados;
+        @Label("Transições para CRITICO")
+        public int criticos;
+        @Label("Ambientes sem região")
+        public int semRegiao;
+        @Label("Partições")
+        public int particoes;
+        @Label("Partições com falha")
+        public int falhas;
+        @Label("Chamados")
+        public int chamados;
+        @Label("Alertas")
+        public int alertas;
+    }
+
+    @Name("guardiaoverde.ParticaoMonitor")
+    @Label("Partição do ciclo do monitor")
+    @Category({CATEGORIA, "Monitor"})
+    @StackTrace(false)
+    public static final class ParticaoMonitor extends Event {
+        @Label("Índice")
+        public int indice;
+        @Label("Ambientes")
+        public int ambientes;
+        @Label("Chamados")
+        public int chamados;
+        @Label("Alertas")
+        public int alertas;
+        @Label("Erro")
+        @Description("Causa da falha; vazio se a partição foi gravada")
+        public String erro;
+    }
+
+    @Name("guardiaoverde.ValidacaoChamado")
+    @Label("Validação de chamado")
+    @Category({CATEGORIA, "Chamados"})
+    @StackTrace(false)
+    public static final class ValidacaoChamado extends Event {
+        @Label("Região")
+        public long regiaoId;
+        @Label("Origem")
+        public String origem;
+        @Label("Recusa")
+        @Description("Regra que recusou o chamado; vazio se foi aceito")
+        public String recusa;
+    }
+
+    @Name("guardiaoverde.ChamadoDuplicado")
+    @Label("Chamado duplicado recusado")
+    @Category({CATEGORIA, "Chamados"})
+    @StackTrace(false)
+    public static final class ChamadoDuplicado extends Event {
+        @Label("Região")
+        public long regiaoId;
+        @Label("Janela (min)")
+        public long janelaMin;
+    }
+
+    @Name("guardiaoverde.PrioridadeElevada")
+    @Label("Prioridade elevada pelo índice de secura")
+    @Category({CATEGORIA, "Chamados"})
+    @StackTrace(false)
+    public static final class PrioridadeElevada extends Event {
+        @Label("Região")
+        public long regiaoId;
+        @Label("Índice de secura")
+        public double indiceSecura;
+        @Label("Prioridade pedida")
+        public String de;
+        @Label("Prioridade aplicada")
+        public String para;
+    }
+
+    @Name("guardiaoverde.AlertaEmCooldown")
+    @Label("Alerta recusado pelo intervalo mínimo")
+    @Category({CATEGORIA, "Alertas"})
+    @StackTrace(false)
+    public static final class AlertaEmCooldown extends Event {
+        @Label("Ambiente")
+        public long ambienteId;
+        @Label("Nível de risco")
+        public String nivelRisco;
+        @Label("Intervalo mínimo (min)")
+        public long intervaloMin;
+    }
+
+    @Name("guardiaoverde.ResponsavelAtribuido")
+    @Label("Escolha de responsável para alerta")
+    @Category({CATEGORIA, "Alertas"})
+    @StackTrace(false)
+    public static final class ResponsavelAtribuido extends Event {
+        @Label("Ambiente")
+        public long ambienteId;
+        @Label("Bombeiro")
+        @Description("Id do bombeiro escolhido; 0 se nenhum estava disponível")
+        public long bombeiroId;
+    }
+
+    @Name("guardiaoverde.ConsultaRepositorio")
+    @Label("Consulta de repositório")
+    @Category({CATEGORIA, "Banco"})
+    @Threshold("10 ms")
+    public static final class ConsultaRepositorio extends Event {
+        @Label("Repositório")
+        public String repositorio;
+        @Label("Método")
+        public String metodo;
+        @Label("Falhou")
+        public boolean falhou;
+    }
+}
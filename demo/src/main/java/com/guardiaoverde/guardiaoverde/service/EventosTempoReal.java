@@ -0,0 +1,340 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guardiaoverde.guardiaoverde.domain.Alerta;
+import com.guardiaoverde.guardiaoverde.domain.Chamado;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Barramento em processo dos alertas e chamados recém-criados, para os painéis que
+ * acompanham as tabelas em tempo real (SSE em /v1/alertas/stream e /v1/chamados/stream).
+ *
+ * Cada evento é serializado uma única vez na publicação e entregue aos assinantes do canal
+ * cujo filtro (região, nível) ele satisfaz. Cada assinante tem uma fila limitada
+ * ({@code eventos.fila-por-assinante}) esvaziada por uma tarefa no executorEventos (ver
+ * ExecucaoConfig), de modo que a publicação nunca espera por um cliente. Se a fila de um
+ * assinante enche, ele está lento demais para acompanhar e é desligado; o cliente
+ * reconecta e volta a receber a partir dos próximos eventos.
+ *
+ * Quem publica são os serviços, depois do commit: eventos de transações desfeitas nunca
+ * chegam aos painéis.
+ */
+@Component
+public class EventosTempoReal implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(EventosTempoReal.class);
+    private static final LogLimitado avisos = new LogLimitado(log, Duration.ofMinutes(1));
+
+    public enum Canal { ALERTAS, CHAMADOS }
+
+    private final ObjectMapper objectMapper;
+    private final IndiceEspacialRegioes indiceEspacialRegioes;
+
+    private final Set<Assinatura> assinaturas = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger totalDesligados = new AtomicInteger();
+
+    private Executor executorEnvio;
+    private final ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "eventos-pulsacao");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Value("${eventos.fila-por-assinante:256}")
+    private int filaPorAssinante = 256;
+
+    @Value("${eventos.max-assinantes:5000}")
+    private int maxAssinantes = 5000;
+
+    @Value("${eventos.pulsacao-s:15}")
+    private long pulsacaoS = 15;
+
+    @Autowired
+    public EventosTempoReal(ObjectMapper objectMapper,
+                            IndiceEspacialRegioes indiceEspacialRegioes,
+                            @Qualifier("executorEventos") Executor executorEnvio) {
+        this.objectMapper = objectMapper;
+        this.indiceEspacialRegioes = indiceEspacialRegioes;
+        this.executorEnvio = executorEnvio;
+    }
+
+    /**
+     * Pulsação periódica a todos os assinantes: mantém a conexão aberta em proxies e
+     * descobre clientes que já desconectaram.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        agendador.scheduleWithFixedDelay(this::pulsar, pulsacaoS, pulsacaoS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        agendador.shutdownNow();
+        for (Assinatura a : assinaturas) {
+            a.cancelar();
+        }
+    }
+
+    /**
+     * Registra um assinante. Lança IllegalStateException se o limite de assinantes foi atingido.
+     */
+    public Assinatura assinar(Canal canal, Filtro filtro, Destino destino) {
+        if (assinaturas.size() >= maxAssinantes) {
+            throw new IllegalStateException("Limite de assinantes de eventos atingido.");
+        }
+        Assinatura a = new Assinatura(canal, filtro, destino, new ArrayBlockingQueue<>(filaPorAssinante));
+        assinaturas.add(a);
+        return a;
+    }
+
+    /**
+     * Publica um alerta gravado. A região vem da localização do ambiente, quando ela é uma
+     * coordenada coberta pelo índice espacial.
+     */
+    public void publicarAlerta(Alerta alerta) {
+        Long regiaoId = alerta.getAmbiente() == null ? null
+                : Coordenada.interpretar(alerta.getAmbiente().getLocalizacao())
+                        .flatMap(indiceEspacialRegioes::localizar)
+                        .orElse(null);
+        publicarAlerta(alerta, regiaoId);
+    }
+
+    /**
+     * Publica um alerta gravado cuja região o chamador já conhece.
+     */
+    public void publicarAlerta(Alerta alerta, Long regiaoId) {
+        publicar(Canal.ALERTAS, alerta.getId(), regiaoId, alerta.getNivelRisco(), alerta);
+    }
+
+    public void publicarChamado(Chamado chamado) {
+        Long regiaoId = chamado.getRegiao() != null ? chamado.getRegiao().getId() : null;
+        publicar(Canal.CHAMADOS, chamado.getId(), regiaoId, chamado.getPrioridade(), chamado);
+    }
+
+    public int assinantes() {
+        return assinaturas.size();
+    }
+
+    /**
+     * Assinantes desligados por lentidão desde a subida.
+     */
+    public int desligadosPorLentidao() {
+        return totalDesligados.get();
+    }
+
+    /**
+     * Eventos enfileirados e ainda não entregues, somando todos os assinantes.
+     */
+    public int eventosPendentes() {
+        int total = 0;
+        for (Assinatura a : assinaturas) {
+            total += a.fila.size();
+        }
+        return total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("guardiao.eventos.assinantes", this, EventosTempoReal::assinantes)
+                .description("Assinantes conectados aos streams de eventos")
+                .register(registry);
+        Gauge.builder("guardiao.eventos.fila", this, EventosTempoReal::eventosPendentes)
+                .description("Eventos aguardando envio, somando as filas dos assinantes")
+                .register(registry);
+        FunctionCounter.builder("guardiao.eventos.desligados", this, EventosTempoReal::desligadosPorLentidao)
+                .description("Assinantes desligados por lentidão")
+                .register(registry);
+    }
+
+    // Package-private para testes
+    void setExecutorEnvio(Executor executorEnvio) {
+        this.executorEnvio = executorEnvio;
+    }
+
+    void setFilaPorAssinante(int filaPorAssinante) {
+        this.filaPorAssinante = filaPorAssinante;
+    }
+
+    void pulsar() {
+        for (Assinatura a : assinaturas) {
+            a.enfileirar(Evento.PULSACAO);
+        }
+    }
+
+    private void publicar(Canal canal, Long id, Long regiaoId, String nivel, Object corpo) {
+        if (assinaturas.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(corpo);
+        } catch (JsonProcessingException ex) {
+            avisos.aviso("serializacao", "falha ao serializar evento canal={} id={} erro={}",
+                    canal, id, ex.getMessage());
+            return;
+        }
+        Evento evento = new Evento(canal, id, json);
+        String nivelNormalizado = Filtro.normalizar(nivel);
+        for (Assinatura a : assinaturas) {
+            if (a.canal == canal && a.filtro.aceita(regiaoId, nivelNormalizado)) {
+                a.enfileirar(evento);
+            }
+        }
+    }
+
+    /**
+     * Filtro de uma assinatura: região (id) e níveis aceitos (nivelRisco dos alertas,
+     * prioridade dos chamados). Campos nulos ou vazios aceitam tudo.
+     */
+    public record Filtro(Long regiaoId, Set<String> niveis) {
+
+        public static final Filtro TODOS = new Filtro(null, Set.of());
+
+        public Filtro {
+            niveis = niveis == null ? Set.of()
+                    : niveis.stream().map(Filtro::normalizar).collect(Collectors.toUnmodifiableSet());
+        }
+
+        boolean aceita(Long regiaoIdEvento, String nivelEvento) {
+            return (regiaoId == null || regiaoId.equals(regiaoIdEvento))
+                    && (niveis.isEmpty() || niveis.contains(nivelEvento));
+        }
+
+        static String normalizar(String nivel) {
+            return nivel == null ? "" : nivel.trim().toUpperCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Evento entregue a um assinante: canal, id do registro e o registro em JSON. A
+     * pulsação tem canal nulo.
+     */
+    public record Evento(Canal canal, Long id, String json) {
+
+        static final Evento PULSACAO = new Evento(null, null, null);
+
+        public boolean pulsacao() {
+            return canal == null;
+        }
+    }
+
+    /**
+     * Transporte de um assinante (ex.: SseEmitter). Uma IOException desliga o assinante.
+     */
+    @FunctionalInterface
+    public interface Destino {
+
+        void enviar(Evento evento) throws IOException;
+
+        /**
+         * Chamado uma vez quando a assinatura termina por lentidão, erro ou encerramento.
+         */
+        default void encerrado(String motivo) {
+        }
+    }
+
+    public final class Assinatura {
+
+        private final Canal canal;
+        private final Filtro filtro;
+        private final Destino destino;
+        private final BlockingQueue<Evento> fila;
+        private final AtomicBoolean enviando = new AtomicBoolean();
+        private final AtomicBoolean ativa = new AtomicBoolean(true);
+
+        private Assinatura(Canal canal, Filtro filtro, Destino destino, BlockingQueue<Evento> fila) {
+            this.canal = canal;
+            this.filtro = filtro;
+            this.destino = destino;
+            this.fila = fila;
+        }
+
+        /**
+         * Encerra a assinatura pelo lado do cliente (desconexão, timeout).
+         */
+        public void cancelar() {
+            encerrar(null);
+        }
+
+        public boolean ativa() {
+            return ativa.get();
+        }
+
+        private void enfileirar(Evento evento) {
+            if (!ativa.get()) {
+                return;
+            }
+            if (!fila.offer(evento)) {
+                totalDesligados.incrementAndGet();
+                encerrar("assinante lento: fila de " + filaPorAssinante + " eventos cheia");
+                return;
+            }
+            agendarEnvio();
+        }
+
+        // Uma única tarefa de envio por assinante de cada vez, preservando a ordem
+        private void agendarEnvio() {
+            if (enviando.compareAndSet(false, true)) {
+                try {
+                    executorEnvio.execute(this::esvaziar);
+                } catch (RuntimeException ex) {
+                    enviando.set(false);
+                    encerrar("envio recusado: " + ex.getMessage());
+                }
+            }
+        }
+
+        private void esvaziar() {
+            try {
+                Evento e;
+                while (ativa.get() && (e = fila.poll()) != null) {
+                    destino.enviar(e);
+                }
+            } catch (IOException | RuntimeException ex) {
+                encerrar("falha no envio: " + ex.getMessage());
+            } finally {
+                enviando.set(false);
+            }
+            // Evento que chegou depois do último poll e antes de liberar a vez
+            if (ativa.get() && !fila.isEmpty()) {
+                agendarEnvio();
+            }
+        }
+
+        private void encerrar(String motivo) {
+            if (ativa.compareAndSet(true, false)) {
+                assinaturas.remove(this);
+                fila.clear();
+                destino.encerrado(motivo);
+            }
+        }
+    }
+}
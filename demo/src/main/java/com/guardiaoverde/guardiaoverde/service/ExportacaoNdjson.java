@@ -0,0 +1,66 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Exportação de listagens em NDJSON (um objeto JSON por linha), escrevendo cada
+ * registro assim que é lido do cursor do banco. Cada entidade é desanexada depois de
+ * escrita, então a memória usada não cresce com o tamanho do resultado.
+ */
+@Service
+public class ExportacaoNdjson {
+
+    public static final String TIPO = "application/x-ndjson";
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transacaoLeitura;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public ExportacaoNdjson(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+    }
+
+    /**
+     * Corpo de resposta que abre uma transação somente leitura, consome a consulta
+     * (ex.: {@code repositorio::streamAllByOrderByIdAsc}) e escreve as linhas.
+     */
+    public <T> StreamingResponseBody exportar(Supplier<Stream<T>> consulta) {
+        return saida -> transacaoLeitura.executeWithoutResult(status -> escrever(consulta, saida));
+    }
+
+    private <T> void escrever(Supplier<Stream<T>> consulta, OutputStream saida) {
+        OutputStream buffer = new BufferedOutputStream(saida, 16 * 1024);
+        try (Stream<T> linhas = consulta.get()) {
+            Iterator<T> it = linhas.iterator();
+            while (it.hasNext()) {
+                T item = it.next();
+                buffer.write(objectMapper.writeValueAsBytes(item));
+                buffer.write('\n');
+                entityManager.detach(item);
+            }
+            buffer.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
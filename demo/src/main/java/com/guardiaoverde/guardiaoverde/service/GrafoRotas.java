@@ -0,0 +1,516 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.domain.Rota;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * Grafo dirigido e imutável da malha de rotas, em listas de adjacência compactas (CSR):
+ * as arestas que saem do ponto i ocupam as posições [inicio[i], inicio[i + 1]) dos arrays
+ * de destino, tempo, distância e rota. Um segundo índice guarda as arestas de entrada,
+ * para buscas a partir do destino.
+ *
+ * Cada Rota gera a aresta pontoPartida → pontoDestino com peso tempoEstimado. Os caminhos
+ * alternativos da Rota (campo caminhosAlternativos) geram arestas extras. Formato: uma
+ * alternativa por linha ou separada por ';', com pontos intermediários separados por
+ * "->" e, opcionalmente, o tempo total em minutos após ':'. Exemplo:
+ * "Base Norte -> Ponte do Rio -> Parque Sul: 42; Base Norte -> Estrada Velha -> Parque Sul".
+ * Sem tempo informado, usa o tempoEstimado da Rota; tempo e distância são repartidos
+ * igualmente entre os trechos.
+ *
+ * Os pontos são identificados pelo texto normalizado (sem espaços extras, minúsculas).
+ */
+public final class GrafoRotas {
+
+    private final String[] pontos;
+    private final Map<String, Integer> indice;
+
+    private final int[] inicio;
+    private final int[] origem;
+    private final int[] destino;
+    private final double[] tempo;
+    private final double[] distancia;
+    private final long[] rota;
+
+    private final int[] inicioEntrada;
+    private final int[] arestaEntrada;
+
+    private GrafoRotas(List<String> pontos, Map<String, Integer> indice, List<Aresta> arestas) {
+        int n = pontos.size();
+        int m = arestas.size();
+        this.pontos = pontos.toArray(new String[0]);
+        this.indice = indice;
+        this.inicio = new int[n + 1];
+        this.origem = new int[m];
+        this.destino = new int[m];
+        this.tempo = new double[m];
+        this.distancia = new double[m];
+        this.rota = new long[m];
+        this.inicioEntrada = new int[n + 1];
+        this.arestaEntrada = new int[m];
+
+        // Ordenação por contagem: arestas agrupadas pelo ponto de origem, na ordem de cadastro
+        for (Aresta a : arestas) {
+            inicio[a.origem + 1]++;
+            inicioEntrada[a.destino + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            inicio[i + 1] += inicio[i];
+            inicioEntrada[i + 1] += inicioEntrada[i];
+        }
+        int[] proxima = Arrays.copyOf(inicio, n);
+        int[] proximaEntrada = Arrays.copyOf(inicioEntrada, n);
+        for (Aresta a : arestas) {
+            int e = proxima[a.origem]++;
+            origem[e] = a.origem;
+            destino[e] = a.destino;
+            tempo[e] = a.tempo;
+            distancia[e] = a.distancia;
+            rota[e] = a.rotaId;
+        }
+        for (int e = 0; e < m; e++) {
+            arestaEntrada[proximaEntrada[destino[e]]++] = e;
+        }
+    }
+
+    public static GrafoRotas construir(Collection<Rota> rotas) {
+        List<String> pontos = new ArrayList<>();
+        Map<String, Integer> indice = new HashMap<>();
+        List<Aresta> arestas = new ArrayList<>();
+
+        for (Rota r : rotas) {
+            if (r.getPontoPartida() == null || r.getPontoDestino() == null || r.getTempoEstimado() == null) {
+                continue;
+            }
+            long rotaId = r.getId() != null ? r.getId() : -1L;
+            double dist = r.getDistancia() != null ? r.getDistancia() : 0.0;
+            int de = registrarPonto(r.getPontoPartida(), pontos, indice);
+            int para = registrarPonto(r.getPontoDestino(), pontos, indice);
+            arestas.add(new Aresta(de, para, r.getTempoEstimado(), dist, rotaId));
+
+            for (Alternativa alt : alternativas(r)) {
+                int trechos = alt.pontos.size() - 1;
+                int anterior = registrarPonto(alt.pontos.get(0), pontos, indice);
+                for (int i = 1; i <= trechos; i++) {
+                    int atual = registrarPonto(alt.pontos.get(i), pontos, indice);
+                    arestas.add(new Aresta(anterior, atual, alt.tempo / trechos, dist / trechos, rotaId));
+                    anterior = atual;
+                }
+            }
+        }
+        return new GrafoRotas(pontos, indice, arestas);
+    }
+
+    public static String chave(String ponto) {
+        return ponto.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    public int quantidadePontos() {
+        return pontos.length;
+    }
+
+    public int quantidadeArestas() {
+        return destino.length;
+    }
+
+    public String ponto(int i) {
+        return pontos[i];
+    }
+
+    /**
+     * Índice do ponto no grafo, ou -1 se ele não existir.
+     */
+    public int indiceDe(String ponto) {
+        if (ponto == null) {
+            return -1;
+        }
+        Integer i = indice.get(chave(ponto));
+        return i != null ? i : -1;
+    }
+
+    /**
+     * Ponto sem arestas de entrada (só aparece como partida, ex.: uma base).
+     */
+    public boolean ehPontoDePartida(int i) {
+        return inicioEntrada[i + 1] == inicioEntrada[i] && inicio[i + 1] > inicio[i];
+    }
+
+    /**
+     * Caminho de menor tempo entre dois pontos (Dijkstra com parada no destino).
+     */
+    public Optional<Caminho> caminho(String de, String para) {
+        List<Caminho> caminhos = caminhos(de, para, 1);
+        return caminhos.isEmpty() ? Optional.empty() : Optional.of(caminhos.get(0));
+    }
+
+    /**
+     * Até k caminhos sem ciclos em ordem crescente de tempo (algoritmo de Yen).
+     */
+    public List<Caminho> caminhos(String de, String para, int k) {
+        int s = indiceDe(de);
+        int t = indiceDe(para);
+        if (s < 0 || t < 0 || k < 1) {
+            return List.of();
+        }
+        if (s == t) {
+            return List.of(new Caminho(List.of(pontos[s]), 0.0, 0.0, List.of()));
+        }
+
+        boolean[] nosBloqueados = new boolean[pontos.length];
+        boolean[] arestasBloqueadas = new boolean[destino.length];
+        int[] primeiro = menorCaminho(s, t, nosBloqueados, arestasBloqueadas);
+        if (primeiro == null) {
+            return List.of();
+        }
+
+        List<int[]> aceitos = new ArrayList<>();
+        aceitos.add(primeiro);
+        PriorityQueue<int[]> candidatos = new PriorityQueue<>((a, b) -> Double.compare(tempoDe(a), tempoDe(b)));
+        Set<List<Integer>> vistos = new HashSet<>();
+        vistos.add(comoLista(primeiro));
+
+        while (aceitos.size() < k) {
+            int[] anterior = aceitos.get(aceitos.size() - 1);
+            for (int i = 0; i < anterior.length; i++) {
+                int desvio = origem[anterior[i]];
+
+                // Bloqueia a próxima aresta de todo caminho aceito que compartilha a mesma raiz
+                for (int[] aceito : aceitos) {
+                    if (aceito.length > i && Arrays.equals(aceito, 0, i, anterior, 0, i)) {
+                        arestasBloqueadas[aceito[i]] = true;
+                    }
+                }
+                // Os pontos da raiz (exceto o de desvio) não podem ser revisitados
+                for (int j = 0; j < i; j++) {
+                    nosBloqueados[origem[anterior[j]]] = true;
+                }
+
+                int[] trechoDesvio = menorCaminho(desvio, t, nosBloqueados, arestasBloqueadas);
+                if (trechoDesvio != null) {
+                    int[] completo = new int[i + trechoDesvio.length];
+                    System.arraycopy(anterior, 0, completo, 0, i);
+                    System.arraycopy(trechoDesvio, 0, completo, i, trechoDesvio.length);
+                    if (vistos.add(comoLista(completo))) {
+                        candidatos.add(completo);
+                    }
+                }
+
+                Arrays.fill(arestasBloqueadas, false);
+                Arrays.fill(nosBloqueados, false);
+            }
+            if (candidatos.isEmpty()) {
+                break;
+            }
+            aceitos.add(candidatos.poll());
+        }
+
+        List<Caminho> caminhos = new ArrayList<>(aceitos.size());
+        for (int[] arestas : aceitos) {
+            caminhos.add(paraCaminho(arestas));
+        }
+        return caminhos;
+    }
+
+    /**
+     * Caminho mais rápido até o destino partindo do ponto mais próximo que satisfaça o
+     * filtro. Uma única busca reversa a partir do destino, sobre as arestas de entrada.
+     */
+    public Optional<Caminho> caminhoMaisProximoAte(String para, IntPredicate origemValida) {
+        int t = indiceDe(para);
+        if (t < 0) {
+            return Optional.empty();
+        }
+        int n = pontos.length;
+        double[] dist = new double[n];
+        int[] arestaSeguinte = new int[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(arestaSeguinte, -1);
+        dist[t] = 0.0;
+
+        HeapMinimo heap = new HeapMinimo(Math.max(16, n));
+        heap.inserir(0.0, t);
+        while (!heap.vazio()) {
+            double d = heap.menorChave();
+            int v = heap.removerMenor();
+            if (d > dist[v]) {
+                continue;
+            }
+            if (v != t && origemValida.test(v)) {
+                int passos = 0;
+                for (int u = v; u != t; u = destino[arestaSeguinte[u]]) {
+                    passos++;
+                }
+                int[] arestas = new int[passos];
+                int i = 0;
+                for (int u = v; u != t; u = destino[arestaSeguinte[u]]) {
+                    arestas[i++] = arestaSeguinte[u];
+                }
+                return Optional.of(paraCaminho(arestas));
+            }
+            for (int r = inicioEntrada[v]; r < inicioEntrada[v + 1]; r++) {
+                int e = arestaEntrada[r];
+                int u = origem[e];
+                double nd = d + tempo[e];
+                if (nd < dist[u]) {
+                    dist[u] = nd;
+                    arestaSeguinte[u] = e;
+                    heap.inserir(nd, u);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Tempo mínimo de s até cada ponto do grafo (Dijkstra completo, sem parada antecipada).
+     * Pontos inalcançáveis ficam com +infinito.
+     */
+    public void temposAPartirDe(int s, double[] dist) {
+        Arrays.fill(dist, 0, pontos.length, Double.POSITIVE_INFINITY);
+        dist[s] = 0.0;
+        HeapMinimo heap = new HeapMinimo(Math.max(16, pontos.length));
+        heap.inserir(0.0, s);
+        while (!heap.vazio()) {
+            double d = heap.menorChave();
+            int u = heap.removerMenor();
+            if (d > dist[u]) {
+                continue;
+            }
+            for (int e = inicio[u]; e < inicio[u + 1]; e++) {
+                int v = destino[e];
+                double nd = d + tempo[e];
+                if (nd < dist[v]) {
+                    dist[v] = nd;
+                    heap.inserir(nd, v);
+                }
+            }
+        }
+    }
+
+    /**
+     * Percorre todas as arestas (origem, destino, tempo).
+     */
+    public void paraCadaAresta(ConsumidorAresta consumidor) {
+        for (int e = 0; e < destino.length; e++) {
+            consumidor.aceitar(origem[e], destino[e], tempo[e]);
+        }
+    }
+
+    // Dijkstra de s até t ignorando pontos/arestas bloqueados; devolve as arestas do caminho
+    private int[] menorCaminho(int s, int t, boolean[] nosBloqueados, boolean[] arestasBloqueadas) {
+        int n = pontos.length;
+        double[] dist = new double[n];
+        int[] arestaAnterior = new int[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(arestaAnterior, -1);
+        dist[s] = 0.0;
+
+        HeapMinimo heap = new HeapMinimo(Math.max(16, n));
+        heap.inserir(0.0, s);
+        while (!heap.vazio()) {
+            double d = heap.menorChave();
+            int u = heap.removerMenor();
+            if (d > dist[u]) {
+                continue;
+            }
+            if (u == t) {
+                break;
+            }
+            for (int e = inicio[u]; e < inicio[u + 1]; e++) {
+                int v = destino[e];
+                if (arestasBloqueadas[e] || nosBloqueados[v]) {
+                    continue;
+                }
+                double nd = d + tempo[e];
+                if (nd < dist[v]) {
+                    dist[v] = nd;
+                    arestaAnterior[v] = e;
+                    heap.inserir(nd, v);
+                }
+            }
+        }
+        if (dist[t] == Double.POSITIVE_INFINITY) {
+            return null;
+        }
+        int passos = 0;
+        for (int v = t; v != s; v = origem[arestaAnterior[v]]) {
+            passos++;
+        }
+        int[] arestas = new int[passos];
+        for (int v = t; v != s; v = origem[arestaAnterior[v]]) {
+            arestas[--passos] = arestaAnterior[v];
+        }
+        return arestas;
+    }
+
+    private double tempoDe(int[] arestas) {
+        double total = 0.0;
+        for (int e : arestas) {
+            total += tempo[e];
+        }
+        return total;
+    }
+
+    private Caminho paraCaminho(int[] arestas) {
+        List<String> nomes = new ArrayList<>(arestas.length + 1);
+        List<Long> rotas = new ArrayList<>();
+        double tempoTotal = 0.0;
+        double distanciaTotal = 0.0;
+        nomes.add(pontos[origem[arestas[0]]]);
+        for (int e : arestas) {
+            nomes.add(pontos[destino[e]]);
+            tempoTotal += tempo[e];
+            distanciaTotal += distancia[e];
+            if (rota[e] >= 0 && (rotas.isEmpty() || rotas.get(rotas.size() - 1) != rota[e])) {
+                rotas.add(rota[e]);
+            }
+        }
+        return new Caminho(nomes, tempoTotal, distanciaTotal, rotas);
+    }
+
+    private static List<Integer> comoLista(int[] arestas) {
+        return Arrays.stream(arestas).boxed().toList();
+    }
+
+    private static int registrarPonto(String ponto, List<String> pontos, Map<String, Integer> indice) {
+        return indice.computeIfAbsent(chave(ponto), c -> {
+            pontos.add(ponto.trim());
+            return pontos.size() - 1;
+        });
+    }
+
+    private static List<Alternativa> alternativas(Rota r) {
+        String texto = r.getCaminhosAlternativos();
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        List<Alternativa> alternativas = new ArrayList<>();
+        for (String linha : texto.split("[;\\n]")) {
+            if (!linha.contains("->")) {
+                continue;
+            }
+            double tempoAlt = r.getTempoEstimado();
+            int doisPontos = linha.lastIndexOf(':');
+            if (doisPontos > linha.lastIndexOf("->")) {
+                try {
+                    tempoAlt = Double.parseDouble(linha.substring(doisPontos + 1).trim());
+                    linha = linha.substring(0, doisPontos);
+                } catch (NumberFormatException ex) {
+                    // ':' faz parte do nome do ponto
+                }
+            }
+
+            LinkedHashMap<String, String> pontos = new LinkedHashMap<>();
+            pontos.put(chave(r.getPontoPartida()), r.getPontoPartida());
+            for (String p : linha.split("->")) {
+                if (!p.isBlank()) {
+                    pontos.putIfAbsent(chave(p), p.trim());
+                }
+            }
+            pontos.remove(chave(r.getPontoDestino()));
+            pontos.put(chave(r.getPontoDestino()), r.getPontoDestino());
+            if (pontos.size() > 2 && tempoAlt >= 0) {
+                alternativas.add(new Alternativa(new ArrayList<>(pontos.values()), tempoAlt));
+            }
+        }
+        return alternativas;
+    }
+
+    /**
+     * Caminho na malha: pontos percorridos, totais e as rotas cadastradas utilizadas.
+     */
+    public record Caminho(List<String> pontos, double tempoTotal, double distanciaTotal, List<Long> rotas) {
+    }
+
+    @FunctionalInterface
+    public interface ConsumidorAresta {
+        void aceitar(int origem, int destino, double tempo);
+    }
+
+    private record Aresta(int origem, int destino, double tempo, double distancia, long rotaId) {
+    }
+
+    private record Alternativa(List<String> pontos, double tempo) {
+    }
+
+    /**
+     * Heap binário de mínimo sobre arrays primitivos (chave = tempo acumulado).
+     * Sem decrease-key: entradas obsoletas são ignoradas ao sair do heap.
+     */
+    private static final class HeapMinimo {
+
+        private double[] chaves;
+        private int[] valores;
+        private int tamanho;
+
+        HeapMinimo(int capacidade) {
+            this.chaves = new double[capacidade];
+            this.valores = new int[capacidade];
+        }
+
+        boolean vazio() {
+            return tamanho == 0;
+        }
+
+        double menorChave() {
+            return chaves[0];
+        }
+
+        void inserir(double chave, int valor) {
+            if (tamanho == chaves.length) {
+                chaves = Arrays.copyOf(chaves, tamanho * 2);
+                valores = Arrays.copyOf(valores, tamanho * 2);
+            }
+            int i = tamanho++;
+            while (i > 0) {
+                int pai = (i - 1) >>> 1;
+                if (chaves[pai] <= chave) {
+                    break;
+                }
+                chaves[i] = chaves[pai];
+                valores[i] = valores[pai];
+                i = pai;
+            }
+            chaves[i] = chave;
+            valores[i] = valor;
+        }
+
+        int removerMenor() {
+            int menor = valores[0];
+            tamanho--;
+            double chave = chaves[tamanho];
+            int valor = valores[tamanho];
+            int i = 0;
+            while (true) {
+                int filho = 2 * i + 1;
+                if (filho >= tamanho) {
+                    break;
+                }
+                if (filho + 1 < tamanho && chaves[filho + 1] < chaves[filho]) {
+                    filho++;
+                }
+                if (chave <= chaves[filho]) {
+                    break;
+                }
+                chaves[i] = chaves[filho];
+                valores[i] = valores[filho];
+                i = filho;
+            }
+            chaves[i] = chave;
+            valores[i] = valor;
+            return menor;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.domain.Regiao;
+import com.guardiaoverde.guardiaoverde.repository.RegiaoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice espacial em memória sobre Regiao.limitesGeograficos, para descobrir em qual
+ * região cai um ponto sem varrer a tabela.
+ *
+ * Leituras são lock-free sobre um retrato imutável (árvore STR + alterações pendentes).
+ * Cada alteração gera um novo retrato: a região alterada entra nas pendentes e a versão
+ * antiga dela é mascarada na árvore; quando as pendentes passam de ~1/8 da árvore,
+ * ela é reempacotada por inteiro.
+ *
+ * Guarda também o nome de cada região indexada, para quem precisa do nome a partir do
+ * ponto (ex.: destino de despacho) sem ir ao banco.
+ */
+@Component
+public class IndiceEspacialRegioes {
+
+    private static final int MIN_PENDENTES_PARA_REEMPACOTAR = 32;
+
+    private final RegiaoRepository regiaoRepository;
+    private volatile Retrato retrato = new Retrato(ArvoreRegioes.vazia(), Map.of(), Set.of());
+    private final Map<Long, String> nomes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public IndiceEspacialRegioes(RegiaoRepository regiaoRepository) {
+        this.regiaoRepository = regiaoRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        recarregar(regiaoRepository.findAll());
+    }
+
+    /**
+     * Reconstrói o índice inteiro a partir das regiões informadas.
+     */
+    public synchronized void recarregar(Collection<Regiao> regioes) {
+        List<PoligonoRegiao> poligonos = new ArrayList<>(regioes.size());
+        Set<Long> ids = new HashSet<>();
+        for (Regiao r : regioes) {
+            PoligonoRegiao p = PoligonoRegiao.interpretar(r.getId(), r.getLimitesGeograficos());
+            if (p != null) {
+                poligonos.add(p);
+            }
+            nomes.put(r.getId(), r.getNome());
+            ids.add(r.getId());
+        }
+        retrato = new Retrato(ArvoreRegioes.construir(poligonos), Map.of(), Set.of());
+        nomes.keySet().retainAll(ids);
+    }
+
+    /**
+     * Inclui ou substitui uma região. Limites em formato não reconhecido tiram a região do índice.
+     */
+    public synchronized void atualizar(Regiao regiao) {
+        PoligonoRegiao p = PoligonoRegiao.interpretar(regiao.getId(), regiao.getLimitesGeograficos());
+        Map<Long, PoligonoRegiao> pendentes = new HashMap<>(retrato.pendentes());
+        Set<Long> mascarados = new HashSet<>(retrato.mascarados());
+        if (retrato.arvore().contem(regiao.getId())) {
+            mascarados.add(regiao.getId());
+        }
+        if (p != null) {
+            pendentes.put(regiao.getId(), p);
+        } else {
+            pendentes.remove(regiao.getId());
+        }
+        nomes.put(regiao.getId(), regiao.getNome());
+        publicar(pendentes, mascarados);
+    }
+
+    public synchronized void remover(Long regiaoId) {
+        Map<Long, PoligonoRegiao> pendentes = new HashMap<>(retrato.pendentes());
+        Set<Long> mascarados = new HashSet<>(retrato.mascarados());
+        pendentes.remove(regiaoId);
+        if (retrato.arvore().contem(regiaoId)) {
+            mascarados.add(regiaoId);
+        }
+        publicar(pendentes, mascarados);
+        nomes.remove(regiaoId);
+    }
+
+    /**
+     * Id da região que contém o ponto. Com regiões sobrepostas, vence a de menor
+     * retângulo envolvente (a mais específica).
+     */
+    public Optional<Long> localizar(double latitude, double longitude) {
+        Retrato r = retrato;
+        PoligonoRegiao[] melhor = new PoligonoRegiao[1];
+        for (PoligonoRegiao p : r.pendentes().values()) {
+            if (p.contem(longitude, latitude)) {
+                melhor[0] = maisEspecifico(melhor[0], p);
+            }
+        }
+        r.arvore().consultar(longitude, latitude, p -> {
+            if (!r.mascarados().contains(p.getRegiaoId())) {
+                melhor[0] = maisEspecifico(melhor[0], p);
+            }
+        });
+        return Optional.ofNullable(melhor[0]).map(PoligonoRegiao::getRegiaoId);
+    }
+
+    public Optional<Long> localizar(Coordenada coordenada) {
+        return localizar(coordenada.latitude(), coordenada.longitude());
+    }
+
+    /**
+     * Nome da região indexada com o id informado.
+     */
+    public Optional<String> nomeDe(Long regiaoId) {
+        return Optional.ofNullable(nomes.get(regiaoId));
+    }
+
+    public int tamanho() {
+        Retrato r = retrato;
+        return r.arvore().tamanho() - r.mascarados().size() + r.pendentes().size();
+    }
+
+    private void publicar(Map<Long, PoligonoRegiao> pendentes, Set<Long> mascarados) {
+        ArvoreRegioes arvore = retrato.arvore();
+        int alteracoes = pendentes.size() + mascarados.size();
+        if (alteracoes <= Math.max(MIN_PENDENTES_PARA_REEMPACOTAR, arvore.tamanho() / 8)) {
+            retrato = new Retrato(arvore, Map.copyOf(pendentes), Set.copyOf(mascarados));
+            return;
+        }
+        List<PoligonoRegiao> poligonos = new ArrayList<>(arvore.tamanho() + pendentes.size());
+        for (PoligonoRegiao p : arvore.poligonos()) {
+            if (!mascarados.contains(p.getRegiaoId())) {
+                poligonos.add(p);
+            }
+        }
+        poligonos.addAll(pendentes.values());
+        retrato = new Retrato(ArvoreRegioes.construir(poligonos), Map.of(), Set.of());
+    }
+
+    private static PoligonoRegiao maisEspecifico(PoligonoRegiao atual, PoligonoRegiao candidato) {
+        if (atual == null || candidato.area() < atual.area()
+                || (candidato.area() == atual.area() && candidato.getRegiaoId() < atual.getRegiaoId())) {
+            return candidato;
+        }
+        return atual;
+    }
+
+    private record Retrato(ArvoreRegioes arvore, Map<Long, PoligonoRegiao> pendentes, Set<Long> mascarados) {
+    }
+}
@@ -0,0 +1,283 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Índice invertido de textos curtos com ranqueamento BM25.
+ *
+ * Os termos são normalizados sem acentos e em minúsculas ("Fumaça" e "FUMACA" são o mesmo
+ * termo), e palavras vazias do português são descartadas. Cada termo da consulta casa
+ * também por prefixo ("queim" encontra "queimada"), como a busca por trecho fazia.
+ * Documentos que contêm mais termos da consulta, e termos mais raros, ficam na frente.
+ *
+ * Não é thread-safe: quem usa coordena leituras e escritas (ver IndiceTextoChamados).
+ */
+public final class IndiceInvertido {
+
+    private static final int MAGICO = 0x47564958; // "GVIX"
+    private static final int VERSAO = 1;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final Set<String> PALAVRAS_VAZIAS = Set.of(
+            "a", "o", "as", "os", "um", "uma", "uns", "umas", "de", "da", "do", "das", "dos",
+            "e", "ou", "em", "no", "na", "nos", "nas", "ao", "aos", "por", "para", "pra", "com",
+            "sem", "que", "se", "sua", "seu", "suas", "seus", "the");
+
+    // Termo -> postagens, em ordem para a expansão por prefixo
+    private final TreeMap<String, Postagens> termos = new TreeMap<>();
+    private final Map<Long, Documento> documentos = new HashMap<>();
+    private long comprimentoTotal;
+
+    /**
+     * Termos normalizados de um texto, na ordem em que aparecem (com repetição).
+     */
+    public static List<String> termos(String texto) {
+        List<String> lista = new ArrayList<>();
+        if (texto == null || texto.isBlank()) {
+            return lista;
+        }
+        String normalizado = Normalizer.normalize(texto, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+        for (String t : normalizado.split("[^\\p{L}\\p{N}]+")) {
+            if (!t.isEmpty() && !PALAVRAS_VAZIAS.contains(t)
+                    && (t.length() > 1 || Character.isDigit(t.charAt(0)))) {
+                lista.add(t);
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * Indexa (ou reindexa) o texto do documento.
+     */
+    public void indexar(long id, String texto) {
+        remover(id);
+        List<String> lista = termos(texto);
+        Map<String, Integer> frequencias = new LinkedHashMap<>();
+        for (String t : lista) {
+            frequencias.merge(t, 1, Integer::sum);
+        }
+        String[] ts = new String[frequencias.size()];
+        int[] fs = new int[frequencias.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> e : frequencias.entrySet()) {
+            ts[i] = e.getKey();
+            fs[i] = e.getValue();
+            i++;
+        }
+        adicionar(id, new Documento(ts, fs, lista.size()));
+    }
+
+    public void remover(long id) {
+        Documento doc = documentos.remove(id);
+        if (doc == null) {
+            return;
+        }
+        comprimentoTotal -= doc.comprimento;
+        for (String t : doc.termos) {
+            Postagens p = termos.get(t);
+            if (p != null && p.remover(id) && p.tamanho == 0) {
+                termos.remove(t);
+            }
+        }
+    }
+
+    public boolean contem(long id) {
+        return documentos.containsKey(id);
+    }
+
+    public int tamanho() {
+        return documentos.size();
+    }
+
+    public long maiorId() {
+        long maior = Long.MIN_VALUE;
+        for (Long id : documentos.keySet()) {
+            maior = Math.max(maior, id);
+        }
+        return maior;
+    }
+
+    public void limpar() {
+        termos.clear();
+        documentos.clear();
+        comprimentoTotal = 0;
+    }
+
+    /**
+     * Ids dos documentos que casam com algum termo da consulta, do mais relevante para o
+     * menos relevante (empate: id maior primeiro), pulando os primeiros {@code deslocamento}.
+     */
+    public Resultado buscar(String consulta, int deslocamento, int limite) {
+        Map<Long, Double> pontuacao = new HashMap<>();
+        int n = documentos.size();
+        double mediaComprimento = n > 0 ? (double) comprimentoTotal / n : 1.0;
+        for (String termo : new LinkedHashSet<>(termos(consulta))) {
+            SortedMap<String, Postagens> casados = termos.subMap(termo, termo + Character.MAX_VALUE);
+            for (Postagens p : casados.values()) {
+                double idf = Math.log(1 + (n - p.tamanho + 0.5) / (p.tamanho + 0.5));
+                for (int k = 0; k < p.tamanho; k++) {
+                    Documento doc = documentos.get(p.ids[k]);
+                    double tf = p.frequencias[k];
+                    double norma = K1 * (1 - B + B * doc.comprimento / mediaComprimento);
+                    pontuacao.merge(p.ids[k], idf * tf * (K1 + 1) / (tf + norma), Double::sum);
+                }
+            }
+        }
+
+        int quantos = (int) Math.min((long) deslocamento + limite, pontuacao.size());
+        // Min-heap dos melhores: o pior dos mantidos fica no topo
+        PriorityQueue<Map.Entry<Long, Double>> melhores = new PriorityQueue<>(Math.max(1, quantos),
+                (x, y) -> x.getValue().equals(y.getValue())
+                        ? Long.compare(x.getKey(), y.getKey())
+                        : Double.compare(x.getValue(), y.getValue()));
+        for (Map.Entry<Long, Double> e : pontuacao.entrySet()) {
+            if (quantos == 0) {
+                break;
+            }
+            melhores.offer(e);
+            if (melhores.size() > quantos) {
+                melhores.poll();
+            }
+        }
+        Long[] ordem = new Long[melhores.size()];
+        for (int i = ordem.length - 1; i >= 0; i--) {
+            ordem[i] = melhores.poll().getKey();
+        }
+        List<Long> ids = deslocamento < ordem.length
+                ? Arrays.asList(ordem).subList(deslocamento, ordem.length)
+                : List.of();
+        return new Resultado(ids, pontuacao.size());
+    }
+
+    /**
+     * Ids da página pedida e total de documentos que casaram com a consulta.
+     */
+    public record Resultado(List<Long> ids, int total) {
+    }
+
+    // ---------- Segmento em disco ----------
+
+    /**
+     * Grava o dicionário e os documentos já analisados; a leitura só remonta as postagens.
+     */
+    public void gravar(DataOutputStream saida) throws IOException {
+        Map<String, Integer> numeroTermo = new HashMap<>(termos.size() * 2);
+        saida.writeInt(MAGICO);
+        saida.writeInt(VERSAO);
+        saida.writeInt(termos.size());
+        for (String t : termos.keySet()) {
+            numeroTermo.put(t, numeroTermo.size());
+            saida.writeUTF(t);
+        }
+        saida.writeInt(documentos.size());
+        for (Map.Entry<Long, Documento> e : documentos.entrySet()) {
+            Documento doc = e.getValue();
+            saida.writeLong(e.getKey());
+            saida.writeInt(doc.comprimento);
+            saida.writeInt(doc.termos.length);
+            for (int i = 0; i < doc.termos.length; i++) {
+                saida.writeInt(numeroTermo.get(doc.termos[i]));
+                saida.writeInt(doc.frequencias[i]);
+            }
+        }
+    }
+
+    /**
+     * Lê um segmento gravado por {@link #gravar}. Lança IOException se o formato não confere.
+     */
+    public static IndiceInvertido ler(DataInputStream entrada) throws IOException {
+        if (entrada.readInt() != MAGICO || entrada.readInt() != VERSAO) {
+            throw new IOException("Segmento de índice em formato desconhecido.");
+        }
+        String[] dicionario = new String[entrada.readInt()];
+        for (int i = 0; i < dicionario.length; i++) {
+            dicionario[i] = entrada.readUTF();
+        }
+        IndiceInvertido indice = new IndiceInvertido();
+        int docs = entrada.readInt();
+        for (int d = 0; d < docs; d++) {
+            long id = entrada.readLong();
+            int comprimento = entrada.readInt();
+            String[] ts = new String[entrada.readInt()];
+            int[] fs = new int[ts.length];
+            for (int i = 0; i < ts.length; i++) {
+                ts[i] = dicionario[entrada.readInt()];
+                fs[i] = entrada.readInt();
+            }
+            indice.adicionar(id, new Documento(ts, fs, comprimento));
+        }
+        return indice;
+    }
+
+    private void adicionar(long id, Documento doc) {
+        documentos.put(id, doc);
+        comprimentoTotal += doc.comprimento;
+        for (int i = 0; i < doc.termos.length; i++) {
+            termos.computeIfAbsent(doc.termos[i], t -> new Postagens()).adicionar(id, doc.frequencias[i]);
+        }
+    }
+
+    private record Documento(String[] termos, int[] frequencias, int comprimento) {
+    }
+
+    /**
+     * Lista de (id, frequência) de um termo, ordenada por id em arrays primitivos.
+     * Ids crescentes, o caso comum, entram no fim sem deslocar nada.
+     */
+    private static final class Postagens {
+
+        long[] ids = new long[2];
+        int[] frequencias = new int[2];
+        int tamanho;
+
+        void adicionar(long id, int frequencia) {
+            int pos = tamanho > 0 && ids[tamanho - 1] < id ? tamanho : Arrays.binarySearch(ids, 0, tamanho, id);
+            if (pos >= 0 && pos < tamanho) {
+                frequencias[pos] = frequencia;
+                return;
+            }
+            if (pos < 0) {
+                pos = -pos - 1;
+            }
+            if (tamanho == ids.length) {
+                ids = Arrays.copyOf(ids, tamanho * 2);
+                frequencias = Arrays.copyOf(frequencias, tamanho * 2);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, tamanho - pos);
+            System.arraycopy(frequencias, pos, frequencias, pos + 1, tamanho - pos);
+            ids[pos] = id;
+            frequencias[pos] = frequencia;
+            tamanho++;
+        }
+
+        boolean remover(long id) {
+            int pos = Arrays.binarySearch(ids, 0, tamanho, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, tamanho - pos - 1);
+            System.arraycopy(frequencias, pos + 1, frequencias, pos, tamanho - pos - 1);
+            tamanho--;
+            return true;
+        }
+    }
+}
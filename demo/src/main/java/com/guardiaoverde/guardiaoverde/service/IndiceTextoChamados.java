@@ -0,0 +1,262 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.repository.ChamadoRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Índice de texto das descrições dos chamados (ver {@link IndiceInvertido}).
+ *
+ * Na subida, lê o segmento gravado no último desligamento (chamado.indice-texto.arquivo),
+ * indexa os chamados criados depois dele e confere a contagem com a tabela; sem segmento,
+ * ou se a contagem não bater, reconstrói tudo a partir da tabela. A carga roda em segundo
+ * plano e, até terminar, {@link #pronto()} é falso e a busca usa a consulta por trecho.
+ *
+ * O segmento é apagado depois de lido: se o processo cair sem desligar, a próxima subida
+ * reconstrói o índice em vez de confiar em um arquivo desatualizado.
+ *
+ * Depois da carga, os chamados gravados por este nó entram no índice após o commit
+ * (ChamadoService, MonitorService); os das outras réplicas, a cada
+ * {@code chamado.indice-texto.sincronizacao-ms}, pela coluna atualizado_em. Como na
+ * InvalidacaoCache, a leitura volta {@code chamado.indice-texto.margem-s} segundos antes da
+ * anterior; reindexar um chamado já indexado não muda nada. Exclusões feitas em outra
+ * réplica não chegam por esse caminho: o id continua no índice até a próxima reconstrução,
+ * mas a busca lê os resumos por id e o chamado removido não aparece.
+ */
+@Component
+public class IndiceTextoChamados {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceTextoChamados.class);
+    private static final LogLimitado avisos = new LogLimitado(log, Duration.ofMinutes(1));
+
+    private final ChamadoRepository chamadoRepository;
+    private final TransactionTemplate transacaoLeitura;
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+
+    private IndiceInvertido indice = new IndiceInvertido();
+    // Alterações confirmadas durante a carga (descrição, ou null para exclusão)
+    private Map<Long, String> pendentes = new HashMap<>();
+    private volatile boolean pronto;
+
+    private Clock relogio = Clock.systemDefaultZone();
+    // Início da última leitura da tabela (carga ou sincronização)
+    private LocalDateTime ultimaLeitura;
+
+    @Value("${chamado.indice-texto.arquivo:dados/indice-chamados.seg}")
+    private String arquivo = "dados/indice-chamados.seg";
+
+    @Value("${chamado.indice-texto.margem-s:60}")
+    private long margemS = 60;
+
+    @Autowired
+    public IndiceTextoChamados(ChamadoRepository chamadoRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.chamadoRepository = chamadoRepository;
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        Thread t = new Thread(this::construir, "indice-chamados");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    public boolean pronto() {
+        return pronto;
+    }
+
+    public void indexar(Long id, String descricao) {
+        trava.writeLock().lock();
+        try {
+            if (pronto) {
+                indice.indexar(id, descricao);
+            } else {
+                pendentes.put(id, descricao != null ? descricao : "");
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    public void remover(Long id) {
+        trava.writeLock().lock();
+        try {
+            if (pronto) {
+                indice.remover(id);
+            } else {
+                pendentes.put(id, null);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexa os chamados gravados pelas outras réplicas desde a última leitura.
+     */
+    @Scheduled(fixedDelayString = "${chamado.indice-texto.sincronizacao-ms:10000}")
+    public synchronized void sincronizar() {
+        if (!pronto) {
+            return;
+        }
+        LocalDateTime agora = LocalDateTime.now(relogio);
+        List<Object[]> lidos = new ArrayList<>();
+        try {
+            transacaoLeitura.executeWithoutResult(status -> {
+                try (Stream<Object[]> linhas = chamadoRepository.streamDescricoesGravadasDesde(
+                        ultimaLeitura.minusSeconds(margemS))) {
+                    linhas.forEach(lidos::add);
+                }
+            });
+        } catch (RuntimeException ex) {
+            avisos.aviso("sincronizacao", "chamados de outras replicas nao indexados erro={}", ex.toString());
+            return;
+        }
+
+        trava.writeLock().lock();
+        try {
+            for (Object[] l : lidos) {
+                indice.indexar((Long) l[0], (String) l[1]);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+        ultimaLeitura = agora;
+        if (!lidos.isEmpty()) {
+            log.debug("indice de texto sincronizado chamados={}", lidos.size());
+        }
+    }
+
+    public IndiceInvertido.Resultado buscar(String consulta, int deslocamento, int limite) {
+        trava.readLock().lock();
+        try {
+            return indice.buscar(consulta, deslocamento, limite);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void gravar() {
+        if (!pronto) {
+            return;
+        }
+        Path destino = Paths.get(arquivo);
+        trava.readLock().lock();
+        try {
+            Path pasta = destino.toAbsolutePath().getParent();
+            Files.createDirectories(pasta);
+            Path temporario = Files.createTempFile(pasta, "indice-chamados", ".tmp");
+            try (DataOutputStream saida = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporario), 64 * 1024))) {
+                indice.gravar(saida);
+            }
+            Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            log.warn("falha ao gravar segmento arquivo={} erro={}", arquivo, ex.getMessage());
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    // Package-private para testes
+    void setArquivo(String arquivo) {
+        this.arquivo = arquivo;
+    }
+
+    // Package-private para testes
+    void setRelogio(Clock relogio) {
+        this.relogio = relogio;
+    }
+
+    void construir() {
+        // O que for gravado durante a carga é relido pela primeira sincronização
+        ultimaLeitura = LocalDateTime.now(relogio);
+        IndiceInvertido novo = lerSegmento();
+        if (novo != null) {
+            indexarDaTabela(novo, novo.tamanho() > 0 ? novo.maiorId() : Long.MIN_VALUE);
+            if (novo.tamanho() != chamadoRepository.count()) {
+                log.warn("segmento nao confere com a tabela; reconstruindo arquivo={}", arquivo);
+                novo = null;
+            }
+        }
+        if (novo == null) {
+            novo = new IndiceInvertido();
+            indexarDaTabela(novo, Long.MIN_VALUE);
+        }
+
+        trava.writeLock().lock();
+        try {
+            for (Map.Entry<Long, String> e : pendentes.entrySet()) {
+                if (e.getValue() != null) {
+                    novo.indexar(e.getKey(), e.getValue());
+                } else {
+                    novo.remover(e.getKey());
+                }
+            }
+            pendentes = new HashMap<>();
+            indice = novo;
+            pronto = true;
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    private void indexarDaTabela(IndiceInvertido destino, long depoisDe) {
+        transacaoLeitura.executeWithoutResult(status -> {
+            try (Stream<Object[]> linhas = chamadoRepository.streamDescricoesDepoisDe(depoisDe)) {
+                linhas.forEach(l -> destino.indexar((Long) l[0], (String) l[1]));
+            }
+        });
+    }
+
+    private IndiceInvertido lerSegmento() {
+        Path origem = Paths.get(arquivo);
+        if (!Files.exists(origem)) {
+            return null;
+        }
+        try (DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(origem), 64 * 1024))) {
+            return IndiceInvertido.ler(entrada);
+        } catch (IOException ex) {
+            log.warn("segmento ilegivel; reconstruindo arquivo={} erro={}", arquivo, ex.getMessage());
+            return null;
+        } finally {
+            try {
+                Files.deleteIfExists(origem);
+            } catch (IOException ex) {
+                log.warn("nao foi possivel apagar o segmento arquivo={} erro={}", arquivo, ex.getMessage());
+            }
+        }
+    }
+}
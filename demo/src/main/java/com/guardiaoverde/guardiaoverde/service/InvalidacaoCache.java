@@ -0,0 +1,195 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.domain.Regiao;
+import com.guardiaoverde.guardiaoverde.domain.Rota;
+import com.guardiaoverde.guardiaoverde.domain.Usuario;
+import com.guardiaoverde.guardiaoverde.repository.InvalidacaoCacheRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Invalidação do cache de segundo nível (Regiao, Rota e Usuario) entre as réplicas, pelo
+ * próprio banco, como a CoordenacaoMonitor.
+ *
+ * Os services de cadastro chamam {@link #registrar} dentro da transação da alteração: a
+ * linha em cache_invalidacoes só existe se a alteração for confirmada. No próprio nó o
+ * Hibernate já atualiza o cache; a cada {@code cache.invalidacao.periodo-ms} os outros nós
+ * leem as linhas novas, tiram as entidades do cache e descartam as consultas em cache.
+ *
+ * A leitura volta {@code cache.invalidacao.margem-s} segundos antes da anterior, para
+ * pegar transações que confirmaram depois de gravar o instante e diferenças de relógio
+ * entre os nós; as linhas já aplicadas nessa janela não são aplicadas de novo. Uma
+ * invalidação perdida ainda assim expira com o TTL do cache (ver CacheEntidadesConfig).
+ */
+@Component
+public class InvalidacaoCache implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidacaoCache.class);
+    private static final LogLimitado avisos = new LogLimitado(log, Duration.ofMinutes(1));
+
+    private static final Map<String, Class<?>> CACHEADAS = Map.of(
+            Regiao.class.getSimpleName(), Regiao.class,
+            Rota.class.getSimpleName(), Rota.class,
+            Usuario.class.getSimpleName(), Usuario.class);
+
+    private final InvalidacaoCacheRepository invalidacaoCacheRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CoordenacaoMonitor coordenacaoMonitor;
+
+    private final LongAdder registradas = new LongAdder();
+    private final LongAdder aplicadas = new LongAdder();
+
+    private Clock relogio = Clock.systemDefaultZone();
+
+    // Início da última leitura e ids aplicados desde a margem anterior a ela
+    private LocalDateTime ultimaLeitura;
+    private Set<Long> aplicadasNaJanela = new HashSet<>();
+
+    @Value("${cache.invalidacao.habilitada:true}")
+    private boolean habilitada = true;
+
+    @Value("${cache.invalidacao.margem-s:60}")
+    private long margemS = 60;
+
+    @Value("${cache.invalidacao.retencao-h:24}")
+    private long retencaoH = 24;
+
+    @Autowired
+    public InvalidacaoCache(InvalidacaoCacheRepository invalidacaoCacheRepository,
+                            EntityManagerFactory entityManagerFactory,
+                            CoordenacaoMonitor coordenacaoMonitor) {
+        this.invalidacaoCacheRepository = invalidacaoCacheRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.coordenacaoMonitor = coordenacaoMonitor;
+    }
+
+    /**
+     * Registra, na transação corrente, que a entidade foi criada, alterada ou removida.
+     *
+     * @throws IllegalArgumentException se a classe não estiver no cache de segundo nível
+     */
+    public void registrar(Class<?> entidade, Long id) {
+        if (CACHEADAS.get(entidade.getSimpleName()) != entidade) {
+            throw new IllegalArgumentException(entidade.getSimpleName() + " não está no cache de segundo nível.");
+        }
+        if (!habilitada) {
+            return;
+        }
+        invalidacaoCacheRepository.registrar(entidade.getSimpleName(), id, coordenacaoMonitor.no(),
+                LocalDateTime.now(relogio));
+        registradas.increment();
+    }
+
+    /**
+     * Aplica ao cache deste nó as invalidações gravadas pelos outros desde a última leitura.
+     * O agendador tem uma thread por método agendado (spring.task.scheduling.pool.size), então
+     * esta leitura não espera o ciclo do monitor: uma alteração confirmada em outro nó sai
+     * do cache daqui em até periodo-ms mais a duração de uma leitura.
+     */
+    @Scheduled(fixedDelayString = "${cache.invalidacao.periodo-ms:5000}")
+    public synchronized void sincronizar() {
+        if (!habilitada) {
+            return;
+        }
+        LocalDateTime agora = LocalDateTime.now(relogio);
+        LocalDateTime desde = (ultimaLeitura != null ? ultimaLeitura : agora).minusSeconds(margemS);
+        List<InvalidacaoCacheRepository.Invalidacao> lidas;
+        try {
+            lidas = invalidacaoCacheRepository.desde(desde, coordenacaoMonitor.no());
+        } catch (RuntimeException ex) {
+            avisos.aviso("leitura", "invalidacoes de cache nao lidas erro={}", ex.toString());
+            return;
+        }
+
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        Set<Long> naJanela = new HashSet<>();
+        boolean alguma = false;
+        for (InvalidacaoCacheRepository.Invalidacao invalidacao : lidas) {
+            naJanela.add(invalidacao.id());
+            if (aplicadasNaJanela.contains(invalidacao.id())) {
+                continue;
+            }
+            Class<?> entidade = CACHEADAS.get(invalidacao.entidade());
+            if (entidade == null) {
+                avisos.aviso("entidade", "invalidacao de entidade desconhecida entidade={} id={}",
+                        invalidacao.entidade(), invalidacao.id());
+                continue;
+            }
+            if (invalidacao.entidadeId() != null) {
+                cache.evictEntityData(entidade, invalidacao.entidadeId());
+            } else {
+                cache.evictEntityData(entidade);
+            }
+            aplicadas.increment();
+            alguma = true;
+        }
+        // Consultas em cache podem ter a entidade alterada (ou deixar de incluí-la)
+        if (alguma) {
+            cache.evictDefaultQueryRegion();
+            log.debug("invalidacoes de cache aplicadas lidas={} desde={}", lidas.size(), desde);
+        }
+        aplicadasNaJanela = naJanela;
+        ultimaLeitura = agora;
+    }
+
+    /**
+     * Apaga as invalidações com mais de {@code cache.invalidacao.retencao-h} horas.
+     */
+    @Scheduled(fixedDelayString = "${cache.invalidacao.limpeza-ms:3600000}")
+    public void limpar() {
+        if (!habilitada) {
+            return;
+        }
+        try {
+            int removidas = invalidacaoCacheRepository.removerAnterioresA(
+                    LocalDateTime.now(relogio).minusHours(retencaoH));
+            if (removidas > 0) {
+                log.debug("invalidacoes de cache antigas removidas={}", removidas);
+            }
+        } catch (RuntimeException ex) {
+            avisos.aviso("limpeza", "invalidacoes de cache nao removidas erro={}", ex.toString());
+        }
+    }
+
+    public long registradas() {
+        return registradas.sum();
+    }
+
+    public long aplicadas() {
+        return aplicadas.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("guardiao.cache.invalidacoes", registradas, LongAdder::sum)
+                .tag("origem", "local")
+                .register(registry);
+        FunctionCounter.builder("guardiao.cache.invalidacoes", aplicadas, LongAdder::sum)
+                .tag("origem", "remota")
+                .register(registry);
+    }
+
+    // Package-private para testes
+    void setRelogio(Clock relogio) {
+        this.relogio = relogio;
+    }
+}
@@ -0,0 +1,124 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.domain.LeituraAmbiente;
+import com.guardiaoverde.guardiaoverde.repository.LeituraAmbienteRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Janela quente das leituras recentes de cada Ambiente, mantida em memória para que as
+ * checagens de risco não precisem consultar o banco. Se a janela de um ambiente for
+ * consultada antes de receber gravações, ela é aquecida a partir de leituras_ambiente;
+ * a partir daí é alimentada pelas gravações (leituras em lote e salvarAmbiente).
+ */
+@Service
+public class JanelaAmbienteService implements MeterBinder {
+
+    private final LeituraAmbienteRepository leituraAmbienteRepository;
+    private final Map<Long, JanelaLeituras> janelas = new ConcurrentHashMap<>();
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+
+    @Value("${janela.duracao-min:30}")
+    private long duracaoMin;
+
+    @Value("${janela.capacidade:1024}")
+    private int capacidade;
+
+    @Autowired
+    public JanelaAmbienteService(LeituraAmbienteRepository leituraAmbienteRepository) {
+        this.leituraAmbienteRepository = leituraAmbienteRepository;
+    }
+
+    /**
+     * Registra uma leitura na janela do ambiente (sem acessar o banco).
+     */
+    public void registrar(Long ambienteId, LocalDateTime dataHora, double temperatura, double umidade) {
+        janelas.computeIfAbsent(ambienteId, id -> novaJanela())
+                .registrar(paraEpochMillis(dataHora), temperatura, umidade);
+    }
+
+    /**
+     * Registra um lote de leituras, em ordem cronológica.
+     */
+    public void registrar(Long ambienteId, List<LeituraAmbiente> leituras) {
+        JanelaLeituras janela = janelas.computeIfAbsent(ambienteId, id -> novaJanela());
+        leituras.stream()
+                .sorted(Comparator.comparing(LeituraAmbiente::getDataHora))
+                .forEach(l -> janela.registrar(paraEpochMillis(l.getDataHora()),
+                        l.getTemperatura(), l.getUmidade()));
+    }
+
+    /**
+     * Resumo da janela do ambiente; na primeira consulta aquece a janela com as leituras
+     * gravadas no período.
+     */
+    public Optional<ResumoJanela> resumo(Long ambienteId) {
+        JanelaLeituras janela = janelas.get(ambienteId);
+        if (janela != null) {
+            acertos.increment();
+        } else {
+            faltas.increment();
+            janela = janelas.computeIfAbsent(ambienteId, this::carregarJanela);
+        }
+        return Optional.ofNullable(janela.resumo(agora()));
+    }
+
+    public void remover(Long ambienteId) {
+        janelas.remove(ambienteId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("guardiao.cache.entradas", janelas, Map::size)
+                .tag("cache", "janelas-ambiente")
+                .register(registry);
+        FunctionCounter.builder("guardiao.cache.consultas", acertos, LongAdder::sum)
+                .tag("cache", "janelas-ambiente").tag("resultado", "acerto")
+                .register(registry);
+        FunctionCounter.builder("guardiao.cache.consultas", faltas, LongAdder::sum)
+                .tag("cache", "janelas-ambiente").tag("resultado", "falta")
+                .register(registry);
+    }
+
+    private JanelaLeituras carregarJanela(Long ambienteId) {
+        JanelaLeituras janela = novaJanela();
+        LocalDateTime desde = LocalDateTime.now().minus(Duration.ofMinutes(duracaoMin));
+        List<LeituraAmbiente> recentes = leituraAmbienteRepository
+                .findByAmbienteIdAndDataHoraAfterOrderByDataHoraDesc(
+                        ambienteId, desde, PageRequest.of(0, capacidade));
+        for (int i = recentes.size() - 1; i >= 0; i--) {
+            LeituraAmbiente l = recentes.get(i);
+            janela.registrar(paraEpochMillis(l.getDataHora()), l.getTemperatura(), l.getUmidade());
+        }
+        return janela;
+    }
+
+    private JanelaLeituras novaJanela() {
+        return new JanelaLeituras(capacidade, Duration.ofMinutes(duracaoMin).toMillis());
+    }
+
+    private static long agora() {
+        return System.currentTimeMillis();
+    }
+
+    private static long paraEpochMillis(LocalDateTime dataHora) {
+        return dataHora.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
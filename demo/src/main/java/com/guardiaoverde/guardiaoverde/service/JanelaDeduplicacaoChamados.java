@@ -0,0 +1,222 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.repository.ChamadoRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Janela deslizante de chamados recentes por (região, descrição normalizada), para
+ * recusar duplicatas sem consultar o banco.
+ *
+ * Um chamado é duplicado se já existe outro na mesma região, com a mesma descrição
+ * (ignorando acentos, maiúsculas e pontuação), a menos de {@code chamado.deduplicacao.janela-min}
+ * minutos de distância na dataHora. O registro é feito junto com a verificação, de forma
+ * atômica por chave: de dois pedidos iguais simultâneos no mesmo nó, só um passa.
+ *
+ * A janela vale por nó. Ela é aquecida pelo banco só na subida e depois vê apenas os
+ * chamados gravados neste nó. Com várias réplicas, o mesmo chamado enviado a nós
+ * diferentes pode ser aceito em cada um. Não há restrição única no banco, porque a
+ * comparação é por descrição normalizada e por intervalo de dataHora, não por igualdade.
+ * A deduplicação protege contra reenvios que chegam ao mesmo nó. Ela não é uma garantia
+ * entre réplicas.
+ *
+ * As entradas expiram pela dataHora: a cada registro, as mais antigas que a janela
+ * são removidas pela fila de expiração (custo amortizado constante).
+ */
+@Component
+public class JanelaDeduplicacaoChamados implements MeterBinder {
+
+    private static final long[] VAZIO = new long[0];
+
+    private final ChamadoRepository chamadoRepository;
+
+    // Instantes (epoch ms da dataHora) dos chamados de cada chave, em ordem crescente
+    private final Map<Chave, long[]> instantes = new ConcurrentHashMap<>();
+    // Ordem de registro, para a expiração
+    private final ConcurrentLinkedQueue<Entrada> fila = new ConcurrentLinkedQueue<>();
+    private final LongAdder recusados = new LongAdder();
+
+    private Clock relogio = Clock.systemDefaultZone();
+
+    @Value("${chamado.deduplicacao.janela-min:10}")
+    private long janelaMin = 10;
+
+    @Autowired
+    public JanelaDeduplicacaoChamados(ChamadoRepository chamadoRepository) {
+        this.chamadoRepository = chamadoRepository;
+    }
+
+    /**
+     * Aquece a janela com os chamados recentes do banco.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        instantes.clear();
+        fila.clear();
+        LocalDateTime desde = LocalDateTime.now(relogio).minusMinutes(janelaMin);
+        for (Object[] linha : chamadoRepository.findRegiaoDescricaoEDataHoraDesde(desde)) {
+            adicionar(new Chave((Long) linha[0], hashDescricao((String) linha[1])),
+                    emMillis((LocalDateTime) linha[2]));
+        }
+    }
+
+    public long getJanelaMin() {
+        return janelaMin;
+    }
+
+    /**
+     * Registra o chamado se não houver duplicata na janela.
+     * Retorna false (sem registrar) se houver.
+     */
+    public boolean registrar(Long regiaoId, String descricao, LocalDateTime dataHora) {
+        expirar();
+        Chave chave = new Chave(regiaoId, hashDescricao(descricao));
+        long instante = emMillis(dataHora);
+        long janelaMs = janelaMin * 60_000;
+        boolean[] duplicado = {false};
+        instantes.compute(chave, (k, atuais) -> {
+            long[] lista = atuais != null ? atuais : VAZIO;
+            for (long t : lista) {
+                if (Math.abs(instante - t) < janelaMs) {
+                    duplicado[0] = true;
+                    return atuais;
+                }
+            }
+            return inserir(lista, instante);
+        });
+        if (duplicado[0]) {
+            recusados.increment();
+            return false;
+        }
+        fila.add(new Entrada(chave, instante));
+        return true;
+    }
+
+    /**
+     * Retira um chamado da janela (rollback da criação, exclusão ou alteração).
+     */
+    public void liberar(Long regiaoId, String descricao, LocalDateTime dataHora) {
+        retirar(new Chave(regiaoId, hashDescricao(descricao)), emMillis(dataHora));
+    }
+
+    /**
+     * Inclui um chamado sem verificar duplicidade (ex.: estado novo de um chamado alterado).
+     */
+    public void incluir(Long regiaoId, String descricao, LocalDateTime dataHora) {
+        adicionar(new Chave(regiaoId, hashDescricao(descricao)), emMillis(dataHora));
+    }
+
+    public int tamanho() {
+        int total = 0;
+        for (long[] lista : instantes.values()) {
+            total += lista.length;
+        }
+        return total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("guardiao.cache.entradas", this, JanelaDeduplicacaoChamados::tamanho)
+                .tag("cache", "deduplicacao-chamados")
+                .register(registry);
+        FunctionCounter.builder("guardiao.chamados.duplicados.recusados", recusados, LongAdder::sum)
+                .description("Chamados recusados como duplicados pela janela")
+                .register(registry);
+    }
+
+    // Package-private para testes
+    void setRelogio(Clock relogio) {
+        this.relogio = relogio;
+    }
+
+    /**
+     * Hash de 64 bits (FNV-1a) da descrição sem acentos, em minúsculas e com
+     * pontuação e espaços repetidos reduzidos a um espaço.
+     */
+    static long hashDescricao(String descricao) {
+        String normalizada = descricao == null ? "" : Normalizer.normalize(descricao, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}]+", " ")
+                .trim();
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < normalizada.length(); i++) {
+            h ^= normalizada.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private void adicionar(Chave chave, long instante) {
+        instantes.merge(chave, new long[]{instante}, (atuais, novo) -> inserir(atuais, instante));
+        fila.add(new Entrada(chave, instante));
+    }
+
+    private void retirar(Chave chave, long instante) {
+        instantes.computeIfPresent(chave, (k, atuais) -> {
+            int pos = Arrays.binarySearch(atuais, instante);
+            if (pos < 0) {
+                return atuais;
+            }
+            if (atuais.length == 1) {
+                return null;
+            }
+            long[] menor = new long[atuais.length - 1];
+            System.arraycopy(atuais, 0, menor, 0, pos);
+            System.arraycopy(atuais, pos + 1, menor, pos, atuais.length - pos - 1);
+            return menor;
+        });
+    }
+
+    // Remove da janela as entradas cuja dataHora ficou mais antiga que a janela
+    private void expirar() {
+        long limite = emMillis(LocalDateTime.now(relogio)) - janelaMin * 60_000;
+        Entrada e;
+        while ((e = fila.peek()) != null && e.instante < limite) {
+            if (fila.remove(e)) {
+                retirar(e.chave, e.instante);
+            }
+        }
+    }
+
+    private static long[] inserir(long[] lista, long instante) {
+        int pos = Arrays.binarySearch(lista, instante);
+        if (pos < 0) {
+            pos = -pos - 1;
+        }
+        long[] maior = new long[lista.length + 1];
+        System.arraycopy(lista, 0, maior, 0, pos);
+        maior[pos] = instante;
+        System.arraycopy(lista, pos, maior, pos + 1, lista.length - pos);
+        return maior;
+    }
+
+    // A dataHora dos chamados é local; o fuso fixo só serve para comparar instantes
+    private static long emMillis(LocalDateTime dataHora) {
+        return dataHora.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private record Chave(Long regiaoId, long descricao) {
+    }
+
+    private record Entrada(Chave chave, long instante) {
+    }
+}
@@ -0,0 +1,261 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Janela deslizante das leituras recentes de um Ambiente, em buffer circular de arrays
+ * primitivos. A inserção não aloca memória e as consultas de mínimo, máximo, média e
+ * tendência são O(1): médias e regressão linear usam somas acumuladas, e mínimos/máximos
+ * usam filas monotônicas sobre os números de sequência das leituras.
+ *
+ * A janela é limitada pela capacidade e pela duração: leituras mais antigas que
+ * {@code duracaoMs} em relação à mais recente são descartadas. Leituras fora de ordem
+ * (anteriores à última registrada) são ignoradas.
+ *
+ * O acesso é serializado por um ReentrantLock em vez de synchronized: sob threads virtuais
+ * (Java 21), esperar por um monitor disputado prende a thread de plataforma.
+ */
+public class JanelaLeituras {
+
+    private static final double MS_POR_MINUTO = 60_000.0;
+
+    private final ReentrantLock trava = new ReentrantLock();
+    private final int capacidade;
+    private final long duracaoMs;
+
+    private final long[] instantes;
+    private final double[] temperaturas;
+    private final double[] umidades;
+
+    // Sequência da leitura mais antiga e da próxima a ser gravada (posição = seq % capacidade)
+    private long inicio;
+    private long fim;
+
+    // Somas para médias e para a regressão linear (x em minutos desde a base)
+    private long base;
+    private double somaX;
+    private double somaX2;
+    private double somaT;
+    private double somaXT;
+    private double somaU;
+    private double somaXU;
+    private int descartesDesdeRecalculo;
+
+    private final FilaMonotonica minTemperatura;
+    private final FilaMonotonica maxTemperatura;
+    private final FilaMonotonica minUmidade;
+    private final FilaMonotonica maxUmidade;
+
+    public JanelaLeituras(int capacidade, long duracaoMs) {
+        if (capacidade < 2) {
+            throw new IllegalArgumentException("Capacidade da janela deve ser ao menos 2.");
+        }
+        this.capacidade = capacidade;
+        this.duracaoMs = duracaoMs;
+        this.instantes = new long[capacidade];
+        this.temperaturas = new double[capacidade];
+        this.umidades = new double[capacidade];
+        this.minTemperatura = new FilaMonotonica(capacidade, temperaturas, true);
+        this.maxTemperatura = new FilaMonotonica(capacidade, temperaturas, false);
+        this.minUmidade = new FilaMonotonica(capacidade, umidades, true);
+        this.maxUmidade = new FilaMonotonica(capacidade, umidades, false);
+    }
+
+    /**
+     * Acrescenta uma leitura. Retorna false se ela for anterior à última registrada.
+     */
+    public boolean registrar(long instante, double temperatura, double umidade) {
+        trava.lock();
+        try {
+            return registrarSobTrava(instante, temperatura, umidade);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Resumo da janela no instante informado (leituras expiradas são descartadas antes).
+     * Retorna null se a janela estiver vazia.
+     */
+    public ResumoJanela resumo(long agora) {
+        trava.lock();
+        try {
+            return resumoSobTrava(agora);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    public int tamanho() {
+        trava.lock();
+        try {
+            return (int) (fim - inicio);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private boolean registrarSobTrava(long instante, double temperatura, double umidade) {
+        if (fim > inicio && instante < instantes[posicao(fim - 1)]) {
+            return false;
+        }
+        if (fim - inicio == capacidade) {
+            descartarMaisAntiga();
+        }
+        if (fim == inicio) {
+            recalcularSomas();
+            base = instante;
+        }
+
+        int p = posicao(fim);
+        instantes[p] = instante;
+        temperaturas[p] = temperatura;
+        umidades[p] = umidade;
+
+        double x = (instante - base) / MS_POR_MINUTO;
+        somaX += x;
+        somaX2 += x * x;
+        somaT += temperatura;
+        somaXT += x * temperatura;
+        somaU += umidade;
+        somaXU += x * umidade;
+
+        minTemperatura.adicionar(fim);
+        maxTemperatura.adicionar(fim);
+        minUmidade.adicionar(fim);
+        maxUmidade.adicionar(fim);
+        fim++;
+
+        descartarExpiradas(instante);
+        return true;
+    }
+
+    private ResumoJanela resumoSobTrava(long agora) {
+        descartarExpiradas(agora);
+        int n = (int) (fim - inicio);
+        if (n == 0) {
+            return null;
+        }
+        return new ResumoJanela(
+                n,
+                instantes[posicao(inicio)],
+                instantes[posicao(fim - 1)],
+                temperaturas[posicao(minTemperatura.primeiro())],
+                temperaturas[posicao(maxTemperatura.primeiro())],
+                somaT / n,
+                inclinacao(n, somaT, somaXT),
+                umidades[posicao(minUmidade.primeiro())],
+                umidades[posicao(maxUmidade.primeiro())],
+                somaU / n,
+                inclinacao(n, somaU, somaXU)
+        );
+    }
+
+    private void descartarExpiradas(long referencia) {
+        long limite = referencia - duracaoMs;
+        while (fim > inicio && instantes[posicao(inicio)] < limite) {
+            descartarMaisAntiga();
+        }
+    }
+
+    private void descartarMaisAntiga() {
+        int p = posicao(inicio);
+        double x = (instantes[p] - base) / MS_POR_MINUTO;
+        somaX -= x;
+        somaX2 -= x * x;
+        somaT -= temperaturas[p];
+        somaXT -= x * temperaturas[p];
+        somaU -= umidades[p];
+        somaXU -= x * umidades[p];
+
+        minTemperatura.descartar(inicio);
+        maxTemperatura.descartar(inicio);
+        minUmidade.descartar(inicio);
+        maxUmidade.descartar(inicio);
+        inicio++;
+
+        // Recalcula as somas periodicamente para não acumular erro de arredondamento (O(1) amortizado)
+        if (++descartesDesdeRecalculo >= capacidade) {
+            recalcularSomas();
+        }
+    }
+
+    private void recalcularSomas() {
+        descartesDesdeRecalculo = 0;
+        somaX = somaX2 = somaT = somaXT = somaU = somaXU = 0;
+        if (fim == inicio) {
+            return;
+        }
+        base = instantes[posicao(inicio)];
+        for (long s = inicio; s < fim; s++) {
+            int p = posicao(s);
+            double x = (instantes[p] - base) / MS_POR_MINUTO;
+            somaX += x;
+            somaX2 += x * x;
+            somaT += temperaturas[p];
+            somaXT += x * temperaturas[p];
+            somaU += umidades[p];
+            somaXU += x * umidades[p];
+        }
+    }
+
+    // Coeficiente angular da regressão linear, em unidades por minuto
+    private double inclinacao(int n, double somaY, double somaXY) {
+        double denominador = n * somaX2 - somaX * somaX;
+        if (n < 2 || Math.abs(denominador) < 1e-12) {
+            return 0.0;
+        }
+        return (n * somaXY - somaX * somaY) / denominador;
+    }
+
+    private int posicao(long sequencia) {
+        return (int) (sequencia % capacidade);
+    }
+
+    /**
+     * Fila monotônica de números de sequência (também em buffer circular):
+     * a frente é sempre a sequência com menor (ou maior) valor ainda na janela.
+     */
+    private final class FilaMonotonica {
+
+        private final long[] sequencias;
+        private final double[] valores;
+        private final boolean minimo;
+        private int cabeca;
+        private int tamanho;
+
+        FilaMonotonica(int capacidade, double[] valores, boolean minimo) {
+            this.sequencias = new long[capacidade];
+            this.valores = valores;
+            this.minimo = minimo;
+        }
+
+        void adicionar(long sequencia) {
+            double valor = valores[posicao(sequencia)];
+            while (tamanho > 0) {
+                double ultimo = valores[posicao(sequencias[indice(tamanho - 1)])];
+                if (minimo ? ultimo <= valor : ultimo >= valor) {
+                    break;
+                }
+                tamanho--;
+            }
+            sequencias[indice(tamanho)] = sequencia;
+            tamanho++;
+        }
+
+        void descartar(long sequencia) {
+            if (tamanho > 0 && sequencias[cabeca] == sequencia) {
+                cabeca = (cabeca + 1) % sequencias.length;
+                tamanho--;
+            }
+        }
+
+        long primeiro() {
+            return sequencias[cabeca];
+        }
+
+        private int indice(int deslocamento) {
+            return (cabeca + deslocamento) % sequencias.length;
+        }
+    }
+}
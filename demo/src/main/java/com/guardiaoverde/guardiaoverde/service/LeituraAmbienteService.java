@@ -0,0 +1,113 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.domain.LeituraAmbiente;
+import com.guardiaoverde.guardiaoverde.repository.AmbienteRepository;
+import com.guardiaoverde.guardiaoverde.repository.InsercaoEmLoteRepository;
+import com.guardiaoverde.guardiaoverde.repository.LeituraAmbienteRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Timed(value = "guardiao.servico", histogram = true)
+public class LeituraAmbienteService {
+
+    private final LeituraAmbienteRepository leituraAmbienteRepository;
+    private final AmbienteRepository ambienteRepository;
+    private final InsercaoEmLoteRepository insercaoEmLoteRepository;
+    private final UltimasLeituras ultimasLeituras;
+    private final JanelaAmbienteService janelaAmbienteService;
+
+    @Value("${leituras.max-por-requisicao:10000}")
+    private int maxPorRequisicao;
+
+    @Value("${leituras.max-por-consulta:5000}")
+    private int maxPorConsulta;
+
+    @Autowired
+    public LeituraAmbienteService(LeituraAmbienteRepository leituraAmbienteRepository,
+                                  AmbienteRepository ambienteRepository,
+                                  InsercaoEmLoteRepository insercaoEmLoteRepository,
+                                  UltimasLeituras ultimasLeituras,
+                                  JanelaAmbienteService janelaAmbienteService) {
+        this.leituraAmbienteRepository = leituraAmbienteRepository;
+        this.ambienteRepository = ambienteRepository;
+        this.insercaoEmLoteRepository = insercaoEmLoteRepository;
+        this.ultimasLeituras = ultimasLeituras;
+        this.janelaAmbienteService = janelaAmbienteService;
+    }
+
+    /**
+     * Registra um lote de leituras de um Ambiente.
+     * As leituras são gravadas com inserção JDBC em lote e a projeção da última leitura
+     * (temperatura/umidade do Ambiente) é atualizada uma única vez por lote.
+     * Lança IllegalArgumentException se o ambiente não existir ou alguma leitura for inválida.
+     */
+    @Transactional
+    public int registrarLeituras(Long ambienteId, List<LeituraAmbiente> leituras) {
+        if (leituras == null || leituras.isEmpty()) {
+            throw new IllegalArgumentException("Nenhuma leitura informada.");
+        }
+        if (leituras.size() > maxPorRequisicao) {
+            throw new IllegalArgumentException(
+                    "Máximo de " + maxPorRequisicao + " leituras por requisição.");
+        }
+        if (!ambienteRepository.existsById(ambienteId)) {
+            throw new IllegalArgumentException("Ambiente não encontrado");
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        LeituraAmbiente maisRecente = null;
+        for (LeituraAmbiente l : leituras) {
+            if (l.getDataHora() == null || l.getTemperatura() == null || l.getUmidade() == null) {
+                throw new IllegalArgumentException("Leitura deve informar dataHora, temperatura e umidade.");
+            }
+            if (l.getDataHora().isAfter(agora)) {
+                throw new IllegalArgumentException("Data e hora da leitura não pode ser no futuro.");
+            }
+            AmbienteService.validarFaixas(l.getTemperatura(), l.getUmidade());
+            l.setAmbienteId(ambienteId);
+            if (maisRecente == null || l.getDataHora().isAfter(maisRecente.getDataHora())) {
+                maisRecente = l;
+            }
+        }
+
+        insercaoEmLoteRepository.inserirLeituras(leituras);
+        AposCommit.executar(() -> janelaAmbienteService.registrar(ambienteId, leituras));
+
+        // Lotes atrasados não regridem a projeção: o cache evita o UPDATE quando já se sabe
+        // que há leitura mais nova, e a condição no UPDATE decide entre lotes concorrentes
+        if (ultimasLeituras.ehMaisRecente(maisRecente)
+                && ambienteRepository.atualizarUltimaLeitura(ambienteId, maisRecente.getTemperatura(),
+                        maisRecente.getUmidade(), maisRecente.getDataHora(), agora) > 0) {
+            LeituraAmbiente ultima = maisRecente;
+            AposCommit.executar(() -> ultimasLeituras.registrar(ultima));
+        }
+        return leituras.size();
+    }
+
+    /**
+     * Retorna a última leitura conhecida do ambiente (servida do cache).
+     */
+    public Optional<LeituraAmbiente> ultimaLeitura(Long ambienteId) {
+        return ultimasLeituras.ultimaDe(ambienteId);
+    }
+
+    /**
+     * Lista as leituras de um ambiente no intervalo informado (limitado a leituras.max-por-consulta).
+     */
+    public List<LeituraAmbiente> listarLeituras(Long ambienteId, LocalDateTime inicio, LocalDateTime fim) {
+        if (inicio.isAfter(fim)) {
+            throw new IllegalArgumentException("Início do intervalo deve ser anterior ao fim.");
+        }
+        return leituraAmbienteRepository.findByAmbienteIdAndDataHoraBetweenOrderByDataHoraAsc(
+                ambienteId, inicio, fim, PageRequest.of(0, maxPorConsulta));
+    }
+}
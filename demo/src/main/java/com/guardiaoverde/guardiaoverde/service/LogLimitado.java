@@ -0,0 +1,53 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Avisos de log que podem se repetir a cada ambiente ou a cada ciclo: no máximo um por
+ * intervalo para cada chave. Os suprimidos no meio são contados e informados no próximo
+ * aviso que passar (campo suprimidos=N), então nada some sem deixar rastro.
+ * As chaves devem ser tipos de mensagem (poucas), não ids.
+ */
+final class LogLimitado {
+
+    private final Logger log;
+    private final long intervaloNs;
+    private final Map<String, Estado> estados = new ConcurrentHashMap<>();
+
+    LogLimitado(Logger log, Duration intervalo) {
+        this.log = log;
+        this.intervaloNs = intervalo.toNanos();
+    }
+
+    void aviso(String chave, String formato, Object... argumentos) {
+        if (!log.isWarnEnabled()) {
+            return;
+        }
+        Estado estado = estados.computeIfAbsent(chave, k -> new Estado());
+        long agora = System.nanoTime();
+        long anterior = estado.ultimo.get();
+        if ((anterior != 0 && agora - anterior < intervaloNs) || !estado.ultimo.compareAndSet(anterior, agora)) {
+            estado.suprimidos.incrementAndGet();
+            return;
+        }
+        long suprimidos = estado.suprimidos.getAndSet(0);
+        if (suprimidos == 0) {
+            log.warn(formato, argumentos);
+            return;
+        }
+        Object[] comSuprimidos = Arrays.copyOf(argumentos, argumentos.length + 1);
+        comSuprimidos[argumentos.length] = suprimidos;
+        log.warn(formato + " suprimidos={}", comSuprimidos);
+    }
+
+    private static final class Estado {
+        private final AtomicLong ultimo = new AtomicLong();
+        private final AtomicLong suprimidos = new AtomicLong();
+    }
+}
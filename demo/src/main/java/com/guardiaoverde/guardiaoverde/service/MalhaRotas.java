@@ -0,0 +1,71 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.domain.Rota;
+import com.guardiaoverde.guardiaoverde.repository.RotaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Malha de rotas em memória: cópia das Rotas cadastradas e o grafo derivado delas.
+ * Carregada uma vez na inicialização; depois, cada alteração efetivada em RotaService
+ * reconstrói o grafo a partir da cópia em memória, sem consultar o banco.
+ * Leituras usam o grafo imutável publicado por último; estruturas derivadas (ex.: matriz
+ * de tempos) se registram em {@link #aoAlterar} para serem avisadas de cada novo grafo.
+ */
+@Component
+public class MalhaRotas {
+
+    private final RotaRepository rotaRepository;
+    private final Map<Long, Rota> rotas = new HashMap<>();
+    private final List<Runnable> ouvintes = new CopyOnWriteArrayList<>();
+    private volatile GrafoRotas grafo = GrafoRotas.construir(List.of());
+
+    @Autowired
+    public MalhaRotas(RotaRepository rotaRepository) {
+        this.rotaRepository = rotaRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void carregar() {
+        rotas.clear();
+        for (Rota r : rotaRepository.findAll()) {
+            rotas.put(r.getId(), r);
+        }
+        publicar();
+    }
+
+    public synchronized void atualizar(Rota rota) {
+        rotas.put(rota.getId(), rota);
+        publicar();
+    }
+
+    public synchronized void remover(Long rotaId) {
+        if (rotas.remove(rotaId) != null) {
+            publicar();
+        }
+    }
+
+    /**
+     * Registra uma ação executada a cada novo grafo publicado (deve ser rápida; trabalho
+     * pesado vai para outra thread).
+     */
+    public void aoAlterar(Runnable ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    public GrafoRotas grafo() {
+        return grafo;
+    }
+
+    private void publicar() {
+        grafo = GrafoRotas.construir(rotas.values());
+        ouvintes.forEach(Runnable::run);
+    }
+}
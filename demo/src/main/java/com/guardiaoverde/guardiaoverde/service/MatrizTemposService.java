@@ -0,0 +1,273 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Matriz densa de tempos de deslocamento entre todos os pontos da malha de rotas,
+ * para o despacho consultar "quanto tempo da base X até a região Y" em O(1).
+ *
+ * A matriz é um float[] n×n em ordem de linha (linha = origem) mantido por uma thread
+ * em segundo plano. A cada novo grafo publicado por {@link MalhaRotas}, compara as arestas
+ * antigas e novas e recalcula (Dijkstra a partir da origem) apenas as linhas afetadas:
+ * - aresta nova ou mais rápida (u→v, w): linhas s com d[s][u] + w < d[s][v];
+ * - aresta removida ou mais lenta (u→v, w antigo): linhas s em que ela era justa,
+ *   d[s][u] + w == d[s][v].
+ * Se o conjunto de pontos mudar, a matriz é recalculada por inteiro.
+ *
+ * As linhas recalculadas são gravadas no lugar: um leitor concorrente pode ver, por um
+ * instante, parte da linha antiga e parte da nova, cada valor individualmente válido.
+ */
+@Service
+public class MatrizTemposService {
+
+    private static final Logger log = LoggerFactory.getLogger(MatrizTemposService.class);
+
+    // Tolerância relativa para comparar somas de tempos em float
+    private static final float TOLERANCIA = 1e-4f;
+
+    private final MalhaRotas malhaRotas;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "matriz-tempos");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean atualizacaoPendente = new AtomicBoolean();
+
+    private volatile Matriz matriz = Matriz.vazia();
+
+    @Value("${matriz-tempos.max-pontos:4000}")
+    private int maxPontos = 4000;
+
+    @Autowired
+    public MatrizTemposService(MalhaRotas malhaRotas) {
+        this.malhaRotas = malhaRotas;
+        malhaRotas.aoAlterar(this::agendarAtualizacao);
+    }
+
+    /**
+     * Tempo mínimo (minutos) de origem até destino. Retorna +infinito se não houver
+     * caminho, e NaN se algum dos pontos não existir ou a matriz ainda não cobrir o grafo.
+     */
+    public float tempo(String origem, String destino) {
+        Matriz m = matriz;
+        Integer i = m.indice.get(GrafoRotas.chave(origem));
+        Integer j = m.indice.get(GrafoRotas.chave(destino));
+        if (i == null || j == null) {
+            return Float.NaN;
+        }
+        return m.tempos[i * m.n + j];
+    }
+
+    /**
+     * Retrato atual da matriz, para consultas em laço sem repetir a busca dos pontos.
+     */
+    public Matriz matriz() {
+        return matriz;
+    }
+
+    /**
+     * Agenda a sincronização da matriz com o grafo atual. Alterações que chegam enquanto
+     * uma sincronização está na fila são atendidas por ela mesma.
+     */
+    public void agendarAtualizacao() {
+        if (atualizacaoPendente.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                atualizacaoPendente.set(false);
+                try {
+                    sincronizar(malhaRotas.grafo());
+                } catch (RuntimeException ex) {
+                    log.warn("falha ao atualizar matriz", ex);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    // Executado apenas na thread da matriz
+    void sincronizar(GrafoRotas grafo) {
+        Matriz atual = matriz;
+        int n = grafo.quantidadePontos();
+        if (n > maxPontos) {
+            log.warn("matriz desativada pontos={} maxPontos={}", n, maxPontos);
+            matriz = Matriz.vazia();
+            return;
+        }
+
+        int[] daMatriz = atual.traduzir(grafo);
+        if (daMatriz == null) {
+            matriz = recalcularTudo(grafo);
+            return;
+        }
+
+        int[] paraMatriz = inverter(daMatriz);
+        BitSet afetadas = linhasAfetadas(atual, grafo, paraMatriz);
+        double[] dist = new double[n];
+        for (int s = afetadas.nextSetBit(0); s >= 0; s = afetadas.nextSetBit(s + 1)) {
+            grafo.temposAPartirDe(daMatriz[s], dist);
+            int base = s * n;
+            for (int g = 0; g < n; g++) {
+                atual.tempos[base + paraMatriz[g]] = (float) dist[g];
+            }
+        }
+        // Publica o novo grafo (escrita volátil: as linhas gravadas ficam visíveis aos leitores)
+        matriz = new Matriz(n, atual.indice, atual.tempos, grafo, paraMatriz);
+    }
+
+    private static Matriz recalcularTudo(GrafoRotas grafo) {
+        int n = grafo.quantidadePontos();
+        float[] tempos = new float[n * n];
+        double[] dist = new double[n];
+        Map<String, Integer> indice = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            indice.put(GrafoRotas.chave(grafo.ponto(i)), i);
+            grafo.temposAPartirDe(i, dist);
+            for (int j = 0; j < n; j++) {
+                tempos[i * n + j] = (float) dist[j];
+            }
+        }
+        int[] identidade = new int[n];
+        Arrays.setAll(identidade, i -> i);
+        return new Matriz(n, indice, tempos, grafo, identidade);
+    }
+
+    /**
+     * Linhas (origens, em índices da matriz) cujo caminho mínimo pode ter mudado.
+     * Usa as distâncias antigas; vale para várias arestas alteradas de uma vez.
+     */
+    private static BitSet linhasAfetadas(Matriz m, GrafoRotas novo, int[] paraMatriz) {
+        int n = m.n;
+        Map<Long, Double> pesosAntigos = menorPesoPorPar(m.grafo, m.grafoParaMatriz, n);
+        Map<Long, Double> pesosNovos = menorPesoPorPar(novo, paraMatriz, n);
+
+        BitSet afetadas = new BitSet(n);
+        for (Map.Entry<Long, Double> e : pesosNovos.entrySet()) {
+            Double antigoPeso = pesosAntigos.get(e.getKey());
+            if (antigoPeso == null || e.getValue() < antigoPeso) {
+                marcarMelhoradas(m, e.getKey(), e.getValue(), afetadas);
+            }
+        }
+        for (Map.Entry<Long, Double> e : pesosAntigos.entrySet()) {
+            Double novoPeso = pesosNovos.get(e.getKey());
+            if (novoPeso == null || novoPeso > e.getValue()) {
+                marcarJustas(m, e.getKey(), e.getValue(), afetadas);
+            }
+        }
+        return afetadas;
+    }
+
+    private static void marcarMelhoradas(Matriz m, long par, double peso, BitSet afetadas) {
+        int u = (int) (par / m.n);
+        int v = (int) (par % m.n);
+        for (int s = 0; s < m.n; s++) {
+            float su = m.tempos[s * m.n + u];
+            if (su != Float.POSITIVE_INFINITY && su + peso < m.tempos[s * m.n + v] * (1 - TOLERANCIA)) {
+                afetadas.set(s);
+            }
+        }
+    }
+
+    private static void marcarJustas(Matriz m, long par, double peso, BitSet afetadas) {
+        int u = (int) (par / m.n);
+        int v = (int) (par % m.n);
+        for (int s = 0; s < m.n; s++) {
+            float su = m.tempos[s * m.n + u];
+            float sv = m.tempos[s * m.n + v];
+            if (su != Float.POSITIVE_INFINITY && su + peso <= sv * (1 + TOLERANCIA) + TOLERANCIA) {
+                afetadas.set(s);
+            }
+        }
+    }
+
+    private static int[] inverter(int[] permutacao) {
+        int[] inverso = new int[permutacao.length];
+        for (int i = 0; i < permutacao.length; i++) {
+            inverso[permutacao[i]] = i;
+        }
+        return inverso;
+    }
+
+    // Menor peso de aresta para cada par (u, v), em índices da matriz (chave u * n + v)
+    private static Map<Long, Double> menorPesoPorPar(GrafoRotas grafo, int[] paraMatriz, int n) {
+        Map<Long, Double> pesos = new HashMap<>(grafo.quantidadeArestas() * 2);
+        grafo.paraCadaAresta((u, v, w) ->
+                pesos.merge((long) paraMatriz[u] * n + paraMatriz[v], w, Math::min));
+        return pesos;
+    }
+
+    /**
+     * Retrato imutável da indexação da matriz (os valores são atualizados no lugar).
+     */
+    public static final class Matriz {
+
+        private final int n;
+        private final Map<String, Integer> indice;
+        private final float[] tempos;
+        private final GrafoRotas grafo;
+        // Índice na matriz de cada ponto do grafo correspondente
+        private final int[] grafoParaMatriz;
+
+        private Matriz(int n, Map<String, Integer> indice, float[] tempos, GrafoRotas grafo, int[] grafoParaMatriz) {
+            this.n = n;
+            this.indice = indice;
+            this.tempos = tempos;
+            this.grafo = grafo;
+            this.grafoParaMatriz = grafoParaMatriz;
+        }
+
+        static Matriz vazia() {
+            return new Matriz(0, Map.of(), new float[0], null, new int[0]);
+        }
+
+        /**
+         * Índice do ponto na matriz, ou -1.
+         */
+        public int indiceDe(String ponto) {
+            Integer i = indice.get(GrafoRotas.chave(ponto));
+            return i != null ? i : -1;
+        }
+
+        public float tempo(int origem, int destino) {
+            return tempos[origem * n + destino];
+        }
+
+        public int tamanho() {
+            return n;
+        }
+
+        /**
+         * Para cada linha da matriz, o índice do mesmo ponto no grafo novo;
+         * null se o conjunto de pontos mudou (ou se não há grafo anterior).
+         */
+        int[] traduzir(GrafoRotas novo) {
+            if (grafo == null || novo.quantidadePontos() != n) {
+                return null;
+            }
+            int[] daMatriz = new int[n];
+            for (int g = 0; g < n; g++) {
+                Integer i = indice.get(GrafoRotas.chave(novo.ponto(g)));
+                if (i == null) {
+                    return null;
+                }
+                daMatriz[i] = g;
+            }
+            return daMatriz;
+        }
+    }
+}
@@ -2,25 +2,75 @@ package com.guardiaoverde.guardiaoverde.service;
 
 import com.guardiaoverde.guardiaoverde.domain.*;
 import com.guardiaoverde.guardiaoverde.repository.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class MonitorService {
 
+    private static final Logger log = LoggerFactory.getLogger(MonitorService.class);
+    private static final LogLimitado avisos = new LogLimitado(log, Duration.ofMinutes(1));
+
+    // Limite de itens por cláusula IN no Oracle
+    private static final int MAX_ITENS_IN = 1000;
+
     private final AmbienteRepository ambienteRepository;
     private final RegiaoRepository regiaoRepository;
-    private final ChamadoRepository chamadoRepository;
-    private final AlertaRepository alertaRepository;
-    private final BombeiroRepository bombeiroRepository;
-    private final RotaRepository rotaRepository;
+    private final InsercaoEmLoteRepository insercaoEmLoteRepository;
+    private final RegistroEstadoAmbientes registroEstadoAmbientes;
+    private final IndiceEspacialRegioes indiceEspacialRegioes;
+    private final MalhaRotas malhaRotas;
+    private final DespachoService despachoService;
+    private final CooldownAlertas cooldownAlertas;
+    private final EventosTempoReal eventosTempoReal;
+    private final IndiceTextoChamados indiceTextoChamados;
+    private final CoordenacaoMonitor coordenacaoMonitor;
+    private final TransactionTemplate transacaoParticao;
+    private final Executor executorTarefas;
+    private final Timer tempoCiclo;
+    private final Counter ambientesAvaliados;
+    private final Counter transicoesCriticas;
+    private final Counter ambientesSemRegiao;
+    private final Counter chamadosGerados;
+    private final Counter alertasGerados;
+    private final Counter particoesComFalha;
+
+    // Início do último ciclo efetivado; null até o primeiro ciclo (varredura completa)
+    private volatile LocalDateTime marcaDagua;
+    // Ambientes de partições que falharam, reavaliados no ciclo seguinte
+    private final Set<Long> reprocessar = ConcurrentHashMap.newKeySet();
+    private volatile RelatorioCiclo ultimoRelatorio;
+
+    // Número máximo de partições gravadas em paralelo; 0 = número de processadores
+    @Value("${monitor.particoes:0}")
+    private int particoes;
+
+    // Abaixo disso por partição, o custo de coordenar não compensa
+    @Value("${monitor.min-por-particao:64}")
+    private int minPorParticao = 64;
+
+    @Value("${monitor.sobreposicao-ms:5000}")
+    private long sobreposicaoMs;
 
     @Value("${threshold.umidade}")
     private Double limiarUmidade;
@@ -32,84 +82,474 @@ public class MonitorService {
     public MonitorService(
             AmbienteRepository ambienteRepository,
             RegiaoRepository regiaoRepository,
-            ChamadoRepository chamadoRepository,
-            AlertaRepository alertaRepository,
-            BombeiroRepository bombeiroRepository,
-            RotaRepository rotaRepository
+            InsercaoEmLoteRepository insercaoEmLoteRepository,
+            RegistroEstadoAmbientes registroEstadoAmbientes,
+            IndiceEspacialRegioes indiceEspacialRegioes,
+            MalhaRotas malhaRotas,
+            DespachoService despachoService,
+            CooldownAlertas cooldownAlertas,
+            EventosTempoReal eventosTempoReal,
+            IndiceTextoChamados indiceTextoChamados,
+            CoordenacaoMonitor coordenacaoMonitor,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("executorTarefas") Executor executorTarefas,
+            MeterRegistry meterRegistry
     ) {
         this.ambienteRepository = ambienteRepository;
         this.regiaoRepository = regiaoRepository;
-        this.chamadoRepository = chamadoRepository;
-        this.alertaRepository = alertaRepository;
-        this.bombeiroRepository = bombeiroRepository;
-        this.rotaRepository = rotaRepository;
+        this.insercaoEmLoteRepository = insercaoEmLoteRepository;
+        this.registroEstadoAmbientes = registroEstadoAmbientes;
+        this.indiceEspacialRegioes = indiceEspacialRegioes;
+        this.malhaRotas = malhaRotas;
+        this.despachoService = despachoService;
+        this.cooldownAlertas = cooldownAlertas;
+        this.eventosTempoReal = eventosTempoReal;
+        this.indiceTextoChamados = indiceTextoChamados;
+        this.coordenacaoMonitor = coordenacaoMonitor;
+        this.transacaoParticao = new TransactionTemplate(transactionManager);
+        this.transacaoParticao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.executorTarefas = executorTarefas;
+
+        this.tempoCiclo = Timer.builder("guardiao.monitor.ciclo")
+                .description("Duração de um ciclo do monitor")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.ambientesAvaliados = contador(meterRegistry, "guardiao.monitor.ambientes.avaliados",
+                "Ambientes com leituras alteradas avaliados pelo monitor");
+        this.transicoesCriticas = contador(meterRegistry, "guardiao.monitor.ambientes.criticos",
+                "Transições de ambientes para CRITICO");
+        this.ambientesSemRegiao = contador(meterRegistry, "guardiao.monitor.ambientes.sem.regiao",
+                "Avaliações de ambientes críticos sem região encontrada (repetidas a cada ciclo)");
+        this.chamadosGerados = contador(meterRegistry, "guardiao.monitor.chamados",
+                "Chamados gravados pelo monitor");
+        this.alertasGerados = contador(meterRegistry, "guardiao.monitor.alertas",
+                "Alertas gravados pelo monitor");
+        this.particoesComFalha = contador(meterRegistry, "guardiao.monitor.particoes.falhas",
+                "Partições do ciclo que não foram gravadas");
+        Gauge.builder("guardiao.monitor.reprocessar", reprocessar, Set::size)
+                .description("Ambientes aguardando reprocessamento no próximo ciclo")
+                .register(meterRegistry);
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String nome, String descricao) {
+        return Counter.builder(nome).description(descricao).register(meterRegistry);
     }
 
-    @Transactional
+    /**
+     * Ciclo incremental do monitor: processa apenas os ambientes cujas leituras mudaram
+     * desde o ciclo anterior (marca d'água em Ambiente.atualizadoEm) e gera chamado/alerta
+     * somente na transição para CRITICO. O primeiro ciclo após a inicialização faz uma
+     * varredura completa pelos limiares.
+     *
+     * Regiões são resolvidas com poucas consultas por ciclo (não por ambiente) e os
+     * bombeiros são distribuídos de uma vez para o ciclo inteiro. Os ambientes críticos
+     * são então divididos em partições (agrupados por região) que montam e gravam seus
+     * Chamados/Alertas em paralelo, cada uma na própria transação: a falha de uma partição
+     * não desfaz as outras, e os ambientes dela são reavaliados no próximo ciclo.
+     *
+     * Com várias réplicas, cada nó processa só as fatias de ambientes que detém
+     * (CoordenacaoMonitor), e cada partição confirma a posse antes de gravar.
+     */
     @Scheduled(fixedDelayString = "${monitor.periodo-ms}")
     public void verificarAmbientesCriticos() {
-        List<Ambiente> ambientesCriticos =
-                ambienteRepository.findByTemperaturaLessThanAndUmidadeLessThan(
-                        limiarTemperatura, limiarUmidade
-                );
+        EventosJfr.CicloMonitor evento = new EventosJfr.CicloMonitor();
+        evento.begin();
+        long inicioNs = System.nanoTime();
+        LocalDateTime inicioCiclo = LocalDateTime.now();
+        CoordenacaoMonitor.Posse posse = coordenacaoMonitor.sincronizar();
+        List<Ambiente> alterados = posse.vazia() ? List.of() : buscarAlterados(posse);
+        if (!posse.assumidas().isEmpty()) {
+            adotar(alterados, posse);
+        }
+
+        // 1) Máquina de estados: só as entradas em CRITICO geram chamado/alerta
+        Map<Long, EstadoAmbiente> transicoes = new HashMap<>();
+        List<Ambiente> ambientesCriticos = new ArrayList<>();
+        for (Ambiente ambiente : alterados) {
+            EstadoAmbiente atual = registroEstadoAmbientes.estadoDe(ambiente.getId());
+            EstadoAmbiente proximo = atual.proximo(ehCritico(ambiente));
+            if (proximo != atual) {
+                transicoes.put(ambiente.getId(), proximo);
+                if (proximo == EstadoAmbiente.CRITICO) {
+                    ambientesCriticos.add(ambiente);
+                }
+            }
+        }
+
+        // 2) Regiões e bombeiros do ciclo, e as partições a gravar
+        Set<Long> naoAtendidos = new HashSet<>();
+        List<List<Atendimento>> lotes = planejar(ambientesCriticos, naoAtendidos);
+
+        // 3) Partições em paralelo, cada uma com a própria transação
+        LocalDateTime agora = LocalDateTime.now();
+        List<RelatorioCiclo.Particao> resultados = executarParticoes(lotes, agora, posse);
+
+        // Ambientes sem região e os de partições que falharam continuam NORMAL e entram na
+        // lista de reprocessamento: são reavaliados no próximo ciclo mesmo sem leitura nova
+        // (os sem região, a cada ciclo, até a região existir)
+        transicoes.keySet().removeAll(naoAtendidos);
+        reprocessar.addAll(naoAtendidos);
+        for (int p = 0; p < lotes.size(); p++) {
+            if (!resultados.get(p).efetivada()) {
+                for (Atendimento a : lotes.get(p)) {
+                    transicoes.remove(a.ambiente().getId());
+                    reprocessar.add(a.ambiente().getId());
+                }
+            }
+        }
+        registroEstadoAmbientes.aplicar(transicoes);
+        marcaDagua = inicioCiclo;
+
+        RelatorioCiclo relatorio = new RelatorioCiclo(inicioCiclo, (System.nanoTime() - inicioNs) / 1_000_000,
+                alterados.size(), ambientesCriticos.size(), naoAtendidos.size(), resultados);
+        ultimoRelatorio = relatorio;
+        registrarMetricas(relatorio);
+        if (evento.shouldCommit()) {
+            evento.no = posse.coordenada() ? coordenacaoMonitor.no() : null;
+            evento.fatias = posse.tokens().size();
+            evento.fatiasAssumidas = posse.assumidas().size();
+            evento.alterados = relatorio.alterados();
+            evento.criticos = relatorio.criticos();
+            evento.semRegiao = relatorio.naoAtendidos();
+            evento.particoes = relatorio.particoes().size();
+            evento.falhas = (int) relatorio.falhas();
+            evento.chamados = relatorio.chamados();
+            evento.alertas = relatorio.alertas();
+            evento.commit();
+        }
+        if (!ambientesCriticos.isEmpty() || relatorio.falhas() > 0) {
+            log.info("ciclo concluido duracaoMs={} alterados={} criticos={} chamados={} alertas={} particoes={} falhas={}",
+                    relatorio.duracaoMs(), relatorio.alterados(), relatorio.criticos(), relatorio.chamados(),
+                    relatorio.alertas(), lotes.size(), relatorio.falhas());
+        } else {
+            log.debug("ciclo concluido duracaoMs={} alterados={}", relatorio.duracaoMs(), relatorio.alterados());
+        }
+    }
+
+    private void registrarMetricas(RelatorioCiclo relatorio) {
+        tempoCiclo.record(relatorio.duracaoMs(), TimeUnit.MILLISECONDS);
+        ambientesAvaliados.increment(relatorio.alterados());
+        transicoesCriticas.increment(relatorio.criticos());
+        ambientesSemRegiao.increment(relatorio.naoAtendidos());
+        chamadosGerados.increment(relatorio.chamados());
+        alertasGerados.increment(relatorio.alertas());
+        particoesComFalha.increment(relatorio.falhas());
+    }
+
+    /**
+     * Resumo do último ciclo concluído (null antes do primeiro).
+     */
+    public RelatorioCiclo ultimoRelatorio() {
+        return ultimoRelatorio;
+    }
+
+    private List<Ambiente> buscarAlterados(CoordenacaoMonitor.Posse posse) {
+        LocalDateTime marca = marcaDagua;
+        List<Ambiente> alterados;
+        if (marca == null) {
+            alterados = ambienteRepository.findByTemperaturaLessThanAndUmidadeLessThan(
+                    limiarTemperatura, limiarUmidade
+            );
+        } else {
+            // Sobreposição cobre transações que gravaram antes da marca mas confirmaram depois;
+            // a máquina de estados torna o reprocessamento idempotente.
+            alterados = ambienteRepository.findByAtualizadoEmAfterOrderByAtualizadoEmAsc(
+                    marca.minus(Duration.ofMillis(sobreposicaoMs))
+            );
+            // Fatias recém-assumidas: o dono anterior pode ter parado antes de ver as últimas
+            // mudanças, então elas são varridas pelos limiares como no primeiro ciclo
+            if (!posse.assumidas().isEmpty()) {
+                alterados = new ArrayList<>(alterados);
+                for (Ambiente a : ambienteRepository.findByTemperaturaLessThanAndUmidadeLessThan(
+                        limiarTemperatura, limiarUmidade)) {
+                    if (posse.assumida(a.getId())) {
+                        alterados.add(a);
+                    }
+                }
+            }
+        }
+        if (!posse.coordenada() && reprocessar.isEmpty()) {
+            return alterados;
+        }
+        List<Long> pendentes = new ArrayList<>(reprocessar);
+        reprocessar.removeAll(pendentes);
+        pendentes.removeIf(id -> !posse.inclui(id));
+        Set<Long> vistos = new HashSet<>();
+        List<Ambiente> todos = new ArrayList<>(alterados.size() + pendentes.size());
+        for (Ambiente a : alterados) {
+            if (posse.inclui(a.getId()) && vistos.add(a.getId())) {
+                todos.add(a);
+            }
+        }
+        for (int i = 0; i < pendentes.size(); i += MAX_ITENS_IN) {
+            for (Ambiente a : ambienteRepository.findAllById(pendentes.subList(i, Math.min(i + MAX_ITENS_IN, pendentes.size())))) {
+                if (vistos.add(a.getId())) {
+                    todos.add(a);
+                }
+            }
+        }
+        return todos;
+    }
+
+    /**
+     * Fatias recém-assumidas: descarta o estado que este nó guardava delas (de uma posse
+     * anterior) e marca como CRITICO, sem gerar chamado, os ambientes críticos que já
+     * receberam alerta recente do dono anterior.
+     */
+    private void adotar(List<Ambiente> alterados, CoordenacaoMonitor.Posse posse) {
+        registroEstadoAmbientes.removerSe(posse::assumida);
+        List<Long> criticos = new ArrayList<>();
+        for (Ambiente a : alterados) {
+            if (posse.assumida(a.getId()) && ehCritico(a)) {
+                criticos.add(a.getId());
+            }
+        }
+        if (criticos.isEmpty()) {
+            return;
+        }
+        Map<Long, EstadoAmbiente> adotados = new HashMap<>();
+        for (Long id : coordenacaoMonitor.jaAlertados(criticos)) {
+            adotados.put(id, EstadoAmbiente.CRITICO);
+        }
+        registroEstadoAmbientes.aplicar(adotados);
+    }
+
+    private boolean ehCritico(Ambiente ambiente) {
+        return ambiente.getTemperatura() < limiarTemperatura
+                && ambiente.getUmidade() < limiarUmidade;
+    }
+
+    /**
+     * Resolve a região e distribui os bombeiros para os ambientes que acabaram de entrar
+     * em CRITICO, e divide os atendidos em partições. Ambientes sem região vão para
+     * naoAtendidos. A distribuição é feita para o ciclo inteiro, antes das partições, para
+     * que o mesmo bombeiro não seja escolhido por duas partições ao mesmo tempo.
+     */
+    private List<List<Atendimento>> planejar(List<Ambiente> ambientesCriticos, Set<Long> naoAtendidos) {
+        if (ambientesCriticos.isEmpty()) {
+            return List.of();
+        }
+
+        // Região de cada ambiente: coordenadas pelo índice espacial, senão pelo nome
+        Map<Long, Regiao> regioesPorAmbiente = carregarRegioes(ambientesCriticos);
 
+        List<Ambiente> atendidos = new ArrayList<>(ambientesCriticos.size());
+        List<String> destinos = new ArrayList<>(ambientesCriticos.size());
         for (Ambiente ambiente : ambientesCriticos) {
-            // 1) Encontrar região (supomos que localizacao == Regiao.nome)
-            Optional<Regiao> maybeRegiao = regiaoRepository.findByNome(ambiente.getLocalizacao());
-            if (maybeRegiao.isEmpty()) {
-                System.out.println(
-                        "MonitorService: não encontrou Regiao para localizacao = "
-                                + ambiente.getLocalizacao()
-                );
+            Regiao regiao = regioesPorAmbiente.get(ambiente.getId());
+            if (regiao == null) {
+                avisos.aviso("sem-regiao", "regiao nao encontrada ambienteId={} localizacao={}",
+                        ambiente.getId(), ambiente.getLocalizacao());
+                naoAtendidos.add(ambiente.getId());
                 continue;
             }
-            Regiao regiao = maybeRegiao.get();
-
-            // 2) Criar Chamado
-            Chamado chamado = new Chamado();
-            chamado.setOrigem("SISTEMA");
-            chamado.setDescricao(String.format(
-                    "Detecção automática: Ambiente em %s com temperatura=%.2f e umidade=%.2f",
-                    ambiente.getLocalizacao(),
-                    ambiente.getTemperatura(),
-                    ambiente.getUmidade()
-            ));
-            chamado.setRegiao(regiao);
-            chamado.setDataHora(LocalDateTime.now());
-            chamado.setPrioridade("ALTA");
-            chamadoRepository.save(chamado);
-
-            // 3) Escolher Bombeiro (aqui, apenas o primeiro da lista)
-            List<Bombeiro> todosBombeiros = bombeiroRepository.findAll();
-            if (todosBombeiros.isEmpty()) {
-                System.out.println("MonitorService: nenhum Bombeiro cadastrado.");
-                continue;
+            atendidos.add(ambiente);
+            destinos.add(regiao.getNome());
+        }
+
+        // Distribui os bombeiros entre todos os ambientes do ciclo de uma vez
+        List<Bombeiro> designados = despachoService.escolherEmLote(destinos);
+        List<Atendimento> lista = new ArrayList<>(atendidos.size());
+        boolean algumBombeiro = false;
+        for (int i = 0; i < atendidos.size(); i++) {
+            Ambiente ambiente = atendidos.get(i);
+            lista.add(new Atendimento(ambiente, regioesPorAmbiente.get(ambiente.getId()), designados.get(i)));
+            algumBombeiro |= designados.get(i) != null;
+        }
+        if (!atendidos.isEmpty() && !algumBombeiro) {
+            avisos.aviso("sem-bombeiro", "nenhum bombeiro disponivel ambientes={}", atendidos.size());
+        }
+
+        // Partições contíguas de tamanho parecido, com os ambientes ordenados por região
+        lista.sort(Comparator.comparing((Atendimento a) -> a.regiao().getId())
+                .thenComparing(a -> a.ambiente().getId()));
+        int maximo = particoes > 0 ? particoes : Runtime.getRuntime().availableProcessors();
+        int quantidade = Math.max(1, Math.min(maximo, lista.size() / Math.max(1, minPorParticao)));
+        List<List<Atendimento>> lotes = new ArrayList<>(quantidade);
+        for (int p = 0; p < quantidade; p++) {
+            lotes.add(lista.subList(p * lista.size() / quantidade, (p + 1) * lista.size() / quantidade));
+        }
+        return lotes;
+    }
+
+    private List<RelatorioCiclo.Particao> executarParticoes(List<List<Atendimento>> lotes, LocalDateTime agora,
+                                                           CoordenacaoMonitor.Posse posse) {
+        if (lotes.size() == 1) {
+            return List.of(gravarParticao(0, lotes.get(0), agora, posse));
+        }
+        List<CompletableFuture<RelatorioCiclo.Particao>> futuros = new ArrayList<>(lotes.size());
+        for (int p = 0; p < lotes.size(); p++) {
+            int indice = p;
+            futuros.add(CompletableFuture.supplyAsync(
+                    () -> gravarParticao(indice, lotes.get(indice), agora, posse), executorTarefas));
+        }
+        List<RelatorioCiclo.Particao> resultados = new ArrayList<>(lotes.size());
+        for (CompletableFuture<RelatorioCiclo.Particao> f : futuros) {
+            resultados.add(f.join());
+        }
+        return resultados;
+    }
+
+    /**
+     * Monta e grava os Chamados/Alertas de uma partição em transação própria; depois do
+     * commit, indexa os chamados para a busca por texto, atualiza o intervalo mínimo de
+     * alertas, publica os eventos e registra as rotas.
+     * Uma falha (inclusive a perda da concessão das fatias) é devolvida no relatório, sem
+     * afetar as outras partições.
+     */
+    private RelatorioCiclo.Particao gravarParticao(int indice, List<Atendimento> lote, LocalDateTime agora,
+                                                   CoordenacaoMonitor.Posse posse) {
+        EventosJfr.ParticaoMonitor evento = new EventosJfr.ParticaoMonitor();
+        evento.begin();
+        evento.indice = indice;
+        evento.ambientes = lote.size();
+        long inicioNs = System.nanoTime();
+        List<Chamado> chamados = new ArrayList<>(lote.size());
+        List<Alerta> alertas = new ArrayList<>(lote.size());
+        Set<Regiao> regioesAtendidas = new LinkedHashSet<>();
+        try {
+            for (Atendimento a : lote) {
+                chamados.add(novoChamado(a.ambiente(), a.regiao(), agora));
+                if (a.bombeiro() != null) {
+                    alertas.add(novoAlerta(a.ambiente(), a.bombeiro(), agora));
+                }
+                regioesAtendidas.add(a.regiao());
+            }
+            transacaoParticao.executeWithoutResult(status -> {
+                coordenacaoMonitor.confirmar(posse, lote.stream().map(a -> a.ambiente().getId()).toList());
+                insercaoEmLoteRepository.inserirChamados(chamados);
+                insercaoEmLoteRepository.inserirAlertas(alertas);
+            });
+        } catch (RuntimeException ex) {
+            avisos.aviso("particao", "particao nao gravada indice={} ambientes={} erro={}",
+                    indice, lote.size(), ex.getMessage());
+            evento.erro = String.valueOf(ex.getMessage());
+            evento.commit();
+            return new RelatorioCiclo.Particao(indice, lote.size(), 0, 0,
+                    (System.nanoTime() - inicioNs) / 1_000_000, String.valueOf(ex.getMessage()));
+        }
+
+        // Alertas automáticos entram no intervalo mínimo dos alertas criados pela API
+        // e, com os chamados (já com os ids reservados na inserção), vão para os painéis
+        // em tempo real e para o índice de texto
+        for (int i = 0, k = 0; i < lote.size(); i++) {
+            Atendimento a = lote.get(i);
+            if (a.bombeiro() != null) {
+                Alerta alerta = alertas.get(k++);
+                cooldownAlertas.marcar(a.ambiente().getId(), alerta.getNivelRisco(), alerta.getDataHora());
+                eventosTempoReal.publicarAlerta(alerta, a.regiao().getId());
+            }
+            Chamado chamado = chamados.get(i);
+            indiceTextoChamados.indexar(chamado.getId(), chamado.getDescricao());
+            eventosTempoReal.publicarChamado(chamado);
+        }
+
+        // Rotas para as regiões atendidas (grafo em memória, sem consulta)
+        registrarRotas(regioesAtendidas);
+        evento.chamados = chamados.size();
+        evento.alertas = alertas.size();
+        evento.commit();
+        return new RelatorioCiclo.Particao(indice, lote.size(), chamados.size(), alertas.size(),
+                (System.nanoTime() - inicioNs) / 1_000_000, null);
+    }
+
+    /**
+     * Resolve a Região de cada ambiente. Localizações "lat,lon" são resolvidas pelo índice
+     * espacial; as demais são tratadas como nome da região (comportamento anterior).
+     * As regiões são carregadas em poucas consultas IN por ciclo.
+     */
+    private Map<Long, Regiao> carregarRegioes(List<Ambiente> ambientes) {
+        Map<Long, Long> regiaoIdPorAmbiente = new HashMap<>();
+        Set<String> nomes = new LinkedHashSet<>();
+        for (Ambiente ambiente : ambientes) {
+            Optional<Long> regiaoId = Coordenada.interpretar(ambiente.getLocalizacao())
+                    .flatMap(indiceEspacialRegioes::localizar);
+            if (regiaoId.isPresent()) {
+                regiaoIdPorAmbiente.put(ambiente.getId(), regiaoId.get());
+            } else {
+                nomes.add(ambiente.getLocalizacao());
+            }
+        }
+
+        Map<Long, Regiao> regioesPorId = new HashMap<>();
+        List<Long> ids = new ArrayList<>(new HashSet<>(regiaoIdPorAmbiente.values()));
+        for (int i = 0; i < ids.size(); i += MAX_ITENS_IN) {
+            for (Regiao r : regiaoRepository.findAllById(ids.subList(i, Math.min(i + MAX_ITENS_IN, ids.size())))) {
+                regioesPorId.put(r.getId(), r);
+            }
+        }
+
+        Map<String, Regiao> regioesPorNome = new HashMap<>();
+        List<String> listaNomes = new ArrayList<>(nomes);
+        for (int i = 0; i < listaNomes.size(); i += MAX_ITENS_IN) {
+            List<String> parte = listaNomes.subList(i, Math.min(i + MAX_ITENS_IN, listaNomes.size()));
+            for (Regiao r : regiaoRepository.findByNomeIn(parte)) {
+                regioesPorNome.putIfAbsent(r.getNome(), r);
+            }
+        }
+
+        Map<Long, Regiao> regioesPorAmbiente = new HashMap<>();
+        for (Ambiente ambiente : ambientes) {
+            Long regiaoId = regiaoIdPorAmbiente.get(ambiente.getId());
+            Regiao regiao = regiaoId != null
+                    ? regioesPorId.get(regiaoId)
+                    : regioesPorNome.get(ambiente.getLocalizacao());
+            if (regiao != null) {
+                regioesPorAmbiente.put(ambiente.getId(), regiao);
             }
-            Bombeiro bombeiroDesignado = todosBombeiros.get(0);
-
-            // 4) Criar Alerta
-            Alerta alerta = new Alerta();
-            alerta.setDataHora(LocalDateTime.now());
-            alerta.setNivelRisco("ALTO");
-            alerta.setRiscoConfirmado(true);
-            alerta.setAmbiente(ambiente);
-            alerta.setResponsavel(bombeiroDesignado.getUsuario());
-            alertaRepository.save(alerta);
-
-            // 5) Buscar Rota para essa região
-            Optional<Rota> maybeRota =
-                    rotaRepository.findByPontoDestinoContainingIgnoreCase(regiao.getNome());
-            if (maybeRota.isPresent()) {
-                Rota rota = maybeRota.get();
-                System.out.println("MonitorService: Rota encontrada para região "
-                        + regiao.getNome()
-                        + ". Origem=" + rota.getPontoPartida()
-                        + ", Destino=" + rota.getPontoDestino()
-                );
+        }
+        return regioesPorAmbiente;
+    }
+
+    private Chamado novoChamado(Ambiente ambiente, Regiao regiao, LocalDateTime agora) {
+        Chamado chamado = new Chamado();
+        chamado.setOrigem("SISTEMA");
+        chamado.setDescricao(String.format(
+                "Detecção automática: Ambiente em %s com temperatura=%.2f e umidade=%.2f",
+                ambiente.getLocalizacao(),
+                ambiente.getTemperatura(),
+                ambiente.getUmidade()
+        ));
+        chamado.setRegiao(regiao);
+        chamado.setDataHora(agora);
+        chamado.setPrioridade("ALTA");
+        return chamado;
+    }
+
+    private Alerta novoAlerta(Ambiente ambiente, Bombeiro bombeiroDesignado, LocalDateTime agora) {
+        Alerta alerta = new Alerta();
+        alerta.setDataHora(agora);
+        alerta.setNivelRisco("ALTO");
+        alerta.setRiscoConfirmado(true);
+        alerta.setAmbiente(ambiente);
+        alerta.setResponsavel(bombeiroDesignado.getUsuario());
+        return alerta;
+    }
+
+    /**
+     * Para cada região atendida, o caminho mais rápido a partir do ponto de partida
+     * (ponto sem rotas de entrada, ex.: uma base) mais próximo, por busca reversa no grafo.
+     */
+    private void registrarRotas(Set<Regiao> regioes) {
+        if (regioes.isEmpty()) {
+            return;
+        }
+        GrafoRotas grafo = malhaRotas.grafo();
+        for (Regiao regiao : regioes) {
+            Optional<GrafoRotas.Caminho> maybeCaminho =
+                    grafo.caminhoMaisProximoAte(regiao.getNome(), grafo::ehPontoDePartida);
+            if (maybeCaminho.isPresent()) {
+                GrafoRotas.Caminho caminho = maybeCaminho.get();
+                log.debug("rota encontrada regiao={} origem={} destino={} tempo={}", regiao.getNome(),
+                        caminho.pontos().get(0), caminho.pontos().get(caminho.pontos().size() - 1),
+                        caminho.tempoTotal());
             } else {
-                System.out.println("MonitorService: nenhuma Rota cadastrada para região "
-                        + regiao.getNome());
+                avisos.aviso("sem-rota", "nenhuma rota cadastrada regiao={}", regiao.getNome());
             }
         }
     }
+
+    // Ambiente crítico do ciclo com a região resolvida e o bombeiro designado (pode ser null)
+    private record Atendimento(Ambiente ambiente, Regiao regiao, Bombeiro bombeiro) {
+    }
 }
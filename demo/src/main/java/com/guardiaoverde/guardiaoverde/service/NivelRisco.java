@@ -0,0 +1,33 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Níveis de risco aceitos em Alerta.nivelRisco ("ALTO", "médio", "Baixo"...).
+ */
+public enum NivelRisco {
+
+    BAIXO,
+    MEDIO,
+    ALTO;
+
+    /**
+     * Interpreta o texto do nível ignorando acentos e maiúsculas/minúsculas.
+     * Retorna vazio para níveis não reconhecidos.
+     */
+    public static Optional<NivelRisco> de(String texto) {
+        if (texto == null) {
+            return Optional.empty();
+        }
+        String chave = Normalizer.normalize(texto.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toUpperCase(Locale.ROOT);
+        try {
+            return Optional.of(NivelRisco.valueOf(chave));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+}
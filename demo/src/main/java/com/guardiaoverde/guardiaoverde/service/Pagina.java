@@ -0,0 +1,115 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.repository.RepositorioPaginavel;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Página de uma listagem por busca de chave (keyset). O cursor é opaco para o cliente:
+ * basta devolvê-lo no parâmetro {@code cursor} para ler a página seguinte.
+ * {@code proximoCursor} é null na última página.
+ */
+public record Pagina<T>(List<T> itens, String proximoCursor) {
+
+    public static final int LIMITE_PADRAO = 100;
+    public static final int LIMITE_MAXIMO = 1000;
+
+    /**
+     * Pedido ao banco de uma linha além do limite, para saber se há página seguinte.
+     */
+    public static Pageable pedido(int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + LIMITE_MAXIMO + ".");
+        }
+        return PageRequest.of(0, limite + 1);
+    }
+
+    /**
+     * Monta a página a partir de até limite + 1 linhas lidas.
+     */
+    public static <T> Pagina<T> de(List<T> lidos, int limite, Function<T, String> cursorDe) {
+        if (lidos.size() <= limite) {
+            return new Pagina<>(lidos, null);
+        }
+        List<T> itens = lidos.subList(0, limite);
+        return new Pagina<>(itens, cursorDe.apply(itens.get(limite - 1)));
+    }
+
+    /**
+     * Página em ordem crescente de id, para as entidades sem data de referência.
+     */
+    public static <T> Pagina<T> porId(RepositorioPaginavel<T> repositorio, String cursor, int limite,
+                                      Function<T, Long> id) {
+        return porId(repositorio::findByIdGreaterThanOrderByIdAsc, cursor, limite, id);
+    }
+
+    /**
+     * Página em ordem crescente de id lida por uma consulta própria (ex.: uma projeção),
+     * que recebe o id a partir do qual ler e o pedido.
+     */
+    public static <T> Pagina<T> porId(BiFunction<Long, Pageable, List<T>> consulta, String cursor, int limite,
+                                      Function<T, Long> id) {
+        Pageable pedido = pedido(limite);
+        Long depoisDe = cursor != null ? idDoCursor(cursor) : Long.MIN_VALUE;
+        List<T> lidos = consulta.apply(depoisDe, pedido);
+        return de(lidos, limite, t -> cursorDeId(id.apply(t)));
+    }
+
+    // ---------- Cursores ----------
+
+    public static String cursorDeId(Long id) {
+        return codificar(String.valueOf(id));
+    }
+
+    public static Long idDoCursor(String cursor) {
+        try {
+            return Long.valueOf(decodificar(cursor));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Cursor inválido.");
+        }
+    }
+
+    public static String cursorDeDataHora(LocalDateTime dataHora, Long id) {
+        return codificar(dataHora + "|" + id);
+    }
+
+    public static Posicao posicaoDoCursor(String cursor) {
+        String texto = decodificar(cursor);
+        int separador = texto.indexOf('|');
+        try {
+            if (separador < 0) {
+                throw new IllegalArgumentException("Cursor inválido.");
+            }
+            return new Posicao(LocalDateTime.parse(texto.substring(0, separador)),
+                    Long.valueOf(texto.substring(separador + 1)));
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            throw new IllegalArgumentException("Cursor inválido.");
+        }
+    }
+
+    /**
+     * Posição (dataHora, id) da última linha entregue, nas listagens da mais recente para a mais antiga.
+     */
+    public record Posicao(LocalDateTime dataHora, Long id) {
+    }
+
+    private static String codificar(String texto) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodificar(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Cursor inválido.");
+        }
+    }
+}
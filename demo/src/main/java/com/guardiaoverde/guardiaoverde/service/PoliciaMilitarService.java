@@ -4,31 +4,51 @@ import com.guardiaoverde.guardiaoverde.domain.PoliciaMilitar;
 import com.guardiaoverde.guardiaoverde.domain.Usuario;
 import com.guardiaoverde.guardiaoverde.repository.PoliciaMilitarRepository;
 import com.guardiaoverde.guardiaoverde.repository.UsuarioRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "guardiao.servico", histogram = true)
 public class PoliciaMilitarService {
 
     private final PoliciaMilitarRepository policiaMilitarRepository;
     private final UsuarioRepository usuarioRepository;
+    private final EscalaResponsaveis escalaResponsaveis;
 
     @Autowired
     public PoliciaMilitarService(PoliciaMilitarRepository policiaMilitarRepository,
-                                 UsuarioRepository usuarioRepository) {
+                                 UsuarioRepository usuarioRepository,
+                                 EscalaResponsaveis escalaResponsaveis) {
         this.policiaMilitarRepository = policiaMilitarRepository;
         this.usuarioRepository = usuarioRepository;
+        this.escalaResponsaveis = escalaResponsaveis;
     }
 
     /**
      * Lista todos os policiais militares.
      */
     public List<PoliciaMilitar> listarTodos() {
-        return policiaMilitarRepository.findAll();
+        return escalaResponsaveis.policiais();
+    }
+
+    /**
+     * Página de policiais militares em ordem de id, a partir do cursor (null para a primeira página).
+     */
+    public Pagina<PoliciaMilitar> listarPagina(String cursor, int limite) {
+        return Pagina.porId(policiaMilitarRepository, cursor, limite, PoliciaMilitar::getId);
+    }
+
+    /**
+     * Todos os policiais militares lidos sob demanda, para exportação (consumir dentro de uma transação).
+     */
+    public Stream<PoliciaMilitar> streamTodos() {
+        return policiaMilitarRepository.streamAllByOrderByIdAsc();
     }
 
     /**
@@ -36,7 +56,7 @@ public class PoliciaMilitarService {
      * Lança IllegalArgumentException se não encontrar.
      */
     public PoliciaMilitar buscarPorId(Long id) {
-        return policiaMilitarRepository.findById(id)
+        return escalaResponsaveis.policial(id)
                 .orElseThrow(() -> new IllegalArgumentException("Policial Militar não encontrado"));
     }
 
@@ -68,7 +88,9 @@ public class PoliciaMilitarService {
             pm.setUsuario(u);
         }
 
-        return policiaMilitarRepository.save(pm);
+        PoliciaMilitar salvo = policiaMilitarRepository.save(pm);
+        AposCommit.executar(() -> escalaResponsaveis.atualizarPolicial(salvo));
+        return salvo;
     }
 
     /**
@@ -77,7 +99,9 @@ public class PoliciaMilitarService {
      */
     @Transactional
     public PoliciaMilitar atualizarPolicia(Long id, PoliciaMilitar dadosAtualizados) {
-        PoliciaMilitar existente = buscarPorId(id);
+        // Cópia própria: a instância do cache só é trocada depois do commit
+        PoliciaMilitar existente = policiaMilitarRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Policial Militar não encontrado"));
 
         // Se houve troca de matrícula, verificar se a nova é única
         if (!existente.getMatricula().equals(dadosAtualizados.getMatricula())) {
@@ -107,7 +131,9 @@ public class PoliciaMilitarService {
             existente.setUsuario(null);
         }
 
-        return policiaMilitarRepository.save(existente);
+        PoliciaMilitar salvo = policiaMilitarRepository.save(existente);
+        AposCommit.executar(() -> escalaResponsaveis.atualizarPolicial(salvo));
+        return salvo;
     }
 
     /**
@@ -116,8 +142,10 @@ public class PoliciaMilitarService {
      */
     @Transactional
     public void excluirPolicia(Long id) {
-        PoliciaMilitar existente = buscarPorId(id);
+        PoliciaMilitar existente = policiaMilitarRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Policial Militar não encontrado"));
         policiaMilitarRepository.delete(existente);
+        AposCommit.executar(() -> escalaResponsaveis.removerPolicial(id));
     }
 
     /**
@@ -138,6 +166,6 @@ public class PoliciaMilitarService {
      * Verifica se um dado usuário já está vinculado a algum policial militar.
      */
     public Optional<PoliciaMilitar> findByUsuario(Usuario u) {
-        return policiaMilitarRepository.findByUsuario(u);
+        return escalaResponsaveis.policialDoUsuario(u.getId());
     }
 }
@@ -0,0 +1,206 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Limites geográficos de uma Região já interpretados, em arrays primitivos
+ * (x = longitude, y = latitude). Todos os anéis ficam concatenados; a regra par-ímpar
+ * trata furos e multipolígonos sem distinção entre anel externo e interno.
+ *
+ * Formatos aceitos em Regiao.limitesGeograficos:
+ * WKT  — POLYGON ((lon lat, lon lat, ...)) ou MULTIPOLYGON (((...)), ((...)))
+ * GeoJSON — {"type": "Polygon" | "MultiPolygon", "coordinates": [...]}
+ */
+public final class PoligonoRegiao {
+
+    // Grupo mais interno de parênteses do WKT: um anel "x y, x y, ..."
+    private static final Pattern ANEL_WKT = Pattern.compile("\\(([^()]+)\\)");
+
+    private final Long regiaoId;
+    private final double[] xs;
+    private final double[] ys;
+    private final int[] inicioAnel;
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+
+    private PoligonoRegiao(Long regiaoId, List<double[]> aneis) {
+        int total = 0;
+        for (double[] anel : aneis) {
+            total += anel.length / 2;
+        }
+        this.regiaoId = regiaoId;
+        this.xs = new double[total];
+        this.ys = new double[total];
+        this.inicioAnel = new int[aneis.size() + 1];
+
+        double x0 = Double.POSITIVE_INFINITY, y0 = Double.POSITIVE_INFINITY;
+        double x1 = Double.NEGATIVE_INFINITY, y1 = Double.NEGATIVE_INFINITY;
+        int k = 0;
+        for (int a = 0; a < aneis.size(); a++) {
+            inicioAnel[a] = k;
+            double[] anel = aneis.get(a);
+            for (int i = 0; i < anel.length; i += 2, k++) {
+                xs[k] = anel[i];
+                ys[k] = anel[i + 1];
+                x0 = Math.min(x0, xs[k]);
+                y0 = Math.min(y0, ys[k]);
+                x1 = Math.max(x1, xs[k]);
+                y1 = Math.max(y1, ys[k]);
+            }
+        }
+        inicioAnel[aneis.size()] = k;
+        this.minX = x0;
+        this.minY = y0;
+        this.maxX = x1;
+        this.maxY = y1;
+    }
+
+    /**
+     * Interpreta os limites geográficos de uma região.
+     * Retorna null se o texto não estiver em um formato reconhecido.
+     */
+    public static PoligonoRegiao interpretar(Long regiaoId, String limites) {
+        if (limites == null || limites.isBlank()) {
+            return null;
+        }
+        try {
+            String texto = limites.trim();
+            List<double[]> aneis = texto.startsWith("{") ? aneisGeoJson(texto) : aneisWkt(texto);
+            return aneis.isEmpty() ? null : new PoligonoRegiao(regiaoId, aneis);
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Indica se o ponto (lon, lat) está dentro dos limites (regra par-ímpar).
+     */
+    public boolean contem(double x, double y) {
+        if (x < minX || x > maxX || y < minY || y > maxY) {
+            return false;
+        }
+        boolean dentro = false;
+        for (int a = 0; a < inicioAnel.length - 1; a++) {
+            int inicio = inicioAnel[a];
+            int fim = inicioAnel[a + 1];
+            for (int i = inicio, j = fim - 1; i < fim; j = i++) {
+                if ((ys[i] > y) != (ys[j] > y)
+                        && x < (xs[j] - xs[i]) * (y - ys[i]) / (ys[j] - ys[i]) + xs[i]) {
+                    dentro = !dentro;
+                }
+            }
+        }
+        return dentro;
+    }
+
+    public Long getRegiaoId() {
+        return regiaoId;
+    }
+
+    public double getMinX() {
+        return minX;
+    }
+
+    public double getMinY() {
+        return minY;
+    }
+
+    public double getMaxX() {
+        return maxX;
+    }
+
+    public double getMaxY() {
+        return maxY;
+    }
+
+    public double area() {
+        return (maxX - minX) * (maxY - minY);
+    }
+
+    private static List<double[]> aneisWkt(String texto) {
+        String upper = texto.toUpperCase(Locale.ROOT);
+        if (!(upper.startsWith("POLYGON") || upper.startsWith("MULTIPOLYGON"))) {
+            return List.of();
+        }
+        List<double[]> aneis = new ArrayList<>();
+        Matcher m = ANEL_WKT.matcher(texto);
+        while (m.find()) {
+            String[] pontos = m.group(1).split(",");
+            double[] anel = new double[pontos.length * 2];
+            for (int i = 0; i < pontos.length; i++) {
+                String[] xy = pontos[i].trim().split("\\s+");
+                anel[2 * i] = Double.parseDouble(xy[0]);
+                anel[2 * i + 1] = Double.parseDouble(xy[1]);
+            }
+            if (pontos.length >= 3) {
+                aneis.add(anel);
+            }
+        }
+        return aneis;
+    }
+
+    private static List<double[]> aneisGeoJson(String texto) {
+        int chave = texto.indexOf("\"coordinates\"");
+        if (chave < 0) {
+            return List.of();
+        }
+        int[] pos = {texto.indexOf('[', chave)};
+        Object coordenadas = lerArray(texto, pos);
+        List<double[]> aneis = new ArrayList<>();
+        coletarAneis(coordenadas, aneis);
+        return aneis;
+    }
+
+    // Anel GeoJSON: lista cujos elementos são pares [lon, lat]
+    @SuppressWarnings("unchecked")
+    private static void coletarAneis(Object no, List<double[]> aneis) {
+        if (!(no instanceof List<?> lista) || lista.isEmpty()) {
+            return;
+        }
+        if (lista.get(0) instanceof List<?> primeiro && !primeiro.isEmpty() && primeiro.get(0) instanceof Double) {
+            double[] anel = new double[lista.size() * 2];
+            for (int i = 0; i < lista.size(); i++) {
+                List<Double> ponto = (List<Double>) lista.get(i);
+                anel[2 * i] = ponto.get(0);
+                anel[2 * i + 1] = ponto.get(1);
+            }
+            if (lista.size() >= 3) {
+                aneis.add(anel);
+            }
+            return;
+        }
+        for (Object filho : lista) {
+            coletarAneis(filho, aneis);
+        }
+    }
+
+    // Leitor mínimo de arrays JSON aninhados de números
+    private static Object lerArray(String s, int[] pos) {
+        List<Object> itens = new ArrayList<>();
+        pos[0]++; // '['
+        while (pos[0] < s.length()) {
+            char c = s.charAt(pos[0]);
+            if (c == '[') {
+                itens.add(lerArray(s, pos));
+            } else if (c == ']') {
+                pos[0]++;
+                return itens;
+            } else if (c == '-' || c == '+' || c == '.' || Character.isDigit(c)) {
+                int inicio = pos[0];
+                while (pos[0] < s.length() && "+-.eE0123456789".indexOf(s.charAt(pos[0])) >= 0) {
+                    pos[0]++;
+                }
+                itens.add(Double.parseDouble(s.substring(inicio, pos[0])));
+            } else {
+                pos[0]++;
+            }
+        }
+        throw new IllegalArgumentException("Array GeoJSON não terminado.");
+    }
+}
@@ -1,28 +1,51 @@
 package com.guardiaoverde.guardiaoverde.service;
 
 import com.guardiaoverde.guardiaoverde.domain.Regiao;
+import com.guardiaoverde.guardiaoverde.domain.ResumoRegiao;
 import com.guardiaoverde.guardiaoverde.repository.RegiaoRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "guardiao.servico", histogram = true)
 public class RegiaoService {
 
     private final RegiaoRepository regiaoRepository;
+    private final IndiceEspacialRegioes indiceEspacialRegioes;
+    private final InvalidacaoCache invalidacaoCache;
 
     @Autowired
-    public RegiaoService(RegiaoRepository regiaoRepository) {
+    public RegiaoService(RegiaoRepository regiaoRepository, IndiceEspacialRegioes indiceEspacialRegioes,
+                         InvalidacaoCache invalidacaoCache) {
         this.regiaoRepository = regiaoRepository;
+        this.indiceEspacialRegioes = indiceEspacialRegioes;
+        this.invalidacaoCache = invalidacaoCache;
     }
 
     /**
-     * Lista todas as regiões.
+     * Lista todas as regiões (resumo, sem os limites geográficos).
      */
-    public List<Regiao> listarTodas() {
-        return regiaoRepository.findAll();
+    public List<ResumoRegiao> listarTodas() {
+        return regiaoRepository.findResumos();
+    }
+
+    /**
+     * Página de regiões em ordem de id, a partir do cursor (null para a primeira página).
+     */
+    public Pagina<ResumoRegiao> listarPagina(String cursor, int limite) {
+        return Pagina.porId(regiaoRepository::findResumosDepoisDe, cursor, limite, ResumoRegiao::id);
+    }
+
+    /**
+     * Todos os regiões lidos sob demanda, para exportação (consumir dentro de uma transação).
+     */
+    public Stream<Regiao> streamTodos() {
+        return regiaoRepository.streamAllByOrderByIdAsc();
     }
 
     /**
@@ -36,8 +59,19 @@ public class RegiaoService {
     /**
      * Busca regiões cujo nome contenha o trecho informado (ignorando maiúsculas/minúsculas).
      */
-    public List<Regiao> buscarPorTrechoNome(String trecho) {
-        return regiaoRepository.findByNomeContainingIgnoreCase(trecho);
+    public List<ResumoRegiao> buscarPorTrechoNome(String trecho) {
+        return regiaoRepository.findResumosPorNome(trecho);
+    }
+
+    /**
+     * Busca a região que contém o ponto informado, pelo índice espacial em memória.
+     * Lança IllegalArgumentException se nenhuma região contiver o ponto.
+     */
+    public Regiao localizar(double latitude, double longitude) {
+        Coordenada coordenada = new Coordenada(latitude, longitude);
+        return indiceEspacialRegioes.localizar(coordenada)
+                .flatMap(regiaoRepository::findById)
+                .orElseThrow(() -> new IllegalArgumentException("Nenhuma região contém o ponto informado"));
     }
 
     /**
@@ -54,7 +88,10 @@ public class RegiaoService {
         if (!(tipo.equals("FLORESTA") || tipo.equals("CERRADO") || tipo.equals("CAATINGA") || tipo.equals("MATA ATLÂNTICA"))) {
             throw new IllegalArgumentException("Tipo de vegetação inválido: " + tipo);
         }
-        return regiaoRepository.save(r);
+        Regiao salvo = regiaoRepository.save(r);
+        invalidacaoCache.registrar(Regiao.class, salvo.getId());
+        AposCommit.executar(() -> indiceEspacialRegioes.atualizar(salvo));
+        return salvo;
     }
 
     /**
@@ -64,5 +101,7 @@ public class RegiaoService {
     public void excluirRegiao(Long id) {
         Regiao existente = findById(id);
         regiaoRepository.delete(existente);
+        invalidacaoCache.registrar(Regiao.class, id);
+        AposCommit.executar(() -> indiceEspacialRegioes.remover(id));
     }
 }
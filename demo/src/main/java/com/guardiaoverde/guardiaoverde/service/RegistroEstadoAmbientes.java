@@ -0,0 +1,48 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+/**
+ * Estado de monitoramento (máquina NORMAL → CRITICO → RECUPERADO) de cada Ambiente.
+ * Só guarda ambientes fora do estado NORMAL, então a memória cresce com o número
+ * de ambientes em alerta, não com o número de sensores.
+ */
+@Component
+public class RegistroEstadoAmbientes {
+
+    private final Map<Long, EstadoAmbiente> estados = new ConcurrentHashMap<>();
+
+    public EstadoAmbiente estadoDe(Long ambienteId) {
+        return estados.getOrDefault(ambienteId, EstadoAmbiente.NORMAL);
+    }
+
+    /**
+     * Aplica as transições calculadas em um ciclo do monitor.
+     */
+    public void aplicar(Map<Long, EstadoAmbiente> transicoes) {
+        transicoes.forEach(this::definir);
+    }
+
+    public void remover(Long ambienteId) {
+        estados.remove(ambienteId);
+    }
+
+    /**
+     * Esquece o estado dos ambientes que atendem ao critério (ex.: fatias que mudaram de dono).
+     */
+    public void removerSe(LongPredicate criterio) {
+        estados.keySet().removeIf(criterio::test);
+    }
+
+    private void definir(Long ambienteId, EstadoAmbiente estado) {
+        if (estado == EstadoAmbiente.NORMAL) {
+            estados.remove(ambienteId);
+        } else {
+            estados.put(ambienteId, estado);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Resumo de um ciclo do MonitorService: ambientes avaliados, transições para CRITICO,
+ * ambientes sem região e o resultado de cada partição gravada em paralelo.
+ */
+public record RelatorioCiclo(
+        LocalDateTime inicio,
+        long duracaoMs,
+        int alterados,
+        int criticos,
+        int naoAtendidos,
+        List<Particao> particoes
+) {
+
+    public int chamados() {
+        return particoes.stream().filter(Particao::efetivada).mapToInt(Particao::chamados).sum();
+    }
+
+    public int alertas() {
+        return particoes.stream().filter(Particao::efetivada).mapToInt(Particao::alertas).sum();
+    }
+
+    public long falhas() {
+        return particoes.stream().filter(p -> !p.efetivada()).count();
+    }
+
+    /**
+     * Uma partição do ciclo, gravada na própria transação. Se falhou, erro traz a causa
+     * e os ambientes dela são reavaliados no próximo ciclo.
+     */
+    public record Particao(int indice, int ambientes, int chamados, int alertas, long duracaoMs, String erro) {
+
+        public boolean efetivada() {
+            return erro == null;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import java.util.List;
+
+/**
+ * Uma página de resultados de busca e o total de registros encontrados.
+ */
+public record ResultadoBusca<T>(List<T> itens, long total) {
+}
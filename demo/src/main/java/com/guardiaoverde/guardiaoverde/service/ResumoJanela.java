@@ -0,0 +1,20 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+/**
+ * Estatísticas da janela recente de leituras de um Ambiente.
+ * Instantes em epoch millis; tendências em unidades por minuto (regressão linear).
+ */
+public record ResumoJanela(
+        int quantidade,
+        long inicio,
+        long fim,
+        double temperaturaMinima,
+        double temperaturaMaxima,
+        double temperaturaMedia,
+        double temperaturaTendencia,
+        double umidadeMinima,
+        double umidadeMaxima,
+        double umidadeMedia,
+        double umidadeTendencia
+) {
+}
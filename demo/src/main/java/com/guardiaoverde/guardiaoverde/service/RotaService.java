@@ -1,21 +1,32 @@
 package com.guardiaoverde.guardiaoverde.service;
 
+import com.guardiaoverde.guardiaoverde.domain.ResumoRota;
 import com.guardiaoverde.guardiaoverde.domain.Rota;
 import com.guardiaoverde.guardiaoverde.repository.RotaRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "guardiao.servico", histogram = true)
 public class RotaService {
 
+    // Limite de caminhos alternativos por consulta (Yen faz uma busca por ponto de cada caminho)
+    private static final int MAX_CAMINHOS = 10;
+
     private final RotaRepository rotaRepository;
+    private final MalhaRotas malhaRotas;
+    private final InvalidacaoCache invalidacaoCache;
 
     @Autowired
-    public RotaService(RotaRepository rotaRepository) {
+    public RotaService(RotaRepository rotaRepository, MalhaRotas malhaRotas, InvalidacaoCache invalidacaoCache) {
         this.rotaRepository = rotaRepository;
+        this.malhaRotas = malhaRotas;
+        this.invalidacaoCache = invalidacaoCache;
     }
 
     /**
@@ -29,14 +40,31 @@ public class RotaService {
         if (r.getDistancia() < 0) {
             throw new IllegalArgumentException("Distância não pode ser negativa.");
         }
-        return rotaRepository.save(r);
+        Rota salva = rotaRepository.save(r);
+        invalidacaoCache.registrar(Rota.class, salva.getId());
+        AposCommit.executar(() -> malhaRotas.atualizar(salva));
+        return salva;
+    }
+
+    /**
+     * Retorna todas as rotas (resumo, sem os caminhos alternativos).
+     */
+    public List<ResumoRota> listarRotas() {
+        return rotaRepository.findResumos();
+    }
+
+    /**
+     * Página de rotas em ordem de id, a partir do cursor (null para a primeira página).
+     */
+    public Pagina<ResumoRota> listarPagina(String cursor, int limite) {
+        return Pagina.porId(rotaRepository::findResumosDepoisDe, cursor, limite, ResumoRota::id);
     }
 
     /**
-     * Retorna todas as rotas.
+     * Todos os rotas lidos sob demanda, para exportação (consumir dentro de uma transação).
      */
-    public List<Rota> listarRotas() {
-        return rotaRepository.findAll();
+    public Stream<Rota> streamTodos() {
+        return rotaRepository.streamAllByOrderByIdAsc();
     }
 
     /**
@@ -54,5 +82,25 @@ public class RotaService {
     public void excluirRota(Long id) {
         Rota existente = findById(id);
         rotaRepository.delete(existente);
+        invalidacaoCache.registrar(Rota.class, id);
+        AposCommit.executar(() -> malhaRotas.remover(id));
+    }
+
+    /**
+     * Até k caminhos de menor tempo entre dois pontos da malha, em ordem crescente de tempo.
+     * Lança IllegalArgumentException se um dos pontos não existir ou se k for inválido.
+     */
+    public List<GrafoRotas.Caminho> buscarCaminhos(String de, String para, int k) {
+        if (k < 1 || k > MAX_CAMINHOS) {
+            throw new IllegalArgumentException("k deve estar entre 1 e " + MAX_CAMINHOS + ".");
+        }
+        GrafoRotas grafo = malhaRotas.grafo();
+        if (grafo.indiceDe(de) < 0) {
+            throw new IllegalArgumentException("Ponto não encontrado: " + de);
+        }
+        if (grafo.indiceDe(para) < 0) {
+            throw new IllegalArgumentException("Ponto não encontrado: " + para);
+        }
+        return grafo.caminhos(de, para, k);
     }
 }
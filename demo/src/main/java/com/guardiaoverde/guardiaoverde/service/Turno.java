@@ -0,0 +1,49 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import java.text.Normalizer;
+import java.time.LocalTime;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Turnos de trabalho reconhecidos no campo Bombeiro.turno ("Manhã", "TARDE", "noite"...).
+ */
+public enum Turno {
+
+    MANHA(6, 14),
+    TARDE(14, 22),
+    NOITE(22, 6);
+
+    private final int horaInicio;
+    private final int horaFim;
+
+    Turno(int horaInicio, int horaFim) {
+        this.horaInicio = horaInicio;
+        this.horaFim = horaFim;
+    }
+
+    /**
+     * Interpreta o texto do turno ignorando acentos e maiúsculas/minúsculas.
+     * Retorna vazio para turnos não reconhecidos (ex.: escalas especiais).
+     */
+    public static Optional<Turno> de(String texto) {
+        if (texto == null) {
+            return Optional.empty();
+        }
+        String chave = Normalizer.normalize(texto.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toUpperCase(Locale.ROOT);
+        try {
+            return Optional.of(Turno.valueOf(chave));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+
+    public boolean ativoEm(LocalTime hora) {
+        int h = hora.getHour();
+        return horaInicio < horaFim
+                ? h >= horaInicio && h < horaFim
+                : h >= horaInicio || h < horaFim;
+    }
+}
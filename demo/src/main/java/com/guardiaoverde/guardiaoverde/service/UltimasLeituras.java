@@ -0,0 +1,80 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.domain.LeituraAmbiente;
+import com.guardiaoverde.guardiaoverde.repository.LeituraAmbienteRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache da última leitura de cada Ambiente (projeção "valor mais recente").
+ * Entradas ausentes são carregadas uma única vez do banco; ambientes sem leitura
+ * também ficam em cache (Optional vazio) para não consultar o banco a cada chamada.
+ */
+@Component
+public class UltimasLeituras implements MeterBinder {
+
+    private final LeituraAmbienteRepository leituraAmbienteRepository;
+    private final Map<Long, Optional<LeituraAmbiente>> ultimas = new ConcurrentHashMap<>();
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+
+    @Autowired
+    public UltimasLeituras(LeituraAmbienteRepository leituraAmbienteRepository) {
+        this.leituraAmbienteRepository = leituraAmbienteRepository;
+    }
+
+    public Optional<LeituraAmbiente> ultimaDe(Long ambienteId) {
+        Optional<LeituraAmbiente> atual = ultimas.get(ambienteId);
+        if (atual != null) {
+            acertos.increment();
+            return atual;
+        }
+        faltas.increment();
+        return ultimas.computeIfAbsent(ambienteId,
+                id -> leituraAmbienteRepository.findTopByAmbienteIdOrderByDataHoraDesc(id));
+    }
+
+    /**
+     * Indica se a leitura é mais recente que a última conhecida do ambiente.
+     */
+    public boolean ehMaisRecente(LeituraAmbiente leitura) {
+        return ultimaDe(leitura.getAmbienteId())
+                .map(atual -> leitura.getDataHora().isAfter(atual.getDataHora()))
+                .orElse(true);
+    }
+
+    /**
+     * Registra a leitura se ela for mais recente que a atual (lotes podem chegar fora de ordem).
+     */
+    public void registrar(LeituraAmbiente leitura) {
+        ultimas.merge(leitura.getAmbienteId(), Optional.of(leitura), (atual, nova) ->
+                atual.isEmpty() || nova.get().getDataHora().isAfter(atual.get().getDataHora())
+                        ? nova : atual);
+    }
+
+    public void remover(Long ambienteId) {
+        ultimas.remove(ambienteId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("guardiao.cache.entradas", ultimas, Map::size)
+                .tag("cache", "ultimas-leituras")
+                .register(registry);
+        FunctionCounter.builder("guardiao.cache.consultas", acertos, LongAdder::sum)
+                .tag("cache", "ultimas-leituras").tag("resultado", "acerto")
+                .register(registry);
+        FunctionCounter.builder("guardiao.cache.consultas", faltas, LongAdder::sum)
+                .tag("cache", "ultimas-leituras").tag("resultado", "falta")
+                .register(registry);
+    }
+}
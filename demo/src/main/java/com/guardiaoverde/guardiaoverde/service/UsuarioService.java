@@ -6,27 +6,50 @@ import com.guardiaoverde.guardiaoverde.domain.Bombeiro;
 import com.guardiaoverde.guardiaoverde.repository.UsuarioRepository;
 import com.guardiaoverde.guardiaoverde.repository.PoliciaMilitarRepository;
 import com.guardiaoverde.guardiaoverde.repository.BombeiroRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "guardiao.servico", histogram = true)
 public class UsuarioService {
 
     private final UsuarioRepository usuarioRepository;
     private final PoliciaMilitarRepository policiaMilitarRepository;
     private final BombeiroRepository bombeiroRepository;
+    private final EscalaResponsaveis escalaResponsaveis;
+    private final InvalidacaoCache invalidacaoCache;
 
     @Autowired
     public UsuarioService(UsuarioRepository usuarioRepository,
                           PoliciaMilitarRepository policiaMilitarRepository,
-                          BombeiroRepository bombeiroRepository) {
+                          BombeiroRepository bombeiroRepository,
+                          EscalaResponsaveis escalaResponsaveis,
+                          InvalidacaoCache invalidacaoCache) {
         this.usuarioRepository = usuarioRepository;
         this.policiaMilitarRepository = policiaMilitarRepository;
         this.bombeiroRepository = bombeiroRepository;
+        this.escalaResponsaveis = escalaResponsaveis;
+        this.invalidacaoCache = invalidacaoCache;
+    }
+
+    /**
+     * Página de usuários em ordem de id, a partir do cursor (null para a primeira página).
+     */
+    public Pagina<Usuario> listarPagina(String cursor, int limite) {
+        return Pagina.porId(usuarioRepository, cursor, limite, Usuario::getId);
+    }
+
+    /**
+     * Todos os usuários lidos sob demanda, para exportação (consumir dentro de uma transação).
+     */
+    public Stream<Usuario> streamTodos() {
+        return usuarioRepository.streamAllByOrderByIdAsc();
     }
 
     /**
@@ -53,7 +76,9 @@ public class UsuarioService {
         // Aqui, em produção, aplicar hash na senha antes de salvar
         // novoUsuario.setSenha(hashService.hash(novoUsuario.getSenha()));
 
-        return usuarioRepository.save(novoUsuario);
+        Usuario salvo = usuarioRepository.save(novoUsuario);
+        invalidacaoCache.registrar(Usuario.class, salvo.getId());
+        return salvo;
     }
 
     /**
@@ -80,7 +105,21 @@ public class UsuarioService {
         existente.setPapel(dadosAtualizados.getPapel().toUpperCase());
         // NÃO atualizamos a senha aqui sem lógica específica de troca de senha
 
-        return usuarioRepository.save(existente);
+        Usuario salvo = usuarioRepository.save(existente);
+        invalidacaoCache.registrar(Usuario.class, id);
+        return salvo;
+    }
+
+    /**
+     * Exclui um usuário. Lança IllegalArgumentException se não existir.
+     */
+    @Transactional
+    public void excluirUsuario(Long id) {
+        if (!usuarioRepository.existsById(id)) {
+            throw new IllegalArgumentException("Usuário não encontrado");
+        }
+        usuarioRepository.deleteById(id);
+        invalidacaoCache.registrar(Usuario.class, id);
     }
 
     /**
@@ -104,7 +143,9 @@ public class UsuarioService {
         }
 
         dadosPolicial.setUsuario(u);
-        return policiaMilitarRepository.save(dadosPolicial);
+        PoliciaMilitar salvo = policiaMilitarRepository.save(dadosPolicial);
+        AposCommit.executar(() -> escalaResponsaveis.atualizarPolicial(salvo));
+        return salvo;
     }
 
     /**
@@ -128,6 +169,8 @@ public class UsuarioService {
         }
 
         dadosBombeiro.setUsuario(u);
-        return bombeiroRepository.save(dadosBombeiro);
+        Bombeiro salvo = bombeiroRepository.save(dadosBombeiro);
+        AposCommit.executar(() -> escalaResponsaveis.atualizarBombeiro(salvo));
+        return salvo;
     }
 }
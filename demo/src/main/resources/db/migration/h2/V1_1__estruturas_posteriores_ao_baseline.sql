@@ -0,0 +1,36 @@
+-- Estruturas que as entidades ganharam depois da versão original (ver db/migration/oracle).
+
+-- Marca d'água do ciclo incremental do MonitorService
+ALTER TABLE ambientes ADD atualizado_em TIMESTAMP(6);
+
+-- Base de cada bombeiro, origem das rotas no despacho
+ALTER TABLE bombeiros ADD base VARCHAR(100);
+
+-- Paginação por busca de chave (dataHora, id) das listagens
+CREATE INDEX idx_chamados_data_hora_id ON chamados (data_hora, id);
+CREATE INDEX idx_alertas_data_hora_id ON alertas (data_hora, id);
+
+-- Série de leituras dos sensores (LeituraAmbienteService)
+CREATE TABLE leituras_ambiente (
+    id          BIGINT           NOT NULL,
+    ambiente_id BIGINT           NOT NULL,
+    data_hora   TIMESTAMP(6)     NOT NULL,
+    temperatura DOUBLE PRECISION NOT NULL,
+    umidade     DOUBLE PRECISION NOT NULL,
+    CONSTRAINT pk_leituras_ambiente PRIMARY KEY (id)
+);
+
+-- Coordenação do monitor entre réplicas (CoordenacaoMonitor)
+CREATE TABLE monitor_fatias (
+    fatia     INTEGER NOT NULL,
+    dono      VARCHAR(100),
+    token     BIGINT  NOT NULL,
+    expira_em TIMESTAMP(6),
+    CONSTRAINT pk_monitor_fatias PRIMARY KEY (fatia)
+);
+
+CREATE TABLE monitor_nos (
+    id       VARCHAR(100) NOT NULL,
+    visto_em TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_monitor_nos PRIMARY KEY (id)
+);
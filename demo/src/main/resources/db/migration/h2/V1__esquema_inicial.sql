@@ -0,0 +1,84 @@
+-- Esquema inicial no H2 (perfil embarcado); mesma estrutura de db/migration/oracle: as
+-- tabelas das entidades da versão original, sem o que veio depois (ver V1.1).
+
+CREATE TABLE usuarios (
+    id    BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    nome  VARCHAR(100) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    senha VARCHAR(100) NOT NULL,
+    papel VARCHAR(50)  NOT NULL,
+    CONSTRAINT pk_usuarios PRIMARY KEY (id),
+    CONSTRAINT uk_usuarios_email UNIQUE (email)
+);
+
+CREATE TABLE regioes (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    nome                VARCHAR(100)     NOT NULL,
+    limites_geograficos CLOB             NOT NULL,
+    tipo_vegetacao      VARCHAR(50)      NOT NULL,
+    indice_secura       DOUBLE PRECISION NOT NULL,
+    CONSTRAINT pk_regioes PRIMARY KEY (id)
+);
+
+CREATE TABLE ambientes (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    clima         VARCHAR(50)      NOT NULL,
+    temperatura   DOUBLE PRECISION NOT NULL,
+    umidade       DOUBLE PRECISION NOT NULL,
+    localizacao   VARCHAR(100)     NOT NULL,
+    CONSTRAINT pk_ambientes PRIMARY KEY (id)
+);
+
+CREATE TABLE rotas (
+    id                    BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    ponto_partida         VARCHAR(100)     NOT NULL,
+    ponto_destino         VARCHAR(100)     NOT NULL,
+    tempo_estimado        DOUBLE PRECISION NOT NULL,
+    distancia             DOUBLE PRECISION NOT NULL,
+    caminhos_alternativos CLOB,
+    CONSTRAINT pk_rotas PRIMARY KEY (id)
+);
+
+CREATE TABLE bombeiros (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    usuario_id BIGINT,
+    nome       VARCHAR(100) NOT NULL,
+    turno      VARCHAR(50)  NOT NULL,
+    telefone   VARCHAR(20),
+    CONSTRAINT pk_bombeiros PRIMARY KEY (id),
+    CONSTRAINT fk_bombeiros_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id)
+);
+
+CREATE TABLE policias_militares (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    usuario_id BIGINT,
+    nome       VARCHAR(100) NOT NULL,
+    matricula  VARCHAR(20)  NOT NULL,
+    telefone   VARCHAR(20),
+    CONSTRAINT pk_policias_militares PRIMARY KEY (id),
+    CONSTRAINT uk_policias_militares_usuario UNIQUE (usuario_id),
+    CONSTRAINT fk_policias_militares_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id)
+);
+
+CREATE TABLE chamados (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    origem     VARCHAR(20)  NOT NULL,
+    descricao  VARCHAR(500) NOT NULL,
+    regiao_id  BIGINT       NOT NULL,
+    data_hora  TIMESTAMP(6) NOT NULL,
+    prioridade VARCHAR(10)  NOT NULL,
+    CONSTRAINT pk_chamados PRIMARY KEY (id),
+    CONSTRAINT fk_chamados_regiao FOREIGN KEY (regiao_id) REFERENCES regioes (id)
+);
+
+CREATE TABLE alertas (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    data_hora        TIMESTAMP(6) NOT NULL,
+    nivel_risco      VARCHAR(20)  NOT NULL,
+    risco_confirmado BOOLEAN      NOT NULL,
+    ambiente_id      BIGINT,
+    usuario_id       BIGINT,
+    CONSTRAINT pk_alertas PRIMARY KEY (id),
+    CONSTRAINT fk_alertas_ambiente FOREIGN KEY (ambiente_id) REFERENCES ambientes (id),
+    CONSTRAINT fk_alertas_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id)
+);
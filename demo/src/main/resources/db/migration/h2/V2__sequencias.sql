@@ -0,0 +1,10 @@
+-- Ids das entidades por sequência (tabela_seq, de 50 em 50; ver InsercaoEmLoteRepository).
+CREATE SEQUENCE usuarios_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE regioes_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE ambientes_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE rotas_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE bombeiros_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE policias_militares_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE chamados_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE alertas_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE leituras_ambiente_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,32 @@
+-- Índices das consultas frequentes (nome das consultas nos repositórios entre parênteses).
+
+-- Chamados de uma região por data (findByRegiaoId, findTopByRegiaoOrderByDataHoraDesc)
+CREATE INDEX idx_chamados_regiao_data_hora ON chamados (regiao_id, data_hora);
+
+-- Alertas de um ambiente por data (findByAmbiente, findAmbientesComAlertaDesde)
+CREATE INDEX idx_alertas_ambiente_data_hora ON alertas (ambiente_id, data_hora);
+
+-- Carga recente de cada responsável no despacho (findResponsavelEDataHoraDesde)
+CREATE INDEX idx_alertas_usuario_data_hora ON alertas (usuario_id, data_hora);
+
+-- Varredura pelos limiares do monitor (findByTemperaturaLessThanAndUmidadeLessThan)
+CREATE INDEX idx_ambientes_temp_umidade ON ambientes (temperatura, umidade);
+
+-- Ciclo incremental do monitor (findByAtualizadoEmAfterOrderByAtualizadoEmAsc)
+CREATE INDEX idx_ambientes_atualizado_em ON ambientes (atualizado_em);
+
+-- Série de leituras de um ambiente (findByAmbienteIdAndDataHora..., findTopByAmbienteId...)
+CREATE INDEX idx_leituras_ambiente_data_hora ON leituras_ambiente (ambiente_id, data_hora);
+
+-- Resolução de regiões pelo nome (findByNome, findByNomeIn)
+CREATE INDEX idx_regioes_nome ON regioes (nome);
+
+-- Escala de bombeiros por turno (findByTurno) e vínculo com o usuário
+CREATE INDEX idx_bombeiros_turno ON bombeiros (turno);
+CREATE INDEX idx_bombeiros_usuario ON bombeiros (usuario_id);
+
+-- Busca por matrícula (findByMatricula, existsByMatricula)
+CREATE INDEX idx_policias_militares_matricula ON policias_militares (matricula);
+
+-- Nós vivos do monitor coordenado (nosVivos)
+CREATE INDEX idx_monitor_nos_visto_em ON monitor_nos (visto_em);
@@ -0,0 +1,12 @@
+-- Invalidações do cache de segundo nível entre réplicas (InvalidacaoCache): cada nó grava
+-- uma linha por Regiao, Rota ou Usuario alterado e lê as gravadas pelos outros.
+CREATE TABLE cache_invalidacoes (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    entidade     VARCHAR(50)  NOT NULL,
+    entidade_id  BIGINT,
+    no_origem    VARCHAR(100) NOT NULL,
+    criado_em    TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_cache_invalidacoes PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_cache_invalidacoes_criado_em ON cache_invalidacoes (criado_em);
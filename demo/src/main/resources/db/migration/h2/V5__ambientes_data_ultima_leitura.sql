@@ -0,0 +1,6 @@
+-- Momento da medição da leitura projetada em temperatura/umidade: a atualização da
+-- projeção só vale para leituras mais novas (AmbienteRepository.atualizarUltimaLeitura).
+ALTER TABLE ambientes ADD data_ultima_leitura TIMESTAMP(6);
+
+UPDATE ambientes a
+   SET data_ultima_leitura = (SELECT MAX(l.data_hora) FROM leituras_ambiente l WHERE l.ambiente_id = a.id);
@@ -0,0 +1,7 @@
+-- Momento da última gravação de cada chamado: as réplicas leem por ele os chamados
+-- criados ou editados pelas outras para o índice de texto (IndiceTextoChamados.sincronizar).
+ALTER TABLE chamados ADD atualizado_em TIMESTAMP(6);
+
+UPDATE chamados SET atualizado_em = data_hora;
+
+CREATE INDEX idx_chamados_atualizado_em ON chamados (atualizado_em);
@@ -0,0 +1,38 @@
+-- Estruturas que as entidades ganharam depois da versão original e que os bancos criados
+-- pelo ddl-auto=update (marcados na V1 pelo baseline) não têm. Roda antes da V2, que já
+-- conta com leituras_ambiente.
+
+-- Marca d'água do ciclo incremental do MonitorService
+ALTER TABLE ambientes ADD atualizado_em TIMESTAMP(6);
+
+-- Base de cada bombeiro, origem das rotas no despacho
+ALTER TABLE bombeiros ADD base VARCHAR2(100 CHAR);
+
+-- Paginação por busca de chave (dataHora, id) das listagens
+CREATE INDEX idx_chamados_data_hora_id ON chamados (data_hora, id);
+CREATE INDEX idx_alertas_data_hora_id ON alertas (data_hora, id);
+
+-- Série de leituras dos sensores (LeituraAmbienteService)
+CREATE TABLE leituras_ambiente (
+    id          NUMBER(19,0) NOT NULL,
+    ambiente_id NUMBER(19,0) NOT NULL,
+    data_hora   TIMESTAMP(6) NOT NULL,
+    temperatura FLOAT(53)    NOT NULL,
+    umidade     FLOAT(53)    NOT NULL,
+    CONSTRAINT pk_leituras_ambiente PRIMARY KEY (id)
+);
+
+-- Coordenação do monitor entre réplicas (CoordenacaoMonitor)
+CREATE TABLE monitor_fatias (
+    fatia     NUMBER(10,0)       NOT NULL,
+    dono      VARCHAR2(100 CHAR),
+    token     NUMBER(19,0)       NOT NULL,
+    expira_em TIMESTAMP(6),
+    CONSTRAINT pk_monitor_fatias PRIMARY KEY (fatia)
+);
+
+CREATE TABLE monitor_nos (
+    id       VARCHAR2(100 CHAR) NOT NULL,
+    visto_em TIMESTAMP(6)       NOT NULL,
+    CONSTRAINT pk_monitor_nos PRIMARY KEY (id)
+);
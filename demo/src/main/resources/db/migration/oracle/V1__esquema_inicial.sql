@@ -0,0 +1,87 @@
+-- Esquema inicial: exatamente o que o ddl-auto=update criava a partir das entidades da
+-- versão original (ids IDENTITY, nenhum índice além das chaves). Bancos já existentes entram
+-- na versão 1 pelo baseline (spring.flyway.baseline-on-migrate) e seguem a partir da V1.1;
+-- tudo o que veio depois fica nas migrações seguintes, nunca aqui.
+
+CREATE TABLE usuarios (
+    id     NUMBER(19,0) GENERATED AS IDENTITY,
+    nome   VARCHAR2(100 CHAR) NOT NULL,
+    email  VARCHAR2(100 CHAR) NOT NULL,
+    senha  VARCHAR2(100 CHAR) NOT NULL,
+    papel  VARCHAR2(50 CHAR)  NOT NULL,
+    CONSTRAINT pk_usuarios PRIMARY KEY (id),
+    CONSTRAINT uk_usuarios_email UNIQUE (email)
+);
+
+CREATE TABLE regioes (
+    id                  NUMBER(19,0) GENERATED AS IDENTITY,
+    nome                VARCHAR2(100 CHAR) NOT NULL,
+    limites_geograficos CLOB               NOT NULL,
+    tipo_vegetacao      VARCHAR2(50 CHAR)  NOT NULL,
+    indice_secura       FLOAT(53)          NOT NULL,
+    CONSTRAINT pk_regioes PRIMARY KEY (id)
+);
+
+CREATE TABLE ambientes (
+    id            NUMBER(19,0) GENERATED AS IDENTITY,
+    clima         VARCHAR2(50 CHAR)  NOT NULL,
+    temperatura   FLOAT(53)          NOT NULL,
+    umidade       FLOAT(53)          NOT NULL,
+    localizacao   VARCHAR2(100 CHAR) NOT NULL,
+    CONSTRAINT pk_ambientes PRIMARY KEY (id)
+);
+
+CREATE TABLE rotas (
+    id                    NUMBER(19,0) GENERATED AS IDENTITY,
+    ponto_partida         VARCHAR2(100 CHAR) NOT NULL,
+    ponto_destino         VARCHAR2(100 CHAR) NOT NULL,
+    tempo_estimado        FLOAT(53)          NOT NULL,
+    distancia             FLOAT(53)          NOT NULL,
+    caminhos_alternativos CLOB,
+    CONSTRAINT pk_rotas PRIMARY KEY (id)
+);
+
+CREATE TABLE bombeiros (
+    id         NUMBER(19,0) GENERATED AS IDENTITY,
+    usuario_id NUMBER(19,0),
+    nome       VARCHAR2(100 CHAR) NOT NULL,
+    turno      VARCHAR2(50 CHAR)  NOT NULL,
+    telefone   VARCHAR2(20 CHAR),
+    CONSTRAINT pk_bombeiros PRIMARY KEY (id),
+    CONSTRAINT fk_bombeiros_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id)
+);
+
+CREATE TABLE policias_militares (
+    id         NUMBER(19,0) GENERATED AS IDENTITY,
+    usuario_id NUMBER(19,0),
+    nome       VARCHAR2(100 CHAR) NOT NULL,
+    matricula  VARCHAR2(20 CHAR)  NOT NULL,
+    telefone   VARCHAR2(20 CHAR),
+    CONSTRAINT pk_policias_militares PRIMARY KEY (id),
+    CONSTRAINT uk_policias_militares_usuario UNIQUE (usuario_id),
+    CONSTRAINT fk_policias_militares_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id)
+);
+
+CREATE TABLE chamados (
+    id         NUMBER(19,0) GENERATED AS IDENTITY,
+    origem     VARCHAR2(20 CHAR)  NOT NULL,
+    descricao  VARCHAR2(500 CHAR) NOT NULL,
+    regiao_id  NUMBER(19,0)       NOT NULL,
+    data_hora  TIMESTAMP(6)       NOT NULL,
+    prioridade VARCHAR2(10 CHAR)  NOT NULL,
+    CONSTRAINT pk_chamados PRIMARY KEY (id),
+    CONSTRAINT fk_chamados_regiao FOREIGN KEY (regiao_id) REFERENCES regioes (id)
+);
+
+CREATE TABLE alertas (
+    id               NUMBER(19,0) GENERATED AS IDENTITY,
+    data_hora        TIMESTAMP(6)      NOT NULL,
+    nivel_risco      VARCHAR2(20 CHAR) NOT NULL,
+    risco_confirmado NUMBER(1,0)       NOT NULL,
+    ambiente_id      NUMBER(19,0),
+    usuario_id       NUMBER(19,0),
+    CONSTRAINT pk_alertas PRIMARY KEY (id),
+    CONSTRAINT ck_alertas_risco_confirmado CHECK (risco_confirmado IN (0, 1)),
+    CONSTRAINT fk_alertas_ambiente FOREIGN KEY (ambiente_id) REFERENCES ambientes (id),
+    CONSTRAINT fk_alertas_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id)
+);
@@ -0,0 +1,37 @@
+-- Ids das entidades por sequência (tabela_seq, de 50 em 50; ver InsercaoEmLoteRepository).
+-- Em bancos criados pelo ddl-auto, a coluna id era IDENTITY e pode já haver uma sequência
+-- criada antes desta migração: a identidade é removida, a sequência recriada, e ela começa
+-- em MAX(id) + 50 para que o primeiro bloco do Hibernate (valor - 49 .. valor) fique
+-- acima dos ids existentes.
+DECLARE
+    PROCEDURE preparar(p_tabela VARCHAR2) IS
+        v_inicio NUMBER;
+        v_existe NUMBER;
+    BEGIN
+        SELECT COUNT(*) INTO v_existe FROM user_tab_identity_cols
+         WHERE table_name = UPPER(p_tabela) AND column_name = 'ID';
+        IF v_existe > 0 THEN
+            EXECUTE IMMEDIATE 'ALTER TABLE ' || p_tabela || ' MODIFY id DROP IDENTITY';
+        END IF;
+
+        SELECT COUNT(*) INTO v_existe FROM user_sequences WHERE sequence_name = UPPER(p_tabela || '_seq');
+        IF v_existe > 0 THEN
+            EXECUTE IMMEDIATE 'DROP SEQUENCE ' || p_tabela || '_seq';
+        END IF;
+
+        EXECUTE IMMEDIATE 'SELECT NVL(MAX(id), 0) + 50 FROM ' || p_tabela INTO v_inicio;
+        EXECUTE IMMEDIATE 'CREATE SEQUENCE ' || p_tabela || '_seq START WITH ' || v_inicio
+                || ' INCREMENT BY 50 CACHE 20';
+    END;
+BEGIN
+    preparar('usuarios');
+    preparar('regioes');
+    preparar('ambientes');
+    preparar('rotas');
+    preparar('bombeiros');
+    preparar('policias_militares');
+    preparar('chamados');
+    preparar('alertas');
+    preparar('leituras_ambiente');
+END;
+/
@@ -0,0 +1,12 @@
+-- Invalidações do cache de segundo nível entre réplicas (InvalidacaoCache): cada nó grava
+-- uma linha por Regiao, Rota ou Usuario alterado e lê as gravadas pelos outros.
+CREATE TABLE cache_invalidacoes (
+    id           NUMBER(19,0) GENERATED BY DEFAULT AS IDENTITY,
+    entidade     VARCHAR2(50 CHAR)  NOT NULL,
+    entidade_id  NUMBER(19,0),
+    no_origem    VARCHAR2(100 CHAR) NOT NULL,
+    criado_em    TIMESTAMP(6)       NOT NULL,
+    CONSTRAINT pk_cache_invalidacoes PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_cache_invalidacoes_criado_em ON cache_invalidacoes (criado_em);
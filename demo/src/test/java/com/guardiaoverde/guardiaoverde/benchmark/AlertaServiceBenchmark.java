@@ -0,0 +1,62 @@
+package com.guardiaoverde.guardiaoverde.benchmark;
+
+import com.guardiaoverde.guardiaoverde.domain.Alerta;
+import com.guardiaoverde.guardiaoverde.repository.PoliciaMilitarRepository;
+import com.guardiaoverde.guardiaoverde.service.AlertaService;
+import com.guardiaoverde.guardiaoverde.service.CooldownAlertas;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * AlertaService.criarAlerta fora de transação (sem proxy), com o repositório em memória:
+ * validação, reserva no intervalo mínimo e, para risco confirmado, escolha do bombeiro
+ * pelo DespachoService. Os alertas percorrem 1.000 ambientes e a dataHora avança um
+ * intervalo mínimo a cada volta, então todos são aceitos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AlertaServiceBenchmark {
+
+    private static final int AMBIENTES = 1_000;
+
+    @Param({"false", "true"})
+    public boolean riscoConfirmado;
+
+    private Cenario cenario;
+    private AlertaService alertaService;
+    private LocalDateTime inicio;
+    private long sequencia;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        cenario = new Cenario(AMBIENTES, false);
+        CooldownAlertas cooldown = new CooldownAlertas(cenario.alertaRepository);
+        alertaService = new AlertaService(cenario.alertaRepository, cenario.ambienteRepository,
+                mock(PoliciaMilitarRepository.class), cenario.despachoService, cooldown, cenario.eventosTempoReal);
+        inicio = LocalDateTime.now().minusYears(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        cenario.executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Alerta criar() {
+        long n = sequencia++;
+        Alerta alerta = new Alerta();
+        alerta.setAmbiente(cenario.ambientes.get((int) (n % AMBIENTES)));
+        alerta.setDataHora(inicio.plusMinutes(6 * (n / AMBIENTES)));
+        alerta.setNivelRisco("ALTO");
+        alerta.setRiscoConfirmado(riscoConfirmado);
+        return alertaService.criarAlerta(alerta);
+    }
+}
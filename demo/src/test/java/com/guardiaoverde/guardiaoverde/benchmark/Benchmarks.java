@@ -0,0 +1,40 @@
+package com.guardiaoverde.guardiaoverde.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Executa os benchmarks JMH deste pacote e grava os resultados em JSON
+ * (target/jmh/resultados.json, ou o arquivo de -rff), para comparar entre versões.
+ * Aceita as opções de linha de comando do JMH, ex.: um filtro como primeiro argumento
+ * ("MonitorCiclo") ou -p ambientes=1000.
+ *
+ * Execução (o JMH abre JVMs filhas, então o classpath precisa ser passado explicitamente):
+ * mvn -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ *   -Dexec.args="-cp %classpath com.guardiaoverde.guardiaoverde.benchmark.Benchmarks [opções do JMH]"
+ */
+public class Benchmarks {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions linha = new CommandLineOptions(args);
+        ChainedOptionsBuilder opcoes = new OptionsBuilder().parent(linha);
+        if (linha.getIncludes().isEmpty()) {
+            opcoes.include(Benchmarks.class.getPackageName() + "\\.");
+        }
+        if (!linha.getResult().hasValue()) {
+            Path resultado = Path.of("target", "jmh", "resultados.json");
+            Files.createDirectories(resultado.getParent());
+            opcoes.result(resultado.toString());
+        }
+        if (!linha.getResultFormat().hasValue()) {
+            opcoes.resultFormat(ResultFormatType.JSON);
+        }
+        new Runner(opcoes.build()).run();
+    }
+}
@@ -0,0 +1,167 @@
+package com.guardiaoverde.guardiaoverde.benchmark;
+
+import com.guardiaoverde.guardiaoverde.DemoApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Teste de carga de POST /v1/chamados nos dois modos de execução
+ * (spring.threads.virtual.enabled=false e true): sobe a aplicação em cada modo, dispara
+ * requisições com N clientes simultâneos (padrão 400) durante S segundos (padrão 30),
+ * depois do aquecimento, e mostra vazão e latências p50/p99/p99.9.
+ *
+ * Usa o banco configurado em application.properties (ou sobrescrito por -Dspring.datasource.*)
+ * e grava chamados de verdade na região informada; rodar contra um banco de teste.
+ * Threads virtuais exigem Java 21+.
+ *
+ * Execução:
+ * mvn -q exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.guardiaoverde.guardiaoverde.benchmark.CargaChamadosBenchmark
+ *   -Dexec.args="<regiaoId> [concorrencia] [duracaoS]"
+ */
+public class CargaChamadosBenchmark {
+
+    private static final int AQUECIMENTO_S = 10;
+
+    public static void main(String[] args) throws Exception {
+        long regiaoId = args.length > 0 ? Long.parseLong(args[0]) : 1L;
+        int concorrencia = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        int duracaoS = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        System.out.printf("%-12s %8s %12s %10s %10s %10s %8s%n",
+                "modo", "clientes", "req/s", "p50 (ms)", "p99 (ms)", "p99.9 (ms)", "erros");
+        for (boolean virtuais : new boolean[]{false, true}) {
+            String modo = virtuais ? "virtual" : "plataforma";
+            // Como argumentos de linha de comando, para terem precedência sobre application.properties
+            ConfigurableApplicationContext contexto = new SpringApplicationBuilder(DemoApplication.class)
+                    .run("--server.port=0",
+                            "--spring.threads.virtual.enabled=" + virtuais,
+                            "--spring.jpa.show-sql=false",
+                            "--monitor.periodo-ms=3600000");
+            try {
+                int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+                Carga carga = new Carga(porta, regiaoId, modo);
+                carga.executar(concorrencia, AQUECIMENTO_S);
+                Resultado r = carga.executar(concorrencia, duracaoS);
+                System.out.printf("%-12s %8d %12.1f %10.2f %10.2f %10.2f %8d%n",
+                        modo, concorrencia, r.vazao(), r.percentil(0.50), r.percentil(0.99),
+                        r.percentil(0.999), r.erros());
+            } finally {
+                contexto.close();
+            }
+        }
+    }
+
+    private static final class Carga {
+
+        private final HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        private final URI destino;
+        private final long regiaoId;
+        private final String modo;
+        private final String autorizacao = "Basic "
+                + Base64.getEncoder().encodeToString("admin:admin".getBytes(StandardCharsets.UTF_8));
+        private final AtomicLong sequencia = new AtomicLong();
+
+        Carga(int porta, long regiaoId, String modo) {
+            this.destino = URI.create("http://localhost:" + porta + "/v1/chamados");
+            this.regiaoId = regiaoId;
+            this.modo = modo;
+        }
+
+        // Cada cliente envia a próxima requisição assim que recebe a resposta da anterior
+        Resultado executar(int concorrencia, int duracaoS) throws InterruptedException {
+            long fim = System.nanoTime() + Duration.ofSeconds(duracaoS).toNanos();
+            long[][] latencias = new long[concorrencia][];
+            int[] quantidades = new int[concorrencia];
+            AtomicLong erros = new AtomicLong();
+            CountDownLatch terminou = new CountDownLatch(concorrencia);
+            long inicio = System.nanoTime();
+            for (int c = 0; c < concorrencia; c++) {
+                int cliente = c;
+                Thread t = new Thread(() -> {
+                    long[] minhas = new long[1024];
+                    int n = 0;
+                    while (System.nanoTime() < fim) {
+                        long antes = System.nanoTime();
+                        if (!enviar()) {
+                            erros.incrementAndGet();
+                        }
+                        if (n == minhas.length) {
+                            minhas = Arrays.copyOf(minhas, n * 2);
+                        }
+                        minhas[n++] = System.nanoTime() - antes;
+                    }
+                    latencias[cliente] = minhas;
+                    quantidades[cliente] = n;
+                    terminou.countDown();
+                }, "carga-" + c);
+                t.setDaemon(true);
+                t.start();
+            }
+            terminou.await();
+            long decorrido = System.nanoTime() - inicio;
+
+            int total = Arrays.stream(quantidades).sum();
+            long[] todas = new long[total];
+            int pos = 0;
+            for (int c = 0; c < concorrencia; c++) {
+                System.arraycopy(latencias[c], 0, todas, pos, quantidades[c]);
+                pos += quantidades[c];
+            }
+            Arrays.sort(todas);
+            return new Resultado(todas, decorrido, erros.get());
+        }
+
+        private boolean enviar() {
+            long n = sequencia.incrementAndGet();
+            // Descrição única por requisição, para não cair na deduplicação de chamados
+            String corpo = "{\"origem\":\"CARGA\",\"descricao\":\"Carga " + modo + " " + n + "\","
+                    + "\"regiao\":{\"id\":" + regiaoId + "},"
+                    + "\"dataHora\":\"" + LocalDateTime.now().minusSeconds(1).withNano(0) + "\","
+                    + "\"prioridade\":\"MEDIA\"}";
+            HttpRequest requisicao = HttpRequest.newBuilder(destino)
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", autorizacao)
+                    .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                    .build();
+            try {
+                HttpResponse<Void> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                return resposta.statusCode() / 100 == 2;
+            } catch (Exception ex) {
+                return false;
+            }
+        }
+    }
+
+    private record Resultado(long[] latenciasNs, long decorridoNs, long erros) {
+
+        double vazao() {
+            return latenciasNs.length / (decorridoNs / 1e9);
+        }
+
+        double percentil(double p) {
+            if (latenciasNs.length == 0) {
+                return Double.NaN;
+            }
+            int i = (int) Math.min(latenciasNs.length - 1, Math.ceil(p * latenciasNs.length) - 1);
+            return latenciasNs[Math.max(0, i)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.guardiaoverde.guardiaoverde.benchmark;
+
+import com.guardiaoverde.guardiaoverde.DemoApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Teste de carga de ponta a ponta: sobe a aplicação no perfil "embarcado" (H2 em memória,
+ * esquema pelas migrações), popula o banco com o perfil "gerador" e reproduz uma mistura configurável de requisições com N clientes
+ * simultâneos durante S segundos, depois do aquecimento. Mostra, por operação, vazão e
+ * latências de um histograma HDR, e grava cada histograma em target/carga/&lt;operacao&gt;.hgrm.
+ *
+ * Cada cliente envia a próxima requisição assim que recebe a resposta (carga em laço
+ * fechado): as latências medem o serviço sob a concorrência escolhida, não sob uma taxa fixa.
+ *
+ * Parâmetros (argumentos --nome=valor; os demais são repassados à aplicação):
+ *   carga.mistura       operacao=peso,... (ver OPERACOES; padrão em MISTURA_PADRAO)
+ *   carga.clientes      clientes simultâneos (padrão 64)
+ *   carga.duracao-s     duração da medição (padrão 60)
+ *   carga.aquecimento-s duração do aquecimento (padrão 10)
+ *   gerador.*           volumes gerados (menores que os padrões da aplicação)
+ *
+ * Execução:
+ * mvn -q exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.guardiaoverde.guardiaoverde.benchmark.CargaMistaBenchmark
+ *   -Dexec.args="--carga.clientes=128 --gerador.chamados=1000000"
+ */
+public class CargaMistaBenchmark {
+
+    private static final List<String> OPERACOES = List.of(
+            "listar-chamados", "buscar-chamado", "criar-chamado",
+            "listar-alertas", "criar-alerta",
+            "buscar-ambiente", "registrar-leituras");
+
+    private static final String MISTURA_PADRAO = "listar-chamados=20,buscar-chamado=20,criar-chamado=15,"
+            + "listar-alertas=10,criar-alerta=10,buscar-ambiente=15,registrar-leituras=10";
+
+    // Maior latência registrada nos histogramas (µs); acima disso, o valor é truncado
+    private static final long LATENCIA_MAXIMA_US = TimeUnit.MINUTES.toMicros(2);
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> propriedades = new LinkedHashMap<>();
+        propriedades.put("server.port", "0");
+        propriedades.put("spring.profiles.active", "embarcado,gerador");
+        propriedades.put("chamado.indice-texto.arquivo", "target/carga/indice-chamados.seg");
+        propriedades.put("gerador.regioes", "500");
+        propriedades.put("gerador.ambientes", "20000");
+        propriedades.put("gerador.chamados", "200000");
+        propriedades.put("gerador.bombeiros", "100");
+        // Argumentos de linha de comando têm precedência sobre application.properties
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (arg.startsWith("--") && igual > 2) {
+                propriedades.put(arg.substring(2, igual), arg.substring(igual + 1));
+            }
+        }
+        String[] argumentos = propriedades.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(DemoApplication.class).run(argumentos);
+        try {
+            Environment ambiente = contexto.getEnvironment();
+            int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            Carga carga = new Carga(porta, mistura(ambiente.getProperty("carga.mistura", MISTURA_PADRAO)),
+                    ambiente.getProperty("gerador.regioes", Integer.class),
+                    ambiente.getProperty("gerador.ambientes", Integer.class),
+                    ambiente.getProperty("gerador.chamados", Integer.class));
+            int clientes = ambiente.getProperty("carga.clientes", Integer.class, 64);
+
+            carga.executar(clientes, ambiente.getProperty("carga.aquecimento-s", Integer.class, 10));
+            Resultado resultado = carga.executar(clientes, ambiente.getProperty("carga.duracao-s", Integer.class, 60));
+            resultado.imprimir(clientes);
+            resultado.gravar(Path.of("target", "carga"));
+        } finally {
+            contexto.close();
+        }
+    }
+
+    // "operacao=peso,..." → pesos na ordem de OPERACOES
+    private static int[] mistura(String texto) {
+        int[] pesos = new int[OPERACOES.size()];
+        for (String parte : texto.split(",")) {
+            String[] chaveValor = parte.trim().split("=");
+            int indice = OPERACOES.indexOf(chaveValor[0].trim());
+            if (indice < 0 || chaveValor.length != 2) {
+                throw new IllegalArgumentException("Operação desconhecida em carga.mistura: " + parte
+                        + " (válidas: " + OPERACOES + ")");
+            }
+            pesos[indice] = Integer.parseInt(chaveValor[1].trim());
+        }
+        if (Arrays.stream(pesos).sum() <= 0) {
+            throw new IllegalArgumentException("carga.mistura sem nenhuma operação com peso positivo.");
+        }
+        return pesos;
+    }
+
+    private static final class Carga {
+
+        private final HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        private final String base;
+        private final int[] acumulado;
+        private final int regioes;
+        private final int ambientes;
+        private final int chamados;
+        private final String autorizacao = "Basic "
+                + Base64.getEncoder().encodeToString("admin:admin".getBytes(StandardCharsets.UTF_8));
+        private final AtomicLong sequencia = new AtomicLong();
+
+        Carga(int porta, int[] pesos, int regioes, int ambientes, int chamados) {
+            this.base = "http://localhost:" + porta;
+            this.acumulado = new int[pesos.length];
+            int soma = 0;
+            for (int i = 0; i < pesos.length; i++) {
+                soma += pesos[i];
+                acumulado[i] = soma;
+            }
+            this.regioes = regioes;
+            this.ambientes = ambientes;
+            this.chamados = chamados;
+        }
+
+        Resultado executar(int clientes, int duracaoS) throws InterruptedException {
+            long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(duracaoS);
+            Histogram[][] porCliente = new Histogram[clientes][];
+            long[][] recusadas = new long[clientes][OPERACOES.size()];
+            long[][] erros = new long[clientes][OPERACOES.size()];
+            CountDownLatch terminou = new CountDownLatch(clientes);
+            long inicio = System.nanoTime();
+            for (int c = 0; c < clientes; c++) {
+                int indice = c;
+                Thread t = new Thread(() -> {
+                    Histogram[] meus = new Histogram[OPERACOES.size()];
+                    for (int o = 0; o < meus.length; o++) {
+                        meus[o] = new Histogram(LATENCIA_MAXIMA_US, 3);
+                    }
+                    while (System.nanoTime() < fim) {
+                        int operacao = sortear();
+                        long antes = System.nanoTime();
+                        int status = enviar(operacao);
+                        long us = (System.nanoTime() - antes) / 1_000;
+                        meus[operacao].recordValue(Math.min(us, LATENCIA_MAXIMA_US));
+                        if (status < 0 || status >= 500) {
+                            erros[indice][operacao]++;
+                        } else if (status >= 400) {
+                            recusadas[indice][operacao]++;
+                        }
+                    }
+                    porCliente[indice] = meus;
+                    terminou.countDown();
+                }, "carga-" + c);
+                t.setDaemon(true);
+                t.start();
+            }
+            terminou.await();
+            long decorrido = System.nanoTime() - inicio;
+
+            Histogram[] total = new Histogram[OPERACOES.size()];
+            long[] totalRecusadas = new long[OPERACOES.size()];
+            long[] totalErros = new long[OPERACOES.size()];
+            for (int o = 0; o < total.length; o++) {
+                total[o] = new Histogram(LATENCIA_MAXIMA_US, 3);
+                for (int c = 0; c < clientes; c++) {
+                    total[o].add(porCliente[c][o]);
+                    totalRecusadas[o] += recusadas[c][o];
+                    totalErros[o] += erros[c][o];
+                }
+            }
+            return new Resultado(total, totalRecusadas, totalErros, decorrido);
+        }
+
+        private int sortear() {
+            int valor = ThreadLocalRandom.current().nextInt(acumulado[acumulado.length - 1]);
+            for (int i = 0; i < acumulado.length; i++) {
+                if (valor < acumulado[i]) {
+                    return i;
+                }
+            }
+            return acumulado.length - 1;
+        }
+
+        // Status HTTP da resposta, ou -1 se a requisição falhou
+        private int enviar(int operacao) {
+            ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+            LocalDateTime agora = LocalDateTime.now().minusSeconds(1).withNano(0);
+            long n = sequencia.incrementAndGet();
+            HttpRequest.Builder requisicao = switch (OPERACOES.get(operacao)) {
+                case "listar-chamados" -> get("/v1/chamados?limite=50");
+                case "buscar-chamado" -> get("/v1/chamados/" + (1 + aleatorio.nextInt(chamados)));
+                // Descrição única por requisição, para não cair na deduplicação de chamados
+                case "criar-chamado" -> post("/v1/chamados", "{\"origem\":\"USUARIO\","
+                        + "\"descricao\":\"Carga mista " + n + "\","
+                        + "\"regiao\":{\"id\":" + (1 + aleatorio.nextInt(regioes)) + "},"
+                        + "\"dataHora\":\"" + agora + "\",\"prioridade\":\"MEDIA\"}");
+                case "listar-alertas" -> get("/v1/alertas?limite=50");
+                // Ambiente sorteado: alertas repetidos no intervalo mínimo são recusados (400)
+                case "criar-alerta" -> post("/v1/alertas", "{\"dataHora\":\"" + agora + "\","
+                        + "\"nivelRisco\":\"ALTO\",\"riscoConfirmado\":true,"
+                        + "\"ambiente\":{\"id\":" + (1 + aleatorio.nextInt(ambientes)) + "}}");
+                case "buscar-ambiente" -> get("/v1/ambientes/" + (1 + aleatorio.nextInt(ambientes)));
+                case "registrar-leituras" -> post("/v1/ambientes/" + (1 + aleatorio.nextInt(ambientes)) + "/leituras",
+                        leituras(agora, aleatorio));
+                default -> throw new IllegalStateException(OPERACOES.get(operacao));
+            };
+            try {
+                return cliente.send(requisicao.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (Exception ex) {
+                return -1;
+            }
+        }
+
+        private HttpRequest.Builder get(String caminho) {
+            return HttpRequest.newBuilder(URI.create(base + caminho))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Authorization", autorizacao)
+                    .GET();
+        }
+
+        private HttpRequest.Builder post(String caminho, String corpo) {
+            return HttpRequest.newBuilder(URI.create(base + caminho))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", autorizacao)
+                    .POST(HttpRequest.BodyPublishers.ofString(corpo));
+        }
+
+        // Dez leituras, uma a cada 5 segundos até agora
+        private static String leituras(LocalDateTime agora, ThreadLocalRandom aleatorio) {
+            StringJoiner corpo = new StringJoiner(",", "[", "]");
+            for (int i = 9; i >= 0; i--) {
+                corpo.add(String.format(Locale.ROOT, "{\"dataHora\":\"%s\",\"temperatura\":%.1f,\"umidade\":%.1f}",
+                        agora.minusSeconds(5L * i), 25 + aleatorio.nextDouble() * 20, 15 + aleatorio.nextDouble() * 60));
+            }
+            return corpo.toString();
+        }
+    }
+
+    private record Resultado(Histogram[] histogramas, long[] recusadas, long[] erros, long decorridoNs) {
+
+        void imprimir(int clientes) {
+            double segundos = decorridoNs / 1e9;
+            System.out.printf("%d clientes, %.0f s%n", clientes, segundos);
+            System.out.printf("%-20s %10s %10s %9s %9s %9s %9s %9s %9s %8s%n", "operação", "requisições",
+                    "req/s", "p50 (ms)", "p90 (ms)", "p99 (ms)", "p99.9 (ms)", "máx (ms)", "recusadas", "erros");
+            for (int o = 0; o < histogramas.length; o++) {
+                Histogram h = histogramas[o];
+                if (h.getTotalCount() == 0) {
+                    continue;
+                }
+                System.out.printf(Locale.ROOT, "%-20s %10d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9d %8d%n",
+                        OPERACOES.get(o), h.getTotalCount(), h.getTotalCount() / segundos,
+                        ms(h, 50), ms(h, 90), ms(h, 99), ms(h, 99.9), h.getMaxValue() / 1000.0,
+                        recusadas[o], erros[o]);
+            }
+        }
+
+        // Distribuição completa de percentis de cada operação, em ms (formato .hgrm)
+        void gravar(Path pasta) throws IOException {
+            Files.createDirectories(pasta);
+            for (int o = 0; o < histogramas.length; o++) {
+                if (histogramas[o].getTotalCount() == 0) {
+                    continue;
+                }
+                try (PrintStream saida = new PrintStream(
+                        Files.newOutputStream(pasta.resolve(OPERACOES.get(o) + ".hgrm")), false, StandardCharsets.UTF_8)) {
+                    histogramas[o].outputPercentileDistribution(saida, 1000.0);
+                }
+            }
+        }
+
+        private static double ms(Histogram h, double percentil) {
+            return h.getValueAtPercentile(percentil) / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.guardiaoverde.guardiaoverde.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guardiaoverde.guardiaoverde.domain.*;
+import com.guardiaoverde.guardiaoverde.repository.*;
+import com.guardiaoverde.guardiaoverde.service.CooldownAlertas;
+import com.guardiaoverde.guardiaoverde.service.CoordenacaoMonitor;
+import com.guardiaoverde.guardiaoverde.service.DespachoService;
+import com.guardiaoverde.guardiaoverde.service.EscalaResponsaveis;
+import com.guardiaoverde.guardiaoverde.service.EventosTempoReal;
+import com.guardiaoverde.guardiaoverde.service.IndiceEspacialRegioes;
+import com.guardiaoverde.guardiaoverde.service.IndiceTextoChamados;
+import com.guardiaoverde.guardiaoverde.service.MalhaRotas;
+import com.guardiaoverde.guardiaoverde.service.MatrizTemposService;
+import com.guardiaoverde.guardiaoverde.service.MonitorService;
+import com.guardiaoverde.guardiaoverde.service.RegistroEstadoAmbientes;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.MockSettings;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Dados e serviços em memória compartilhados pelos benchmarks: regiões com uma rota a
+ * partir de uma das bases, ambientes críticos distribuídos entre as regiões e bombeiros
+ * disponíveis a qualquer hora. Os repositórios são mocks do Mockito, então nada depende
+ * de banco.
+ *
+ * Com {@code contarConsultas}, os mocks guardam as chamadas recebidas (para
+ * {@link #consultas()}); sem ele, são só stubs, para não acumular memória em benchmarks
+ * de milhões de operações.
+ */
+final class Cenario {
+
+    static final int REGIOES = 500;
+    static final int BOMBEIROS = 50;
+
+    final AmbienteRepository ambienteRepository;
+    final RegiaoRepository regiaoRepository;
+    final BombeiroRepository bombeiroRepository;
+    final RotaRepository rotaRepository;
+    final InsercaoEmLoteRepository insercaoEmLoteRepository;
+    final AlertaRepository alertaRepository;
+    final ChamadoRepository chamadoRepository;
+    final MalhaRotas malhaRotas;
+    final MatrizTemposService matrizTemposService;
+    final IndiceEspacialRegioes indiceEspacialRegioes;
+    final EscalaResponsaveis escalaResponsaveis;
+    final DespachoService despachoService;
+    final EventosTempoReal eventosTempoReal;
+    final List<Regiao> regioes = new ArrayList<>();
+    final List<Ambiente> ambientes;
+    final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r);
+        t.setDaemon(true);
+        return t;
+    });
+
+    Cenario(int volume, boolean contarConsultas) {
+        ambienteRepository = mock(AmbienteRepository.class, opcoes(contarConsultas));
+        regiaoRepository = mock(RegiaoRepository.class, opcoes(contarConsultas));
+        bombeiroRepository = mock(BombeiroRepository.class, opcoes(contarConsultas));
+        rotaRepository = mock(RotaRepository.class, opcoes(contarConsultas));
+        insercaoEmLoteRepository = mock(InsercaoEmLoteRepository.class, opcoes(false));
+        alertaRepository = mock(AlertaRepository.class, opcoes(false));
+        chamadoRepository = mock(ChamadoRepository.class, opcoes(false));
+        malhaRotas = new MalhaRotas(rotaRepository);
+        matrizTemposService = new MatrizTemposService(malhaRotas);
+        indiceEspacialRegioes = new IndiceEspacialRegioes(regiaoRepository);
+        escalaResponsaveis = new EscalaResponsaveis(bombeiroRepository, mock(PoliciaMilitarRepository.class));
+        despachoService = new DespachoService(escalaResponsaveis, alertaRepository,
+                matrizTemposService, indiceEspacialRegioes);
+        eventosTempoReal = new EventosTempoReal(new ObjectMapper(), indiceEspacialRegioes, Runnable::run);
+
+        List<Rota> rotas = new ArrayList<>();
+        for (int r = 0; r < REGIOES; r++) {
+            Regiao regiao = new Regiao("Regiao-" + r, "POLYGON EMPTY", "CERRADO", r % 5 == 0 ? 0.9 : 0.5);
+            ReflectionTestUtils.setField(regiao, "id", (long) r + 1);
+            regioes.add(regiao);
+            Rota rota = new Rota("Base-" + (r % 20), "Regiao-" + r, 30.0, 15.0, null);
+            ReflectionTestUtils.setField(rota, "id", (long) r + 1);
+            rotas.add(rota);
+        }
+
+        ambientes = new ArrayList<>(volume);
+        for (int a = 0; a < volume; a++) {
+            Ambiente ambiente = new Ambiente("ENSOLARADO", 38.0, 12.0, "Regiao-" + (a % REGIOES));
+            ReflectionTestUtils.setField(ambiente, "id", (long) a + 1);
+            ambientes.add(ambiente);
+        }
+
+        // Turno não reconhecido: todos disponíveis a qualquer hora
+        List<Bombeiro> bombeiros = new ArrayList<>();
+        for (int b = 0; b < BOMBEIROS; b++) {
+            Usuario usuario = new Usuario("Bombeiro " + b, "b" + b + "@ex.com", "x", "BOMBEIRO");
+            usuario.setId((long) b + 1);
+            Bombeiro bombeiro = new Bombeiro(usuario, "Bombeiro " + b, "INTEGRAL", null);
+            bombeiro.setId((long) b + 1);
+            bombeiro.setBase("Base-" + (b % 20));
+            bombeiros.add(bombeiro);
+        }
+
+        when(ambienteRepository.findByTemperaturaLessThanAndUmidadeLessThan(anyDouble(), anyDouble()))
+                .thenReturn(ambientes);
+        when(ambienteRepository.findById(anyLong())).thenAnswer(inv -> {
+            long id = inv.getArgument(0);
+            return id >= 1 && id <= ambientes.size() ? Optional.of(ambientes.get((int) id - 1)) : Optional.empty();
+        });
+        when(regiaoRepository.findByNomeIn(any())).thenAnswer(inv -> {
+            Collection<String> nomes = inv.getArgument(0);
+            return regioes.stream().filter(r -> nomes.contains(r.getNome())).toList();
+        });
+        when(regiaoRepository.findById(anyLong())).thenAnswer(inv -> {
+            long id = inv.getArgument(0);
+            return id >= 1 && id <= regioes.size() ? Optional.of(regioes.get((int) id - 1)) : Optional.empty();
+        });
+        when(bombeiroRepository.findAll()).thenReturn(bombeiros);
+        when(rotaRepository.findAll()).thenReturn(rotas);
+        when(chamadoRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(alertaRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        malhaRotas.carregar();
+        despachoService.carregar();
+        // A matriz de tempos é calculada em segundo plano
+        while (matrizTemposService.matriz().tamanho() == 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Monitor novo (sem estado): no primeiro ciclo todos os ambientes entram em CRITICO.
+     */
+    MonitorService novoMonitor(int particoes) {
+        MonitorService monitor = new MonitorService(ambienteRepository, regiaoRepository,
+                insercaoEmLoteRepository, new RegistroEstadoAmbientes(),
+                indiceEspacialRegioes, malhaRotas, despachoService, new CooldownAlertas(alertaRepository),
+                eventosTempoReal, mock(IndiceTextoChamados.class, withSettings().stubOnly()),
+                new CoordenacaoMonitor(mock(CoordenacaoMonitorRepository.class), alertaRepository),
+                mock(PlatformTransactionManager.class), executor, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(monitor, "particoes", particoes);
+        ReflectionTestUtils.setField(monitor, "limiarUmidade", 30.0);
+        ReflectionTestUtils.setField(monitor, "limiarTemperatura", 40.0);
+        return monitor;
+    }
+
+    /**
+     * Consultas recebidas pelos repositórios desde a última chamada (zera a contagem).
+     */
+    long consultas() {
+        long total = mockingDetails(ambienteRepository).getInvocations().size()
+                + mockingDetails(regiaoRepository).getInvocations().size()
+                + mockingDetails(bombeiroRepository).getInvocations().size()
+                + mockingDetails(rotaRepository).getInvocations().size();
+        clearInvocations(ambienteRepository, regiaoRepository, bombeiroRepository, rotaRepository);
+        return total;
+    }
+
+    private static MockSettings opcoes(boolean registrarChamadas) {
+        return registrarChamadas ? withSettings() : withSettings().stubOnly();
+    }
+}
@@ -0,0 +1,77 @@
+package com.guardiaoverde.guardiaoverde.benchmark;
+
+import com.guardiaoverde.guardiaoverde.domain.Chamado;
+import com.guardiaoverde.guardiaoverde.domain.Regiao;
+import com.guardiaoverde.guardiaoverde.service.ChamadoService;
+import com.guardiaoverde.guardiaoverde.service.IndiceTextoChamados;
+import com.guardiaoverde.guardiaoverde.service.JanelaDeduplicacaoChamados;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * ChamadoService.criarChamado fora de transação (sem proxy): validações, ajuste de
+ * prioridade e janela de deduplicação, com o repositório em memória.
+ *
+ * - novo: descrição inédita, aceita; a entrada é liberada em seguida para a janela não
+ *   crescer durante a medição;
+ * - duplicado: mesma descrição e região de um chamado recente, recusado pela janela.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ChamadoServiceBenchmark {
+
+    private Cenario cenario;
+    private ChamadoService chamadoService;
+    private JanelaDeduplicacaoChamados janela;
+    private LocalDateTime dataHora;
+    private long sequencia;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        cenario = new Cenario(1_000, false);
+        janela = new JanelaDeduplicacaoChamados(cenario.chamadoRepository);
+        chamadoService = new ChamadoService(cenario.chamadoRepository, cenario.regiaoRepository,
+                cenario.despachoService, new IndiceTextoChamados(cenario.chamadoRepository,
+                mock(PlatformTransactionManager.class)), janela, cenario.eventosTempoReal);
+        dataHora = LocalDateTime.now().minusMinutes(1);
+        janela.registrar(1L, "Fumaça avistada perto da trilha", dataHora);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        cenario.executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Chamado novo() {
+        long n = sequencia++;
+        long regiaoId = n % Cenario.REGIOES + 1;
+        String descricao = "Foco de incêndio " + n;
+        Chamado salvo = chamadoService.criarChamado(chamado(regiaoId, descricao));
+        janela.liberar(regiaoId, descricao, dataHora);
+        return salvo;
+    }
+
+    @Benchmark
+    public Object duplicado() {
+        try {
+            return chamadoService.criarChamado(chamado(1L, "Fumaça avistada perto da trilha"));
+        } catch (IllegalArgumentException ex) {
+            return ex;
+        }
+    }
+
+    private Chamado chamado(long regiaoId, String descricao) {
+        Regiao regiao = cenario.regioes.get((int) regiaoId - 1);
+        return new Chamado("USUARIO", descricao, regiao, dataHora, "BAIXA");
+    }
+}
@@ -0,0 +1,111 @@
+package com.guardiaoverde.guardiaoverde.benchmark;
+
+import com.guardiaoverde.guardiaoverde.DemoApplication;
+import com.guardiaoverde.guardiaoverde.domain.Chamado;
+import com.guardiaoverde.guardiaoverde.domain.Regiao;
+import com.guardiaoverde.guardiaoverde.repository.InsercaoEmLoteRepository;
+import com.guardiaoverde.guardiaoverde.repository.RegiaoRepository;
+import com.guardiaoverde.guardiaoverde.service.ChamadoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de gravação de chamados no perfil "embarcado" (H2 em memória), com a aplicação inteira (proxies
+ * transacionais, Hibernate com ids de sequência e hibernate.jdbc.batch_size):
+ *
+ * - individual: {@code tamanho} chamadas a criarChamado, uma transação e um INSERT cada;
+ * - lote: uma chamada a criarChamados com {@code tamanho} chamados (POST /v1/chamados/lote),
+ *   gravados por saveAll em inserções agrupadas;
+ * - jdbc: os mesmos chamados pelo InsercaoEmLoteRepository (caminho do monitor), sem
+ *   validações nem contexto de persistência, como referência.
+ *
+ * O tempo é por operação de {@code tamanho} chamados; a vazão em chamados/s é
+ * tamanho / tempo. Executar pelo Benchmarks com o filtro "InsercaoChamados".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InsercaoChamadosBenchmark {
+
+    private static final int REGIOES = 100;
+
+    @Param({"50", "500"})
+    public int tamanho;
+
+    private ConfigurableApplicationContext contexto;
+    private ChamadoService chamadoService;
+    private InsercaoEmLoteRepository insercaoEmLoteRepository;
+    private TransactionTemplate transacao;
+    private final List<Regiao> regioes = new ArrayList<>();
+    private LocalDateTime dataHora;
+    private long sequencia;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=embarcado",
+                        "--chamado.max-por-lote=" + Math.max(tamanho, 1000),
+                        "--monitor.periodo-ms=3600000");
+        chamadoService = contexto.getBean(ChamadoService.class);
+        insercaoEmLoteRepository = contexto.getBean(InsercaoEmLoteRepository.class);
+        transacao = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        RegiaoRepository regiaoRepository = contexto.getBean(RegiaoRepository.class);
+        for (int i = 1; i <= REGIOES; i++) {
+            regioes.add(regiaoRepository.save(new Regiao("Regiao-" + i, "POLYGON EMPTY", "CERRADO", 0.5)));
+        }
+        dataHora = LocalDateTime.now().minusMinutes(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public int individual() {
+        for (int i = 0; i < tamanho; i++) {
+            chamadoService.criarChamado(novo());
+        }
+        return tamanho;
+    }
+
+    @Benchmark
+    public int lote() {
+        return chamadoService.criarChamados(novos()).size();
+    }
+
+    @Benchmark
+    public int jdbc() {
+        List<Chamado> chamados = novos();
+        transacao.executeWithoutResult(status -> insercaoEmLoteRepository.inserirChamados(chamados));
+        return chamados.size();
+    }
+
+    private List<Chamado> novos() {
+        List<Chamado> chamados = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            chamados.add(novo());
+        }
+        return chamados;
+    }
+
+    // Descrição inédita a cada chamado, para não cair na janela de deduplicação
+    private Chamado novo() {
+        long n = sequencia++;
+        Regiao regiao = regioes.get((int) (n % REGIOES));
+        return new Chamado("USUARIO", "Foco de incêndio " + n, regiao, dataHora, "BAIXA");
+    }
+}
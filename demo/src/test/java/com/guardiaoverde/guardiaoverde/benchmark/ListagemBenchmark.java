@@ -0,0 +1,176 @@
+package com.guardiaoverde.guardiaoverde.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guardiaoverde.guardiaoverde.DemoApplication;
+import com.guardiaoverde.guardiaoverde.domain.*;
+import com.guardiaoverde.guardiaoverde.repository.*;
+import com.guardiaoverde.guardiaoverde.service.AlertaService;
+import com.guardiaoverde.guardiaoverde.service.ChamadoService;
+import com.guardiaoverde.guardiaoverde.service.RegiaoService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de uma página de listagem (consulta + serialização JSON) no perfil "embarcado",
+ * nas duas formas:
+ *
+ * - entidades: como antes das projeções, a entidade com as associações carregadas (o
+ *   antigo EAGER), incluindo a Regiao com os limites geográficos em cada chamado;
+ * - resumos: o que GET /v1/chamados, /v1/alertas e /v1/regioes devolvem agora
+ *   (ResumoChamado, ResumoAlerta, ResumoRegiao).
+ *
+ * O tamanho em bytes de cada resposta é mostrado na preparação. Executar pelo Benchmarks
+ * com o filtro "Listagem".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListagemBenchmark {
+
+    private static final int REGIOES = 200;
+    private static final int AMBIENTES = 500;
+    private static final int REGISTROS = 5000;
+
+    // Vértices do polígono de cada região (limites de municípios têm centenas)
+    private static final int VERTICES = 500;
+
+    @Param({"100", "1000"})
+    public int tamanho;
+
+    private ConfigurableApplicationContext contexto;
+    private ObjectMapper objectMapper;
+    private EntityManager entityManager;
+    private TransactionTemplate transacao;
+    private ChamadoService chamadoService;
+    private AlertaService alertaService;
+    private RegiaoService regiaoService;
+
+    @Setup(Level.Trial)
+    public void preparar() throws JsonProcessingException {
+        contexto = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=embarcado",
+                        "--monitor.periodo-ms=3600000");
+        objectMapper = contexto.getBean(ObjectMapper.class);
+        entityManager = contexto.getBean(EntityManager.class);
+        transacao = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        transacao.setReadOnly(true);
+        chamadoService = contexto.getBean(ChamadoService.class);
+        alertaService = contexto.getBean(AlertaService.class);
+        regiaoService = contexto.getBean(RegiaoService.class);
+        popular();
+
+        System.out.printf(Locale.ROOT, "tamanho=%d%n", tamanho);
+        System.out.printf(Locale.ROOT, "%-10s %14s %14s%n", "listagem", "entidades (B)", "resumos (B)");
+        System.out.printf(Locale.ROOT, "%-10s %14d %14d%n", "chamados", chamadosEntidades().length,
+                chamadosResumos().length);
+        System.out.printf(Locale.ROOT, "%-10s %14d %14d%n", "alertas", alertasEntidades().length,
+                alertasResumos().length);
+        System.out.printf(Locale.ROOT, "%-10s %14d %14d%n", "regioes", regioesEntidades().length,
+                regioesResumos().length);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public byte[] chamadosEntidades() throws JsonProcessingException {
+        return serializar(transacao.execute(status -> entityManager.createQuery(
+                        "SELECT c FROM Chamado c JOIN FETCH c.regiao ORDER BY c.dataHora DESC, c.id DESC",
+                        Chamado.class)
+                .setMaxResults(tamanho)
+                .getResultList()));
+    }
+
+    @Benchmark
+    public byte[] chamadosResumos() throws JsonProcessingException {
+        return serializar(chamadoService.listarPagina(null, tamanho).itens());
+    }
+
+    @Benchmark
+    public byte[] alertasEntidades() throws JsonProcessingException {
+        return serializar(transacao.execute(status -> entityManager.createQuery(
+                        "SELECT a FROM Alerta a JOIN FETCH a.ambiente LEFT JOIN FETCH a.responsavel "
+                                + "ORDER BY a.dataHora DESC, a.id DESC", Alerta.class)
+                .setMaxResults(tamanho)
+                .getResultList()));
+    }
+
+    @Benchmark
+    public byte[] alertasResumos() throws JsonProcessingException {
+        return serializar(alertaService.listarPagina(null, tamanho).itens());
+    }
+
+    @Benchmark
+    public byte[] regioesEntidades() throws JsonProcessingException {
+        return serializar(transacao.execute(status -> entityManager.createQuery(
+                        "SELECT r FROM Regiao r ORDER BY r.id", Regiao.class)
+                .setMaxResults(tamanho)
+                .getResultList()));
+    }
+
+    @Benchmark
+    public byte[] regioesResumos() throws JsonProcessingException {
+        return serializar(regiaoService.listarPagina(null, tamanho).itens());
+    }
+
+    private byte[] serializar(List<?> itens) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(itens);
+    }
+
+    private void popular() {
+        List<Regiao> regioes = new ArrayList<>(REGIOES);
+        for (int i = 0; i < REGIOES; i++) {
+            regioes.add(new Regiao("Regiao-" + i, poligono(i), "CERRADO", 0.5));
+        }
+        regioes = contexto.getBean(RegiaoRepository.class).saveAll(regioes);
+
+        List<Ambiente> ambientes = new ArrayList<>(AMBIENTES);
+        for (int i = 0; i < AMBIENTES; i++) {
+            ambientes.add(new Ambiente("ENSOLARADO", 30.0, 40.0, "-15.0 -47.0"));
+        }
+        ambientes = contexto.getBean(AmbienteRepository.class).saveAll(ambientes);
+        Usuario responsavel = contexto.getBean(UsuarioRepository.class)
+                .save(new Usuario("Bombeiro 1", "b1@ex.com", "x", "BOMBEIRO"));
+
+        LocalDateTime agora = LocalDateTime.now().withNano(0);
+        List<Chamado> chamados = new ArrayList<>(REGISTROS);
+        List<Alerta> alertas = new ArrayList<>(REGISTROS);
+        for (int i = 0; i < REGISTROS; i++) {
+            chamados.add(new Chamado("SISTEMA", "Detecção automática: SENSOR " + i + " com umidade baixa",
+                    regioes.get(i % REGIOES), agora.minusSeconds(i), "ALTA"));
+            alertas.add(new Alerta(agora.minusSeconds(i), "ALTO", true, ambientes.get(i % AMBIENTES),
+                    i % 2 == 0 ? responsavel : null));
+        }
+        contexto.getBean(ChamadoRepository.class).saveAll(chamados);
+        contexto.getBean(AlertaRepository.class).saveAll(alertas);
+    }
+
+    private static String poligono(int r) {
+        StringBuilder wkt = new StringBuilder("POLYGON ((");
+        for (int v = 0; v <= VERTICES; v++) {
+            double angulo = 2 * Math.PI * (v % VERTICES) / VERTICES;
+            wkt.append(String.format(Locale.ROOT, "%.5f %.5f", -47.0 + r * 0.1 + Math.cos(angulo) * 0.04,
+                    -15.0 + Math.sin(angulo) * 0.04));
+            wkt.append(v < VERTICES ? ", " : "))");
+        }
+        return wkt.toString();
+    }
+}
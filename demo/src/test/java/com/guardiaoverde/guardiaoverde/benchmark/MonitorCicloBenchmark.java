@@ -0,0 +1,69 @@
+package com.guardiaoverde.guardiaoverde.benchmark;
+
+import com.guardiaoverde.guardiaoverde.service.MonitorService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo de um ciclo do MonitorService em que todos os ambientes entram em CRITICO,
+ * com repositórios em memória, gravando em uma partição ou em uma por processador
+ * ({@code particoes} = 0). Os contadores auxiliares "consultas" e "ciclos" da iteração
+ * dão as consultas por ciclo, que devem permanecer constantes independentemente do volume.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MonitorCicloBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int ambientes;
+
+    @Param({"1", "0"})
+    public int particoes;
+
+    private Cenario cenario;
+    private MonitorService monitor;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        cenario = new Cenario(ambientes, true);
+    }
+
+    // Cada ciclo usa um monitor novo, para que todos os ambientes sejam transições
+    @Setup(Level.Invocation)
+    public void novoMonitor() {
+        monitor = cenario.novoMonitor(particoes);
+        cenario.consultas();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        cenario.executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Object ciclo(Consultas consultas) {
+        monitor.verificarAmbientesCriticos();
+        consultas.consultas += cenario.consultas();
+        consultas.ciclos++;
+        return monitor.ultimoRelatorio();
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Consultas {
+
+        public long consultas;
+        public long ciclos;
+
+        @Setup(Level.Iteration)
+        public void zerar() {
+            consultas = 0;
+            ciclos = 0;
+        }
+    }
+}
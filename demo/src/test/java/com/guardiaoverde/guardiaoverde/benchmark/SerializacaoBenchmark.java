@@ -0,0 +1,69 @@
+package com.guardiaoverde.guardiaoverde.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guardiaoverde.guardiaoverde.domain.Alerta;
+import com.guardiaoverde.guardiaoverde.domain.Ambiente;
+import com.guardiaoverde.guardiaoverde.domain.Chamado;
+import com.guardiaoverde.guardiaoverde.domain.Usuario;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização JSON de listas de Chamado e Alerta (como nas respostas de listagem), com um
+ * ObjectMapper configurado como o do Spring Boot (módulo de datas do Java registrado).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacaoBenchmark {
+
+    @Param({"100", "1000"})
+    public int tamanho;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<Chamado> chamados;
+    private List<Alerta> alertas;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Cenario cenario = new Cenario(tamanho, false);
+        cenario.executor.shutdownNow();
+        LocalDateTime agora = LocalDateTime.now().withNano(0);
+        Usuario responsavel = new Usuario("Bombeiro 1", "b1@ex.com", "x", "BOMBEIRO");
+        responsavel.setId(1L);
+
+        chamados = new ArrayList<>(tamanho);
+        alertas = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            Chamado chamado = new Chamado("SISTEMA", "Detecção automática: SENSOR " + i + " com umidade baixa",
+                    cenario.regioes.get(i % Cenario.REGIOES), agora.minusMinutes(i), "ALTA");
+            ReflectionTestUtils.setField(chamado, "id", (long) i + 1);
+            chamados.add(chamado);
+
+            Ambiente ambiente = cenario.ambientes.get(i);
+            Alerta alerta = new Alerta(agora.minusMinutes(i), "ALTO", true, ambiente, responsavel);
+            ReflectionTestUtils.setField(alerta, "id", (long) i + 1);
+            alertas.add(alerta);
+        }
+    }
+
+    @Benchmark
+    public byte[] chamados() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(chamados);
+    }
+
+    @Benchmark
+    public byte[] alertas() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(alertas);
+    }
+}
@@ -0,0 +1,88 @@
+package com.guardiaoverde.guardiaoverde.repository;
+
+import com.guardiaoverde.guardiaoverde.domain.Chamado;
+import com.guardiaoverde.guardiaoverde.domain.LeituraAmbiente;
+import com.guardiaoverde.guardiaoverde.domain.Regiao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Inserção JDBC sobre H2 em memória, com a sequência de 50 em 50 como nas migrações.
+ */
+class InsercaoEmLoteRepositoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private InsercaoEmLoteRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:insercao-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("CREATE SEQUENCE leituras_ambiente_seq START WITH 1 INCREMENT BY 50");
+        jdbcTemplate.execute("CREATE TABLE leituras_ambiente (id BIGINT PRIMARY KEY, ambiente_id BIGINT NOT NULL, "
+                + "data_hora TIMESTAMP(6) NOT NULL, temperatura DOUBLE PRECISION NOT NULL, "
+                + "umidade DOUBLE PRECISION NOT NULL)");
+        jdbcTemplate.execute("CREATE SEQUENCE chamados_seq START WITH 1 INCREMENT BY 50");
+        jdbcTemplate.execute("CREATE TABLE chamados (id BIGINT PRIMARY KEY, origem VARCHAR(20) NOT NULL, "
+                + "descricao VARCHAR(500) NOT NULL, regiao_id BIGINT NOT NULL, data_hora TIMESTAMP(6) NOT NULL, "
+                + "prioridade VARCHAR(10) NOT NULL, atualizado_em TIMESTAMP(6))");
+        repository = new InsercaoEmLoteRepository(jdbcTemplate);
+        ReflectionTestUtils.setField(repository, "tamanhoLote", 50);
+    }
+
+    @Test
+    void inserirLeituras_DeveUsarIdsDoBloco_SemConsumirUmValorPorLinha() {
+        LocalDateTime agora = LocalDateTime.of(2026, 1, 10, 12, 0);
+        List<LeituraAmbiente> leituras = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            leituras.add(new LeituraAmbiente(1L, agora.plusSeconds(i), 30.0, 50.0));
+        }
+
+        repository.inserirLeituras(leituras);
+
+        // Valores 1 (só o id 1), 51, 101 e 151: ids 1..120 sem lacunas
+        assertEquals(LongStream.rangeClosed(1, 120).boxed().toList(),
+                jdbcTemplate.queryForList("SELECT id FROM leituras_ambiente ORDER BY id", Long.class));
+        assertEquals(201L, jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR leituras_ambiente_seq", Long.class));
+    }
+
+    @Test
+    void inserirLeituras_NaoDeveColidir_ComBlocoJaUsadoPeloHibernate() {
+        // O Hibernate obteve 1 e 51 e usa os ids 1..50
+        jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR leituras_ambiente_seq", Long.class);
+        jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR leituras_ambiente_seq", Long.class);
+
+        repository.inserirLeituras(List.of(new LeituraAmbiente(1L, LocalDateTime.of(2026, 1, 10, 12, 0), 30.0, 50.0)));
+
+        assertEquals(52L, jdbcTemplate.queryForObject("SELECT id FROM leituras_ambiente", Long.class));
+    }
+
+    @Test
+    void inserirChamados_DeveDevolverOsIds_EAtribuirAosChamados() {
+        Regiao regiao = new Regiao("Regiao-1", "POLYGON EMPTY", "CERRADO", 0.5);
+        ReflectionTestUtils.setField(regiao, "id", 1L);
+        LocalDateTime agora = LocalDateTime.of(2026, 1, 10, 12, 0);
+        List<Chamado> chamados = List.of(
+                new Chamado("SISTEMA", "Ambiente 1 em risco", regiao, agora, "ALTA"),
+                new Chamado("SISTEMA", "Ambiente 2 em risco", regiao, agora, "ALTA"));
+
+        List<Long> ids = repository.inserirChamados(chamados);
+
+        assertEquals(List.of(1L, 2L), ids);
+        assertEquals(ids, chamados.stream().map(Chamado::getId).toList());
+        assertNotNull(chamados.get(0).getAtualizadoEm());
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM chamados WHERE atualizado_em IS NOT NULL", Integer.class));
+    }
+}
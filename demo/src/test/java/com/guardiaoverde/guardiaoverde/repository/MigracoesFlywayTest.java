@@ -0,0 +1,115 @@
+package com.guardiaoverde.guardiaoverde.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Migrações do H2 (db/migration/h2) em um banco novo e sobre o esquema que o antigo
+ * ddl-auto=update criava a partir das entidades originais, marcado na V1 pelo baseline
+ * como em application.properties.
+ */
+class MigracoesFlywayTest {
+
+    private String url;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        url = "jdbc:h2:mem:migracoes-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(url));
+    }
+
+    @Test
+    void migrate_DeveCriarOEsquemaAtual_EmBancoNovo() {
+        flyway().migrate();
+
+        assertEsquemaAtual();
+    }
+
+    @Test
+    void migrate_DeveAtualizar_BancoCriadoPeloDdlAuto() {
+        // DDL do Hibernate (H2Dialect) para as entidades da versão original
+        jdbcTemplate.execute("create table usuarios (id bigint generated by default as identity, "
+                + "email varchar(100) not null unique, nome varchar(100) not null, papel varchar(50) not null, "
+                + "senha varchar(100) not null, primary key (id))");
+        jdbcTemplate.execute("create table regioes (id bigint generated by default as identity, "
+                + "indice_secura float(53) not null, limites_geograficos clob not null, "
+                + "nome varchar(100) not null, tipo_vegetacao varchar(50) not null, primary key (id))");
+        jdbcTemplate.execute("create table ambientes (id bigint generated by default as identity, "
+                + "clima varchar(50) not null, localizacao varchar(100) not null, temperatura float(53) not null, "
+                + "umidade float(53) not null, primary key (id))");
+        jdbcTemplate.execute("create table rotas (id bigint generated by default as identity, "
+                + "caminhos_alternativos clob, distancia float(53) not null, ponto_destino varchar(100) not null, "
+                + "ponto_partida varchar(100) not null, tempo_estimado float(53) not null, primary key (id))");
+        jdbcTemplate.execute("create table bombeiros (id bigint generated by default as identity, "
+                + "nome varchar(100) not null, telefone varchar(20), turno varchar(50) not null, usuario_id bigint, "
+                + "primary key (id), foreign key (usuario_id) references usuarios)");
+        jdbcTemplate.execute("create table policias_militares (id bigint generated by default as identity, "
+                + "matricula varchar(20) not null, nome varchar(100) not null, telefone varchar(20), "
+                + "usuario_id bigint unique, primary key (id), foreign key (usuario_id) references usuarios)");
+        jdbcTemplate.execute("create table chamados (id bigint generated by default as identity, "
+                + "data_hora timestamp(6) not null, descricao varchar(500) not null, origem varchar(20) not null, "
+                + "prioridade varchar(10) not null, regiao_id bigint not null, primary key (id), "
+                + "foreign key (regiao_id) references regioes)");
+        jdbcTemplate.execute("create table alertas (id bigint generated by default as identity, "
+                + "data_hora timestamp(6) not null, nivel_risco varchar(20) not null, "
+                + "risco_confirmado boolean not null, ambiente_id bigint, usuario_id bigint, primary key (id), "
+                + "foreign key (ambiente_id) references ambientes, foreign key (usuario_id) references usuarios)");
+        LocalDateTime dataHora = LocalDateTime.of(2025, 6, 4, 21, 0);
+        jdbcTemplate.update("insert into regioes (nome, limites_geograficos, tipo_vegetacao, indice_secura) "
+                + "values ('Regiao-1', 'POLYGON EMPTY', 'CERRADO', 0.5)");
+        jdbcTemplate.update("insert into chamados (origem, descricao, regiao_id, data_hora, prioridade) "
+                + "values ('USUARIO', 'Fumaça na trilha', 1, ?, 'ALTA')", Timestamp.valueOf(dataHora));
+
+        flyway().migrate();
+
+        assertEsquemaAtual();
+        assertEquals("1", jdbcTemplate.queryForObject(
+                "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"type\" = 'BASELINE'", String.class));
+        assertEquals(Timestamp.valueOf(dataHora), jdbcTemplate.queryForObject(
+                "SELECT atualizado_em FROM chamados WHERE id = 1", Timestamp.class));
+    }
+
+    private Flyway flyway() {
+        return Flyway.configure()
+                .dataSource(url, null, null)
+                .locations("classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+    }
+
+    // Tabelas, colunas e índices das entidades e consultas atuais
+    private void assertEsquemaAtual() {
+        for (String[] coluna : List.of(
+                new String[]{"ambientes", "atualizado_em"},
+                new String[]{"ambientes", "data_ultima_leitura"},
+                new String[]{"bombeiros", "base"},
+                new String[]{"chamados", "atualizado_em"},
+                new String[]{"leituras_ambiente", "ambiente_id"},
+                new String[]{"monitor_fatias", "token"},
+                new String[]{"monitor_nos", "visto_em"},
+                new String[]{"cache_invalidacoes", "no_origem"})) {
+            assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS "
+                            + "WHERE TABLE_NAME = UPPER(?) AND COLUMN_NAME = UPPER(?)", Integer.class,
+                    coluna[0], coluna[1]), coluna[0] + "." + coluna[1]);
+        }
+        for (String indice : List.of("idx_chamados_data_hora_id", "idx_alertas_data_hora_id",
+                "idx_leituras_ambiente_data_hora", "idx_chamados_atualizado_em")) {
+            assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES "
+                    + "WHERE INDEX_NAME = UPPER(?)", Integer.class, indice), indice);
+        }
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.SEQUENCES "
+                + "WHERE SEQUENCE_NAME = 'LEITURAS_AMBIENTE_SEQ'", Long.class));
+    }
+}
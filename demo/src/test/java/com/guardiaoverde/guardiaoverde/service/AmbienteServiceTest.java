@@ -0,0 +1,75 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.domain.Ambiente;
+import com.guardiaoverde.guardiaoverde.domain.LeituraAmbiente;
+import com.guardiaoverde.guardiaoverde.repository.AmbienteRepository;
+import com.guardiaoverde.guardiaoverde.repository.InsercaoEmLoteRepository;
+import com.guardiaoverde.guardiaoverde.repository.LeituraAmbienteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AmbienteServiceTest {
+
+    private static final Long AMBIENTE = 1L;
+
+    private final AmbienteRepository ambienteRepository = mock(AmbienteRepository.class);
+    private final LeituraAmbienteRepository leituraAmbienteRepository = mock(LeituraAmbienteRepository.class);
+    private final Ambiente ambiente = new Ambiente("ENSOLARADO", 38.0, 12.0, "Regiao-1");
+    private AmbienteService service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(ambiente, "id", AMBIENTE);
+        when(ambienteRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(ambienteRepository.existsById(AMBIENTE)).thenReturn(true);
+        // Mesma condição do UPDATE de atualizarUltimaLeitura, aplicada ao ambiente gravado
+        when(ambienteRepository.atualizarUltimaLeitura(eq(AMBIENTE), any(), any(), any(), any())).thenAnswer(inv -> {
+            LocalDateTime dataHora = inv.getArgument(3);
+            if (ambiente.getDataUltimaLeitura() != null && !ambiente.getDataUltimaLeitura().isBefore(dataHora)) {
+                return 0;
+            }
+            ambiente.setTemperatura(inv.getArgument(1));
+            ambiente.setUmidade(inv.getArgument(2));
+            ambiente.setDataUltimaLeitura(dataHora);
+            ambiente.setAtualizadoEm(inv.getArgument(4));
+            return 1;
+        });
+        service = new AmbienteService(ambienteRepository, leituraAmbienteRepository, new RegistroEstadoAmbientes(),
+                new UltimasLeituras(leituraAmbienteRepository), mock(JanelaAmbienteService.class));
+    }
+
+    @Test
+    void salvarAmbiente_DeveMarcarAUltimaLeitura_ComOMomentoDaGravacao() {
+        Ambiente salvo = service.salvarAmbiente(ambiente);
+
+        assertNotNull(salvo.getDataUltimaLeitura());
+        assertEquals(salvo.getAtualizadoEm(), salvo.getDataUltimaLeitura());
+    }
+
+    @Test
+    void salvarAmbiente_NaoDeveSerSobrescrito_PorLeituraEmLoteMaisAntigaQueChegaDepois() {
+        LocalDateTime antesDoPut = LocalDateTime.now().minusMinutes(5);
+        service.salvarAmbiente(ambiente);
+
+        // Lote recebido por outra réplica (sem a leitura do PUT no cache) com leitura anterior ao PUT
+        LeituraAmbienteService leituras = new LeituraAmbienteService(leituraAmbienteRepository, ambienteRepository,
+                mock(InsercaoEmLoteRepository.class), new UltimasLeituras(leituraAmbienteRepository),
+                mock(JanelaAmbienteService.class));
+        ReflectionTestUtils.setField(leituras, "maxPorRequisicao", 10);
+        leituras.registrarLeituras(AMBIENTE, List.of(new LeituraAmbiente(null, antesDoPut, 25.0, 60.0)));
+
+        verify(ambienteRepository).atualizarUltimaLeitura(eq(AMBIENTE), eq(25.0), eq(60.0), eq(antesDoPut), any());
+        assertEquals(38.0, ambiente.getTemperatura());
+        assertEquals(12.0, ambiente.getUmidade());
+        assertTrue(ambiente.getDataUltimaLeitura().isAfter(antesDoPut));
+    }
+}
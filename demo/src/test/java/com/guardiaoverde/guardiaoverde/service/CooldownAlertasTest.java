@@ -0,0 +1,93 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.repository.AlertaRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class CooldownAlertasTest {
+
+    private static final LocalDateTime AGORA = LocalDateTime.of(2025, 6, 4, 21, 0);
+
+    private final CooldownAlertas cooldown = new CooldownAlertas(mock(AlertaRepository.class));
+
+    @Test
+    void reservar_DeveRecusarMesmoNivel_DentroDoIntervalo() {
+        assertNotNull(cooldown.reservar(1L, "ALTO", AGORA));
+
+        assertNull(cooldown.reservar(1L, "alto", AGORA.plusMinutes(4)));
+        assertNotNull(cooldown.reservar(1L, "MÉDIO", AGORA.plusMinutes(1)));
+        assertNotNull(cooldown.reservar(2L, "ALTO", AGORA));
+        assertNotNull(cooldown.reservar(1L, "ALTO", AGORA.plusMinutes(5)));
+    }
+
+    @Test
+    void desfazer_DeveLiberarOIntervalo() {
+        CooldownAlertas.Reserva reserva = cooldown.reservar(1L, "ALTO", AGORA);
+        cooldown.desfazer(reserva);
+
+        assertNotNull(cooldown.reservar(1L, "ALTO", AGORA.plusMinutes(1)));
+    }
+
+    @Test
+    void marcar_DeveContarAlertasGravadosForaDaApi() {
+        cooldown.marcar(1L, "ALTO", AGORA);
+
+        assertNull(cooldown.reservar(1L, "ALTO", AGORA.plusMinutes(2)));
+    }
+
+    @Test
+    void reservar_DeveRecusar_NivelDesconhecido() {
+        assertThrows(IllegalArgumentException.class, () -> cooldown.reservar(1L, "ALTISSIMO", AGORA));
+        assertThrows(IllegalArgumentException.class, () -> cooldown.reservar(1L, null, AGORA));
+
+        // Acentos e maiúsculas não criam chaves novas
+        assertNotNull(cooldown.reservar(1L, "MÉDIO", AGORA));
+        assertNull(cooldown.reservar(1L, "medio", AGORA.plusMinutes(1)));
+        assertEquals(1, cooldown.tamanho());
+    }
+
+    @Test
+    void limpar_DeveRemover_EntradasForaDoIntervalo() {
+        cooldown.marcar(1L, "ALTO", AGORA);
+        cooldown.marcar(2L, "ALTO", AGORA.plusMinutes(3));
+        cooldown.marcar(3L, "DESCONHECIDO", AGORA.plusMinutes(3));
+        cooldown.setRelogio(Clock.fixed(AGORA.plusMinutes(6).toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+
+        cooldown.limpar();
+
+        assertEquals(1, cooldown.tamanho());
+        assertNull(cooldown.reservar(2L, "ALTO", AGORA.plusMinutes(6)));
+    }
+
+    @Test
+    void reservar_DeveAceitarApenasUm_QuandoConcorrente() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            resultados.add(pool.submit(() -> {
+                largada.await();
+                return cooldown.reservar(1L, "ALTO", AGORA) != null;
+            }));
+        }
+        largada.countDown();
+        int aceitos = 0;
+        for (Future<Boolean> f : resultados) {
+            aceitos += f.get() ? 1 : 0;
+        }
+        pool.shutdown();
+        assertEquals(1, aceitos);
+    }
+}
@@ -0,0 +1,113 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.repository.AlertaRepository;
+import com.guardiaoverde.guardiaoverde.repository.CoordenacaoMonitorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Dois nós compartilhando o mesmo banco H2 em memória, com relógio controlado.
+ */
+class CoordenacaoMonitorTest {
+
+    private static final int FATIAS = 8;
+    private static final long CONCESSAO_S = 30;
+
+    private JdbcTemplate jdbcTemplate;
+    private CoordenacaoMonitor noA;
+    private CoordenacaoMonitor noB;
+    private Instant agora = Instant.parse("2026-01-10T12:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:coordenacao-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("CREATE TABLE monitor_fatias (fatia INT PRIMARY KEY, dono VARCHAR(100), "
+                + "token BIGINT NOT NULL, expira_em TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE monitor_nos (id VARCHAR(100) PRIMARY KEY, visto_em TIMESTAMP NOT NULL)");
+        noA = novoNo("no-a");
+        noB = novoNo("no-b");
+    }
+
+    @Test
+    void sincronizar_DeveDividirFatiasEntreNosVivos() {
+        assertEquals(FATIAS, noA.sincronizar().tokens().size());
+        // noB entra, mas todas as fatias ainda estão com noA
+        assertTrue(noB.sincronizar().vazia());
+
+        CoordenacaoMonitor.Posse posseA = noA.sincronizar();
+        CoordenacaoMonitor.Posse posseB = noB.sincronizar();
+
+        assertEquals(FATIAS / 2, posseA.tokens().size());
+        assertEquals(FATIAS / 2, posseB.tokens().size());
+        Set<Integer> todas = new HashSet<>(posseA.tokens().keySet());
+        todas.addAll(posseB.tokens().keySet());
+        assertEquals(FATIAS, todas.size());
+        for (long id = 1; id <= 100; id++) {
+            assertTrue(posseA.inclui(id) ^ posseB.inclui(id));
+        }
+    }
+
+    @Test
+    void sincronizar_DeveAssumirFatiasDoNoQueParou() {
+        noA.sincronizar();
+        noB.sincronizar();
+        CoordenacaoMonitor.Posse posseA = noA.sincronizar();
+        noB.sincronizar();
+
+        // noA para de pulsar; noB continua e, vencida a concessão, fica com todas as fatias
+        avancar(CONCESSAO_S / 2);
+        assertEquals(FATIAS / 2, noB.sincronizar().tokens().size());
+        avancar(CONCESSAO_S / 2 + 5);
+        CoordenacaoMonitor.Posse posseB = noB.sincronizar();
+
+        assertEquals(FATIAS, posseB.tokens().size());
+        assertEquals(posseA.tokens().keySet(), posseB.assumidas());
+    }
+
+    @Test
+    void confirmar_DeveRejeitarGravacao_QuandoConcessaoFoiPerdida() {
+        CoordenacaoMonitor.Posse posseA = noA.sincronizar();
+        List<Long> ambientes = List.of(1L, 2L, 3L);
+        assertDoesNotThrow(() -> noA.confirmar(posseA, ambientes));
+
+        // noA fica sem pulsar além da concessão e noB assume as fatias com token novo
+        avancar(CONCESSAO_S + 1);
+        CoordenacaoMonitor.Posse posseB = noB.sincronizar();
+
+        assertEquals(FATIAS, posseB.tokens().size());
+        assertThrows(IllegalStateException.class, () -> noA.confirmar(posseA, ambientes));
+        assertDoesNotThrow(() -> noB.confirmar(posseB, ambientes));
+    }
+
+    private CoordenacaoMonitor novoNo(String id) {
+        CoordenacaoMonitor no = new CoordenacaoMonitor(
+                new CoordenacaoMonitorRepository(jdbcTemplate), mock(AlertaRepository.class));
+        ReflectionTestUtils.setField(no, "habilitado", true);
+        ReflectionTestUtils.setField(no, "noId", id);
+        ReflectionTestUtils.setField(no, "fatias", FATIAS);
+        ReflectionTestUtils.setField(no, "concessaoS", CONCESSAO_S);
+        no.setRelogio(Clock.fixed(agora, ZoneOffset.UTC));
+        return no;
+    }
+
+    private void avancar(long segundos) {
+        agora = agora.plusSeconds(segundos);
+        noA.setRelogio(Clock.fixed(agora, ZoneOffset.UTC));
+        noB.setRelogio(Clock.fixed(agora, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,128 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.domain.Bombeiro;
+import com.guardiaoverde.guardiaoverde.domain.Rota;
+import com.guardiaoverde.guardiaoverde.repository.AlertaRepository;
+import com.guardiaoverde.guardiaoverde.repository.BombeiroRepository;
+import com.guardiaoverde.guardiaoverde.repository.PoliciaMilitarRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DespachoServiceTest {
+
+    private final BombeiroRepository bombeiroRepository = mock(BombeiroRepository.class);
+    private final List<Bombeiro> bombeiros = new ArrayList<>();
+    private DespachoService despachoService;
+
+    private static Rota rota(long id, String de, String para, double tempo) {
+        Rota r = new Rota(de, para, tempo, tempo, null);
+        ReflectionTestUtils.setField(r, "id", id);
+        return r;
+    }
+
+    private void bombeiro(long id, String turno, String base) {
+        Bombeiro b = new Bombeiro(null, "Bombeiro " + id, turno, null);
+        b.setId(id);
+        b.setBase(base);
+        bombeiros.add(b);
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Base A: 10 min até X, 12 até Y; Base B: 11 até X, 100 até Y
+        MatrizTemposService matriz = new MatrizTemposService(new MalhaRotas(null));
+        matriz.sincronizar(GrafoRotas.construir(List.of(
+                rota(1L, "Base A", "X", 10.0),
+                rota(2L, "Base A", "Y", 12.0),
+                rota(3L, "Base B", "X", 11.0),
+                rota(4L, "Base B", "Y", 100.0)
+        )));
+
+        when(bombeiroRepository.findAll()).thenReturn(bombeiros);
+        EscalaResponsaveis escala = new EscalaResponsaveis(bombeiroRepository, mock(PoliciaMilitarRepository.class));
+        despachoService = new DespachoService(escala, mock(AlertaRepository.class),
+                matriz, new IndiceEspacialRegioes(null));
+        // 10h: turno da MANHÃ
+        despachoService.setRelogio(Clock.fixed(
+                LocalDateTime.of(2024, 8, 20, 10, 0).atZone(ZoneId.systemDefault()).toInstant(),
+                ZoneId.systemDefault()));
+    }
+
+    @Test
+    void escolher_DevePreferirBaseMaisProxima() {
+        bombeiro(1L, "Manhã", "Base B");
+        bombeiro(2L, "MANHA", "Base A");
+        despachoService.carregar();
+
+        assertEquals(2L, despachoService.escolher("X").get().getId());
+    }
+
+    @Test
+    void escolher_DeveIgnorarBombeiroForaDoTurno() {
+        bombeiro(1L, "Noite", "Base A");
+        bombeiro(2L, "Escala 12x36", "Base B");
+        despachoService.carregar();
+
+        // Turno não reconhecido conta como disponível
+        assertEquals(2L, despachoService.escolher("X").get().getId());
+    }
+
+    @Test
+    void escolher_DeveDistribuirCarga_EntreBombeirosDaMesmaBase() {
+        bombeiro(1L, "MANHA", "Base A");
+        bombeiro(2L, "MANHA", "Base A");
+        despachoService.carregar();
+
+        Long primeiro = despachoService.escolher("X").get().getId();
+        Long segundo = despachoService.escolher("X").get().getId();
+        assertNotEquals(primeiro, segundo);
+    }
+
+    @Test
+    void sugerir_NaoDeveAlterarCarga() {
+        bombeiro(1L, "MANHA", "Base A");
+        bombeiro(2L, "MANHA", "Base A");
+        despachoService.carregar();
+
+        // Empatados: se a sugestão somasse carga, a segunda sugeriria o outro bombeiro
+        Long sugerido = despachoService.sugerir("X").get().getId();
+        assertEquals(sugerido, despachoService.sugerir("X").get().getId());
+
+        // Já a escolha soma carga, e a sugestão passa para o outro
+        Long escolhido = despachoService.escolher("X").get().getId();
+        assertNotEquals(escolhido, despachoService.sugerir("X").get().getId());
+    }
+
+    @Test
+    void escolherEmLote_DeveMinimizarTempoTotal() {
+        bombeiro(1L, "MANHA", "Base A");
+        bombeiro(2L, "MANHA", "Base B");
+        despachoService.carregar();
+
+        // Guloso mandaria A para X (10) e B para Y (100); o ótimo é A→Y (12) e B→X (11)
+        List<Bombeiro> designados = despachoService.escolherEmLote(List.of("X", "Y"));
+        assertEquals(2L, designados.get(0).getId());
+        assertEquals(1L, designados.get(1).getId());
+    }
+
+    @Test
+    void escolherEmLote_DeveAtenderTodos_QuandoHaMaisDestinosQueBombeiros() {
+        bombeiro(1L, "MANHA", "Base A");
+        despachoService.carregar();
+
+        List<Bombeiro> designados = despachoService.escolherEmLote(List.of("X", "Y", "X"));
+        assertEquals(3, designados.size());
+        assertTrue(designados.stream().allMatch(b -> b.getId() == 1L));
+        verify(bombeiroRepository, times(1)).findAll();
+    }
+}
@@ -0,0 +1,101 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.domain.Bombeiro;
+import com.guardiaoverde.guardiaoverde.domain.PoliciaMilitar;
+import com.guardiaoverde.guardiaoverde.domain.Usuario;
+import com.guardiaoverde.guardiaoverde.repository.BombeiroRepository;
+import com.guardiaoverde.guardiaoverde.repository.PoliciaMilitarRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EscalaResponsaveisTest {
+
+    private final BombeiroRepository bombeiroRepository = mock(BombeiroRepository.class);
+    private final PoliciaMilitarRepository policiaMilitarRepository = mock(PoliciaMilitarRepository.class);
+    private final List<Bombeiro> bombeiros = new ArrayList<>();
+    private EscalaResponsaveis escala;
+
+    private Bombeiro bombeiro(long id, String turno, Long usuarioId) {
+        Usuario u = null;
+        if (usuarioId != null) {
+            u = new Usuario("U" + usuarioId, "u" + usuarioId + "@ex.com", "x", "BOMBEIRO");
+            u.setId(usuarioId);
+        }
+        Bombeiro b = new Bombeiro(u, "Bombeiro " + id, turno, null);
+        b.setId(id);
+        return b;
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(bombeiroRepository.findAll()).thenReturn(bombeiros);
+        escala = new EscalaResponsaveis(bombeiroRepository, policiaMilitarRepository);
+    }
+
+    @Test
+    void consultas_DevemLerOBancoUmaUnicaVez() {
+        bombeiros.add(bombeiro(1L, "Manhã", 10L));
+        bombeiros.add(bombeiro(2L, "Noite", null));
+
+        assertEquals(2, escala.bombeiros().size());
+        assertEquals(1L, escala.bombeiro(1L).get().getId());
+        assertEquals(1L, escala.bombeirosDoUsuario(10L).get(0).getId());
+        assertEquals(1, escala.bombeirosDoTurno("MANHA").size());
+
+        verify(bombeiroRepository, times(1)).findAll();
+        verify(bombeiroRepository, never()).findById(any());
+        EscalaResponsaveis.Estatisticas e = escala.estatisticas();
+        assertEquals(4, e.acertos());
+        assertEquals(1, e.falhas());
+    }
+
+    @Test
+    void atualizarBombeiro_DeveMoverEntreTurnosEUsuarios() {
+        bombeiros.add(bombeiro(1L, "Manhã", 10L));
+        escala.bombeiros();
+
+        escala.atualizarBombeiro(bombeiro(1L, "Noite", 11L));
+
+        assertTrue(escala.bombeirosDoTurno("Manhã").isEmpty());
+        assertEquals(1, escala.bombeirosDoTurno("noite").size());
+        assertTrue(escala.bombeirosDoUsuario(10L).isEmpty());
+        assertEquals(1, escala.bombeirosDoUsuario(11L).size());
+        assertEquals(1, escala.bombeirosEmServico(LocalTime.of(23, 0)).size());
+        assertTrue(escala.bombeirosEmServico(LocalTime.of(10, 0)).isEmpty());
+    }
+
+    @Test
+    void removerBombeiro_DeveTirarDeTodosOsIndices() {
+        bombeiros.add(bombeiro(1L, "Escala 12x36", 10L));
+        escala.bombeiros();
+        assertEquals(1, escala.bombeirosEmServico(LocalTime.NOON).size());
+
+        escala.removerBombeiro(1L);
+
+        assertTrue(escala.bombeiros().isEmpty());
+        assertTrue(escala.bombeirosDoUsuario(10L).isEmpty());
+        assertTrue(escala.bombeirosEmServico(LocalTime.NOON).isEmpty());
+    }
+
+    @Test
+    void policial_DeveConsultarBanco_QuandoIdNaoEstaEmCache() {
+        PoliciaMilitar pm = new PoliciaMilitar(null, "PM", "123", null);
+        pm.setId(7L);
+        when(policiaMilitarRepository.findAll()).thenReturn(List.of());
+        when(policiaMilitarRepository.findById(7L)).thenReturn(Optional.of(pm));
+
+        assertTrue(escala.policial(7L).isPresent());
+        assertTrue(escala.policial(7L).isPresent());
+
+        verify(policiaMilitarRepository, times(1)).findById(7L);
+        assertEquals(1, escala.estatisticas().policiais());
+    }
+}
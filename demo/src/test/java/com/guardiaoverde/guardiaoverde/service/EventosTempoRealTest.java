@@ -0,0 +1,108 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guardiaoverde.guardiaoverde.domain.Chamado;
+import com.guardiaoverde.guardiaoverde.domain.Regiao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EventosTempoRealTest {
+
+    private final ObjectMapper objectMapper = mock(ObjectMapper.class);
+    private EventosTempoReal eventos;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+        // Envio na própria thread da publicação
+        eventos = new EventosTempoReal(objectMapper, mock(IndiceEspacialRegioes.class), Runnable::run);
+    }
+
+    private Chamado chamado(long id, long regiaoId, String prioridade) {
+        Regiao r = new Regiao();
+        ReflectionTestUtils.setField(r, "id", regiaoId);
+        Chamado c = new Chamado("SENSOR", "Fumaça", r, LocalDateTime.now(), prioridade);
+        ReflectionTestUtils.setField(c, "id", id);
+        return c;
+    }
+
+    @Test
+    void publicarChamado_DeveEntregarSomenteAosFiltrosQueAceitam() {
+        List<Long> todos = new ArrayList<>();
+        List<Long> regiao1Alta = new ArrayList<>();
+        eventos.assinar(EventosTempoReal.Canal.CHAMADOS, EventosTempoReal.Filtro.TODOS, e -> todos.add(e.id()));
+        eventos.assinar(EventosTempoReal.Canal.CHAMADOS, new EventosTempoReal.Filtro(1L, Set.of("alta")),
+                e -> regiao1Alta.add(e.id()));
+        eventos.assinar(EventosTempoReal.Canal.ALERTAS, EventosTempoReal.Filtro.TODOS,
+                e -> fail("canal errado"));
+
+        eventos.publicarChamado(chamado(10L, 1L, "ALTA"));
+        eventos.publicarChamado(chamado(11L, 2L, "ALTA"));
+        eventos.publicarChamado(chamado(12L, 1L, "BAIXA"));
+
+        assertEquals(List.of(10L, 11L, 12L), todos);
+        assertEquals(List.of(10L), regiao1Alta);
+    }
+
+    @Test
+    void publicar_DeveDesligarAssinanteLento_QuandoFilaEnche() {
+        List<Runnable> tarefas = new ArrayList<>();
+        eventos.setExecutorEnvio(tarefas::add);
+        eventos.setFilaPorAssinante(2);
+        List<String> motivos = new ArrayList<>();
+        EventosTempoReal.Assinatura lenta = eventos.assinar(EventosTempoReal.Canal.CHAMADOS,
+                EventosTempoReal.Filtro.TODOS, new EventosTempoReal.Destino() {
+                    @Override
+                    public void enviar(EventosTempoReal.Evento evento) {
+                    }
+
+                    @Override
+                    public void encerrado(String motivo) {
+                        motivos.add(motivo);
+                    }
+                });
+
+        for (long id = 1; id <= 3; id++) {
+            eventos.publicarChamado(chamado(id, 1L, "ALTA"));
+        }
+
+        assertFalse(lenta.ativa());
+        assertEquals(1, motivos.size());
+        assertEquals(0, eventos.assinantes());
+        assertEquals(1, eventos.desligadosPorLentidao());
+        // Só uma tarefa de envio foi agendada para o assinante
+        assertEquals(1, tarefas.size());
+    }
+
+    @Test
+    void publicar_DeveRemoverAssinante_QuandoEnvioFalha() {
+        EventosTempoReal.Assinatura a = eventos.assinar(EventosTempoReal.Canal.CHAMADOS,
+                EventosTempoReal.Filtro.TODOS, e -> {
+                    throw new IOException("conexão fechada");
+                });
+
+        eventos.publicarChamado(chamado(1L, 1L, "ALTA"));
+
+        assertFalse(a.ativa());
+        assertEquals(0, eventos.assinantes());
+        assertEquals(0, eventos.desligadosPorLentidao());
+    }
+
+    @Test
+    void publicar_NaoDeveSerializar_QuandoNaoHaAssinantes() throws Exception {
+        eventos.publicarChamado(chamado(1L, 1L, "ALTA"));
+
+        verify(objectMapper, never()).writeValueAsString(any());
+    }
+}
@@ -0,0 +1,84 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.domain.Rota;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GrafoRotasTest {
+
+    private static Rota rota(long id, String de, String para, double tempo, String alternativas) {
+        Rota r = new Rota(de, para, tempo, tempo, alternativas);
+        ReflectionTestUtils.setField(r, "id", id);
+        return r;
+    }
+
+    //  Base --10--> A --10--> Parque
+    //  Base --5---> B --30--> Parque
+    //  Base --------50------> Parque
+    private static GrafoRotas malha() {
+        return GrafoRotas.construir(List.of(
+                rota(1L, "Base", "A", 10.0, null),
+                rota(2L, "A", "Parque", 10.0, null),
+                rota(3L, "Base", "B", 5.0, null),
+                rota(4L, "B", "Parque", 30.0, null),
+                rota(5L, "Base", "Parque", 50.0, null)
+        ));
+    }
+
+    @Test
+    void caminho_DeveRetornarMenorTempo_IgnorandoMaiusculasEEspacos() {
+        Optional<GrafoRotas.Caminho> caminho = malha().caminho("  base ", "PARQUE");
+
+        assertTrue(caminho.isPresent());
+        assertEquals(List.of("Base", "A", "Parque"), caminho.get().pontos());
+        assertEquals(20.0, caminho.get().tempoTotal(), 1e-9);
+        assertEquals(List.of(1L, 2L), caminho.get().rotas());
+    }
+
+    @Test
+    void caminhos_DeveRetornarAlternativasEmOrdemDeTempo() {
+        List<GrafoRotas.Caminho> caminhos = malha().caminhos("Base", "Parque", 5);
+
+        assertEquals(3, caminhos.size());
+        assertEquals(20.0, caminhos.get(0).tempoTotal(), 1e-9);
+        assertEquals(35.0, caminhos.get(1).tempoTotal(), 1e-9);
+        assertEquals(50.0, caminhos.get(2).tempoTotal(), 1e-9);
+        assertEquals(List.of("Base", "Parque"), caminhos.get(2).pontos());
+    }
+
+    @Test
+    void construir_DeveIncluirCaminhosAlternativosDaRota() {
+        GrafoRotas grafo = GrafoRotas.construir(List.of(
+                rota(1L, "Base", "Parque", 60.0, "Base -> Ponte -> Parque: 40\nBase -> Estrada Velha -> Parque")
+        ));
+
+        Optional<GrafoRotas.Caminho> caminho = grafo.caminho("Base", "Parque");
+        assertEquals(List.of("Base", "Ponte", "Parque"), caminho.get().pontos());
+        assertEquals(40.0, caminho.get().tempoTotal(), 1e-9);
+        assertEquals(3, grafo.caminhos("Base", "Parque", 5).size());
+    }
+
+    @Test
+    void caminhoMaisProximoAte_DevePartirDaBaseMaisRapida() {
+        GrafoRotas grafo = GrafoRotas.construir(List.of(
+                rota(1L, "Base Norte", "Cruzamento", 15.0, null),
+                rota(2L, "Base Sul", "Cruzamento", 5.0, null),
+                rota(3L, "Cruzamento", "Parque", 10.0, null)
+        ));
+
+        Optional<GrafoRotas.Caminho> caminho = grafo.caminhoMaisProximoAte("Parque", grafo::ehPontoDePartida);
+        assertEquals(List.of("Base Sul", "Cruzamento", "Parque"), caminho.get().pontos());
+        assertEquals(15.0, caminho.get().tempoTotal(), 1e-9);
+    }
+
+    @Test
+    void caminho_DeveRetornarVazio_QuandoSemLigacao() {
+        assertTrue(malha().caminho("Parque", "Base").isEmpty());
+        assertTrue(malha().caminho("Base", "Inexistente").isEmpty());
+    }
+}
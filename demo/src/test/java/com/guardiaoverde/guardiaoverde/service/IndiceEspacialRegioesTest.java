@@ -0,0 +1,92 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.domain.Regiao;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceEspacialRegioesTest {
+
+    private static Regiao regiao(long id, String limites) {
+        Regiao r = new Regiao("Regiao-" + id, limites, "CERRADO", 0.5);
+        ReflectionTestUtils.setField(r, "id", id);
+        return r;
+    }
+
+    // Quadrado de lado 1 grau com canto inferior esquerdo em (lon, lat)
+    private static String quadrado(double lon, double lat) {
+        return String.format(java.util.Locale.ROOT, "POLYGON((%f %f, %f %f, %f %f, %f %f, %f %f))",
+                lon, lat, lon + 1, lat, lon + 1, lat + 1, lon, lat + 1, lon, lat);
+    }
+
+    @Test
+    void localizar_DeveEncontrarRegiao_EmGradeComMuitasRegioes() {
+        List<Regiao> regioes = new ArrayList<>();
+        long id = 1;
+        for (int lon = -60; lon < -40; lon++) {
+            for (int lat = -30; lat < -10; lat++) {
+                regioes.add(regiao(id++, quadrado(lon, lat)));
+            }
+        }
+        IndiceEspacialRegioes indice = new IndiceEspacialRegioes(null);
+        indice.recarregar(regioes);
+
+        assertEquals(400, indice.tamanho());
+        // lon -47.5 → coluna 12; lat -15.5 → linha 14
+        assertEquals(Optional.of(12L * 20 + 14 + 1), indice.localizar(-15.5, -47.5));
+        assertTrue(indice.localizar(10.0, 10.0).isEmpty());
+    }
+
+    @Test
+    void localizar_DeveAceitarGeoJson_ERespeitarFuros() {
+        String geoJson = "{\"type\":\"Polygon\",\"coordinates\":["
+                + "[[0,0],[10,0],[10,10],[0,10],[0,0]],"
+                + "[[4,4],[6,4],[6,6],[4,6],[4,4]]]}";
+        IndiceEspacialRegioes indice = new IndiceEspacialRegioes(null);
+        indice.recarregar(List.of(regiao(1L, geoJson)));
+
+        assertEquals(Optional.of(1L), indice.localizar(2.0, 2.0));
+        assertTrue(indice.localizar(5.0, 5.0).isEmpty());
+    }
+
+    @Test
+    void localizar_DevePreferirRegiaoMaisEspecifica_QuandoSobrepostas() {
+        IndiceEspacialRegioes indice = new IndiceEspacialRegioes(null);
+        indice.recarregar(List.of(
+                regiao(1L, "POLYGON((0 0, 10 0, 10 10, 0 10, 0 0))"),
+                regiao(2L, quadrado(2, 2))
+        ));
+
+        assertEquals(Optional.of(2L), indice.localizar(2.5, 2.5));
+        assertEquals(Optional.of(1L), indice.localizar(8.0, 8.0));
+    }
+
+    @Test
+    void atualizarERemover_DevemRefletirNaConsulta_SemRecarregar() {
+        IndiceEspacialRegioes indice = new IndiceEspacialRegioes(null);
+        indice.recarregar(List.of(regiao(1L, quadrado(0, 0)), regiao(2L, quadrado(5, 5))));
+
+        // Região 1 muda de lugar
+        indice.atualizar(regiao(1L, quadrado(20, 20)));
+        assertTrue(indice.localizar(0.5, 0.5).isEmpty());
+        assertEquals(Optional.of(1L), indice.localizar(20.5, 20.5));
+
+        indice.remover(2L);
+        assertTrue(indice.localizar(5.5, 5.5).isEmpty());
+        assertEquals(Optional.of("Regiao-1"), indice.nomeDe(1L));
+        assertTrue(indice.nomeDe(2L).isEmpty());
+
+        // Muitas alterações forçam o reempacotamento, sem perder regiões
+        for (long id = 10; id < 100; id++) {
+            indice.atualizar(regiao(id, quadrado(id, 0)));
+        }
+        assertEquals(91, indice.tamanho());
+        assertEquals(Optional.of(50L), indice.localizar(0.5, 50.5));
+        assertEquals(Optional.of(1L), indice.localizar(20.5, 20.5));
+    }
+}
@@ -0,0 +1,75 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceInvertidoTest {
+
+    @Test
+    void buscar_DeveIgnorarAcentosEMaiusculas() {
+        IndiceInvertido indice = new IndiceInvertido();
+        indice.indexar(1L, "Fumaça intensa perto da TRILHA");
+        indice.indexar(2L, "Árvore caída na estrada");
+
+        assertEquals(List.of(1L), indice.buscar("FUMACA trilha", 0, 10).ids());
+        assertEquals(List.of(2L), indice.buscar("arvore", 0, 10).ids());
+    }
+
+    @Test
+    void buscar_DeveOrdenarPorRelevancia_EPaginar() {
+        IndiceInvertido indice = new IndiceInvertido();
+        indice.indexar(1L, "fogo na mata");
+        indice.indexar(2L, "fogo e fumaça na mata ciliar");
+        indice.indexar(3L, "fumaça");
+        indice.indexar(4L, "animal ferido");
+
+        IndiceInvertido.Resultado r = indice.buscar("fogo fumaça", 0, 2);
+        assertEquals(3, r.total());
+        assertEquals(2L, r.ids().get(0));
+        assertEquals(1, indice.buscar("fogo fumaça", 2, 2).ids().size());
+    }
+
+    @Test
+    void buscar_DeveCasarPorPrefixo() {
+        IndiceInvertido indice = new IndiceInvertido();
+        indice.indexar(1L, "Queimada controlada");
+
+        assertEquals(List.of(1L), indice.buscar("queim", 0, 10).ids());
+    }
+
+    @Test
+    void indexar_DeveSubstituirTextoAnterior_ERemoverDeveApagar() {
+        IndiceInvertido indice = new IndiceInvertido();
+        indice.indexar(1L, "fogo");
+        indice.indexar(1L, "enchente");
+
+        assertTrue(indice.buscar("fogo", 0, 10).ids().isEmpty());
+        assertEquals(List.of(1L), indice.buscar("enchente", 0, 10).ids());
+
+        indice.remover(1L);
+        assertEquals(0, indice.tamanho());
+        assertTrue(indice.buscar("enchente", 0, 10).ids().isEmpty());
+    }
+
+    @Test
+    void gravarELer_DevemPreservarResultados() throws Exception {
+        IndiceInvertido indice = new IndiceInvertido();
+        indice.indexar(5L, "Sensor de temperatura acima do limite");
+        indice.indexar(9L, "Fumaça vista pelo sensor 12");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        indice.gravar(new DataOutputStream(bytes));
+        IndiceInvertido lido = IndiceInvertido.ler(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(2, lido.tamanho());
+        assertEquals(9L, lido.maiorId());
+        assertEquals(indice.buscar("sensor fumaça", 0, 10), lido.buscar("sensor fumaça", 0, 10));
+    }
+}
@@ -0,0 +1,81 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.repository.ChamadoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class IndiceTextoChamadosTest {
+
+    private final ChamadoRepository chamadoRepository = mock(ChamadoRepository.class);
+    private IndiceTextoChamados indice;
+    private Instant agora = Instant.parse("2026-01-10T12:00:00Z");
+
+    @TempDir
+    Path pasta;
+
+    @BeforeEach
+    void setUp() {
+        when(chamadoRepository.streamDescricoesDepoisDe(anyLong()))
+                .thenAnswer(inv -> Stream.<Object[]>of(new Object[]{1L, "Fumaça na trilha"}));
+        when(chamadoRepository.count()).thenReturn(1L);
+        indice = new IndiceTextoChamados(chamadoRepository, mock(PlatformTransactionManager.class));
+        indice.setArquivo(pasta.resolve("indice.seg").toString());
+        indice.setRelogio(Clock.fixed(agora, ZoneOffset.UTC));
+        indice.construir();
+    }
+
+    @Test
+    void sincronizar_DeveIndexar_ChamadosGravadosPorOutrasReplicas() {
+        when(chamadoRepository.streamDescricoesGravadasDesde(any()))
+                .thenAnswer(inv -> Stream.<Object[]>of(new Object[]{51L, "Queimada perto da estrada"}));
+
+        indice.sincronizar();
+
+        assertEquals(List.of(51L), indice.buscar("queimada", 0, 10).ids());
+        assertEquals(List.of(1L), indice.buscar("trilha", 0, 10).ids());
+    }
+
+    @Test
+    void sincronizar_DeveLerDesdeAUltimaLeitura_MenosAMargem() {
+        when(chamadoRepository.streamDescricoesGravadasDesde(any())).thenAnswer(inv -> Stream.empty());
+        LocalDateTime carga = LocalDateTime.ofInstant(agora, ZoneOffset.UTC);
+
+        agora = agora.plusSeconds(10);
+        indice.setRelogio(Clock.fixed(agora, ZoneOffset.UTC));
+        indice.sincronizar();
+        indice.sincronizar();
+
+        verify(chamadoRepository).streamDescricoesGravadasDesde(carga.minusSeconds(60));
+        verify(chamadoRepository).streamDescricoesGravadasDesde(carga.plusSeconds(10).minusSeconds(60));
+    }
+
+    @Test
+    void sincronizar_DeveManterAMarca_QuandoALeituraFalha() {
+        when(chamadoRepository.streamDescricoesGravadasDesde(any()))
+                .thenThrow(new IllegalStateException("ORA-03113: fim de arquivo no canal de comunicação"))
+                .thenAnswer(inv -> Stream.empty());
+        LocalDateTime carga = LocalDateTime.ofInstant(agora, ZoneOffset.UTC);
+
+        agora = agora.plusSeconds(10);
+        indice.setRelogio(Clock.fixed(agora, ZoneOffset.UTC));
+        indice.sincronizar();
+        indice.sincronizar();
+
+        verify(chamadoRepository, times(2)).streamDescricoesGravadasDesde(carga.minusSeconds(60));
+    }
+}
@@ -0,0 +1,144 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.domain.Ambiente;
+import com.guardiaoverde.guardiaoverde.domain.Regiao;
+import com.guardiaoverde.guardiaoverde.domain.Rota;
+import com.guardiaoverde.guardiaoverde.domain.Usuario;
+import com.guardiaoverde.guardiaoverde.repository.InvalidacaoCacheRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Dois nós gravando e lendo invalidações no mesmo banco H2 em memória, com relógio
+ * controlado; o cache do Hibernate de cada nó é um mock.
+ */
+class InvalidacaoCacheTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private Instant agora = Instant.parse("2026-01-10T12:00:00Z");
+    private Cache cacheA;
+    private Cache cacheB;
+    private InvalidacaoCache noA;
+    private InvalidacaoCache noB;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:invalidacao-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("CREATE TABLE cache_invalidacoes (id BIGINT GENERATED BY DEFAULT AS IDENTITY "
+                + "PRIMARY KEY, entidade VARCHAR(50) NOT NULL, entidade_id BIGINT, "
+                + "no_origem VARCHAR(100) NOT NULL, criado_em TIMESTAMP(6) NOT NULL)");
+        cacheA = mock(Cache.class);
+        cacheB = mock(Cache.class);
+        noA = novoNo("no-a", cacheA);
+        noB = novoNo("no-b", cacheB);
+    }
+
+    @Test
+    void sincronizar_DeveRemoverDoCache_AsAlteracoesDeOutrosNos() {
+        noB.sincronizar();
+        noA.registrar(Regiao.class, 7L);
+        noA.registrar(Rota.class, null);
+
+        avancar(5);
+        noB.sincronizar();
+        noA.sincronizar();
+
+        verify(cacheB).evictEntityData(Regiao.class, 7L);
+        verify(cacheB).evictEntityData(Rota.class);
+        verify(cacheB).evictDefaultQueryRegion();
+        // As do próprio nó já foram aplicadas pelo Hibernate
+        verifyNoInteractions(cacheA);
+        assertEquals(2, noA.registradas());
+        assertEquals(2, noB.aplicadas());
+    }
+
+    @Test
+    void sincronizar_NaoDeveReaplicar_InvalidacoesJaVistas() {
+        noB.sincronizar();
+        noA.registrar(Usuario.class, 3L);
+        avancar(5);
+        noB.sincronizar();
+
+        // A linha continua dentro da margem nas leituras seguintes
+        avancar(5);
+        noB.sincronizar();
+        noA.registrar(Usuario.class, 4L);
+        avancar(5);
+        noB.sincronizar();
+
+        verify(cacheB, times(1)).evictEntityData(Usuario.class, 3L);
+        verify(cacheB, times(1)).evictEntityData(Usuario.class, 4L);
+        verify(cacheB, times(2)).evictDefaultQueryRegion();
+        assertEquals(2, noB.aplicadas());
+    }
+
+    @Test
+    void sincronizar_DeveLerAlteracaoGravadaComAtraso_DentroDaMargem() {
+        noB.sincronizar();
+        avancar(5);
+        noB.sincronizar();
+
+        // Transação de noA que gravou o instante antes da última leitura de noB e só
+        // confirmou depois dela
+        jdbcTemplate.update("INSERT INTO cache_invalidacoes (entidade, entidade_id, no_origem, criado_em) "
+                        + "VALUES ('Regiao', 9, 'no-a', ?)",
+                Timestamp.valueOf(LocalDateTime.ofInstant(agora.minusSeconds(2), ZoneOffset.UTC)));
+        avancar(5);
+        noB.sincronizar();
+
+        verify(cacheB).evictEntityData(Regiao.class, 9L);
+    }
+
+    @Test
+    void registrar_DeveRecusar_EntidadeForaDoCache() {
+        assertThrows(IllegalArgumentException.class, () -> noA.registrar(Ambiente.class, 1L));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cache_invalidacoes", Integer.class));
+    }
+
+    @Test
+    void limpar_DeveApagar_InvalidacoesForaDaRetencao() {
+        noA.registrar(Regiao.class, 1L);
+        avancar(25 * 3600);
+        noA.registrar(Regiao.class, 2L);
+
+        noA.limpar();
+
+        assertEquals(2L, jdbcTemplate.queryForObject("SELECT entidade_id FROM cache_invalidacoes", Long.class));
+    }
+
+    private InvalidacaoCache novoNo(String id, Cache cache) {
+        CoordenacaoMonitor coordenacaoMonitor = mock(CoordenacaoMonitor.class);
+        when(coordenacaoMonitor.no()).thenReturn(id);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+
+        InvalidacaoCache no = new InvalidacaoCache(new InvalidacaoCacheRepository(jdbcTemplate),
+                entityManagerFactory, coordenacaoMonitor);
+        no.setRelogio(Clock.fixed(agora, ZoneOffset.UTC));
+        return no;
+    }
+
+    private void avancar(long segundos) {
+        agora = agora.plusSeconds(segundos);
+        noA.setRelogio(Clock.fixed(agora, ZoneOffset.UTC));
+        noB.setRelogio(Clock.fixed(agora, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,90 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.repository.ChamadoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class JanelaDeduplicacaoChamadosTest {
+
+    private static final LocalDateTime AGORA = LocalDateTime.of(2025, 6, 4, 21, 0);
+
+    private JanelaDeduplicacaoChamados janela;
+
+    private void relogioEm(LocalDateTime instante) {
+        janela.setRelogio(Clock.fixed(instante.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()));
+    }
+
+    @BeforeEach
+    void setUp() {
+        janela = new JanelaDeduplicacaoChamados(mock(ChamadoRepository.class));
+        relogioEm(AGORA);
+    }
+
+    @Test
+    void registrar_DeveRecusarMesmaDescricao_IgnorandoAcentosEMaiusculas() {
+        assertTrue(janela.registrar(1L, "Fumaça na trilha", AGORA));
+        assertFalse(janela.registrar(1L, "FUMACA na trilha!", AGORA.plusMinutes(5)));
+        // Outra região ou fora da janela passam
+        assertTrue(janela.registrar(2L, "Fumaça na trilha", AGORA));
+        assertTrue(janela.registrar(1L, "Fumaça na trilha", AGORA.plusMinutes(10)));
+    }
+
+    @Test
+    void registrar_DeveRecusarDuplicata_MesmoComRelatosIntercalados() {
+        assertTrue(janela.registrar(1L, "Fogo perto da escola", AGORA));
+        assertTrue(janela.registrar(1L, "Árvore caída", AGORA.plusMinutes(1)));
+
+        assertFalse(janela.registrar(1L, "fogo perto da escola", AGORA.plusMinutes(2)));
+    }
+
+    @Test
+    void liberar_DevePermitirNovoRegistro() {
+        assertTrue(janela.registrar(1L, "Fogo", AGORA));
+        janela.liberar(1L, "Fogo", AGORA);
+
+        assertTrue(janela.registrar(1L, "Fogo", AGORA));
+    }
+
+    @Test
+    void registrar_DeveExpirarEntradasAntigas() {
+        janela.registrar(1L, "Fogo", AGORA);
+        janela.registrar(1L, "Fumaça", AGORA.plusMinutes(8));
+        relogioEm(AGORA.plusMinutes(15));
+
+        janela.registrar(3L, "Outro", AGORA.plusMinutes(15));
+        assertEquals(2, janela.tamanho());
+    }
+
+    @Test
+    void registrar_DeveAceitarApenasUm_QuandoConcorrente() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            resultados.add(pool.submit(() -> {
+                largada.await();
+                return janela.registrar(1L, "Incêndio", AGORA);
+            }));
+        }
+        largada.countDown();
+        int aceitos = 0;
+        for (Future<Boolean> f : resultados) {
+            aceitos += f.get() ? 1 : 0;
+        }
+        pool.shutdown();
+        assertEquals(1, aceitos);
+    }
+}
@@ -0,0 +1,73 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JanelaLeiturasTest {
+
+    private static final long MINUTO = 60_000L;
+
+    @Test
+    void resumo_DeveRetornarNull_QuandoJanelaVazia() {
+        JanelaLeituras janela = new JanelaLeituras(8, 30 * MINUTO);
+        assertNull(janela.resumo(0L));
+    }
+
+    @Test
+    void resumo_DeveCalcularMinMaxMediaETendencia() {
+        JanelaLeituras janela = new JanelaLeituras(8, 30 * MINUTO);
+        // temperatura sobe 1 grau por minuto, umidade cai 2 pontos por minuto
+        for (int i = 0; i < 5; i++) {
+            janela.registrar(i * MINUTO, 30.0 + i, 50.0 - 2 * i);
+        }
+
+        ResumoJanela r = janela.resumo(4 * MINUTO);
+        assertEquals(5, r.quantidade());
+        assertEquals(30.0, r.temperaturaMinima(), 1e-9);
+        assertEquals(34.0, r.temperaturaMaxima(), 1e-9);
+        assertEquals(32.0, r.temperaturaMedia(), 1e-9);
+        assertEquals(1.0, r.temperaturaTendencia(), 1e-9);
+        assertEquals(42.0, r.umidadeMinima(), 1e-9);
+        assertEquals(50.0, r.umidadeMaxima(), 1e-9);
+        assertEquals(-2.0, r.umidadeTendencia(), 1e-9);
+    }
+
+    @Test
+    void registrar_DeveDescartarMaisAntiga_QuandoCapacidadeEsgotada() {
+        JanelaLeituras janela = new JanelaLeituras(3, 30 * MINUTO);
+        janela.registrar(0, 10.0, 90.0);
+        janela.registrar(MINUTO, 40.0, 10.0);
+        janela.registrar(2 * MINUTO, 20.0, 50.0);
+        janela.registrar(3 * MINUTO, 25.0, 60.0);
+
+        ResumoJanela r = janela.resumo(3 * MINUTO);
+        assertEquals(3, r.quantidade());
+        assertEquals(20.0, r.temperaturaMinima(), 1e-9);
+        assertEquals(40.0, r.temperaturaMaxima(), 1e-9);
+        assertEquals(60.0, r.umidadeMaxima(), 1e-9);
+    }
+
+    @Test
+    void resumo_DeveDescartarLeiturasForaDaDuracao() {
+        JanelaLeituras janela = new JanelaLeituras(16, 10 * MINUTO);
+        janela.registrar(0, 50.0, 5.0);
+        janela.registrar(5 * MINUTO, 30.0, 40.0);
+        janela.registrar(12 * MINUTO, 32.0, 38.0);
+
+        ResumoJanela r = janela.resumo(12 * MINUTO);
+        assertEquals(2, r.quantidade());
+        assertEquals(32.0, r.temperaturaMaxima(), 1e-9);
+        assertEquals(38.0, r.umidadeMinima(), 1e-9);
+
+        assertNull(janela.resumo(30 * MINUTO));
+    }
+
+    @Test
+    void registrar_DeveIgnorarLeituraForaDeOrdem() {
+        JanelaLeituras janela = new JanelaLeituras(8, 30 * MINUTO);
+        assertTrue(janela.registrar(2 * MINUTO, 30.0, 40.0));
+        assertFalse(janela.registrar(MINUTO, 10.0, 90.0));
+        assertEquals(1, janela.tamanho());
+    }
+}
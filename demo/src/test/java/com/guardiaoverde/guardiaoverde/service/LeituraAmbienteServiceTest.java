@@ -0,0 +1,113 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.domain.LeituraAmbiente;
+import com.guardiaoverde.guardiaoverde.repository.AmbienteRepository;
+import com.guardiaoverde.guardiaoverde.repository.InsercaoEmLoteRepository;
+import com.guardiaoverde.guardiaoverde.repository.LeituraAmbienteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LeituraAmbienteServiceTest {
+
+    private static final Long AMBIENTE = 1L;
+
+    private final LeituraAmbienteRepository leituraAmbienteRepository = mock(LeituraAmbienteRepository.class);
+    private final AmbienteRepository ambienteRepository = mock(AmbienteRepository.class);
+    private final InsercaoEmLoteRepository insercaoEmLoteRepository = mock(InsercaoEmLoteRepository.class);
+    private final UltimasLeituras ultimasLeituras = new UltimasLeituras(leituraAmbienteRepository);
+    private LeituraAmbienteService service;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        service = new LeituraAmbienteService(leituraAmbienteRepository, ambienteRepository,
+                insercaoEmLoteRepository, ultimasLeituras, mock(JanelaAmbienteService.class));
+        ReflectionTestUtils.setField(service, "maxPorRequisicao", 3);
+        when(ambienteRepository.existsById(AMBIENTE)).thenReturn(true);
+        when(leituraAmbienteRepository.findTopByAmbienteIdOrderByDataHoraDesc(AMBIENTE))
+                .thenReturn(Optional.empty());
+        when(ambienteRepository.atualizarUltimaLeitura(eq(AMBIENTE), any(), any(), any(), any())).thenReturn(1);
+        base = LocalDateTime.now().minusHours(1).withNano(0);
+    }
+
+    @Test
+    void registrarLeituras_DeveRecusar_LoteVazioOuAcimaDoMaximo() {
+        assertThrows(IllegalArgumentException.class, () -> service.registrarLeituras(AMBIENTE, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> service.registrarLeituras(AMBIENTE,
+                List.of(leitura(0, 30.0), leitura(1, 30.0), leitura(2, 30.0), leitura(3, 30.0))));
+        verifyNoInteractions(insercaoEmLoteRepository);
+    }
+
+    @Test
+    void registrarLeituras_DeveRecusar_AmbienteInexistente() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> service.registrarLeituras(99L, List.of(leitura(0, 30.0))));
+        assertEquals("Ambiente não encontrado", ex.getMessage());
+    }
+
+    @Test
+    void registrarLeituras_DeveRecusar_LeituraIncompletaOuForaDaFaixa() {
+        LeituraAmbiente semUmidade = new LeituraAmbiente(null, base, 30.0, null);
+        assertThrows(IllegalArgumentException.class,
+                () -> service.registrarLeituras(AMBIENTE, List.of(semUmidade)));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.registrarLeituras(AMBIENTE, List.of(leitura(0, 61.0))));
+        verifyNoInteractions(insercaoEmLoteRepository);
+    }
+
+    @Test
+    void registrarLeituras_DeveRecusar_DataHoraNoFuturo() {
+        LeituraAmbiente futura = new LeituraAmbiente(null, LocalDateTime.now().plusHours(1), 30.0, 50.0);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> service.registrarLeituras(AMBIENTE, List.of(leitura(0, 30.0), futura)));
+
+        assertEquals("Data e hora da leitura não pode ser no futuro.", ex.getMessage());
+        verifyNoInteractions(insercaoEmLoteRepository);
+    }
+
+    @Test
+    void registrarLeituras_DeveProjetar_ALeituraMaisNovaDoLote() {
+        assertEquals(3, service.registrarLeituras(AMBIENTE,
+                List.of(leitura(10, 31.0), leitura(30, 33.0), leitura(20, 32.0))));
+
+        verify(insercaoEmLoteRepository).inserirLeituras(anyList());
+        verify(ambienteRepository).atualizarUltimaLeitura(eq(AMBIENTE), eq(33.0), eq(50.0),
+                eq(base.plusSeconds(30)), any());
+        assertEquals(base.plusSeconds(30), ultimasLeituras.ultimaDe(AMBIENTE).orElseThrow().getDataHora());
+    }
+
+    @Test
+    void registrarLeituras_NaoDeveAtualizarProjecao_ComLoteMaisAntigoQueOCache() {
+        service.registrarLeituras(AMBIENTE, List.of(leitura(30, 33.0)));
+        clearInvocations(ambienteRepository);
+
+        service.registrarLeituras(AMBIENTE, List.of(leitura(10, 31.0)));
+
+        verify(insercaoEmLoteRepository, times(2)).inserirLeituras(anyList());
+        verify(ambienteRepository, never()).atualizarUltimaLeitura(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void registrarLeituras_NaoDeveAtualizarCache_QuandoBancoJaTemLeituraMaisNova() {
+        // Outro lote (ou réplica) projetou uma leitura mais nova: o UPDATE condicional não altera nada
+        when(ambienteRepository.atualizarUltimaLeitura(eq(AMBIENTE), any(), any(), any(), any())).thenReturn(0);
+
+        service.registrarLeituras(AMBIENTE, List.of(leitura(10, 31.0)));
+
+        assertTrue(ultimasLeituras.ultimaDe(AMBIENTE).isEmpty());
+    }
+
+    private LeituraAmbiente leitura(int segundos, double temperatura) {
+        return new LeituraAmbiente(null, base.plusSeconds(segundos), temperatura, 50.0);
+    }
+}
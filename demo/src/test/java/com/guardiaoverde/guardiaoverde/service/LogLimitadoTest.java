@@ -0,0 +1,41 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.*;
+
+class LogLimitadoTest {
+
+    private final Logger log = mock(Logger.class);
+
+    @Test
+    void aviso_DeveSuprimirRepeticoes_DentroDoIntervalo() {
+        when(log.isWarnEnabled()).thenReturn(true);
+        LogLimitado avisos = new LogLimitado(log, Duration.ofHours(1));
+
+        avisos.aviso("sem-rota", "nenhuma rota cadastrada regiao={}", "Norte");
+        avisos.aviso("sem-rota", "nenhuma rota cadastrada regiao={}", "Sul");
+        avisos.aviso("outra", "particao nao gravada indice={}", 3);
+
+        verify(log).warn("nenhuma rota cadastrada regiao={}", new Object[]{"Norte"});
+        verify(log).warn("particao nao gravada indice={}", new Object[]{3});
+        verify(log, times(2)).warn(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void aviso_DeveInformarSuprimidos_QuandoIntervaloPassa() throws InterruptedException {
+        when(log.isWarnEnabled()).thenReturn(true);
+        LogLimitado avisos = new LogLimitado(log, Duration.ofMillis(20));
+
+        avisos.aviso("sem-rota", "nenhuma rota cadastrada regiao={}", "Norte");
+        avisos.aviso("sem-rota", "nenhuma rota cadastrada regiao={}", "Sul");
+        avisos.aviso("sem-rota", "nenhuma rota cadastrada regiao={}", "Leste");
+        Thread.sleep(40);
+        avisos.aviso("sem-rota", "nenhuma rota cadastrada regiao={}", "Oeste");
+
+        verify(log).warn("nenhuma rota cadastrada regiao={} suprimidos={}", new Object[]{"Oeste", 2L});
+    }
+}
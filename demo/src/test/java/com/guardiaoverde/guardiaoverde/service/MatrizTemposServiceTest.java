@@ -0,0 +1,77 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.domain.Rota;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatrizTemposServiceTest {
+
+    private static Rota rota(long id, String de, String para, double tempo) {
+        Rota r = new Rota(de, para, tempo, tempo, null);
+        ReflectionTestUtils.setField(r, "id", id);
+        return r;
+    }
+
+    @Test
+    void tempo_DeveRetornarMenorTempoEntrePontos() {
+        MatrizTemposService service = new MatrizTemposService(new MalhaRotas(null));
+        service.sincronizar(GrafoRotas.construir(List.of(
+                rota(1L, "Base", "A", 10.0),
+                rota(2L, "A", "Parque", 10.0),
+                rota(3L, "Base", "Parque", 50.0)
+        )));
+
+        assertEquals(20.0f, service.tempo("Base", "Parque"), 1e-4);
+        assertEquals(Float.POSITIVE_INFINITY, service.tempo("Parque", "Base"));
+        assertTrue(Float.isNaN(service.tempo("Base", "Inexistente")));
+    }
+
+    @Test
+    void sincronizar_DeveAtualizarLinhasAfetadas_IgualAoRecalculoCompleto() {
+        Random random = new Random(42);
+        int pontos = 40;
+        List<Rota> rotas = new ArrayList<>();
+        long id = 1;
+        // Anel garante o mesmo conjunto de pontos em todas as versões da malha
+        for (int i = 0; i < pontos; i++) {
+            rotas.add(rota(id++, "P" + i, "P" + ((i + 1) % pontos), 50.0));
+        }
+        for (int i = 0; i < 120; i++) {
+            rotas.add(rota(id++, "P" + random.nextInt(pontos), "P" + random.nextInt(pontos), 1 + random.nextInt(30)));
+        }
+
+        MatrizTemposService incremental = new MatrizTemposService(new MalhaRotas(null));
+        incremental.sincronizar(GrafoRotas.construir(rotas));
+
+        for (int passo = 0; passo < 50; passo++) {
+            int alvo = pontos + random.nextInt(rotas.size() - pontos);
+            Rota r = rotas.get(alvo);
+            switch (random.nextInt(3)) {
+                case 0 -> r.setTempoEstimado(r.getTempoEstimado() / 3);
+                case 1 -> r.setTempoEstimado(r.getTempoEstimado() * 3);
+                default -> rotas.set(alvo, rota(id++, "P" + random.nextInt(pontos), "P" + random.nextInt(pontos),
+                        1 + random.nextInt(30)));
+            }
+            // Ordem diferente a cada versão: a matriz não pode depender dos índices do grafo
+            List<Rota> embaralhadas = new ArrayList<>(rotas);
+            java.util.Collections.shuffle(embaralhadas, random);
+            GrafoRotas grafo = GrafoRotas.construir(embaralhadas);
+            incremental.sincronizar(grafo);
+
+            MatrizTemposService completo = new MatrizTemposService(new MalhaRotas(null));
+            completo.sincronizar(grafo);
+            for (int i = 0; i < pontos; i++) {
+                for (int j = 0; j < pontos; j++) {
+                    assertEquals(completo.tempo("P" + i, "P" + j), incremental.tempo("P" + i, "P" + j), 1e-3,
+                            "passo " + passo + ": P" + i + " -> P" + j);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import com.guardiaoverde.guardiaoverde.domain.Ambiente;
+import com.guardiaoverde.guardiaoverde.domain.Bombeiro;
+import com.guardiaoverde.guardiaoverde.domain.Chamado;
+import com.guardiaoverde.guardiaoverde.domain.Regiao;
+import com.guardiaoverde.guardiaoverde.repository.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class MonitorServiceTest {
+
+    private final AmbienteRepository ambienteRepository = mock(AmbienteRepository.class);
+    private final RegiaoRepository regiaoRepository = mock(RegiaoRepository.class);
+    private final InsercaoEmLoteRepository insercaoEmLoteRepository = mock(InsercaoEmLoteRepository.class);
+    private final DespachoService despachoService = mock(DespachoService.class);
+    private final IndiceTextoChamados indiceTextoChamados = mock(IndiceTextoChamados.class);
+    private final RegistroEstadoAmbientes registro = new RegistroEstadoAmbientes();
+    private final List<Ambiente> ambientes = new ArrayList<>();
+    private final List<Regiao> regioes = new ArrayList<>();
+    private MonitorService monitor;
+
+    // Região cujos chamados falham ao gravar (null = nenhuma)
+    private Long regiaoComFalha;
+
+    @BeforeEach
+    void setUp() {
+        for (long i = 1; i <= 4; i++) {
+            Regiao r = new Regiao("Regiao-" + i, "POLYGON EMPTY", "CERRADO", 0.5);
+            ReflectionTestUtils.setField(r, "id", i);
+            regioes.add(r);
+            Ambiente a = new Ambiente("ENSOLARADO", 38.0, 12.0, "Regiao-" + i);
+            ReflectionTestUtils.setField(a, "id", 10 + i);
+            ambientes.add(a);
+        }
+        when(ambienteRepository.findByTemperaturaLessThanAndUmidadeLessThan(anyDouble(), anyDouble()))
+                .thenReturn(ambientes);
+        when(regiaoRepository.findByNomeIn(any())).thenAnswer(inv -> {
+            Collection<String> nomes = inv.getArgument(0);
+            return regioes.stream().filter(r -> nomes.contains(r.getNome())).toList();
+        });
+        when(despachoService.escolherEmLote(any())).thenAnswer(inv ->
+                Arrays.asList(new Bombeiro[((List<?>) inv.getArgument(0)).size()]));
+        doAnswer(inv -> {
+            List<Chamado> chamados = inv.getArgument(0);
+            if (chamados.stream().anyMatch(c -> c.getRegiao().getId().equals(regiaoComFalha))) {
+                throw new IllegalStateException("ORA-00060: deadlock detectado");
+            }
+            // Id reservado = 100 + id do ambiente (o ambiente 10 + i fica na região i)
+            List<Long> ids = new ArrayList<>();
+            for (Chamado c : chamados) {
+                c.setId(110 + c.getRegiao().getId());
+                ids.add(c.getId());
+            }
+            return ids;
+        }).when(insercaoEmLoteRepository).inserirChamados(any());
+
+        // Executor na própria thread: o teste verifica o isolamento, não o paralelismo
+        monitor = new MonitorService(ambienteRepository, regiaoRepository, insercaoEmLoteRepository, registro,
+                mock(IndiceEspacialRegioes.class),
+                new MalhaRotas(mock(RotaRepository.class)), despachoService,
+                new CooldownAlertas(mock(AlertaRepository.class)), mock(EventosTempoReal.class), indiceTextoChamados,
+                new CoordenacaoMonitor(mock(CoordenacaoMonitorRepository.class), mock(AlertaRepository.class)),
+                mock(PlatformTransactionManager.class), Runnable::run, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(monitor, "limiarUmidade", 30.0);
+        ReflectionTestUtils.setField(monitor, "limiarTemperatura", 40.0);
+        ReflectionTestUtils.setField(monitor, "particoes", 4);
+        ReflectionTestUtils.setField(monitor, "minPorParticao", 1);
+    }
+
+    @Test
+    void verificarAmbientesCriticos_DeveGravarCadaParticaoSeparadamente() {
+        monitor.verificarAmbientesCriticos();
+
+        RelatorioCiclo relatorio = monitor.ultimoRelatorio();
+        assertEquals(4, relatorio.criticos());
+        assertEquals(4, relatorio.particoes().size());
+        assertEquals(4, relatorio.chamados());
+        assertEquals(0, relatorio.falhas());
+        verify(insercaoEmLoteRepository, times(4)).inserirChamados(any());
+        for (Ambiente a : ambientes) {
+            assertEquals(EstadoAmbiente.CRITICO, registro.estadoDe(a.getId()));
+        }
+    }
+
+    @Test
+    void verificarAmbientesCriticos_DeveIndexarOsChamados_SoDasParticoesGravadas() {
+        regiaoComFalha = 2L;
+
+        monitor.verificarAmbientesCriticos();
+
+        verify(indiceTextoChamados).indexar(eq(111L), anyString());
+        verify(indiceTextoChamados, never()).indexar(eq(112L), anyString());
+        verify(indiceTextoChamados).indexar(eq(113L), anyString());
+        verify(indiceTextoChamados).indexar(eq(114L), anyString());
+    }
+
+    @Test
+    void verificarAmbientesCriticos_NaoDeveDesfazerOutrasParticoes_QuandoUmaFalha() {
+        regiaoComFalha = 2L;
+
+        monitor.verificarAmbientesCriticos();
+
+        RelatorioCiclo relatorio = monitor.ultimoRelatorio();
+        assertEquals(1, relatorio.falhas());
+        assertEquals(3, relatorio.chamados());
+        assertEquals(EstadoAmbiente.NORMAL, registro.estadoDe(12L));
+        assertEquals(EstadoAmbiente.CRITICO, registro.estadoDe(11L));
+        assertEquals(EstadoAmbiente.CRITICO, registro.estadoDe(13L));
+        assertEquals(EstadoAmbiente.CRITICO, registro.estadoDe(14L));
+    }
+
+    @Test
+    void verificarAmbientesCriticos_DeveReprocessarParticaoQueFalhou_NoCicloSeguinte() {
+        regiaoComFalha = 2L;
+        monitor.verificarAmbientesCriticos();
+
+        // Segundo ciclo: nenhum ambiente alterado, mas o da partição que falhou volta
+        regiaoComFalha = null;
+        when(ambienteRepository.findAllById(List.of(12L))).thenReturn(List.of(ambientes.get(1)));
+        monitor.verificarAmbientesCriticos();
+
+        RelatorioCiclo relatorio = monitor.ultimoRelatorio();
+        assertEquals(1, relatorio.alterados());
+        assertEquals(1, relatorio.chamados());
+        assertEquals(0, relatorio.falhas());
+        assertEquals(EstadoAmbiente.CRITICO, registro.estadoDe(12L));
+    }
+
+    @Test
+    void verificarAmbientesCriticos_DeveReprocessarAmbienteSemRegiao_QuandoARegiaoPassaAExistir() {
+        Regiao semCadastro = regioes.remove(1);
+        monitor.verificarAmbientesCriticos();
+        assertEquals(1, monitor.ultimoRelatorio().naoAtendidos());
+        assertEquals(EstadoAmbiente.NORMAL, registro.estadoDe(12L));
+
+        // Segundo ciclo: nenhuma leitura nova, mas a região foi cadastrada
+        regioes.add(semCadastro);
+        when(ambienteRepository.findAllById(List.of(12L))).thenReturn(List.of(ambientes.get(1)));
+        monitor.verificarAmbientesCriticos();
+
+        RelatorioCiclo relatorio = monitor.ultimoRelatorio();
+        assertEquals(1, relatorio.alterados());
+        assertEquals(1, relatorio.chamados());
+        assertEquals(EstadoAmbiente.CRITICO, registro.estadoDe(12L));
+    }
+
+    @Test
+    void verificarAmbientesCriticos_DeveEmitirEventosJfr_PorCicloEPorParticao(@TempDir Path pasta) throws Exception {
+        regiaoComFalha = 3L;
+        Path arquivo = pasta.resolve("ciclo.jfr");
+        try (Recording gravacao = new Recording()) {
+            gravacao.enable(EventosJfr.CicloMonitor.class);
+            gravacao.enable(EventosJfr.ParticaoMonitor.class);
+            gravacao.start();
+            monitor.verificarAmbientesCriticos();
+            gravacao.stop();
+            gravacao.dump(arquivo);
+        }
+
+        List<RecordedEvent> eventos = RecordingFile.readAllEvents(arquivo);
+        List<RecordedEvent> ciclos = eventos.stream()
+                .filter(e -> e.getEventType().getName().equals("guardiaoverde.CicloMonitor")).toList();
+        List<RecordedEvent> particoes = eventos.stream()
+                .filter(e -> e.getEventType().getName().equals("guardiaoverde.ParticaoMonitor")).toList();
+        assertEquals(1, ciclos.size());
+        assertEquals(4, ciclos.get(0).getInt("criticos"));
+        assertEquals(1, ciclos.get(0).getInt("falhas"));
+        assertEquals(4, particoes.size());
+        assertEquals(1, particoes.stream().filter(e -> e.getString("erro") != null).count());
+    }
+}
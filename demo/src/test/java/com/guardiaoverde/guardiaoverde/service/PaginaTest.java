@@ -0,0 +1,63 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaginaTest {
+
+    @Test
+    void de_DeveDevolverCursor_QuandoHaMaisLinhasQueOLimite() {
+        Pagina<Long> pagina = Pagina.de(List.of(1L, 2L, 3L), 2, Pagina::cursorDeId);
+
+        assertEquals(List.of(1L, 2L), pagina.itens());
+        assertEquals(2L, Pagina.idDoCursor(pagina.proximoCursor()));
+    }
+
+    @Test
+    void de_NaoDeveDevolverCursor_NaUltimaPagina() {
+        Pagina<Long> pagina = Pagina.de(List.of(1L, 2L), 2, Pagina::cursorDeId);
+
+        assertNull(pagina.proximoCursor());
+    }
+
+    @Test
+    void porId_DeveLerAPartirDoCursor_QuandoConsultaPropria() {
+        List<Long> depoisDe = new ArrayList<>();
+        BiFunction<Long, Pageable, List<Long>> consulta = (id, pedido) -> {
+            depoisDe.add(id);
+            return id < 20L ? List.of(10L, 20L, 30L) : List.of(30L);
+        };
+
+        Pagina<Long> primeira = Pagina.porId(consulta, null, 2, Function.identity());
+        Pagina<Long> segunda = Pagina.porId(consulta, primeira.proximoCursor(), 2, Function.identity());
+
+        assertEquals(List.of(10L, 20L), primeira.itens());
+        assertEquals(List.of(30L), segunda.itens());
+        assertNull(segunda.proximoCursor());
+        assertEquals(List.of(Long.MIN_VALUE, 20L), depoisDe);
+    }
+
+    @Test
+    void posicaoDoCursor_DeveRecuperarDataHoraEId() {
+        LocalDateTime dataHora = LocalDateTime.of(2025, 6, 4, 21, 0, 15, 123_000_000);
+        Pagina.Posicao posicao = Pagina.posicaoDoCursor(Pagina.cursorDeDataHora(dataHora, 42L));
+
+        assertEquals(dataHora, posicao.dataHora());
+        assertEquals(42L, posicao.id());
+    }
+
+    @Test
+    void cursor_DeveLancarException_QuandoInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> Pagina.posicaoDoCursor("nao-e-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> Pagina.idDoCursor("@@"));
+        assertThrows(IllegalArgumentException.class, () -> Pagina.pedido(0));
+    }
+}
@@ -0,0 +1,91 @@
+package com.guardiaoverde.guardiaoverde.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Máquina de estados NORMAL → CRITICO → RECUPERADO → NORMAL, aplicada como o
+ * MonitorService faz: um chamado é aberto só na transição para CRITICO.
+ */
+class RegistroEstadoAmbientesTest {
+
+    private static final Long AMBIENTE = 1L;
+
+    private RegistroEstadoAmbientes registro;
+    private int chamadosAbertos;
+
+    @BeforeEach
+    void setUp() {
+        registro = new RegistroEstadoAmbientes();
+        chamadosAbertos = 0;
+    }
+
+    @Test
+    void proximo_DeveSeguirTransicoesDoEnum() {
+        assertEquals(EstadoAmbiente.CRITICO, EstadoAmbiente.NORMAL.proximo(true));
+        assertEquals(EstadoAmbiente.NORMAL, EstadoAmbiente.NORMAL.proximo(false));
+        assertEquals(EstadoAmbiente.CRITICO, EstadoAmbiente.CRITICO.proximo(true));
+        assertEquals(EstadoAmbiente.RECUPERADO, EstadoAmbiente.CRITICO.proximo(false));
+        assertEquals(EstadoAmbiente.NORMAL, EstadoAmbiente.RECUPERADO.proximo(false));
+        assertEquals(EstadoAmbiente.CRITICO, EstadoAmbiente.RECUPERADO.proximo(true));
+    }
+
+    @Test
+    void avaliar_DeveAbrirChamado_NaEntradaEmCritico() {
+        avaliar(false);
+        assertEquals(0, chamadosAbertos);
+
+        avaliar(true);
+
+        assertEquals(1, chamadosAbertos);
+        assertEquals(EstadoAmbiente.CRITICO, registro.estadoDe(AMBIENTE));
+    }
+
+    @Test
+    void avaliar_NaoDeveRepetirChamado_EnquantoContinuaCritico() {
+        avaliar(true);
+        avaliar(true);
+        avaliar(true);
+
+        assertEquals(1, chamadosAbertos);
+    }
+
+    @Test
+    void avaliar_DeveRearmar_DepoisDaRecuperacao() {
+        avaliar(true);
+        avaliar(false);
+        assertEquals(EstadoAmbiente.RECUPERADO, registro.estadoDe(AMBIENTE));
+        avaliar(false);
+        assertEquals(EstadoAmbiente.NORMAL, registro.estadoDe(AMBIENTE));
+
+        avaliar(true);
+
+        assertEquals(2, chamadosAbertos);
+    }
+
+    @Test
+    void aplicar_NaoDeveGuardar_AmbientesEmNormal() {
+        registro.aplicar(Map.of(AMBIENTE, EstadoAmbiente.CRITICO, 2L, EstadoAmbiente.RECUPERADO));
+        registro.aplicar(Map.of(AMBIENTE, EstadoAmbiente.NORMAL));
+        registro.removerSe(id -> id == 2L);
+
+        assertEquals(EstadoAmbiente.NORMAL, registro.estadoDe(AMBIENTE));
+        assertEquals(EstadoAmbiente.NORMAL, registro.estadoDe(2L));
+    }
+
+    // Uma leitura do ambiente, avaliada como no ciclo do MonitorService
+    private void avaliar(boolean critico) {
+        EstadoAmbiente atual = registro.estadoDe(AMBIENTE);
+        EstadoAmbiente proximo = atual.proximo(critico);
+        if (proximo != atual) {
+            if (proximo == EstadoAmbiente.CRITICO) {
+                chamadosAbertos++;
+            }
+            registro.aplicar(Map.of(AMBIENTE, proximo));
+        }
+    }
+}
@@ -30,6 +30,12 @@ class UsuarioServiceTest {
     @Mock
     private BombeiroRepository bombeiroRepository;
 
+    @Mock
+    private EscalaResponsaveis escalaResponsaveis;
+
+    @Mock
+    private InvalidacaoCache invalidacaoCache;
+
     @InjectMocks
     private UsuarioService usuarioService;
 
@@ -154,6 +160,7 @@ class UsuarioServiceTest {
         assertEquals("NovNome", result.getNome());
         assertEquals("novo@ex.com", result.getEmail());
         assertEquals("OPERADOR", result.getPapel());
+        verify(invalidacaoCache).registrar(Usuario.class, 5L);
     }
 
     //